@@ -3304,7 +3304,8 @@ Slice::JavaCompatGenerator::validateMetaData(const UnitPtr& u)
 
 const string Slice::JavaGenerator::_getSetMetaData = "java:getset";
 
-Slice::JavaGenerator::JavaGenerator(const string& dir) :
+Slice::JavaGenerator::JavaGenerator(const string& dir, bool perf) :
+    _perf(perf),
     _dir(dir),
     _out(0)
 {
@@ -4478,8 +4479,22 @@ Slice::JavaGenerator::writeDictionaryMarshalUnmarshalCode(Output& out,
     }
     else
     {
-        out << nl << v << " = new " << instanceType << "();";
-        out << nl << "int sz" << iterS << " = " << stream << ".readSize();";
+        if(_perf && (instanceType.find("java.util.HashMap<") == 0 ||
+                     instanceType.find("java.util.LinkedHashMap<") == 0))
+        {
+            //
+            // Presize the map, the size is checked against the remaining
+            // stream size to not allocate a large map for a bogus size.
+            //
+            out << nl << "int sz" << iterS << " = " << stream << ".readAndCheckSeqSize("
+                << key->minWireSize() + value->minWireSize() << ");";
+            out << nl << v << " = new " << instanceType << "((int)(sz" << iterS << " / 0.75f) + 1);";
+        }
+        else
+        {
+            out << nl << v << " = new " << instanceType << "();";
+            out << nl << "int sz" << iterS << " = " << stream << ".readSize();";
+        }
         out << nl << "for(int i" << iterS << " = 0; i" << iterS << " < sz" << iterS << "; i" << iterS << "++)";
         out << sb;
 
@@ -4723,9 +4738,23 @@ Slice::JavaGenerator::writeSequenceMarshalUnmarshalCode(Output& out,
             {
                 isObject = true;
             }
-            out << nl << v << " = new " << instanceType << "();";
-            out << nl << "final int len" << iter << " = " << stream << ".readAndCheckSeqSize(" << type->minWireSize()
-                << ");";
+            if(_perf && type->minWireSize() > 0 && (instanceType.find("java.util.ArrayList<") == 0 ||
+                                                    instanceType.find("java.util.Vector<") == 0))
+            {
+                //
+                // Presize the list, the size is checked against the remaining
+                // stream size by readAndCheckSeqSize.
+                //
+                out << nl << "final int len" << iter << " = " << stream << ".readAndCheckSeqSize("
+                    << type->minWireSize() << ");";
+                out << nl << v << " = new " << instanceType << "(len" << iter << ");";
+            }
+            else
+            {
+                out << nl << v << " = new " << instanceType << "();";
+                out << nl << "final int len" << iter << " = " << stream << ".readAndCheckSeqSize("
+                    << type->minWireSize() << ");";
+            }
             out << nl << "for(int i" << iter << " = 0; i" << iter << " < len" << iter << "; i" << iter << "++)";
             out << sb;
             if(isObject)
@@ -244,7 +244,7 @@ public:
 
 protected:
 
-    JavaGenerator(const std::string&);
+    JavaGenerator(const std::string&, bool = false);
 
     //
     // Given the fully-scoped Java class name, create any intermediate
@@ -396,6 +396,11 @@ protected:
 
     static const std::string _getSetMetaData;
 
+    //
+    // Set if the code is generated with the --perf option.
+    //
+    const bool _perf;
+
 private:
 
     std::string _dir;
@@ -108,6 +108,32 @@ bool isValue(const TypePtr& type)
     return (b && b->usesClasses()) || cl;
 }
 
+//
+// Returns true if the parameters and results of the operation can be passed
+// by reference to a collocated servant (Ice.CollocationDirect). Class
+// instances are always marshaled as the servant and the caller could modify
+// the same graph.
+//
+bool supportsDirectDispatch(const OperationPtr& op)
+{
+    ClassDefPtr cl = ClassDefPtr::dynamicCast(op->container());
+    assert(cl);
+    if(!cl->isInterface() || op->sendsClasses(true) || op->returnsClasses(true) || op->hasMarshaledResult())
+    {
+        return false;
+    }
+
+    const ExceptionList throws = op->throws();
+    for(ExceptionList::const_iterator p = throws.begin(); p != throws.end(); ++p)
+    {
+        if((*p)->usesClasses(true))
+        {
+            return false;
+        }
+    }
+    return true;
+}
+
 // Returns java.util.OptionalXXX.ofYYY depending on the type
 string ofFactory(const TypePtr& type)
 {
@@ -138,8 +164,8 @@ string ofFactory(const TypePtr& type)
 
 }
 
-Slice::JavaVisitor::JavaVisitor(const string& dir) :
-    JavaGenerator(dir)
+Slice::JavaVisitor::JavaVisitor(const string& dir, bool perf) :
+    JavaGenerator(dir, perf)
 {
 }
 
@@ -948,6 +974,37 @@ Slice::JavaVisitor::writeUnmarshalProxyResults(Output& out, const string& packag
     }
 }
 
+void
+Slice::JavaVisitor::writeDirectDispatcher(Output& out, const string& package, const OperationPtr& op)
+{
+    const ClassDefPtr cl = ClassDefPtr::dynamicCast(op->container());
+    assert(cl);
+    const string servant = getUnqualified(cl, package);
+    const bool amd = cl->hasMetaData("amd") || op->hasMetaData("amd");
+
+    out << servant << ".class, (obj, current) -> ";
+    if(amd)
+    {
+        out << "((" << servant << ")obj)." << op->name() << "Async" << spar << getInArgs(op, true) << "current"
+            << epar;
+    }
+    else if(op->returnType() || !op->outParameters().empty())
+    {
+        out << "java.util.concurrent.CompletableFuture.completedFuture(((" << servant << ")obj)." << fixKwd(op->name())
+            << spar << getInArgs(op, true) << "current" << epar << ")";
+    }
+    else
+    {
+        out << "{";
+        out.inc();
+        out << nl << "((" << servant << ")obj)." << fixKwd(op->name()) << spar << getInArgs(op, true) << "current"
+            << epar << ';';
+        out << nl << "return java.util.concurrent.CompletableFuture.completedFuture(null);";
+        out.dec();
+        out << nl << "}";
+    }
+}
+
 void
 Slice::JavaVisitor::writeMarshalServantResults(Output& out, const string& package, const OperationPtr& op,
                                                const string& param)
@@ -1451,21 +1508,40 @@ Slice::JavaVisitor::writeDispatch(Output& out, const ClassDefPtr& p)
         out << nl << "throws " << getUnqualified("com.zeroc.Ice.UserException", package);
         out.dec();
         out << sb;
-        out << nl << "int pos = java.util.Arrays.binarySearch(_iceOps, current.operation);";
-        out << nl << "if(pos < 0)";
-        out << sb;
-        out << nl << "throw new "
-            << getUnqualified("com.zeroc.Ice.OperationNotExistException", package)
-            << "(current.id, current.facet, current.operation);";
-        out << eb;
-        out << sp << nl << "switch(pos)";
+        if(_perf)
+        {
+            //
+            // With --perf, switch on the operation name: the string switch
+            // compiles to a lookup on the operation name hash code instead of
+            // a binary search with string comparisons.
+            //
+            out << nl << "switch(current.operation)";
+        }
+        else
+        {
+            out << nl << "int pos = java.util.Arrays.binarySearch(_iceOps, current.operation);";
+            out << nl << "if(pos < 0)";
+            out << sb;
+            out << nl << "throw new "
+                << getUnqualified("com.zeroc.Ice.OperationNotExistException", package)
+                << "(current.id, current.facet, current.operation);";
+            out << eb;
+            out << sp << nl << "switch(pos)";
+        }
         out << sb;
         int i = 0;
         for(StringList::const_iterator q = allOpNames.begin(); q != allOpNames.end(); ++q)
         {
             string opName = *q;
 
-            out << nl << "case " << i++ << ':';
+            if(_perf)
+            {
+                out << nl << "case \"" << opName << "\":";
+            }
+            else
+            {
+                out << nl << "case " << i++ << ':';
+            }
             out << sb;
             if(opName == "ice_id")
             {
@@ -1523,13 +1599,217 @@ Slice::JavaVisitor::writeDispatch(Output& out, const ClassDefPtr& p)
             out << eb;
         }
         out << eb;
-        out << sp << nl << "assert(false);";
+        if(!_perf)
+        {
+            out << sp << nl << "assert(false);";
+        }
         out << nl << "throw new " << getUnqualified("com.zeroc.Ice.OperationNotExistException", package)
             << "(current.id, current.facet, current.operation);";
         out << eb;
     }
 }
 
+string
+Slice::JavaVisitor::primitiveArraySequenceType(const DataMemberPtr& member)
+{
+    SequencePtr seq = SequencePtr::dynamicCast(member->type());
+    if(!seq || member->optional() || hasTypeMetaData(seq, member->getMetaData()))
+    {
+        return "";
+    }
+
+    string meta;
+    if(seq->findMetaData("java:buffer", meta) || findMetaData("java:buffer", member->getMetaData(), meta))
+    {
+        return "";
+    }
+
+    BuiltinPtr b = BuiltinPtr::dynamicCast(seq->type());
+    if(b)
+    {
+        switch(b->kind())
+        {
+            case Builtin::KindByte:
+            {
+                return "Byte";
+            }
+            case Builtin::KindBool:
+            {
+                return "Bool";
+            }
+            case Builtin::KindShort:
+            {
+                return "Short";
+            }
+            case Builtin::KindInt:
+            {
+                return "Int";
+            }
+            case Builtin::KindLong:
+            {
+                return "Long";
+            }
+            case Builtin::KindFloat:
+            {
+                return "Float";
+            }
+            case Builtin::KindDouble:
+            {
+                return "Double";
+            }
+            default:
+            {
+                break;
+            }
+        }
+    }
+    return "";
+}
+
+bool
+Slice::JavaVisitor::writeFixedSizeStructMembers(Output& out, const StructPtr& p, const string& package)
+{
+    DataMemberList members = p->dataMembers();
+    int size = 0;
+    for(DataMemberList::const_iterator d = members.begin(); d != members.end(); ++d)
+    {
+        BuiltinPtr b = BuiltinPtr::dynamicCast((*d)->type());
+        if(!b)
+        {
+            return false;
+        }
+        switch(b->kind())
+        {
+            case Builtin::KindByte:
+            case Builtin::KindBool:
+            case Builtin::KindShort:
+            case Builtin::KindInt:
+            case Builtin::KindLong:
+            case Builtin::KindFloat:
+            case Builtin::KindDouble:
+            {
+                size += b->minWireSize();
+                break;
+            }
+            default:
+            {
+                return false;
+            }
+        }
+    }
+
+    //
+    // Reserve or read the encoded structure once and put or get the members
+    // directly in the little-endian stream buffer.
+    //
+    out << sp << nl << "public void ice_writeMembers(" << getUnqualified("com.zeroc.Ice.OutputStream", package)
+        << " ostr)";
+    out << sb;
+    out << nl << "java.nio.ByteBuffer b = ostr.reserveFixed(" << size << ");";
+    for(DataMemberList::const_iterator d = members.begin(); d != members.end(); ++d)
+    {
+        string memberName = "this." + fixKwd((*d)->name());
+        switch(BuiltinPtr::dynamicCast((*d)->type())->kind())
+        {
+            case Builtin::KindByte:
+            {
+                out << nl << "b.put(" << memberName << ");";
+                break;
+            }
+            case Builtin::KindBool:
+            {
+                out << nl << "b.put(" << memberName << " ? (byte)1 : (byte)0);";
+                break;
+            }
+            case Builtin::KindShort:
+            {
+                out << nl << "b.putShort(" << memberName << ");";
+                break;
+            }
+            case Builtin::KindInt:
+            {
+                out << nl << "b.putInt(" << memberName << ");";
+                break;
+            }
+            case Builtin::KindLong:
+            {
+                out << nl << "b.putLong(" << memberName << ");";
+                break;
+            }
+            case Builtin::KindFloat:
+            {
+                out << nl << "b.putFloat(" << memberName << ");";
+                break;
+            }
+            case Builtin::KindDouble:
+            {
+                out << nl << "b.putDouble(" << memberName << ");";
+                break;
+            }
+            default:
+            {
+                assert(false);
+                break;
+            }
+        }
+    }
+    out << eb;
+
+    out << sp << nl << "public void ice_readMembers(" << getUnqualified("com.zeroc.Ice.InputStream", package)
+        << " istr)";
+    out << sb;
+    out << nl << "java.nio.ByteBuffer b = istr.readFixed(" << size << ");";
+    for(DataMemberList::const_iterator d = members.begin(); d != members.end(); ++d)
+    {
+        string memberName = "this." + fixKwd((*d)->name());
+        switch(BuiltinPtr::dynamicCast((*d)->type())->kind())
+        {
+            case Builtin::KindByte:
+            {
+                out << nl << memberName << " = b.get();";
+                break;
+            }
+            case Builtin::KindBool:
+            {
+                out << nl << memberName << " = b.get() == 1;";
+                break;
+            }
+            case Builtin::KindShort:
+            {
+                out << nl << memberName << " = b.getShort();";
+                break;
+            }
+            case Builtin::KindInt:
+            {
+                out << nl << memberName << " = b.getInt();";
+                break;
+            }
+            case Builtin::KindLong:
+            {
+                out << nl << memberName << " = b.getLong();";
+                break;
+            }
+            case Builtin::KindFloat:
+            {
+                out << nl << memberName << " = b.getFloat();";
+                break;
+            }
+            case Builtin::KindDouble:
+            {
+                out << nl << memberName << " = b.getDouble();";
+                break;
+            }
+            default:
+            {
+                assert(false);
+                break;
+            }
+        }
+    }
+    out << eb;
+    return true;
+}
+
 void
 Slice::JavaVisitor::writeMarshaling(Output& out, const ClassDefPtr& p)
 {
@@ -2251,10 +2531,12 @@ Slice::JavaVisitor::writeSeeAlso(Output& out, const UnitPtr& unt, const string&
     }
 }
 
-Slice::Gen::Gen(const string& /*name*/, const string& base, const vector<string>& includePaths, const string& dir) :
+Slice::Gen::Gen(const string& /*name*/, const string& base, const vector<string>& includePaths, const string& dir,
+                bool perf) :
     _base(base),
     _includePaths(includePaths),
-    _dir(dir)
+    _dir(dir),
+    _perf(perf)
 {
 }
 
@@ -2270,19 +2552,19 @@ Slice::Gen::generate(const UnitPtr& p)
     PackageVisitor packageVisitor(_dir);
     p->visit(&packageVisitor, false);
 
-    TypesVisitor typesVisitor(_dir);
+    TypesVisitor typesVisitor(_dir, _perf);
     p->visit(&typesVisitor, false);
 
     CompactIdVisitor compactIdVisitor(_dir);
     p->visit(&compactIdVisitor, false);
 
-    HelperVisitor helperVisitor(_dir);
+    HelperVisitor helperVisitor(_dir, _perf);
     p->visit(&helperVisitor, false);
 
-    ProxyVisitor proxyVisitor(_dir);
+    ProxyVisitor proxyVisitor(_dir, _perf);
     p->visit(&proxyVisitor, false);
 
-    DispatcherVisitor dispatcherVisitor(_dir);
+    DispatcherVisitor dispatcherVisitor(_dir, _perf);
     p->visit(&dispatcherVisitor, false);
 }
 
@@ -2375,8 +2657,8 @@ Slice::Gen::PackageVisitor::visitModuleStart(const ModulePtr& p)
     return false;
 }
 
-Slice::Gen::TypesVisitor::TypesVisitor(const string& dir) :
-    JavaVisitor(dir)
+Slice::Gen::TypesVisitor::TypesVisitor(const string& dir, bool perf) :
+    JavaVisitor(dir, perf)
 {
 }
 
@@ -3544,27 +3826,40 @@ Slice::Gen::TypesVisitor::visitStructEnd(const StructPtr& p)
 
     if(!p->isLocal())
     {
-        out << sp << nl << "public void ice_writeMembers(" << getUnqualified("com.zeroc.Ice.OutputStream", package)
-            << " ostr)";
-        out << sb;
-        iter = 0;
-        for(DataMemberList::const_iterator d = members.begin(); d != members.end(); ++d)
+        if(!_perf || !writeFixedSizeStructMembers(out, p, package))
         {
-            writeMarshalDataMember(out, package, *d, iter, true);
-        }
-        out << eb;
-
-        DataMemberList classMembers = p->classDataMembers();
+            out << sp << nl << "public void ice_writeMembers("
+                << getUnqualified("com.zeroc.Ice.OutputStream", package) << " ostr)";
+            out << sb;
+            iter = 0;
+            for(DataMemberList::const_iterator d = members.begin(); d != members.end(); ++d)
+            {
+                writeMarshalDataMember(out, package, *d, iter, true);
+            }
+            out << eb;
 
-        out << sp << nl << "public void ice_readMembers(" << getUnqualified("com.zeroc.Ice.InputStream", package)
-            << " istr)";
-        out << sb;
-        iter = 0;
-        for(DataMemberList::const_iterator d = members.begin(); d != members.end(); ++d)
-        {
-            writeUnmarshalDataMember(out, package, *d, iter, true);
+            out << sp << nl << "public void ice_readMembers("
+                << getUnqualified("com.zeroc.Ice.InputStream", package) << " istr)";
+            out << sb;
+            iter = 0;
+            for(DataMemberList::const_iterator d = members.begin(); d != members.end(); ++d)
+            {
+                string seqType = _perf ? primitiveArraySequenceType(*d) : string();
+                if(!seqType.empty())
+                {
+                    //
+                    // Reuse the array of the member if the structure is read again.
+                    //
+                    string memberName = "this." + fixKwd((*d)->name());
+                    out << nl << memberName << " = istr.read" << seqType << "Seq(" << memberName << ");";
+                }
+                else
+                {
+                    writeUnmarshalDataMember(out, package, *d, iter, true);
+                }
+            }
+            out << eb;
         }
-        out << eb;
 
         out << sp << nl << "static public void ice_write(" << getUnqualified("com.zeroc.Ice.OutputStream", package)
             << " ostr, " << name << " v)";
@@ -3587,6 +3882,23 @@ Slice::Gen::TypesVisitor::visitStructEnd(const StructPtr& p)
         out << nl << "return v;";
         out << eb;
 
+        if(_perf)
+        {
+            out << sp;
+            writeDocComment(out, "Reads the structure into an existing instance, whose sequences of primitive "
+                            "types are reused if they have the same size.");
+            out << nl << "static public " << name << " ice_read("
+                << getUnqualified("com.zeroc.Ice.InputStream", package) << " istr, " << name << " v)";
+            out << sb;
+            out << nl << "if(v == null)";
+            out << sb;
+            out << nl << "v = new " << name << "();";
+            out << eb;
+            out << nl << "v.ice_readMembers(istr);";
+            out << nl << "return v;";
+            out << eb;
+        }
+
         string optName = "java.util.Optional<" + name + ">";
         out << sp;
         out << nl << "static public void ice_write(" << getUnqualified("com.zeroc.Ice.OutputStream", package)
@@ -4267,8 +4579,8 @@ Slice::Gen::CompactIdVisitor::visitClassDefStart(const ClassDefPtr& p)
     return false;
 }
 
-Slice::Gen::HelperVisitor::HelperVisitor(const string& dir) :
-    JavaVisitor(dir)
+Slice::Gen::HelperVisitor::HelperVisitor(const string& dir, bool perf) :
+    JavaVisitor(dir, perf)
 {
 }
 
@@ -4593,8 +4905,8 @@ Slice::Gen::HelperVisitor::visitDictionary(const DictionaryPtr& p)
     close();
 }
 
-Slice::Gen::ProxyVisitor::ProxyVisitor(const string& dir) :
-    JavaVisitor(dir)
+Slice::Gen::ProxyVisitor::ProxyVisitor(const string& dir, bool perf) :
+    JavaVisitor(dir, perf)
 {
 }
 
@@ -5284,6 +5596,11 @@ Slice::Gen::ProxyVisitor::visitOperation(const OperationPtr& p)
     {
         out << "null";
     }
+    if(supportsDirectDispatch(p) && !sendsOptionals)
+    {
+        out << ',' << nl;
+        writeDirectDispatcher(out, package, p);
+    }
     out.restoreIndent();
     out << ");";
     out << nl << "return f;";
@@ -5373,6 +5690,11 @@ Slice::Gen::ProxyVisitor::visitOperation(const OperationPtr& p)
         {
             out << "null";
         }
+        if(supportsDirectDispatch(p))
+        {
+            out << ',' << nl;
+            writeDirectDispatcher(out, package, p);
+        }
         out.restoreIndent();
         out << ");";
         out << nl << "return f;";
@@ -5380,8 +5702,8 @@ Slice::Gen::ProxyVisitor::visitOperation(const OperationPtr& p)
     }
 }
 
-Slice::Gen::DispatcherVisitor::DispatcherVisitor(const string& dir) :
-    JavaVisitor(dir)
+Slice::Gen::DispatcherVisitor::DispatcherVisitor(const string& dir, bool perf) :
+    JavaVisitor(dir, perf)
 {
 }
 
@@ -20,7 +20,7 @@ public:
 
 protected:
 
-    JavaVisitor(const std::string&);
+    JavaVisitor(const std::string&, bool = false);
 
     enum ParamDir { InParam, OutParam };
 
@@ -49,6 +49,7 @@ protected:
 
     void writeMarshalProxyParams(::IceUtilInternal::Output&, const std::string&, const OperationPtr&, bool);
     void writeUnmarshalProxyResults(::IceUtilInternal::Output&, const std::string&, const OperationPtr&);
+    void writeDirectDispatcher(::IceUtilInternal::Output&, const std::string&, const OperationPtr&);
     void writeMarshalServantResults(::IceUtilInternal::Output&, const std::string&, const OperationPtr&,
                                     const std::string&);
 
@@ -75,6 +76,19 @@ protected:
     //
     void writeDispatch(::IceUtilInternal::Output&, const ClassDefPtr&);
 
+    //
+    // Generate ice_writeMembers and ice_readMembers for a structure whose
+    // members are all fixed-size primitive types. Returns false if the
+    // structure has other members.
+    //
+    bool writeFixedSizeStructMembers(::IceUtilInternal::Output&, const StructPtr&, const std::string&);
+
+    //
+    // Returns the name of the primitive type (Byte, Int, ...) of a member
+    // mapped to an array of a primitive type, or an empty string otherwise.
+    //
+    std::string primitiveArraySequenceType(const DataMemberPtr&);
+
     //
     // Generate marshaling methods for a class or interface.
     //
@@ -115,7 +129,8 @@ public:
     Gen(const std::string&,
         const std::string&,
         const std::vector<std::string>&,
-        const std::string&);
+        const std::string&,
+        bool);
     ~Gen();
 
     void generate(const UnitPtr&);
@@ -128,6 +143,7 @@ private:
     std::string _base;
     std::vector<std::string> _includePaths;
     std::string _dir;
+    bool _perf;
 
     class PackageVisitor : public JavaVisitor
     {
@@ -142,7 +158,7 @@ private:
     {
     public:
 
-        TypesVisitor(const std::string&);
+        TypesVisitor(const std::string&, bool);
 
         virtual bool visitClassDefStart(const ClassDefPtr&);
         virtual void visitClassDefEnd(const ClassDefPtr&);
@@ -176,7 +192,7 @@ private:
     {
     public:
 
-        HelperVisitor(const std::string&);
+        HelperVisitor(const std::string&, bool);
 
         virtual void visitSequence(const SequencePtr&);
         virtual void visitDictionary(const DictionaryPtr&);
@@ -186,7 +202,7 @@ private:
     {
     public:
 
-        ProxyVisitor(const std::string&);
+        ProxyVisitor(const std::string&, bool);
 
         virtual bool visitClassDefStart(const ClassDefPtr&);
         virtual void visitClassDefEnd(const ClassDefPtr&);
@@ -197,7 +213,7 @@ private:
     {
     public:
 
-        DispatcherVisitor(const std::string&);
+        DispatcherVisitor(const std::string&, bool);
 
         virtual bool visitClassDefStart(const ClassDefPtr&);
     };
@@ -75,6 +75,7 @@ usage(const string& n)
         "--tie                    Generate tie classes. (Java Compat Only)\n"
         "--impl                   Generate sample implementations.\n"
         "--impl-tie               Generate sample tie implementations. (Java Compat Only)\n"
+        "--perf                   Generate code optimized for performance.\n"
         "--checksum CLASS         Generate checksums for Slice definitions into CLASS.\n"
         "--meta META              Define file metadata directive META.\n"
         "--list-generated         Emit list of generated files in XML format.\n"
@@ -100,6 +101,7 @@ compile(const vector<string>& argv)
     opts.addOpt("", "tie");
     opts.addOpt("", "impl");
     opts.addOpt("", "impl-tie");
+    opts.addOpt("", "perf");
     opts.addOpt("", "depend");
     opts.addOpt("", "depend-xml");
     opts.addOpt("", "depend-file", IceUtilInternal::Options::NeedArg, "");
@@ -188,6 +190,8 @@ compile(const vector<string>& argv)
 
     bool compat = opts.isSet("compat");
 
+    bool perf = opts.isSet("perf");
+
     if(args.empty())
     {
         consoleErr << argv[0] << ": error: no input file" << endl;
@@ -359,7 +363,7 @@ compile(const vector<string>& argv)
                         }
                         else
                         {
-                            Gen gen(argv[0], icecpp->getBaseName(), includePaths, output);
+                            Gen gen(argv[0], icecpp->getBaseName(), includePaths, output, perf);
                             gen.generate(p);
                             if(impl)
                             {
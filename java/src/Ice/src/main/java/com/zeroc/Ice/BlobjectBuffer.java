@@ -0,0 +1,53 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.Ice;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Base class for dynamic dispatch servants that receive and return encoded
+ * parameters as byte buffers. A server application derives a concrete
+ * servant class from <code>BlobjectBuffer</code> that implements the
+ * {@link BlobjectBuffer#ice_invoke} method.
+ *
+ * Unlike {@link Blobject}, the in-parameters are not copied: they are passed
+ * as a read-only view of the buffer of the received request, which is only
+ * valid until <code>ice_invoke</code> returns. The servant must copy the
+ * in-parameters if it needs them after returning. The out-parameters are
+ * copied to the response when <code>ice_invoke</code> returns, they can for
+ * example be the <code>outParams</code> of an <code>ice_invokeBuffer</code>
+ * invocation to forward a request without copying its results.
+ **/
+public interface BlobjectBuffer extends com.zeroc.Ice.Object
+{
+    /**
+     * Dispatch an incoming request.
+     *
+     * @param inEncaps The encoded in-parameters for the operation.
+     * @param current The Current object to pass to the operation.
+     * @return The method returns an instance of <code>Ice_invokeBufferResult</code>.
+     * If the operation completed successfully, set the <code>returnValue</code>
+     * member to <code>true</code> and the <code>outParams</code> member to
+     * the encoded results. If the operation raises a user exception, you can
+     * either throw it directly or set the <code>returnValue</code> member to
+     * <code>false</code> and the <code>outParams</code> member to the encoded
+     * user exception. If the operation raises an Ice run-time exception, it
+     * must throw it directly.
+     * @throws UserException A user exception can be raised directly and the
+     * run time will marshal it.
+     **/
+    com.zeroc.Ice.Object.Ice_invokeBufferResult ice_invoke(java.nio.ByteBuffer inEncaps, Current current)
+        throws UserException;
+
+    /** @hidden */
+    @Override
+    default CompletionStage<OutputStream> _iceDispatch(com.zeroc.IceInternal.Incoming in, Current current)
+        throws UserException
+    {
+        java.nio.ByteBuffer inEncaps = in.readParamEncapsBuffer();
+        com.zeroc.Ice.Object.Ice_invokeBufferResult r = ice_invoke(inEncaps, current);
+        return in.setResult(in.writeParamEncaps(in.getAndClearCachedOutputStream(), r.outParams, r.returnValue));
+    }
+}
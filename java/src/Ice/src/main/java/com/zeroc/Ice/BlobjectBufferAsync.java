@@ -0,0 +1,71 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.Ice;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <code>BlobjectBufferAsync</code> is the base class for asynchronous dynamic
+ * dispatch servants that receive and return encoded parameters as byte
+ * buffers. A server application derives a concrete servant class that
+ * implements the {@link BlobjectBufferAsync#ice_invokeAsync} method, which
+ * is called by the Ice run time to deliver every request on this object.
+ *
+ * Unlike {@link BlobjectAsync}, the in-parameters are not copied: they are
+ * passed as a read-only view of the buffer of the received request, which is
+ * only valid until <code>ice_invokeAsync</code> returns. The servant must copy
+ * the in-parameters if it needs them once <code>ice_invokeAsync</code>
+ * returned, the in-parameters of an <code>ice_invokeBufferAsync</code>
+ * invocation are copied before it returns. The out-parameters are copied to
+ * the response once the returned completion stage completes.
+ **/
+public interface BlobjectBufferAsync extends com.zeroc.Ice.Object
+{
+    /**
+     * Dispatch an incoming request.
+     *
+     * @param inEncaps The encoded input parameters.
+     * @param current The Current object, which provides important information
+     * about the request, such as the identity of the target object and the
+     * name of the operation.
+     * @return A completion stage that eventually completes with the result of
+     * the invocation, an instance of <code>Ice_invokeBufferResult</code>.
+     * If the operation completed successfully, set the <code>returnValue</code>
+     * member to <code>true</code> and the <code>outParams</code> member to
+     * the encoded results. If the operation raises a user exception, you can
+     * throw it directly from <code>ice_invokeAsync</code>, or complete the
+     * future by setting the <code>returnValue</code> member to
+     * <code>false</code> and the <code>outParams</code> member to the encoded
+     * user exception.
+     * @throws UserException A user exception raised by this method will be marshaled
+     * as the result of the invocation.
+     **/
+    CompletionStage<Object.Ice_invokeBufferResult> ice_invokeAsync(java.nio.ByteBuffer inEncaps, Current current)
+        throws UserException;
+
+    /** @hidden */
+    @Override
+    default CompletionStage<OutputStream> _iceDispatch(com.zeroc.IceInternal.Incoming in, Current current)
+        throws UserException
+    {
+        java.nio.ByteBuffer inEncaps = in.readParamEncapsBuffer();
+        CompletableFuture<OutputStream> f = new CompletableFuture<>();
+        CompletionStage<Object.Ice_invokeBufferResult> s = ice_invokeAsync(inEncaps, current);
+        final OutputStream cached = in.getAndClearCachedOutputStream(); // If an output stream is cached, re-use it
+        s.whenComplete((result, ex) ->
+            {
+                if(ex != null)
+                {
+                    f.completeExceptionally(ex);
+                }
+                else
+                {
+                    f.complete(in.writeParamEncaps(cached, result.outParams, result.returnValue));
+                }
+            });
+        return f;
+    }
+}
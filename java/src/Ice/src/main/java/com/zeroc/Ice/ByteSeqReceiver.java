@@ -0,0 +1,126 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.Ice;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A servant receiving a large byte sequence sent by {@link ByteSeqSender#send} as a sequence of
+ * chunk requests. The byte sequence is written to a Java output stream as the chunks arrive:
+ * chunks received in order are written directly from the buffer of the request, chunks received
+ * ahead of a missing chunk are held until the missing chunk is received. The bytes held are
+ * bounded by the window of the receiver, chunks beyond the window are rejected.
+ *
+ * A receiver receives a single byte sequence, applications typically add a receiver with a new
+ * identity to an object adapter for each transfer and return its proxy to the sender.
+ *
+ * @see ByteSeqSender
+ **/
+public class ByteSeqReceiver implements BlobjectBufferAsync
+{
+    /**
+     * Creates a receiver.
+     *
+     * @param sink The destination of the byte sequence.
+     * @param window The maximum number of bytes received ahead of the bytes written to the sink.
+     **/
+    public ByteSeqReceiver(java.io.OutputStream sink, int window)
+    {
+        if(window <= 0)
+        {
+            throw new IllegalArgumentException("invalid window: " + window);
+        }
+        _sink = sink;
+        _window = window;
+    }
+
+    /**
+     * Returns a future which completes with the size of the byte sequence once it's entirely
+     * written to the sink, or exceptionally if it can't be written to the sink.
+     *
+     * @return The future for the completion of the transfer.
+     **/
+    public CompletableFuture<Long> completed()
+    {
+        return _completed;
+    }
+
+    @Override
+    public synchronized CompletionStage<Object.Ice_invokeBufferResult> ice_invokeAsync(java.nio.ByteBuffer inEncaps,
+                                                                                     Current current)
+    {
+        if(!current.operation.equals(ByteSeqSender.ReceiverOperation))
+        {
+            throw new OperationNotExistException(current.id, current.facet, current.operation);
+        }
+
+        InputStream in = new InputStream(current.adapter.getCommunicator(), inEncaps);
+        in.startEncapsulation();
+        long offset = in.readLong();
+        boolean last = in.readBool();
+        int pos = in.pos();
+        int size = in.readSize();
+        in.pos(pos);
+        if(_completed.isDone() || offset < _written || offset + size > _written + _window)
+        {
+            throw new MarshalException("unexpected chunk at offset " + offset);
+        }
+
+        try
+        {
+            if(offset == _written)
+            {
+                //
+                // Write the chunk directly from the request buffer, followed by
+                // the chunks held which are now in order.
+                //
+                _written += in.readByteSeq(_sink);
+                Chunk chunk;
+                while(!last && (chunk = _held.remove(_written)) != null)
+                {
+                    _sink.write(chunk.data);
+                    _written += chunk.data.length;
+                    last = chunk.last;
+                }
+
+                if(last)
+                {
+                    _sink.flush();
+                    _completed.complete(_written);
+                }
+            }
+            else
+            {
+                _held.put(offset, new Chunk(in.readByteSeq(), last));
+            }
+        }
+        catch(java.io.IOException | MarshalException ex)
+        {
+            _completed.completeExceptionally(ex);
+            throw new UnknownException(ex);
+        }
+        in.endEncapsulation();
+        return CompletableFuture.completedFuture(new Object.Ice_invokeBufferResult(true, null));
+    }
+
+    private static class Chunk
+    {
+        Chunk(byte[] data, boolean last)
+        {
+            this.data = data;
+            this.last = last;
+        }
+
+        final byte[] data;
+        final boolean last;
+    }
+
+    private final java.io.OutputStream _sink;
+    private final int _window;
+    private final CompletableFuture<Long> _completed = new CompletableFuture<>();
+    private final java.util.TreeMap<Long, Chunk> _held = new java.util.TreeMap<>(); // Chunks ahead of _written
+    private long _written;
+}
@@ -0,0 +1,152 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.Ice;
+
+/**
+ * Sends a large byte sequence to a {@link ByteSeqReceiver} as a sequence of chunk requests,
+ * instead of a single request holding the whole byte sequence. The chunks are read from a
+ * Java input stream as they are sent, and the number of bytes sent but not yet acknowledged
+ * by the receiver is bounded by a window, so the memory used by the transfer on both sides
+ * is bounded by the window regardless of the size of the byte sequence.
+ *
+ * @see ByteSeqReceiver
+ **/
+public final class ByteSeqSender
+{
+    /**
+     * Sends a byte sequence read from a Java input stream to a {@link ByteSeqReceiver}. This
+     * method returns once the receiver acknowledged all the chunks.
+     *
+     * @param proxy The proxy of the receiver. The chunks are sent with twoway invocations.
+     * @param source The source of the byte sequence.
+     * @param size The number of bytes of the sequence to read from the source.
+     * @param chunkSize The maximum number of bytes sent with each chunk request.
+     * @param window The maximum number of bytes sent ahead of the first chunk which is not
+     * acknowledged yet. It must not be larger than the window of the receiver.
+     * @throws LocalException If a chunk request fails.
+     * @throws MarshalException If the byte sequence can't be read from the source.
+     **/
+    public static void send(ObjectPrx proxy, java.io.InputStream source, long size, int chunkSize, int window)
+    {
+        if(size < 0 || chunkSize <= 0 || window < chunkSize)
+        {
+            throw new IllegalArgumentException("invalid size, chunk size or window");
+        }
+
+        ByteSeqSender sender = new ByteSeqSender(proxy.ice_twoway(), window);
+        OutputStream os = new OutputStream(proxy.ice_getCommunicator());
+        long offset = 0;
+        boolean last;
+        do
+        {
+            int n = (int)java.lang.Math.min(size - offset, chunkSize);
+            last = offset + n == size;
+            if(!sender.waitForWindow(offset, n))
+            {
+                break; // A chunk request failed.
+            }
+
+            os.reset();
+            os.startEncapsulation();
+            os.writeLong(offset);
+            os.writeBool(last);
+            os.writeByteSeq(source, n);
+            os.endEncapsulation();
+            sender.sendChunk(offset, os.prepareWrite().b);
+            offset += n;
+        }
+        while(!last);
+
+        sender.waitForCompletion();
+    }
+
+    private ByteSeqSender(ObjectPrx proxy, int window)
+    {
+        _proxy = proxy;
+        _window = window;
+    }
+
+    //
+    // Waits until the chunk at the given offset is within the window, returns
+    // false if a chunk request failed.
+    //
+    private synchronized boolean waitForWindow(long offset, int n)
+    {
+        while(_exception == null && !_pending.isEmpty() && offset + n > _pending.first() + _window)
+        {
+            waitUninterruptibly();
+        }
+        return _exception == null;
+    }
+
+    private void sendChunk(long offset, java.nio.ByteBuffer chunk)
+    {
+        synchronized(this)
+        {
+            _pending.add(offset);
+        }
+
+        //
+        // The chunk is copied before ice_invokeBufferAsync returns, the output
+        // stream is reused for the next chunk.
+        //
+        _proxy.ice_invokeBufferAsync(ReceiverOperation, OperationMode.Normal, chunk).whenComplete(
+            (result, ex) ->
+            {
+                synchronized(this)
+                {
+                    _pending.remove(offset);
+                    if(_exception == null)
+                    {
+                        if(ex != null)
+                        {
+                            _exception = ex;
+                        }
+                        else if(!result.returnValue)
+                        {
+                            _exception = new UnknownUserException("unexpected user exception from receiver");
+                        }
+                    }
+                    notifyAll();
+                }
+            });
+    }
+
+    private synchronized void waitForCompletion()
+    {
+        while(!_pending.isEmpty())
+        {
+            waitUninterruptibly();
+        }
+
+        if(_exception instanceof LocalException)
+        {
+            throw (LocalException)_exception;
+        }
+        else if(_exception != null)
+        {
+            throw new UnknownException(_exception);
+        }
+    }
+
+    private void waitUninterruptibly()
+    {
+        try
+        {
+            wait();
+        }
+        catch(InterruptedException ex)
+        {
+            throw new OperationInterruptedException();
+        }
+    }
+
+    static final String ReceiverOperation = "writeChunk";
+
+    private final ObjectPrx _proxy;
+    private final int _window;
+    private final java.util.TreeSet<Long> _pending = new java.util.TreeSet<>(); // Offsets of the pending chunks
+    private Throwable _exception;
+}
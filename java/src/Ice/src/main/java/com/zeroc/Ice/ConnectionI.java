@@ -9,6 +9,7 @@ import java.util.concurrent.Callable;
 import com.zeroc.IceInternal.AsyncStatus;
 import com.zeroc.IceInternal.Buffer;
 import com.zeroc.IceInternal.Incoming;
+import com.zeroc.IceInternal.IntObjectMap;
 import com.zeroc.IceInternal.OutgoingAsyncBase;
 import com.zeroc.IceInternal.Protocol;
 import com.zeroc.IceInternal.SocketOperation;
@@ -224,6 +225,56 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         return _state > StateNotValidated && _state < StateClosing;
     }
 
+    //
+    // Returns the load of the connection used by the outgoing connection factory
+    // to select the least loaded connection of a connection pool: the number of
+    // outstanding requests plus the number of KB queued for sending.
+    //
+    public synchronized int load()
+    {
+        long queued = 0;
+        for(OutgoingMessage message : _sendStreams)
+        {
+            queued += message.stream.size();
+        }
+        return _asyncRequests.size() + (int)(queued / 1024);
+    }
+
+    //
+    // Adds a round-trip time sample to the latency of the connection. The latency
+    // is a moving average whose weights decay with the time elapsed since the
+    // previous sample. Latency increases are taken into account immediately to
+    // quickly move away from a degraded server.
+    //
+    public synchronized void latencySample(long nanos)
+    {
+        final long now = System.nanoTime();
+        if(nanos >= _latency)
+        {
+            _latency = nanos;
+        }
+        else
+        {
+            final double w = java.lang.Math.exp(-(double)(now - _latencyTime) / LatencyDecayTime);
+            _latency = _latency * w + nanos * (1 - w);
+        }
+        _latencyTime = now;
+    }
+
+    //
+    // Returns the latency of the connection in nanoseconds or 0 if there's no
+    // sample yet. The latency decays when no samples are added so that a server
+    // avoided because of its latency is eventually tried again.
+    //
+    public synchronized long latency()
+    {
+        if(_latency == 0)
+        {
+            return 0;
+        }
+        return (long)(_latency * java.lang.Math.exp(-(double)(System.nanoTime() - _latencyTime) / LatencyDecayTime));
+    }
+
     public synchronized boolean isFinished()
     {
         if(_state != StateFinished || _dispatchCount != 0)
@@ -359,9 +410,30 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         }
     }
 
-    synchronized public int
+    public int
     sendAsyncRequest(OutgoingAsyncBase out, boolean compress, boolean response, int batchRequestNum)
             throws com.zeroc.IceInternal.RetryException
+    {
+        final com.zeroc.IceInternal.CompressionCodec codec = compress ? requestCompressionCodec() : null;
+        final OutputStream os = out.getOs();
+        if(compressBeforeSend(os, codec))
+        {
+            //
+            // Compress the request before locking the connection, so that the compression
+            // doesn't hold up the other messages sent and received over the connection. The
+            // request ID is part of the compressed message body, it's allocated first.
+            //
+            int requestId = writeRequestHeader(os, response, batchRequestNum);
+            OutputStream compressed = doCompress(os, codec);
+            return sendAsyncRequest(out, codec, response, batchRequestNum, requestId, compressed);
+        }
+        return sendAsyncRequest(out, codec, response, batchRequestNum, 0, null);
+    }
+
+    private synchronized int
+    sendAsyncRequest(OutgoingAsyncBase out, com.zeroc.IceInternal.CompressionCodec codec, boolean response,
+                     int batchRequestNum, int requestId, OutputStream compressed)
+            throws com.zeroc.IceInternal.RetryException
     {
         final OutputStream os = out.getOs();
 
@@ -390,37 +462,24 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         //
         out.cancelable(this);
 
-        int requestId = 0;
-        if(response)
-        {
-            //
-            // Create a new unique request ID.
-            //
-            requestId = _nextRequestId++;
-            if(requestId <= 0)
-            {
-                _nextRequestId = 1;
-                requestId = _nextRequestId++;
-            }
-
-            //
-            // Fill in the request ID.
-            //
-            os.pos(Protocol.headerSize);
-            os.writeInt(requestId);
-        }
-        else if(batchRequestNum > 0)
+        if(compressed == null)
         {
-            os.pos(Protocol.headerSize);
-            os.writeInt(batchRequestNum);
+            requestId = writeRequestHeader(os, response, batchRequestNum);
         }
 
         out.attachRemoteObserver(initConnectionInfo(), _endpoint, requestId);
 
+        OutgoingMessage message = new OutgoingMessage(out, os, codec, requestId);
+        if(compressed != null)
+        {
+            message.compressed(compressed);
+            TraceUtil.traceSend(os, _logger, _traceLevels);
+        }
+
         int status;
         try
         {
-            status = sendMessage(new OutgoingMessage(out, os, compress, requestId));
+            status = sendMessage(message);
         }
         catch(LocalException ex)
         {
@@ -439,6 +498,41 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         return status;
     }
 
+    private int writeRequestHeader(OutputStream os, boolean response, int batchRequestNum)
+    {
+        int requestId = 0;
+        if(response)
+        {
+            //
+            // Create a new unique request ID.
+            //
+            requestId = nextRequestId();
+
+            //
+            // Fill in the request ID.
+            //
+            os.pos(Protocol.headerSize);
+            os.writeInt(requestId);
+        }
+        else if(batchRequestNum > 0)
+        {
+            os.pos(Protocol.headerSize);
+            os.writeInt(batchRequestNum);
+        }
+        return requestId;
+    }
+
+    private synchronized int nextRequestId()
+    {
+        int requestId = _nextRequestId++;
+        if(requestId <= 0)
+        {
+            _nextRequestId = 1;
+            requestId = _nextRequestId++;
+        }
+        return requestId;
+    }
+
     public com.zeroc.IceInternal.BatchRequestQueue
     getBatchRequestQueue()
     {
@@ -687,10 +781,9 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
 
         if(outAsync instanceof com.zeroc.IceInternal.OutgoingAsync)
         {
-            java.util.Iterator<OutgoingAsyncBase> it2 = _asyncRequests.values().iterator();
-            while(it2.hasNext())
+            for(int i = 0; i < _asyncRequests.size(); ++i)
             {
-                if(it2.next() == outAsync)
+                if(_asyncRequests.valueAt(i) == outAsync)
                 {
                     if(ex instanceof ConnectionTimeoutException)
                     {
@@ -698,7 +791,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                     }
                     else
                     {
-                        it2.remove();
+                        _asyncRequests.remove(_asyncRequests.keyAt(i));
                         if(outAsync.completed(ex))
                         {
                             outAsync.invokeCompletedAsync();
@@ -719,13 +812,34 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         //
         final boolean queueResponse = _instance.queueRequests();
 
+        //
+        // Compress the response with the codec of the request or, if the request
+        // wasn't compressed, with the codec last used by the peer. Status 1 only
+        // guarantees that the peer supports bzip2, the codec of all Ice versions.
+        //
+        com.zeroc.IceInternal.CompressionCodec codec = null;
+        if(compressFlag == (byte)1)
+        {
+            codec = _peerCompressionCodec;
+        }
+        else if(compressFlag != (byte)0)
+        {
+            codec = _instance.compressionCodec(compressFlag);
+        }
+
+        //
+        // Compress the response before locking the connection, see sendAsyncRequest().
+        //
+        final com.zeroc.IceInternal.CompressionCodec finalCodec = codec;
+        final OutputStream compressed = compressBeforeSend(os, codec) ? doCompress(os, codec) : null;
+
         synchronized(this)
         {
             assert(_state > StateNotValidated);
 
             if(!queueResponse)
             {
-                sendResponseImpl(os, compressFlag);
+                sendResponseImpl(os, finalCodec, compressed);
             }
         }
 
@@ -737,14 +851,15 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 public Void call()
                     throws Exception
                 {
-                    sendResponseImpl(os, compressFlag);
+                    sendResponseImpl(os, finalCodec, compressed);
                     return null;
                 }
             });
         }
     }
 
-    private synchronized void sendResponseImpl(OutputStream os, byte compressFlag)
+    private synchronized void sendResponseImpl(OutputStream os, com.zeroc.IceInternal.CompressionCodec codec,
+                                               OutputStream compressed)
     {
         try
         {
@@ -759,7 +874,13 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
 
             if(_state < StateClosed)
             {
-                sendMessage(new OutgoingMessage(os, compressFlag != 0, true));
+                OutgoingMessage message = new OutgoingMessage(os, codec, true);
+                if(compressed != null)
+                {
+                    message.compressed(compressed);
+                    TraceUtil.traceSend(os, _logger, _traceLevels);
+                }
+                sendMessage(message);
 
                 if(_state == StateClosing && _dispatchCount == 0)
                 {
@@ -1131,8 +1252,17 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                     //
                     if((readyOp & SocketOperation.Read) != 0)
                     {
-                        // Optimization: use the thread's stream.
-                        info = new MessageInfo(current.stream);
+                        // Optimization: use the thread's stream and message info.
+                        if(current.handlerData instanceof MessageInfo)
+                        {
+                            info = (MessageInfo)current.handlerData;
+                            current.handlerData = null;
+                            info.stream = current.stream;
+                        }
+                        else
+                        {
+                            info = new MessageInfo(current.stream);
+                        }
                         newOp |= parseMessage(info);
                         dispatchCount += info.messageDispatchCount;
                     }
@@ -1165,6 +1295,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
 
                 if(dispatchCount == 0)
                 {
+                    releaseMessageInfo(current, info);
                     return; // Nothing to dispatch we're done!
                 }
 
@@ -1208,9 +1339,14 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             }
         }
 
-        if(!_dispatcher) // Optimization, call dispatch() directly if there's no dispatcher.
+        //
+        // Optimization, call dispatch() directly if there's no dispatcher and if
+        // the thread pool doesn't dispatch on virtual threads.
+        //
+        if(!_dispatcher && !_threadPool.virtualThreads())
         {
             dispatch(startCB, sentCBs, info);
+            releaseMessageInfo(current, info);
         }
         else
         {
@@ -1230,7 +1366,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             final StartCallback finalStartCB = startCB;
             final java.util.List<OutgoingMessage> finalSentCBs = sentCBs;
             final MessageInfo finalInfo = info;
-            _threadPool.dispatchFromThisThread(new com.zeroc.IceInternal.DispatchWorkItem(this)
+            current.dispatchFromThisThread(new com.zeroc.IceInternal.DispatchWorkItem(this)
             {
                 @Override
                 public void run()
@@ -1269,6 +1405,12 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
 
         if(info != null)
         {
+            if(info.compressionCodec != null)
+            {
+                uncompressMessage(info);
+                ++dispatchedCount; // The dispatch count reserved by parseMessage().
+            }
+
             //
             // Asynchronous replies must be handled outside the thread
             // synchronization, so that nested calls are possible.
@@ -1529,8 +1671,9 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             _sendStreams.clear();
         }
 
-        for(OutgoingAsyncBase p : _asyncRequests.values())
+        for(int i = 0; i < _asyncRequests.size(); ++i)
         {
+            OutgoingAsyncBase p = _asyncRequests.valueAt(i);
             if(p.completed(_exception))
             {
                 p.invokeCompleted();
@@ -1680,11 +1823,8 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         _dispatcher = initData.dispatcher != null;
         _logger = initData.logger; // Cached for better performance.
         _traceLevels = instance.traceLevels(); // Cached for better performance.
-        _timer = instance.timer();
-        _writeTimeout = new TimeoutCallback();
-        _writeTimeoutFuture = null;
-        _readTimeout = new TimeoutCallback();
-        _readTimeoutFuture = null;
+        _writeTimeout = instance.timingWheel().createTimeout(new TimeoutCallback());
+        _readTimeout = instance.timingWheel().createTimeout(new TimeoutCallback());
         _warn = initData.properties.getPropertyAsInt("Ice.Warn.Connections") > 0;
         _warnUdp = instance.initializationData().properties.getPropertyAsInt("Ice.Warn.Datagrams") > 0;
         _cacheBuffers = instance.cacheMessageBuffers();
@@ -1704,19 +1844,10 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         _readStreamPos = -1;
         _writeStream = new OutputStream(instance, Protocol.currentProtocolEncoding);
         _writeStreamPos = -1;
+        _gatheringWriteSize = _endpoint.datagram() ? 0 : instance.gatheringWriteSize();
         _dispatchCount = 0;
         _state = StateNotInitialized;
-
-        int compressionLevel = initData.properties.getPropertyAsIntWithDefault("Ice.Compression.Level", 1);
-        if(compressionLevel < 1)
-        {
-            compressionLevel = 1;
-        }
-        else if(compressionLevel > 9)
-        {
-            compressionLevel = 9;
-        }
-        _compressionLevel = compressionLevel;
+        _peerCompressionCodec = instance.compressionCodec((byte)2);
 
         if(adapter != null)
         {
@@ -1779,6 +1910,10 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
     private static final int StateClosed = 6;
     private static final int StateFinished = 7;
 
+    private static final int MaxGatheringWriteBuffers = 64;
+
+    private static final double LatencyDecayTime = 1000000000.0; // 1s in nanoseconds
+
     private void setState(int state, LocalException ex)
     {
         //
@@ -2051,7 +2186,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                                     // CloseConnection in Java.
             os.writeInt(Protocol.headerSize); // Message size.
 
-            if((sendMessage(new OutgoingMessage(os, false, false)) & AsyncStatus.Sent) > 0)
+            if((sendMessage(new OutgoingMessage(os, null, false)) & AsyncStatus.Sent) > 0)
             {
                 setState(StateClosingPending);
 
@@ -2115,7 +2250,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
 
             try
             {
-                OutgoingMessage message = new OutgoingMessage(os, false, false);
+                OutgoingMessage message = new OutgoingMessage(os, null, false);
                 sendMessage(message);
             }
             catch(LocalException ex)
@@ -2161,9 +2296,12 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                     Protocol.currentProtocol.ice_writeMembers(_writeStream);
                     Protocol.currentProtocolEncoding.ice_writeMembers(_writeStream);
                     _writeStream.writeByte(Protocol.validateConnectionMsg);
-                    _writeStream.writeByte((byte) 0); // Compression status
-                                                      // (always zero for
-                                                      // validate connection).
+                    //
+                    // The compression status of the validate connection message is
+                    // ignored by Ice versions without other codecs than bzip2, it
+                    // advertises the compression statuses understood by this side.
+                    //
+                    _writeStream.writeByte(_instance.compressionStatusMax());
                     _writeStream.writeInt(Protocol.headerSize); // Message size.
                     TraceUtil.traceSend(_writeStream, _logger, _traceLevels);
                     _writeStream.prepareWrite();
@@ -2244,8 +2382,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 {
                     throw new ConnectionNotValidatedException();
                 }
-                _readStream.readByte(); // Ignore compression status for
-                                        // validate connection.
+                addPeerCompressionStatuses(3, _readStream.readByte()); // See above.
                 int size = _readStream.readInt();
                 if(size != Protocol.headerSize)
                 {
@@ -2305,6 +2442,8 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         assert (!_writeStream.isEmpty() && _writeStream.pos() == _writeStream.size());
         try
         {
+            int op = SocketOperation.None; // The status of the last gathering write.
+            int written = 0; // The number of messages following _writeStream written by the last gathering write.
             while(true)
             {
                 //
@@ -2339,16 +2478,15 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 }
 
                 //
-                // Otherwise, prepare the next message stream for writing.
+                // Otherwise, prepare the next message stream for writing. The message might
+                // already be prepared if it was written by the last gathering write.
                 //
                 message = _sendStreams.getFirst();
-                assert (!message.prepared);
-                OutputStream stream = message.stream;
-
-                message.stream = doCompress(stream, message.compress);
-                message.stream.prepareWrite();
-                message.prepared = true;
-                TraceUtil.traceSend(stream, _logger, _traceLevels);
+                assert (message.prepared || written == 0);
+                if(!message.prepared)
+                {
+                    prepareMessage(message);
+                }
                 _writeStream.swap(message.stream);
 
                 //
@@ -2358,10 +2496,22 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 {
                     observerStartWrite(_writeStream.getBuffer());
                 }
-                if(_writeStream.pos() != _writeStream.size())
+                if(written > 0)
                 {
-                    int op = write(_writeStream.getBuffer());
-                    if(op != 0)
+                    //
+                    // If this is the last message written by the gathering write and the write
+                    // didn't complete, wait for the connection to be ready for writing again.
+                    //
+                    if(--written == 0 && op != SocketOperation.None)
+                    {
+                        return op;
+                    }
+                }
+                else if(_writeStream.pos() != _writeStream.size())
+                {
+                    op = writeMessages();
+                    written = countWrittenMessages();
+                    if(op != SocketOperation.None && written == 0)
                     {
                         return op;
                     }
@@ -2379,7 +2529,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             if(_state == StateClosing && _shutdownInitiated)
             {
                 setState(StateClosingPending);
-                int op = _transceiver.closing(true, _exception);
+                op = _transceiver.closing(true, _exception);
                 if(op != 0)
                 {
                     return op;
@@ -2411,13 +2561,8 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
 
         assert (!message.prepared);
 
-        OutputStream stream = message.stream;
-
-        message.stream = doCompress(stream, message.compress);
-        message.stream.prepareWrite();
-        message.prepared = true;
+        prepareMessage(message);
         int op;
-        TraceUtil.traceSend(stream, _logger, _traceLevels);
 
         //
         // Send the message without blocking.
@@ -2456,25 +2601,152 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         return AsyncStatus.Queued;
     }
 
-    private OutputStream doCompress(OutputStream uncompressed, boolean compress)
+    private void prepareMessage(OutgoingMessage message)
     {
-        boolean compressionSupported = false;
-        if(compress)
+        if(message.compressed)
         {
             //
-            // Don't check whether compression support is available unless the
-            // proxy is configured for compression.
+            // Compressed and traced before the message was queued.
             //
-            compressionSupported = com.zeroc.IceInternal.BZip2.supported();
+            message.stream.prepareWrite();
+            message.prepared = true;
+            return;
+        }
+
+        OutputStream stream = message.stream;
+
+        message.stream = doCompress(stream, message.compress);
+        message.stream.prepareWrite();
+        message.prepared = true;
+        TraceUtil.traceSend(stream, _logger, _traceLevels);
+    }
+
+    private int writeMessages()
+    {
+        //
+        // Write the message from _writeStream along with the messages queued after it, using a
+        // single gathering write. The following messages are prepared as needed, up to
+        // _gatheringWriteSize bytes.
+        //
+        Buffer buf = _writeStream.getBuffer();
+        if(_gatheringWriteSize == 0 || _sendStreams.size() == 1)
+        {
+            return write(buf);
+        }
+
+        int count = 0;
+        _writeBuffers[count++] = buf;
+        int size = buf.b.remaining();
+
+        java.util.Iterator<OutgoingMessage> p = _sendStreams.iterator();
+        p.next(); // Skip the message from _writeStream.
+        while(p.hasNext() && count < _writeBuffers.length && size < _gatheringWriteSize)
+        {
+            OutgoingMessage message = p.next();
+            if(!message.prepared)
+            {
+                prepareMessage(message);
+            }
+            _writeBuffers[count++] = message.stream.getBuffer();
+            size += message.stream.size();
+        }
+
+        try
+        {
+            int op = write(_writeBuffers, count);
+            if(_observer != null)
+            {
+                //
+                // The bytes of the message from _writeStream are reported by observerFinishWrite.
+                //
+                for(int i = 1; i < count && _writeBuffers[i].b.position() > 0; ++i)
+                {
+                    _observer.sentBytes(_writeBuffers[i].b.position());
+                }
+            }
+            return op;
+        }
+        finally
+        {
+            java.util.Arrays.fill(_writeBuffers, 0, count, null);
+        }
+    }
+
+    private int countWrittenMessages()
+    {
+        //
+        // Returns the number of messages following the message from _writeStream which were
+        // written (partially or fully) by the last gathering write.
+        //
+        int count = 0;
+        java.util.Iterator<OutgoingMessage> p = _sendStreams.iterator();
+        p.next(); // Skip the message from _writeStream.
+        while(p.hasNext())
+        {
+            OutgoingMessage message = p.next();
+            if(!message.prepared || message.stream.pos() == 0)
+            {
+                break;
+            }
+            ++count;
+        }
+        return count;
+    }
+
+    //
+    // Returns true if the message should be compressed before it's queued,
+    // without the connection lock. Smaller messages are compressed with the
+    // lock held, when they're sent.
+    //
+    private static boolean compressBeforeSend(OutputStream os, com.zeroc.IceInternal.CompressionCodec codec)
+    {
+        return codec != null && codec.supported() && os.size() >= codec.minSize();
+    }
+
+    //
+    // Returns the codec to compress requests with. The codec selected with
+    // Ice.Compression.Codec is only used once the peer is known to understand
+    // its compression status, because the peer advertised it or sent a message
+    // compressed with it. Until then requests are compressed with bzip2, which
+    // all Ice versions understand.
+    //
+    private com.zeroc.IceInternal.CompressionCodec requestCompressionCodec()
+    {
+        com.zeroc.IceInternal.CompressionCodec codec = _instance.compressionCodec();
+        if(codec.id() == (byte)2 || (_peerCompressionStatuses & (1L << codec.id())) != 0)
+        {
+            return codec;
+        }
+        return _instance.compressionCodec((byte)2);
+    }
+
+    //
+    // Records that the peer understands the compression statuses from first to last.
+    //
+    private void addPeerCompressionStatuses(int first, byte last)
+    {
+        long statuses = 0;
+        for(int i = java.lang.Math.max(first, 3); i <= (last & 0xFF) && i < 64; ++i)
+        {
+            statuses |= 1L << i;
+        }
+        if((_peerCompressionStatuses | statuses) != _peerCompressionStatuses)
+        {
+            synchronized(this)
+            {
+                _peerCompressionStatuses |= statuses;
+            }
         }
+    }
 
-        if(compressionSupported && uncompressed.size() >= 100)
+    private OutputStream doCompress(OutputStream uncompressed, com.zeroc.IceInternal.CompressionCodec codec)
+    {
+        if(codec != null && codec.supported())
         {
             //
             // Do compression.
             //
-            Buffer cbuf = com.zeroc.IceInternal.BZip2.compress(uncompressed.getBuffer(),
-                                                               Protocol.headerSize, _compressionLevel);
+            Buffer cbuf = codec.compress(uncompressed.getBuffer(), Protocol.headerSize);
             if(cbuf != null)
             {
                 OutputStream cstream =
@@ -2484,7 +2756,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 // Set compression status.
                 //
                 cstream.pos(9);
-                cstream.writeByte((byte) 2);
+                cstream.writeByte(codec.id());
 
                 //
                 // Write the size of the compressed stream into the header.
@@ -2498,15 +2770,20 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 // this to trace requests correctly.
                 //
                 uncompressed.pos(9);
-                uncompressed.writeByte((byte) 2);
+                uncompressed.writeByte(codec.id());
                 uncompressed.writeInt(cstream.size());
 
                 return cstream;
             }
         }
 
+        //
+        // Status 1 asks the peer to compress the response, which the peer might do
+        // with bzip2 if it doesn't know the codec used by this side of the connection.
+        //
+        boolean compressResponse = codec != null && _peerCompressionCodec.supported();
         uncompressed.pos(9);
-        uncompressed.writeByte((byte) (compressionSupported ? 1 : 0));
+        uncompressed.writeByte((byte) (compressResponse ? 1 : 0));
 
         //
         // Not compressed, fill in the message size.
@@ -2524,10 +2801,27 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             this.stream = stream;
         }
 
+        void clear()
+        {
+            stream = null;
+            invokeNum = 0;
+            requestId = 0;
+            compress = 0;
+            messageType = 0;
+            compressionCodec = null;
+            servantManager = null;
+            adapter = null;
+            outAsync = null;
+            heartbeatCallback = null;
+            messageDispatchCount = 0;
+        }
+
         InputStream stream;
         int invokeNum;
         int requestId;
         byte compress;
+        byte messageType;
+        com.zeroc.IceInternal.CompressionCodec compressionCodec; // Set if the message must be uncompressed.
         com.zeroc.IceInternal.ServantManager servantManager;
         ObjectAdapter adapter;
         OutgoingAsyncBase outAsync;
@@ -2535,6 +2829,19 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         int messageDispatchCount;
     }
 
+    //
+    // Keeps the message info with the thread for the next message once it's
+    // no longer used.
+    //
+    private static void releaseMessageInfo(com.zeroc.IceInternal.ThreadPoolCurrent current, MessageInfo info)
+    {
+        if(info != null)
+        {
+            info.clear();
+            current.handlerData = info;
+        }
+    }
+
     private int parseMessage(MessageInfo info)
     {
         assert (_state > StateNotValidated && _state < StateClosed);
@@ -2555,146 +2862,372 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             info.stream.pos(8);
             byte messageType = info.stream.readByte();
             info.compress = info.stream.readByte();
-            if(info.compress == (byte)2)
+            if(info.compress != (byte)0 && info.compress != (byte)1)
             {
-                if(com.zeroc.IceInternal.BZip2.supported())
+                com.zeroc.IceInternal.CompressionCodec codec = _instance.compressionCodec(info.compress);
+                if(codec != null && codec.supported())
                 {
-                    Buffer ubuf = com.zeroc.IceInternal.BZip2.uncompress(info.stream.getBuffer(),
-                                                                         Protocol.headerSize,
-                                                                         _messageSizeMax);
+                    _peerCompressionCodec = codec;
+                    addPeerCompressionStatuses(info.compress, info.compress);
+                    if(messageType == Protocol.requestMsg || messageType == Protocol.requestBatchMsg ||
+                       messageType == Protocol.replyMsg)
+                    {
+                        //
+                        // Uncompress requests and replies once the thread pool IO is completed,
+                        // without the connection lock, see uncompressMessage(). The message
+                        // counts as a dispatch until it's parsed.
+                        //
+                        info.messageType = messageType;
+                        info.compressionCodec = codec;
+                        ++info.messageDispatchCount;
+                        ++_uncompressCount;
+                        return _state == StateHolding ? SocketOperation.None : SocketOperation.Read;
+                    }
+                    Buffer ubuf = codec.uncompress(info.stream.getBuffer(), Protocol.headerSize, _messageSizeMax);
                     info.stream = new InputStream(info.stream.instance(), info.stream.getEncoding(), ubuf, true);
                 }
-                else
+                else if(codec != null)
                 {
                     FeatureNotSupportedException ex = new FeatureNotSupportedException();
                     ex.unsupportedFeature = "Cannot uncompress compressed message: "
                                             + "org.apache.tools.bzip2.CBZip2OutputStream was not found";
                     throw ex;
                 }
+                else
+                {
+                    FeatureNotSupportedException ex = new FeatureNotSupportedException();
+                    ex.unsupportedFeature = "Cannot uncompress compressed message: unknown compression status "
+                                            + (info.compress & 0xFF);
+                    throw ex;
+                }
             }
             info.stream.pos(Protocol.headerSize);
 
-            switch(messageType)
+            int op = parseMessageBody(info, messageType);
+            if(op != 0)
             {
-                case Protocol.closeConnectionMsg:
-                {
-                    TraceUtil.traceRecv(info.stream, _logger, _traceLevels);
-                    if(_endpoint.datagram())
-                    {
-                        if(_warn)
-                        {
-                            _logger.warning("ignoring close connection message for datagram connection:\n" + _desc);
-                        }
-                    }
-                    else
-                    {
-                        setState(StateClosingPending, new CloseConnectionException());
+                return op;
+            }
+        }
+        catch(LocalException ex)
+        {
+            parseMessageException(ex);
+        }
 
-                        //
-                        // Notify the transceiver of the graceful connection closure.
-                        //
-                        int op = _transceiver.closing(false, _exception);
-                        if(op != 0)
-                        {
-                            return op;
-                        }
-                        setState(StateClosed);
-                    }
-                    break;
+        return _state == StateHolding ? SocketOperation.None : SocketOperation.Read;
+    }
+
+    //
+    // Uncompresses and parses a compressed request or reply. Called without the
+    // connection lock by dispatch(), before the message is dispatched.
+    //
+    private void uncompressMessage(MessageInfo info)
+    {
+        Buffer ubuf = null;
+        LocalException exception = null;
+        try
+        {
+            ubuf = info.compressionCodec.uncompress(info.stream.getBuffer(), Protocol.headerSize, _messageSizeMax);
+        }
+        catch(LocalException ex)
+        {
+            exception = ex;
+        }
+
+        synchronized(this)
+        {
+            --_uncompressCount;
+            if(_state >= StateClosed)
+            {
+                return; // The message is ignored if the connection was closed in the meantime.
+            }
+
+            //
+            // The dispatch count reserved by parseMessage() for the compressed message is
+            // released by dispatch(), add the dispatch count of the uncompressed message.
+            //
+            info.messageDispatchCount = 0;
+            try
+            {
+                if(exception != null)
+                {
+                    throw exception;
                 }
+                info.stream = new InputStream(info.stream.instance(), info.stream.getEncoding(), ubuf, true);
+                info.stream.pos(Protocol.headerSize);
+                parseMessageBody(info, info.messageType);
 
-                case Protocol.requestMsg:
+                //
+                // Process the close connection message held back by parseMessageBody() once
+                // the messages received before it are parsed.
+                //
+                if(_uncompressCount == 0 && _closeConnectionReceived)
                 {
-                    if(_state >= StateClosing)
-                    {
-                        TraceUtil.trace("received request during closing\n(ignored by server, client will retry)",
-                                        info.stream, _logger, _traceLevels);
-                    }
-                    else
+                    _closeConnectionReceived = false;
+                    int op = closeConnectionReceived();
+                    if(op != 0)
                     {
-                        TraceUtil.traceRecv(info.stream, _logger, _traceLevels);
-                        info.requestId = info.stream.readInt();
-                        info.invokeNum = 1;
-                        info.servantManager = _servantManager;
-                        info.adapter = _adapter;
-                        ++info.messageDispatchCount;
+                        scheduleTimeout(op);
+                        _threadPool.register(this, op);
                     }
-                    break;
                 }
+            }
+            catch(LocalException ex)
+            {
+                parseMessageException(ex);
+            }
+            _dispatchCount += info.messageDispatchCount;
+        }
+    }
+
+    //
+    // Handles the close connection message from the peer, returns the socket operation
+    // to wait for if the transceiver is closing or 0 otherwise.
+    //
+    private int closeConnectionReceived()
+    {
+        setState(StateClosingPending, new CloseConnectionException());
+
+        //
+        // Notify the transceiver of the graceful connection closure.
+        //
+        int op = _transceiver.closing(false, _exception);
+        if(op != 0)
+        {
+            return op;
+        }
+        setState(StateClosed);
+        return 0;
+    }
+
+    private void parseMessageException(LocalException ex)
+    {
+        if(_endpoint.datagram())
+        {
+            if(_warn)
+            {
+                _logger.warning("datagram connection exception:\n" + ex + '\n' + _desc);
+            }
+        }
+        else
+        {
+            setState(StateClosed, ex);
+        }
+    }
 
-                case Protocol.requestBatchMsg:
+    //
+    // Parses the message body, returns the socket operation to wait for if the
+    // transceiver is closing or 0 otherwise.
+    //
+    private int parseMessageBody(MessageInfo info, byte messageType)
+    {
+        switch(messageType)
+        {
+            case Protocol.closeConnectionMsg:
+            {
+                TraceUtil.traceRecv(info.stream, _logger, _traceLevels);
+                if(_endpoint.datagram())
                 {
-                    if(_state >= StateClosing)
-                    {
-                        TraceUtil.trace("received batch request during closing\n(ignored by server, client will retry)",
-                                        info.stream, _logger, _traceLevels);
-                    }
-                    else
+                    if(_warn)
                     {
-                        TraceUtil.traceRecv(info.stream, _logger, _traceLevels);
-                        info.invokeNum = info.stream.readInt();
-                        if(info.invokeNum < 0)
-                        {
-                            info.invokeNum = 0;
-                            throw new UnmarshalOutOfBoundsException();
-                        }
-                        info.servantManager = _servantManager;
-                        info.adapter = _adapter;
-                        info.messageDispatchCount += info.invokeNum;
+                        _logger.warning("ignoring close connection message for datagram connection:\n" + _desc);
                     }
-                    break;
                 }
+                else if(_uncompressCount > 0)
+                {
+                    //
+                    // Compressed messages received before the close connection message are
+                    // still being uncompressed, see uncompressMessage(). Closing now would
+                    // fail the requests whose replies are being uncompressed with
+                    // CloseConnectionException, and these requests would be retried even
+                    // if they aren't idempotent.
+                    //
+                    _closeConnectionReceived = true;
+                }
+                else
+                {
+                    return closeConnectionReceived();
+                }
+                break;
+            }
 
-                case Protocol.replyMsg:
+            case Protocol.requestMsg:
+            {
+                if(_state >= StateClosing)
+                {
+                    TraceUtil.trace("received request during closing\n(ignored by server, client will retry)",
+                                    info.stream, _logger, _traceLevels);
+                }
+                else
                 {
                     TraceUtil.traceRecv(info.stream, _logger, _traceLevels);
                     info.requestId = info.stream.readInt();
-
-                    OutgoingAsyncBase outAsync = _asyncRequests.remove(info.requestId);
-                    if(outAsync != null && outAsync.completed(info.stream))
-                    {
-                        info.outAsync = outAsync;
-                        ++info.messageDispatchCount;
-                    }
-                    notifyAll(); // Notify threads blocked in close(false)
-                    break;
+                    info.invokeNum = 1;
+                    info.servantManager = _servantManager;
+                    info.adapter = _adapter;
+                    ++info.messageDispatchCount;
                 }
+                break;
+            }
 
-                case Protocol.validateConnectionMsg:
+            case Protocol.requestBatchMsg:
+            {
+                if(_state >= StateClosing)
+                {
+                    TraceUtil.trace("received batch request during closing\n(ignored by server, client will retry)",
+                                    info.stream, _logger, _traceLevels);
+                }
+                else
                 {
                     TraceUtil.traceRecv(info.stream, _logger, _traceLevels);
-                    if(_heartbeatCallback != null)
+                    info.invokeNum = info.stream.readInt();
+                    if(info.invokeNum < 0)
                     {
-                        info.heartbeatCallback = _heartbeatCallback;
-                        ++info.messageDispatchCount;
+                        info.invokeNum = 0;
+                        throw new UnmarshalOutOfBoundsException();
                     }
-                    break;
+                    info.servantManager = _servantManager;
+                    info.adapter = _adapter;
+                    info.messageDispatchCount += info.invokeNum;
                 }
+                break;
+            }
 
-                default:
+            case Protocol.replyMsg:
+            {
+                TraceUtil.traceRecv(info.stream, _logger, _traceLevels);
+                info.requestId = info.stream.readInt();
+
+                OutgoingAsyncBase outAsync = _asyncRequests.remove(info.requestId);
+                if(outAsync != null && outAsync.completed(info.stream))
                 {
-                    TraceUtil.trace("received unknown message\n(invalid, closing connection)", info.stream,
-                                    _logger, _traceLevels);
-                    throw new UnknownMessageException();
+                    info.outAsync = outAsync;
+                    ++info.messageDispatchCount;
                 }
+                notifyAll(); // Notify threads blocked in close(false)
+                break;
             }
-        }
-        catch(LocalException ex)
-        {
-            if(_endpoint.datagram())
+
+            case Protocol.validateConnectionMsg:
             {
-                if(_warn)
+                TraceUtil.traceRecv(info.stream, _logger, _traceLevels);
+                if(_heartbeatCallback != null)
                 {
-                    _logger.warning("datagram connection exception:\n" + ex + '\n' + _desc);
+                    info.heartbeatCallback = _heartbeatCallback;
+                    ++info.messageDispatchCount;
                 }
+                break;
             }
-            else
+
+            default:
             {
-                setState(StateClosed, ex);
+                TraceUtil.trace("received unknown message\n(invalid, closing connection)", info.stream,
+                                _logger, _traceLevels);
+                throw new UnknownMessageException();
             }
         }
 
-        return _state == StateHolding ? SocketOperation.None : SocketOperation.Read;
+        return 0;
+    }
+
+    //
+    // Split the requests of a batch request message and dispatch them in
+    // parallel with the connection's thread pool. The last request is
+    // dispatched by the calling thread. Returns the number of requests that
+    // remain to be dispatched sequentially by the caller: the batch is left
+    // untouched if it can't be split, to report the unmarshaling failure
+    // when the faulty request is reached.
+    //
+    private int invokeBatch(InputStream stream, int invokeNum, byte compress,
+                            com.zeroc.IceInternal.ServantManager servantManager, ObjectAdapter adapter)
+    {
+        final int start = stream.pos();
+        final int[] offsets = new int[invokeNum + 1];
+        try
+        {
+            offsets[0] = start;
+            for(int i = 1; i <= invokeNum; ++i)
+            {
+                skipRequest(stream);
+                offsets[i] = stream.pos();
+            }
+        }
+        catch(LocalException ex)
+        {
+            stream.pos(start);
+            return invokeNum;
+        }
+
+        //
+        // The stream might be reused by the thread pool once this dispatch
+        // returns, the requests are sliced from a buffer owned by the batch.
+        // The buffer isn't released to the buffer pool, it's still referenced
+        // by the slices of the requests being dispatched.
+        //
+        InputStream batch = new InputStream(_instance, Protocol.currentProtocolEncoding);
+        batch.swap(stream);
+        final java.nio.ByteBuffer buf = batch.getBuffer().b;
+
+        int i = 0;
+        try
+        {
+            for(; i < invokeNum - 1; ++i)
+            {
+                final InputStream request = sliceRequest(buf, offsets[i], offsets[i + 1]);
+
+                //
+                // The work item isn't associated with the connection to allow
+                // thread pool shards to dispatch the requests concurrently.
+                //
+                _threadPool.dispatch(new com.zeroc.IceInternal.DispatchWorkItem()
+                                    {
+                                        @Override
+                                        public void run()
+                                        {
+                                            invokeAll(request, 1, 0, compress, servantManager, adapter);
+                                        }
+                                    });
+            }
+        }
+        catch(LocalException ex)
+        {
+            invokeException(0, ex, invokeNum - i, false);
+            return 0;
+        }
+
+        invokeAll(sliceRequest(buf, offsets[i], offsets[i + 1]), 1, 0, compress, servantManager, adapter);
+        return 0;
+    }
+
+    private InputStream sliceRequest(java.nio.ByteBuffer buf, int start, int end)
+    {
+        java.nio.ByteBuffer b = buf.duplicate();
+        b.limit(end);
+        b.position(start);
+        return new InputStream(_instance, Protocol.currentProtocolEncoding, b.slice());
+    }
+
+    private static void skipRequest(InputStream stream)
+    {
+        skipString(stream); // Identity name
+        skipString(stream); // Identity category
+        for(int sz = stream.readSize(); sz > 0; --sz) // Facet path
+        {
+            skipString(stream);
+        }
+        skipString(stream); // Operation
+        stream.skip(1); // Mode
+        for(int sz = stream.readSize(); sz > 0; --sz) // Context
+        {
+            skipString(stream);
+            skipString(stream);
+        }
+        stream.skipEncapsulation();
+    }
+
+    private static void skipString(InputStream stream)
+    {
+        stream.skip(stream.readSize());
     }
 
     private void invokeAll(InputStream stream, int invokeNum, int requestId, byte compress,
@@ -2705,6 +3238,16 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         // operation must be called *without* the mutex locked.
         //
 
+        if(invokeNum > 1 && adapter != null && ((ObjectAdapterI)adapter).parallelBatchDispatch() &&
+           !_threadPool.serialize())
+        {
+            invokeNum = invokeBatch(stream, invokeNum, compress, servantManager, adapter);
+            if(invokeNum == 0)
+            {
+                return;
+            }
+        }
+
         Incoming in = null;
         try
         {
@@ -2828,44 +3371,25 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             return;
         }
 
-        try
+        if((status & SocketOperation.Read) != 0)
         {
-            if((status & SocketOperation.Read) != 0)
-            {
-                if(_readTimeoutFuture != null)
-                {
-                    _readTimeoutFuture.cancel(false);
-                }
-                _readTimeoutFuture = _timer.schedule(_readTimeout, timeout, java.util.concurrent.TimeUnit.MILLISECONDS);
-            }
-            if((status & (SocketOperation.Write | SocketOperation.Connect)) != 0)
-            {
-                if(_writeTimeoutFuture != null)
-                {
-                    _writeTimeoutFuture.cancel(false);
-                }
-                _writeTimeoutFuture = _timer.schedule(_writeTimeout, timeout,
-                        java.util.concurrent.TimeUnit.MILLISECONDS);
-            }
+            _readTimeout.schedule(timeout);
         }
-        catch(Throwable ex)
+        if((status & (SocketOperation.Write | SocketOperation.Connect)) != 0)
         {
-            assert (false);
+            _writeTimeout.schedule(timeout);
         }
     }
 
     private void unscheduleTimeout(int status)
     {
-        if((status & SocketOperation.Read) != 0 && _readTimeoutFuture != null)
+        if((status & SocketOperation.Read) != 0)
         {
-            _readTimeoutFuture.cancel(false);
-            _readTimeoutFuture = null;
+            _readTimeout.cancel();
         }
-        if((status & (SocketOperation.Write | SocketOperation.Connect)) != 0 &&
-           _writeTimeoutFuture != null)
+        if((status & (SocketOperation.Write | SocketOperation.Connect)) != 0)
         {
-            _writeTimeoutFuture.cancel(false);
-            _writeTimeoutFuture = null;
+            _writeTimeout.cancel();
         }
     }
 
@@ -3033,6 +3557,39 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         return op;
     }
 
+    private int write(Buffer[] bufs, int count)
+    {
+        int start = 0;
+        int size = 0;
+        for(int i = 0; i < count; ++i)
+        {
+            start += bufs[i].b.position();
+            size += bufs[i].b.limit();
+        }
+        int op = _transceiver.write(bufs, count);
+        if(_instance.traceLevels().network >= 3)
+        {
+            int sent = -start;
+            for(int i = 0; i < count; ++i)
+            {
+                sent += bufs[i].b.position();
+            }
+            if(sent > 0)
+            {
+                StringBuffer s = new StringBuffer("sent ");
+                s.append(sent);
+                s.append(" of ");
+                s.append(size - start);
+                s.append(" bytes via ");
+                s.append(_endpoint.protocol());
+                s.append("\n");
+                s.append(toString());
+                _instance.initializationData().logger.trace(_instance.traceLevels().networkCat, s.toString());
+            }
+        }
+        return op;
+    }
+
     private int write(Buffer buf)
     {
         int start = buf.b.position();
@@ -3057,7 +3614,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
 
     private static class OutgoingMessage
     {
-        OutgoingMessage(OutputStream stream, boolean compress, boolean adopt)
+        OutgoingMessage(OutputStream stream, com.zeroc.IceInternal.CompressionCodec compress, boolean adopt)
         {
             this.stream = stream;
             this.compress = compress;
@@ -3065,7 +3622,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             this.requestId = 0;
         }
 
-        OutgoingMessage(OutgoingAsyncBase out, OutputStream stream, boolean compress,
+        OutgoingMessage(OutgoingAsyncBase out, OutputStream stream, com.zeroc.IceInternal.CompressionCodec compress,
                 int requestId)
         {
             this.stream = stream;
@@ -3091,6 +3648,16 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             }
         }
 
+        //
+        // Sets the stream returned by doCompress(), the message is already
+        // compressed and traced.
+        //
+        public void compressed(OutputStream stream)
+        {
+            this.stream = stream;
+            this.compressed = true;
+        }
+
         public boolean sent()
         {
             if(outAsync != null)
@@ -3110,10 +3677,11 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
 
         public OutputStream stream;
         public OutgoingAsyncBase outAsync;
-        public boolean compress;
+        public com.zeroc.IceInternal.CompressionCodec compress; // null if the message isn't compressed.
         public int requestId;
         boolean adopt;
         boolean prepared;
+        boolean compressed;
     }
 
     private Communicator _communicator;
@@ -3133,11 +3701,8 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
     private final com.zeroc.IceInternal.TraceLevels _traceLevels;
     private final com.zeroc.IceInternal.ThreadPool _threadPool;
 
-    private final java.util.concurrent.ScheduledExecutorService _timer;
-    private final Runnable _writeTimeout;
-    private java.util.concurrent.Future<?> _writeTimeoutFuture;
-    private final Runnable _readTimeout;
-    private java.util.concurrent.Future<?> _readTimeoutFuture;
+    private final com.zeroc.IceInternal.TimingWheel.Timeout _writeTimeout;
+    private final com.zeroc.IceInternal.TimingWheel.Timeout _readTimeout;
 
     private StartCallback _startCallback = null;
 
@@ -3146,11 +3711,14 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
 
     private long _acmLastActivity;
 
-    private final int _compressionLevel;
+    private volatile com.zeroc.IceInternal.CompressionCodec _peerCompressionCodec;
+    private volatile long _peerCompressionStatuses; // Bit set of the statuses above 2 understood by the peer.
+    private int _uncompressCount; // The number of messages parsed by uncompressMessage().
+    private boolean _closeConnectionReceived; // Set if the close connection message is held back.
 
     private int _nextRequestId;
 
-    private java.util.Map<Integer, OutgoingAsyncBase> _asyncRequests = new java.util.HashMap<>();
+    private IntObjectMap<OutgoingAsyncBase> _asyncRequests = new IntObjectMap<>();
 
     private LocalException _exception;
 
@@ -3158,6 +3726,8 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
     private com.zeroc.IceInternal.BatchRequestQueue _batchRequestQueue;
 
     private java.util.LinkedList<OutgoingMessage> _sendStreams = new java.util.LinkedList<>();
+    private final int _gatheringWriteSize;
+    private final Buffer[] _writeBuffers = new Buffer[MaxGatheringWriteBuffers];
 
     private InputStream _readStream;
     private boolean _readHeader;
@@ -3169,6 +3739,9 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
 
     private int _dispatchCount;
 
+    private double _latency; // In nanoseconds
+    private long _latencyTime; // Time of the last latency sample
+
     private int _state; // The current state.
     private boolean _shutdownInitiated = false;
     private boolean _initialized = false;
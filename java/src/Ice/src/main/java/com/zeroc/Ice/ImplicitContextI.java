@@ -31,7 +31,7 @@ public abstract class ImplicitContextI implements ImplicitContext
     }
 
     abstract public void write(java.util.Map<String, String> prxContext, OutputStream os);
-    abstract java.util.Map<String, String> combine(java.util.Map<String, String> prxContext);
+    abstract public java.util.Map<String, String> combine(java.util.Map<String, String> prxContext);
 
     static class Shared extends ImplicitContextI
     {
@@ -138,7 +138,7 @@ public abstract class ImplicitContextI implements ImplicitContext
         }
 
         @Override
-        synchronized java.util.Map<String, String> combine(java.util.Map<String, String> prxContext)
+        public synchronized java.util.Map<String, String> combine(java.util.Map<String, String> prxContext)
         {
             java.util.Map<String, String> combined = new java.util.HashMap<>(_context);
             combined.putAll(prxContext);
@@ -295,9 +295,13 @@ public abstract class ImplicitContextI implements ImplicitContext
         }
 
         @Override
-        java.util.Map<String, String> combine(java.util.Map<String, String> prxContext)
+        public java.util.Map<String, String> combine(java.util.Map<String, String> prxContext)
         {
             java.util.Map<String, String> threadContext = _map.get(Thread.currentThread());
+            if(threadContext == null || threadContext.isEmpty())
+            {
+                return new java.util.HashMap<>(prxContext);
+            }
 
             java.util.Map<String, String> combined = new java.util.HashMap<>(threadContext);
             combined.putAll(prxContext);
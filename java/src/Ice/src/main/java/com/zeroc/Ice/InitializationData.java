@@ -110,4 +110,10 @@ public final class InitializationData implements Cloneable
      * The value factory manager.
      **/
     public ValueFactoryManager valueFactoryManager;
+
+    /**
+     * The allocator for the arrays of the sequences of primitive types unmarshaled by the
+     * communicator's streams.
+     **/
+    public SequenceAllocator sequenceAllocator;
 }
@@ -75,7 +75,7 @@ public class InputStream
     {
         Instance instance = com.zeroc.IceInternal.Util.getInstance(communicator);
         initialize(instance, instance.defaultsAndOverrides().defaultEncoding);
-        _buf = new Buffer(instance.cacheMessageBuffers() > 1);
+        _buf = new Buffer(instance.cacheMessageBuffers() > 1, instance.bufferPool());
     }
 
     /**
@@ -169,7 +169,7 @@ public class InputStream
     {
         Instance instance = com.zeroc.IceInternal.Util.getInstance(communicator);
         initialize(instance, encoding);
-        _buf = new Buffer(instance.cacheMessageBuffers() > 1);
+        _buf = new Buffer(instance.cacheMessageBuffers() > 1, instance.bufferPool());
     }
 
     /**
@@ -217,7 +217,7 @@ public class InputStream
     public InputStream(Instance instance, EncodingVersion encoding, boolean direct)
     {
         initialize(instance, encoding);
-        _buf = new Buffer(direct);
+        _buf = new Buffer(direct, instance.bufferPool());
     }
 
     public InputStream(Instance instance, EncodingVersion encoding, byte[] data)
@@ -271,6 +271,7 @@ public class InputStream
         _valueFactoryManager = _instance.initializationData().valueFactoryManager;
         _logger = _instance.initializationData().logger;
         _classResolver = _instance;
+        _sequenceAllocator = _instance.initializationData().sequenceAllocator;
     }
 
     private void initialize(EncodingVersion encoding)
@@ -284,6 +285,7 @@ public class InputStream
         _sliceValues = true;
         _startSeq = -1;
         _minSeqSize = 0;
+        _sequenceAllocator = null;
     }
 
     /**
@@ -350,6 +352,18 @@ public class InputStream
         _compactIdResolver = r;
     }
 
+    /**
+     * Sets the allocator used to allocate the arrays of the sequences of primitive
+     * types read from this stream. If the stream was initialized with a communicator,
+     * the communicator's sequence allocator is used by default.
+     *
+     * @param a The sequence allocator or null to allocate new arrays.
+     **/
+    public void setSequenceAllocator(SequenceAllocator a)
+    {
+        _sequenceAllocator = a;
+    }
+
     /**
      * Sets the class resolver, which the stream will use when attempting to unmarshal
      * a value or exception. If the stream was initialized with a communicator, the communicator's
@@ -474,6 +488,10 @@ public class InputStream
         java.util.function.Function<String, Class<?>> tmpClassResolver = other._classResolver;
         other._classResolver = _classResolver;
         _classResolver = tmpClassResolver;
+
+        SequenceAllocator tmpSequenceAllocator = other._sequenceAllocator;
+        other._sequenceAllocator = _sequenceAllocator;
+        _sequenceAllocator = tmpSequenceAllocator;
     }
 
     private void resetEncapsulation()
@@ -711,6 +729,41 @@ public class InputStream
         }
     }
 
+    /**
+     * Returns a read-only view of the encapsulation at the current position of the stream,
+     * without copying it. The encapsulation's encoding version is returned in the argument.
+     * The view shares the stream's buffer and is only valid as long as the stream's buffer
+     * isn't modified or reused.
+     *
+     * @param encoding The encapsulation's encoding version.
+     * @return The encoded encapsulation.
+     **/
+    public java.nio.ByteBuffer readEncapsulationBuffer(EncodingVersion encoding)
+    {
+        final int start = _buf.b.position();
+        int sz = readInt();
+        if(sz < 6)
+        {
+            throw new UnmarshalOutOfBoundsException();
+        }
+
+        if(sz - 4 > _buf.b.remaining())
+        {
+            throw new UnmarshalOutOfBoundsException();
+        }
+
+        if(encoding != null)
+        {
+            encoding.ice_readMembers(this);
+        }
+
+        java.nio.ByteBuffer v = _buf.b.duplicate();
+        v.limit(start + sz);
+        v.position(start);
+        _buf.position(start + sz);
+        return v.slice().asReadOnlyBuffer().order(java.nio.ByteOrder.LITTLE_ENDIAN);
+    }
+
     /**
      * Determines the current encoding version.
      *
@@ -921,6 +974,24 @@ public class InputStream
         }
     }
 
+    /**
+     * Checks that sz bytes remain in the stream and returns the underlying buffer. The
+     * caller must get exactly sz bytes from the returned buffer, starting at its current
+     * position. This is used by generated code to unmarshal fixed-size structures without
+     * checking the remaining size for each member.
+     *
+     * @param sz The number of bytes to read.
+     * @return The little-endian buffer of the stream.
+     **/
+    public java.nio.ByteBuffer readFixed(int sz)
+    {
+        if(_buf.b.remaining() < sz)
+        {
+            throw new UnmarshalOutOfBoundsException();
+        }
+        return _buf.b;
+    }
+
     /**
      * Determine if an optional value is available for reading.
      *
@@ -982,11 +1053,29 @@ public class InputStream
      * @return The extracted byte sequence.
      **/
     public byte[] readByteSeq()
+    {
+        return readByteSeq((byte[])null);
+    }
+
+    /**
+     * Extracts a sequence of byte values from the stream into the given array. The array
+     * is reused if its length is the size of the sequence, otherwise a new array is
+     * allocated.
+     *
+     * @param v The array to reuse or null.
+     * @return The extracted byte sequence, which is v if the array was reused.
+     *
+     * @see #setSequenceAllocator
+     **/
+    public byte[] readByteSeq(byte[] v)
     {
         try
         {
             final int sz = readAndCheckSeqSize(1);
-            byte[] v = new byte[sz];
+            if(v == null || v.length != sz)
+            {
+                v = _sequenceAllocator != null ? _sequenceAllocator.allocateByteSeq(sz) : new byte[sz];
+            }
             _buf.b.get(v);
             return v;
         }
@@ -996,6 +1085,49 @@ public class InputStream
         }
     }
 
+    /**
+     * Extracts a sequence of byte values from the stream and writes it to a Java output
+     * stream. The bytes are written in chunks directly from the stream's buffer, so large
+     * sequences don't need to be copied to a byte array first.
+     *
+     * @param v The destination of the byte sequence.
+     * @return The number of bytes of the byte sequence.
+     **/
+    public int readByteSeq(java.io.OutputStream v)
+    {
+        final int sz = readAndCheckSeqSize(1);
+        try
+        {
+            final java.nio.ByteBuffer b = _buf.b;
+            final int pos = b.position();
+            if(b.hasArray())
+            {
+                v.write(b.array(), b.arrayOffset() + pos, sz);
+            }
+            else
+            {
+                final byte[] chunk = new byte[java.lang.Math.min(sz, ByteSeqChunkSize)];
+                for(int remaining = sz; remaining > 0;)
+                {
+                    final int n = java.lang.Math.min(remaining, chunk.length);
+                    b.get(chunk, 0, n);
+                    v.write(chunk, 0, n);
+                    remaining -= n;
+                }
+            }
+            _buf.position(pos + sz);
+            return sz;
+        }
+        catch(java.nio.BufferUnderflowException ex)
+        {
+            throw new UnmarshalOutOfBoundsException();
+        }
+        catch(java.io.IOException ex)
+        {
+            throw new MarshalException("cannot write byte sequence to destination: " + ex);
+        }
+    }
+
     /**
      * Extracts an optional byte sequence from the stream.
      *
@@ -1143,11 +1275,29 @@ public class InputStream
      * @return The extracted boolean sequence.
      **/
     public boolean[] readBoolSeq()
+    {
+        return readBoolSeq((boolean[])null);
+    }
+
+    /**
+     * Extracts a sequence of boolean values from the stream into the given array. The array
+     * is reused if its length is the size of the sequence, otherwise a new array is
+     * allocated.
+     *
+     * @param v The array to reuse or null.
+     * @return The extracted boolean sequence, which is v if the array was reused.
+     *
+     * @see #setSequenceAllocator
+     **/
+    public boolean[] readBoolSeq(boolean[] v)
     {
         try
         {
             final int sz = readAndCheckSeqSize(1);
-            boolean[] v = new boolean[sz];
+            if(v == null || v.length != sz)
+            {
+                v = _sequenceAllocator != null ? _sequenceAllocator.allocateBoolSeq(sz) : new boolean[sz];
+            }
             for(int i = 0; i < sz; i++)
             {
                 v[i] = _buf.b.get() == 1;
@@ -1219,11 +1369,29 @@ public class InputStream
      * @return The extracted short sequence.
      **/
     public short[] readShortSeq()
+    {
+        return readShortSeq((short[])null);
+    }
+
+    /**
+     * Extracts a sequence of short values from the stream into the given array. The array
+     * is reused if its length is the size of the sequence, otherwise a new array is
+     * allocated.
+     *
+     * @param v The array to reuse or null.
+     * @return The extracted short sequence, which is v if the array was reused.
+     *
+     * @see #setSequenceAllocator
+     **/
+    public short[] readShortSeq(short[] v)
     {
         try
         {
             final int sz = readAndCheckSeqSize(2);
-            short[] v = new short[sz];
+            if(v == null || v.length != sz)
+            {
+                v = _sequenceAllocator != null ? _sequenceAllocator.allocateShortSeq(sz) : new short[sz];
+            }
             java.nio.ShortBuffer shortBuf = _buf.b.asShortBuffer();
             shortBuf.get(v);
             _buf.position(_buf.b.position() + sz * 2);
@@ -1319,11 +1487,29 @@ public class InputStream
      * @return The extracted int sequence.
      **/
     public int[] readIntSeq()
+    {
+        return readIntSeq((int[])null);
+    }
+
+    /**
+     * Extracts a sequence of int values from the stream into the given array. The array
+     * is reused if its length is the size of the sequence, otherwise a new array is
+     * allocated.
+     *
+     * @param v The array to reuse or null.
+     * @return The extracted int sequence, which is v if the array was reused.
+     *
+     * @see #setSequenceAllocator
+     **/
+    public int[] readIntSeq(int[] v)
     {
         try
         {
             final int sz = readAndCheckSeqSize(4);
-            int[] v = new int[sz];
+            if(v == null || v.length != sz)
+            {
+                v = _sequenceAllocator != null ? _sequenceAllocator.allocateIntSeq(sz) : new int[sz];
+            }
             java.nio.IntBuffer intBuf = _buf.b.asIntBuffer();
             intBuf.get(v);
             _buf.position(_buf.b.position() + sz * 4);
@@ -1419,11 +1605,29 @@ public class InputStream
      * @return The extracted long sequence.
      **/
     public long[] readLongSeq()
+    {
+        return readLongSeq((long[])null);
+    }
+
+    /**
+     * Extracts a sequence of long values from the stream into the given array. The array
+     * is reused if its length is the size of the sequence, otherwise a new array is
+     * allocated.
+     *
+     * @param v The array to reuse or null.
+     * @return The extracted long sequence, which is v if the array was reused.
+     *
+     * @see #setSequenceAllocator
+     **/
+    public long[] readLongSeq(long[] v)
     {
         try
         {
             final int sz = readAndCheckSeqSize(8);
-            long[] v = new long[sz];
+            if(v == null || v.length != sz)
+            {
+                v = _sequenceAllocator != null ? _sequenceAllocator.allocateLongSeq(sz) : new long[sz];
+            }
             java.nio.LongBuffer longBuf = _buf.b.asLongBuffer();
             longBuf.get(v);
             _buf.position(_buf.b.position() + sz * 8);
@@ -1519,11 +1723,29 @@ public class InputStream
      * @return The extracted float sequence.
      **/
     public float[] readFloatSeq()
+    {
+        return readFloatSeq((float[])null);
+    }
+
+    /**
+     * Extracts a sequence of float values from the stream into the given array. The array
+     * is reused if its length is the size of the sequence, otherwise a new array is
+     * allocated.
+     *
+     * @param v The array to reuse or null.
+     * @return The extracted float sequence, which is v if the array was reused.
+     *
+     * @see #setSequenceAllocator
+     **/
+    public float[] readFloatSeq(float[] v)
     {
         try
         {
             final int sz = readAndCheckSeqSize(4);
-            float[] v = new float[sz];
+            if(v == null || v.length != sz)
+            {
+                v = _sequenceAllocator != null ? _sequenceAllocator.allocateFloatSeq(sz) : new float[sz];
+            }
             java.nio.FloatBuffer floatBuf = _buf.b.asFloatBuffer();
             floatBuf.get(v);
             _buf.position(_buf.b.position() + sz * 4);
@@ -1619,11 +1841,29 @@ public class InputStream
      * @return The extracted double sequence.
      **/
     public double[] readDoubleSeq()
+    {
+        return readDoubleSeq((double[])null);
+    }
+
+    /**
+     * Extracts a sequence of double values from the stream into the given array. The array
+     * is reused if its length is the size of the sequence, otherwise a new array is
+     * allocated.
+     *
+     * @param v The array to reuse or null.
+     * @return The extracted double sequence, which is v if the array was reused.
+     *
+     * @see #setSequenceAllocator
+     **/
+    public double[] readDoubleSeq(double[] v)
     {
         try
         {
             final int sz = readAndCheckSeqSize(8);
-            double[] v = new double[sz];
+            if(v == null || v.length != sz)
+            {
+                v = _sequenceAllocator != null ? _sequenceAllocator.allocateDoubleSeq(sz) : new double[sz];
+            }
             java.nio.DoubleBuffer doubleBuf = _buf.b.asDoubleBuffer();
             doubleBuf.get(v);
             _buf.position(_buf.b.position() + sz * 8);
@@ -1678,8 +1918,6 @@ public class InputStream
         }
     }
 
-    final static java.nio.charset.Charset _utf8 = java.nio.charset.Charset.forName("UTF8");
-
     /**
      * Extracts a string from the stream.
      *
@@ -1698,67 +1936,52 @@ public class InputStream
             //
             // Check the buffer has enough bytes to read.
             //
-            if(_buf.b.remaining() < len)
+            final java.nio.ByteBuffer b = _buf.b;
+            if(b.remaining() < len)
             {
                 throw new UnmarshalOutOfBoundsException();
             }
 
-            try
+            //
+            // Decode the string from the backing array of heap buffers, other
+            // buffers are copied to the _stringBytes array which is reused to
+            // avoid creating excessive garbage.
+            //
+            final int pos = b.position();
+            final boolean ascii = com.zeroc.IceInternal.Utf8.isAscii(b, pos, len);
+            final byte[] bytes;
+            final int off;
+            if(b.hasArray())
+            {
+                bytes = b.array();
+                off = b.arrayOffset() + pos;
+            }
+            else
             {
-                //
-                // We reuse the _stringBytes array to avoid creating
-                // excessive garbage.
-                //
                 if(_stringBytes == null || len > _stringBytes.length)
                 {
                     _stringBytes = new byte[len];
                 }
-                if(_stringChars == null || len > _stringChars.length)
-                {
-                    _stringChars = new char[len];
-                }
-                _buf.b.get(_stringBytes, 0, len);
-
-                //
-                // It's more efficient to construct a string using a
-                // character array instead of a byte array, because
-                // byte arrays require conversion.
-                //
-                for(int i = 0; i < len; i++)
-                {
-                    if(_stringBytes[i] < 0)
-                    {
-                        //
-                        // Multi-byte character found - we must use
-                        // conversion.
-                        //
-                        // TODO: If the string contains garbage bytes
-                        // that won't correctly decode as UTF, the
-                        // behavior of this constructor is
-                        // undefined. It would be better to explicitly
-                        // decode using
-                        // java.nio.charset.CharsetDecoder and to
-                        // throw MarshalException if the string won't
-                        // decode.
-                        //
-                        return new String(_stringBytes, 0, len, "UTF8");
-                    }
-                    else
-                    {
-                        _stringChars[i] = (char)_stringBytes[i];
-                    }
-                }
-                return new String(_stringChars, 0, len);
+                b.get(_stringBytes, 0, len);
+                bytes = _stringBytes;
+                off = 0;
             }
-            catch(java.io.UnsupportedEncodingException ex)
+
+            final String s;
+            if(ascii)
             {
-                assert(false);
-                return "";
+                s = com.zeroc.IceInternal.Utf8.decodeAscii(bytes, off, len);
             }
-            catch(java.nio.BufferUnderflowException ex)
+            else
             {
-                throw new UnmarshalOutOfBoundsException();
+                if(_stringChars == null || len > _stringChars.length)
+                {
+                    _stringChars = new char[len];
+                }
+                s = com.zeroc.IceInternal.Utf8.decode(bytes, off, len, _stringChars);
             }
+            _buf.position(pos + len);
+            return s;
         }
     }
 
@@ -2226,7 +2449,15 @@ public class InputStream
 
         try
         {
-            if(_classResolver != null)
+            if(_classResolver != null && _classResolver == _instance)
+            {
+                com.zeroc.IceInternal.ClassCache.Entry entry = _instance.classCache().get(id);
+                if(entry.getType() != null)
+                {
+                    userEx = (UserException)entry.newInstance();
+                }
+            }
+            else if(_classResolver != null)
             {
                 Class<?> c = _classResolver.apply(id);
                 if(c != null)
@@ -2243,6 +2474,8 @@ public class InputStream
         return userEx;
     }
 
+    private static final int ByteSeqChunkSize = 64 * 1024; // Copy chunk size for direct buffers.
+
     private Instance _instance;
     private Buffer _buf;
     private Object _closure;
@@ -2253,14 +2486,16 @@ public class InputStream
 
     abstract private static class EncapsDecoder
     {
-        EncapsDecoder(InputStream stream, boolean sliceValues, ValueFactoryManager f, java.util.function.Function<String, Class<?>> cr)
+        EncapsDecoder(InputStream stream, Encaps encaps, boolean sliceValues, ValueFactoryManager f,
+                      java.util.function.Function<String, Class<?>> cr)
         {
             _stream = stream;
             _sliceValues = sliceValues;
             _valueFactoryManager = f;
             _classResolver = cr;
             _typeIdIndex = 0;
-            _unmarshaledMap = new java.util.TreeMap<>();
+            _unmarshaledMap = encaps.tables.unmarshaledMap;
+            _typeIdMap = encaps.tables.typeIdMap;
         }
 
         abstract void readValue(java.util.function.Consumer<Value> cb);
@@ -2284,11 +2519,6 @@ public class InputStream
 
         protected String readTypeId(boolean isIndex)
         {
-            if(_typeIdMap == null) // Lazy initialization
-            {
-                _typeIdMap = new java.util.TreeMap<>();
-            }
-
             if(isIndex)
             {
                 int index = _stream.readSize();
@@ -2368,9 +2598,35 @@ public class InputStream
             }
 
             //
-            // Last chance: try to instantiate the class dynamically.
+            // Last chance: try to instantiate the class dynamically. The classes
+            // resolved by the communicator's class resolver are cached by the
+            // communicator.
             //
-            if(v == null)
+            if(v == null && _classResolver != null && _classResolver == _stream.instance())
+            {
+                com.zeroc.IceInternal.ClassCache.Entry entry;
+                try
+                {
+                    entry = _stream.instance().classCache().get(typeId);
+                }
+                catch(java.lang.Exception ex)
+                {
+                    throw new NoValueFactoryException("no value factory", typeId, ex);
+                }
+
+                if(entry.getType() != null)
+                {
+                    try
+                    {
+                        v = (Value)entry.newInstance();
+                    }
+                    catch(java.lang.Exception ex)
+                    {
+                        throw new NoValueFactoryException("no value factory", typeId, ex);
+                    }
+                }
+            }
+            else if(v == null)
             {
                 Class<?> cls = resolveClass(typeId);
 
@@ -2526,8 +2782,8 @@ public class InputStream
         // Encapsulation attributes for value unmarshaling.
         //
         protected java.util.TreeMap<Integer, java.util.LinkedList<java.util.function.Consumer<Value>> > _patchMap;
-        private java.util.TreeMap<Integer, Value> _unmarshaledMap;
-        private java.util.TreeMap<Integer, String> _typeIdMap;
+        private final com.zeroc.IceInternal.IntObjectMap<Value> _unmarshaledMap;
+        private final com.zeroc.IceInternal.IntObjectMap<String> _typeIdMap;
         private int _typeIdIndex;
         private java.util.List<Value> _valueList;
         private java.util.HashMap<String, Class<?> > _typeIdCache;
@@ -2535,9 +2791,10 @@ public class InputStream
 
     private static final class EncapsDecoder10 extends EncapsDecoder
     {
-        EncapsDecoder10(InputStream stream, boolean sliceValues, ValueFactoryManager f, java.util.function.Function<String, Class<?>> cr)
+        EncapsDecoder10(InputStream stream, Encaps encaps, boolean sliceValues, ValueFactoryManager f,
+                        java.util.function.Function<String, Class<?>> cr)
         {
-            super(stream, sliceValues, f, cr);
+            super(stream, encaps, sliceValues, f, cr);
             _sliceType = SliceType.NoSlice;
         }
 
@@ -2826,10 +3083,10 @@ public class InputStream
 
     private static class EncapsDecoder11 extends EncapsDecoder
     {
-        EncapsDecoder11(InputStream stream, boolean sliceValues, ValueFactoryManager f, java.util.function.Function<String, Class<?>> cr,
-                        java.util.function.IntFunction<String> r)
+        EncapsDecoder11(InputStream stream, Encaps encaps, boolean sliceValues, ValueFactoryManager f,
+                        java.util.function.Function<String, Class<?>> cr, java.util.function.IntFunction<String> r)
         {
-            super(stream, sliceValues, f, cr);
+            super(stream, encaps, sliceValues, f, cr);
             _compactIdResolver = r;
             _current = null;
             _valueIdIndex = 1;
@@ -3293,7 +3550,7 @@ public class InputStream
 
                         if(_current.typeId.isEmpty())
                         {
-                            _current.typeId = _stream.instance().resolveCompactId(_current.compactId);
+                            _current.typeId = _stream.instance().classCache().resolveCompactId(_current.compactId);
                         }
                     }
                 }
@@ -3466,11 +3723,32 @@ public class InputStream
         private java.util.TreeMap<Integer, Class<?> > _compactIdCache; // Cache of compact type IDs.
     }
 
+    //
+    // The tables used by the decoders to look up the instances and type IDs of
+    // an encapsulation by index. They are kept with the Encaps and cleared
+    // when the encapsulation ends, to be reused by the next encapsulation.
+    //
+    private static final class DecoderTables
+    {
+        void clear()
+        {
+            unmarshaledMap.clear();
+            typeIdMap.clear();
+        }
+
+        final com.zeroc.IceInternal.IntObjectMap<Value> unmarshaledMap = new com.zeroc.IceInternal.IntObjectMap<>();
+        final com.zeroc.IceInternal.IntObjectMap<String> typeIdMap = new com.zeroc.IceInternal.IntObjectMap<>();
+    }
+
     private static final class Encaps
     {
         void reset()
         {
-            decoder = null;
+            if(decoder != null)
+            {
+                tables.clear();
+                decoder = null;
+            }
         }
 
         void setEncoding(EncodingVersion encoding)
@@ -3485,6 +3763,7 @@ public class InputStream
         boolean encoding_1_0;
 
         EncapsDecoder decoder;
+        DecoderTables tables; // Created with the first decoder.
 
         Encaps next;
     }
@@ -3522,14 +3801,19 @@ public class InputStream
 
         if(_encapsStack.decoder == null) // Lazy initialization.
         {
+            if(_encapsStack.tables == null)
+            {
+                _encapsStack.tables = new DecoderTables();
+            }
             if(_encapsStack.encoding_1_0)
             {
-                _encapsStack.decoder = new EncapsDecoder10(this, _sliceValues, _valueFactoryManager, _classResolver);
+                _encapsStack.decoder = new EncapsDecoder10(this, _encapsStack, _sliceValues, _valueFactoryManager,
+                                                           _classResolver);
             }
             else
             {
-                _encapsStack.decoder = new EncapsDecoder11(this, _sliceValues, _valueFactoryManager, _classResolver,
-                                                           _compactIdResolver);
+                _encapsStack.decoder = new EncapsDecoder11(this, _encapsStack, _sliceValues, _valueFactoryManager,
+                                                           _classResolver, _compactIdResolver);
             }
         }
     }
@@ -3560,4 +3844,5 @@ public class InputStream
     private Logger _logger;
     private java.util.function.IntFunction<String> _compactIdResolver;
     private java.util.function.Function<String, Class<?>> _classResolver;
+    private SequenceAllocator _sequenceAllocator;
 }
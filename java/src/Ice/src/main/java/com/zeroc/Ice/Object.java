@@ -60,6 +60,47 @@ public interface Object
         public byte[] outParams;
     }
 
+    /**
+     * Holds the results of a call to <code>ice_invokeBuffer</code>.
+     **/
+    public class Ice_invokeBufferResult
+    {
+        /**
+         * Default initializes the members.
+         **/
+        public Ice_invokeBufferResult()
+        {
+        }
+
+        /**
+         * One-shot constructor to initialize the members.
+         *
+         * @param returnValue True for a succesful invocation with any results encoded in <code>outParams</code>.
+         * False if a user exception occurred with the exception encoded in <code>outParams</code>.
+         * @param outParams The encoded results.
+         **/
+        public Ice_invokeBufferResult(boolean returnValue, java.nio.ByteBuffer outParams)
+        {
+            this.returnValue = returnValue;
+            this.outParams = outParams;
+        }
+
+        /**
+         * If the operation completed successfully, the return value
+         * is <code>true</code>. If the operation raises a user exception,
+         * the return value is <code>false</code>; in this case, <code>outParams</code>
+         * contains the encoded user exception. If the operation raises a run-time exception,
+         * it throws it directly.
+         **/
+        public boolean returnValue;
+
+        /**
+         * The encoded out-paramaters and return value for the operation, from the position
+         * to the limit of the buffer. The return value follows any out-parameters.
+         **/
+        public java.nio.ByteBuffer outParams;
+    }
+
     /**
      * Tests whether this object supports a specific Slice interface.
      *
@@ -868,6 +868,13 @@ public final class ObjectAdapterI implements ObjectAdapter
         return _messageSizeMax;
     }
 
+    boolean
+    parallelBatchDispatch()
+    {
+        // No mutex lock, immutable.
+        return _parallelBatchDispatch;
+    }
+
     //
     // Only for use by com.zeroc.IceInternal.ObjectAdapterFactory
     //
@@ -891,6 +898,7 @@ public final class ObjectAdapterI implements ObjectAdapter
             _reference = _instance.referenceFactory().create("dummy -t", "");
             _acm = _instance.serverACM();
             _messageSizeMax = _instance.messageSizeMax();
+            _parallelBatchDispatch = false;
             return;
         }
 
@@ -966,6 +974,8 @@ public final class ObjectAdapterI implements ObjectAdapter
             }
         }
 
+        _parallelBatchDispatch = properties.getPropertyAsInt(_name + ".ParallelBatchDispatch") > 0;
+
         try
         {
             int threadPoolSize = properties.getPropertyAsInt(_name + ".ThreadPool.Size");
@@ -1468,6 +1478,7 @@ public final class ObjectAdapterI implements ObjectAdapter
         "Locator.CollocationOptimized",
         "Locator.Router",
         "MessageSizeMax",
+        "ParallelBatchDispatch",
         "PublishedEndpoints",
         "ReplicaGroupId",
         "Router",
@@ -1490,7 +1501,9 @@ public final class ObjectAdapterI implements ObjectAdapter
         "ThreadPool.SizeMax",
         "ThreadPool.SizeWarn",
         "ThreadPool.StackSize",
-        "ThreadPool.Serialize"
+        "ThreadPool.Serialize",
+        "ThreadPool.Selectors",
+        "ThreadPool.VirtualThreads"
     };
 
     boolean
@@ -1561,4 +1574,5 @@ public final class ObjectAdapterI implements ObjectAdapter
     private int _directCount; // The number of direct proxies dispatching on this object adapter.
     private boolean _noConfig;
     private final int _messageSizeMax;
+    private final boolean _parallelBatchDispatch;
 }
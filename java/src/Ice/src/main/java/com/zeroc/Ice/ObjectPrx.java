@@ -206,6 +206,82 @@ public interface ObjectPrx
         byte[] inParams,
         java.util.Map<String, String> context);
 
+    /**
+     * Invokes an operation dynamically, without copying the encoded results. The
+     * <code>outParams</code> of the result are a read-only view of the buffer of the
+     * response, they remain valid as long as they are referenced.
+     *
+     * @param operation The name of the operation to invoke.
+     * @param mode The operation mode (normal or idempotent).
+     * @param inParams The encoded in-parameters for the operation, from the position to
+     * the limit of the buffer. The buffer is copied before this method returns.
+     * @return The results of the invocation.
+     *
+     * @see BlobjectBuffer
+     * @see OperationMode
+     **/
+    com.zeroc.Ice.Object.Ice_invokeBufferResult ice_invokeBuffer(String operation, OperationMode mode,
+                                                                 java.nio.ByteBuffer inParams);
+
+    /**
+     * Invokes an operation dynamically, without copying the encoded results. The
+     * <code>outParams</code> of the result are a read-only view of the buffer of the
+     * response, they remain valid as long as they are referenced.
+     *
+     * @param operation The name of the operation to invoke.
+     * @param mode The operation mode (normal or idempotent).
+     * @param inParams The encoded in-parameters for the operation, from the position to
+     * the limit of the buffer. The buffer is copied before this method returns.
+     * @param context The context map for the invocation.
+     * @return The results of the invocation.
+     *
+     * @see BlobjectBuffer
+     * @see OperationMode
+     **/
+    com.zeroc.Ice.Object.Ice_invokeBufferResult ice_invokeBuffer(String operation, OperationMode mode,
+                                                                 java.nio.ByteBuffer inParams,
+                                                                 java.util.Map<String, String> context);
+
+    /**
+     * Invokes an operation dynamically and asynchronously, without copying the encoded
+     * results. The <code>outParams</code> of the result are a read-only view of the
+     * buffer of the response, they remain valid as long as they are referenced.
+     *
+     * @param operation The name of the operation to invoke.
+     * @param mode The operation mode (normal or idempotent).
+     * @param inParams The encoded in-parameters for the operation, from the position to
+     * the limit of the buffer. The buffer is copied before this method returns.
+     * @return A future for the completion of the request.
+     *
+     * @see BlobjectBufferAsync
+     * @see OperationMode
+     **/
+    java.util.concurrent.CompletableFuture<com.zeroc.Ice.Object.Ice_invokeBufferResult> ice_invokeBufferAsync(
+        String operation,
+        OperationMode mode,
+        java.nio.ByteBuffer inParams);
+
+    /**
+     * Invokes an operation dynamically and asynchronously, without copying the encoded
+     * results. The <code>outParams</code> of the result are a read-only view of the
+     * buffer of the response, they remain valid as long as they are referenced.
+     *
+     * @param operation The name of the operation to invoke.
+     * @param mode The operation mode (normal or idempotent).
+     * @param inParams The encoded in-parameters for the operation, from the position to
+     * the limit of the buffer. The buffer is copied before this method returns.
+     * @param context The context map for the invocation.
+     * @return A future for the completion of the request.
+     *
+     * @see BlobjectBufferAsync
+     * @see OperationMode
+     **/
+    java.util.concurrent.CompletableFuture<com.zeroc.Ice.Object.Ice_invokeBufferResult> ice_invokeBufferAsync(
+        String operation,
+        OperationMode mode,
+        java.nio.ByteBuffer inParams,
+        java.util.Map<String, String> context);
+
     /**
      * Returns the identity embedded in this proxy.
      *
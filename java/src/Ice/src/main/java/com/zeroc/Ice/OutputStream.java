@@ -135,7 +135,7 @@ public class OutputStream
 
     private void initialize(com.zeroc.IceInternal.Instance instance, EncodingVersion encoding, boolean direct)
     {
-        initialize(instance, encoding, new com.zeroc.IceInternal.Buffer(direct));
+        initialize(instance, encoding, new com.zeroc.IceInternal.Buffer(direct, instance.bufferPool()));
     }
 
     private void initialize(com.zeroc.IceInternal.Instance instance, EncodingVersion encoding,
@@ -437,6 +437,23 @@ public class OutputStream
         _buf.b.put(v);
     }
 
+    /**
+     * Writes a pre-encoded encapsulation. The encapsulation is made of the remaining bytes
+     * of the given buffer, the buffer's position isn't modified.
+     *
+     * @param v The encapsulation data.
+     **/
+    public void writeEncapsulation(java.nio.ByteBuffer v)
+    {
+        final int sz = v.remaining();
+        if(sz < 6)
+        {
+            throw new EncapsulationException();
+        }
+        expand(sz);
+        _buf.b.put(v.duplicate());
+    }
+
     /**
      * Determines the current encoding version.
      *
@@ -575,6 +592,21 @@ public class OutputStream
         _buf.b.put(v, off, len);
     }
 
+    /**
+     * Reserves space for sz bytes at the current position of the stream and returns the
+     * underlying buffer. The caller must put exactly sz bytes into the returned buffer,
+     * starting at its current position. This is used by generated code to marshal
+     * fixed-size structures without checking the buffer capacity for each member.
+     *
+     * @param sz The number of bytes to reserve.
+     * @return The little-endian buffer of the stream.
+     **/
+    public java.nio.ByteBuffer reserveFixed(int sz)
+    {
+        expand(sz);
+        return _buf.b;
+    }
+
     /**
      * Write the header information for an optional value.
      *
@@ -665,6 +697,66 @@ public class OutputStream
         }
     }
 
+    /**
+     * Writes a byte sequence read from a Java input stream to the stream. The bytes are
+     * read in chunks directly into the stream's buffer, which is only grown once for the
+     * whole sequence, so large sequences don't need to be held in a byte array first.
+     *
+     * @param v The source of the byte sequence.
+     * @param sz The number of bytes of the sequence to read from the source.
+     **/
+    public void writeByteSeq(java.io.InputStream v, int sz)
+    {
+        if(sz < 0)
+        {
+            throw new MarshalException("invalid byte sequence size: " + sz);
+        }
+
+        writeSize(sz);
+        expand(sz);
+        try
+        {
+            final java.nio.ByteBuffer b = _buf.b;
+            byte[] chunk = null;
+            int remaining = sz;
+            while(remaining > 0)
+            {
+                final int n;
+                if(b.hasArray())
+                {
+                    n = v.read(b.array(), b.arrayOffset() + b.position(), remaining);
+                    if(n > 0)
+                    {
+                        _buf.position(b.position() + n);
+                    }
+                }
+                else
+                {
+                    if(chunk == null)
+                    {
+                        chunk = new byte[java.lang.Math.min(remaining, ByteSeqChunkSize)];
+                    }
+                    n = v.read(chunk, 0, java.lang.Math.min(remaining, chunk.length));
+                    if(n > 0)
+                    {
+                        b.put(chunk, 0, n);
+                    }
+                }
+
+                if(n < 0)
+                {
+                    throw new MarshalException("byte sequence source ended after " + (sz - remaining) +
+                                               " bytes, expected " + sz + " bytes");
+                }
+                remaining -= n;
+            }
+        }
+        catch(java.io.IOException ex)
+        {
+            throw new MarshalException("cannot read byte sequence from source: " + ex);
+        }
+    }
+
     /**
      * Writes an optional byte sequence to the stream.
      *
@@ -1444,9 +1536,6 @@ public class OutputStream
         }
     }
 
-    final static java.nio.charset.Charset _utf8 = java.nio.charset.Charset.forName("UTF8");
-    private java.nio.charset.CharsetEncoder _charEncoder = null;
-
     /**
      * Writes a string to the stream.
      *
@@ -1455,63 +1544,20 @@ public class OutputStream
      **/
     public void writeString(String v)
     {
-        if(v == null)
+        if(v == null || v.length() == 0)
         {
             writeSize(0);
         }
         else
         {
-            final int len = v.length();
-            if(len > 0)
-            {
-                if(_stringBytes == null || len > _stringBytes.length)
-                {
-                    _stringBytes = new byte[len];
-                }
-                if(_stringChars == null || len > _stringChars.length)
-                {
-                    _stringChars = new char[len];
-                }
-                //
-                // If the string contains only 7-bit characters, it's more efficient
-                // to perform the conversion to UTF-8 manually.
-                //
-                v.getChars(0, len, _stringChars, 0);
-                for(int i = 0; i < len; ++i)
-                {
-                    if(_stringChars[i] > (char)127)
-                    {
-                        //
-                        // Found a multibyte character.
-                        //
-                        if(_charEncoder == null)
-                        {
-                            _charEncoder = _utf8.newEncoder();
-                        }
-                        java.nio.ByteBuffer b = null;
-                        try
-                        {
-                            b = _charEncoder.encode(java.nio.CharBuffer.wrap(_stringChars, 0, len));
-                        }
-                        catch(java.nio.charset.CharacterCodingException ex)
-                        {
-                            throw new MarshalException(ex);
-                        }
-                        writeSize(b.limit());
-                        expand(b.limit());
-                        _buf.b.put(b);
-                        return;
-                    }
-                    _stringBytes[i] = (byte)_stringChars[i];
-                }
-                writeSize(len);
-                expand(len);
-                _buf.b.put(_stringBytes, 0, len);
-            }
-            else
-            {
-                writeSize(0);
-            }
+            //
+            // Encode the string directly into the buffer, once its encoded
+            // size is written.
+            //
+            final int sz = com.zeroc.IceInternal.Utf8.encodedLength(v);
+            writeSize(sz);
+            expand(sz);
+            com.zeroc.IceInternal.Utf8.encode(v, _buf.b);
         }
     }
 
@@ -1796,12 +1842,12 @@ public class OutputStream
         _buf.expand(n);
     }
 
+    private static final int ByteSeqChunkSize = 64 * 1024; // Copy chunk size for direct buffers.
+
     private com.zeroc.IceInternal.Instance _instance;
     private com.zeroc.IceInternal.Buffer _buf;
     private Object _closure;
     private FormatType _format;
-    private byte[] _stringBytes; // Reusable array for string operations.
-    private char[] _stringChars; // Reusable array for string operations.
 
     private enum SliceType { NoSlice, ValueSlice, ExceptionSlice }
 
@@ -1812,7 +1858,7 @@ public class OutputStream
             _stream = stream;
             _encaps = encaps;
             _typeIdIndex = 0;
-            _marshaledMap = new java.util.IdentityHashMap<>();
+            _marshaledMap = encaps.tables.marshaledMap;
         }
 
         abstract void writeValue(Value v);
@@ -1834,19 +1880,15 @@ public class OutputStream
 
         protected int registerTypeId(String typeId)
         {
-            if(_typeIdMap == null) // Lazy initialization
-            {
-                _typeIdMap = new java.util.TreeMap<>();
-            }
-
-            Integer p = _typeIdMap.get(typeId);
-            if(p != null)
+            com.zeroc.IceInternal.ObjectIntMap typeIdMap = _encaps.tables.typeIdMap;
+            int p = typeIdMap.get(typeId);
+            if(p != 0)
             {
                 return p;
             }
             else
             {
-                _typeIdMap.put(typeId, ++_typeIdIndex);
+                typeIdMap.put(typeId, ++_typeIdIndex);
                 return -1;
             }
         }
@@ -1855,8 +1897,7 @@ public class OutputStream
         final protected Encaps _encaps;
 
         // Encapsulation attributes for instance marshaling.
-        final protected java.util.IdentityHashMap<Value, Integer> _marshaledMap;
-        private java.util.TreeMap<String, Integer> _typeIdMap;
+        final protected com.zeroc.IceInternal.ObjectIntMap _marshaledMap;
         private int _typeIdIndex;
     }
 
@@ -1867,7 +1908,8 @@ public class OutputStream
             super(stream, encaps);
             _sliceType = SliceType.NoSlice;
             _valueIdIndex = 0;
-            _toBeMarshaledMap = new java.util.IdentityHashMap<>();
+            _toBeMarshaledMap = encaps.tables.toBeMarshaledMap;
+            _pendingMap = encaps.tables.pendingMap;
         }
 
         @Override
@@ -1982,21 +2024,27 @@ public class OutputStream
                 //
                 _marshaledMap.putAll(_toBeMarshaledMap);
 
-                java.util.IdentityHashMap<Value, Integer> savedMap = _toBeMarshaledMap;
-                _toBeMarshaledMap = new java.util.IdentityHashMap<>();
+                //
+                // Swap the to be marshaled map with the empty pending map
+                // rather than allocating a new one.
+                //
+                com.zeroc.IceInternal.ObjectIntMap savedMap = _toBeMarshaledMap;
+                _toBeMarshaledMap = _pendingMap;
+                _pendingMap = savedMap;
                 _stream.writeSize(savedMap.size());
-                for(java.util.Map.Entry<Value, Integer> p : savedMap.entrySet())
+                for(int i = 0; i < savedMap.size(); ++i)
                 {
                     //
                     // Ask the instance to marshal itself. Any new class
                     // instances that are triggered by the classes marshaled
                     // are added to toBeMarshaledMap.
                     //
-                    _stream.writeInt(p.getValue().intValue());
+                    Value v = (Value)savedMap.keyAt(i);
+                    _stream.writeInt(savedMap.valueAt(i));
 
                     try
                     {
-                        p.getKey().ice_preMarshal();
+                        v.ice_preMarshal();
                     }
                     catch(java.lang.Exception ex)
                     {
@@ -2004,8 +2052,9 @@ public class OutputStream
                         _stream.instance().initializationData().logger.warning(s);
                     }
 
-                    p.getKey()._iceWrite(_stream);
+                    v._iceWrite(_stream);
                 }
+                savedMap.clear();
             }
             _stream.writeSize(0); // Zero marker indicates end of sequence of sequences of instances.
         }
@@ -2017,19 +2066,19 @@ public class OutputStream
             //
             // Look for this instance in the to-be-marshaled map.
             //
-            Integer p = _toBeMarshaledMap.get(v);
-            if(p != null)
+            int p = _toBeMarshaledMap.get(v);
+            if(p != 0)
             {
-                return p.intValue();
+                return p;
             }
 
             //
             // Didn't find it, try the marshaled map next.
             //
             p = _marshaledMap.get(v);
-            if(p != null)
+            if(p != 0)
             {
-                return p.intValue();
+                return p;
             }
 
             //
@@ -2048,7 +2097,8 @@ public class OutputStream
 
         // Encapsulation attributes for instance marshaling.
         private int _valueIdIndex;
-        private java.util.IdentityHashMap<Value, Integer> _toBeMarshaledMap;
+        private com.zeroc.IceInternal.ObjectIntMap _toBeMarshaledMap;
+        private com.zeroc.IceInternal.ObjectIntMap _pendingMap;
     }
 
     private static final class EncapsEncoder11 extends EncapsEncoder
@@ -2072,7 +2122,7 @@ public class OutputStream
                 if(_current.indirectionTable == null) // Lazy initialization
                 {
                     _current.indirectionTable = new java.util.ArrayList<>();
-                    _current.indirectionMap = new java.util.IdentityHashMap<>();
+                    _current.indirectionMap = new com.zeroc.IceInternal.ObjectIntMap(true);
                 }
 
                 //
@@ -2082,8 +2132,8 @@ public class OutputStream
                 // each slice and is always read (even if the Slice is
                 // unknown).
                 //
-                Integer index = _current.indirectionMap.get(v);
-                if(index == null)
+                int index = _current.indirectionMap.get(v);
+                if(index == 0)
                 {
                     _current.indirectionTable.add(v);
                     final int idx = _current.indirectionTable.size(); // Position + 1 (0 is reserved for nil)
@@ -2092,7 +2142,7 @@ public class OutputStream
                 }
                 else
                 {
-                    _stream.writeSize(index.intValue());
+                    _stream.writeSize(index);
                 }
             }
             else
@@ -2112,7 +2162,11 @@ public class OutputStream
         {
             if(_current == null)
             {
-                _current = new InstanceData(null);
+                if(_encaps.tables.instanceData == null)
+                {
+                    _encaps.tables.instanceData = new InstanceData(null);
+                }
+                _current = _encaps.tables.instanceData;
             }
             else
             {
@@ -2308,7 +2362,7 @@ public class OutputStream
                     if(_current.indirectionTable == null) // Lazy initialization
                     {
                         _current.indirectionTable = new java.util.ArrayList<>();
-                        _current.indirectionMap = new java.util.IdentityHashMap<>();
+                        _current.indirectionMap = new com.zeroc.IceInternal.ObjectIntMap(true);
                     }
                     for(Value o : info.instances)
                     {
@@ -2327,8 +2381,8 @@ public class OutputStream
             //
             // If the instance was already marshaled, just write it's ID.
             //
-            Integer p = _marshaledMap.get(v);
-            if(p != null)
+            int p = _marshaledMap.get(v);
+            if(p != 0)
             {
                 _stream.writeSize(p);
                 return;
@@ -2366,6 +2420,15 @@ public class OutputStream
                 this.next = null;
             }
 
+            void clear()
+            {
+                if(indirectionTable != null)
+                {
+                    indirectionTable.clear();
+                    indirectionMap.clear();
+                }
+            }
+
             // Instance attributes
             SliceType sliceType;
             boolean firstSlice;
@@ -2375,7 +2438,7 @@ public class OutputStream
             int writeSlice;    // Position of the slice data members
             int sliceFlagsPos; // Position of the slice flags
             java.util.List<Value> indirectionTable;
-            java.util.IdentityHashMap<Value, Integer> indirectionMap;
+            com.zeroc.IceInternal.ObjectIntMap indirectionMap;
 
             final InstanceData previous;
             InstanceData next;
@@ -2386,11 +2449,41 @@ public class OutputStream
         private int _valueIdIndex; // The ID of the next instance to marhsal
     }
 
+    //
+    // The tables used by the encoders to number the instances and type IDs of
+    // an encapsulation. They are kept with the Encaps and cleared when the
+    // encapsulation ends, to be reused by the next encapsulation.
+    //
+    private static final class EncoderTables
+    {
+        void clear()
+        {
+            marshaledMap.clear();
+            toBeMarshaledMap.clear();
+            pendingMap.clear();
+            typeIdMap.clear();
+            for(EncapsEncoder11.InstanceData d = instanceData; d != null; d = d.next)
+            {
+                d.clear();
+            }
+        }
+
+        final com.zeroc.IceInternal.ObjectIntMap marshaledMap = new com.zeroc.IceInternal.ObjectIntMap(true);
+        final com.zeroc.IceInternal.ObjectIntMap toBeMarshaledMap = new com.zeroc.IceInternal.ObjectIntMap(true);
+        final com.zeroc.IceInternal.ObjectIntMap pendingMap = new com.zeroc.IceInternal.ObjectIntMap(true);
+        final com.zeroc.IceInternal.ObjectIntMap typeIdMap = new com.zeroc.IceInternal.ObjectIntMap(false);
+        EncapsEncoder11.InstanceData instanceData;
+    }
+
     private static final class Encaps
     {
         void reset()
         {
-            encoder = null;
+            if(encoder != null)
+            {
+                tables.clear();
+                encoder = null;
+            }
         }
 
         void setEncoding(EncodingVersion encoding)
@@ -2405,6 +2498,7 @@ public class OutputStream
         boolean encoding_1_0;
 
         EncapsEncoder encoder;
+        EncoderTables tables; // Created with the first encoder.
 
         Encaps next;
     }
@@ -2448,6 +2542,10 @@ public class OutputStream
 
         if(_encapsStack.encoder == null) // Lazy initialization.
         {
+            if(_encapsStack.tables == null)
+            {
+                _encapsStack.tables = new EncoderTables();
+            }
             if(_encapsStack.encoding_1_0)
             {
                 _encapsStack.encoder = new EncapsEncoder10(this, _encapsStack);
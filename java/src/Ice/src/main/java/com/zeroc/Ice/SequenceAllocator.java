@@ -0,0 +1,97 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.Ice;
+
+/**
+ * Allocates the arrays of the sequences of primitive types unmarshaled by an input
+ * stream, including the sequences unmarshaled by generated code. An application can
+ * provide an allocator that recycles arrays, for example from a pool, to unmarshal
+ * sequences without allocating.
+ *
+ * The allocator can be called concurrently by several threads. It must return an
+ * array whose length is the requested size; the array is overwritten by the stream.
+ *
+ * @see InitializationData#sequenceAllocator
+ * @see InputStream#setSequenceAllocator
+ **/
+public interface SequenceAllocator
+{
+    /**
+     * Allocates the array for a byte sequence.
+     *
+     * @param sz The size of the sequence.
+     * @return An array of length sz.
+     **/
+    default byte[] allocateByteSeq(int sz)
+    {
+        return new byte[sz];
+    }
+
+    /**
+     * Allocates the array for a boolean sequence.
+     *
+     * @param sz The size of the sequence.
+     * @return An array of length sz.
+     **/
+    default boolean[] allocateBoolSeq(int sz)
+    {
+        return new boolean[sz];
+    }
+
+    /**
+     * Allocates the array for a short sequence.
+     *
+     * @param sz The size of the sequence.
+     * @return An array of length sz.
+     **/
+    default short[] allocateShortSeq(int sz)
+    {
+        return new short[sz];
+    }
+
+    /**
+     * Allocates the array for an int sequence.
+     *
+     * @param sz The size of the sequence.
+     * @return An array of length sz.
+     **/
+    default int[] allocateIntSeq(int sz)
+    {
+        return new int[sz];
+    }
+
+    /**
+     * Allocates the array for a long sequence.
+     *
+     * @param sz The size of the sequence.
+     * @return An array of length sz.
+     **/
+    default long[] allocateLongSeq(int sz)
+    {
+        return new long[sz];
+    }
+
+    /**
+     * Allocates the array for a float sequence.
+     *
+     * @param sz The size of the sequence.
+     * @return An array of length sz.
+     **/
+    default float[] allocateFloatSeq(int sz)
+    {
+        return new float[sz];
+    }
+
+    /**
+     * Allocates the array for a double sequence.
+     *
+     * @param sz The size of the sequence.
+     * @return An array of length sz.
+     **/
+    default double[] allocateDoubleSeq(int sz)
+    {
+        return new double[sz];
+    }
+}
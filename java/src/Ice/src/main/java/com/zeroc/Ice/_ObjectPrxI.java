@@ -4,8 +4,7 @@
 
 package com.zeroc.Ice;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.ArrayDeque;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -161,6 +160,45 @@ public class _ObjectPrxI implements ObjectPrx, java.io.Serializable
         return f;
     }
 
+    public Object.Ice_invokeBufferResult ice_invokeBuffer(String operation, OperationMode mode,
+                                                          java.nio.ByteBuffer inParams)
+    {
+        return ice_invokeBuffer(operation, mode, inParams, ObjectPrx.noExplicitContext);
+    }
+
+    public Object.Ice_invokeBufferResult ice_invokeBuffer(String operation, OperationMode mode,
+                                                          java.nio.ByteBuffer inParams, Map<String, String> context)
+    {
+        return _iceI_ice_invokeBufferAsync(operation, mode, inParams, context, true).waitForResponse();
+    }
+
+    public CompletableFuture<Object.Ice_invokeBufferResult> ice_invokeBufferAsync(String operation,
+                                                                                  OperationMode mode,
+                                                                                  java.nio.ByteBuffer inParams)
+    {
+        return ice_invokeBufferAsync(operation, mode, inParams, ObjectPrx.noExplicitContext);
+    }
+
+    public CompletableFuture<Object.Ice_invokeBufferResult> ice_invokeBufferAsync(String operation,
+                                                                                  OperationMode mode,
+                                                                                  java.nio.ByteBuffer inParams,
+                                                                                  Map<String, String> context)
+    {
+        return _iceI_ice_invokeBufferAsync(operation, mode, inParams, context, false);
+    }
+
+    private com.zeroc.IceInternal.ProxyIceInvokeBuffer _iceI_ice_invokeBufferAsync(String operation,
+                                                                                   OperationMode mode,
+                                                                                   java.nio.ByteBuffer inParams,
+                                                                                   Map<String, String> context,
+                                                                                   boolean sync)
+    {
+        com.zeroc.IceInternal.ProxyIceInvokeBuffer f =
+            new com.zeroc.IceInternal.ProxyIceInvokeBuffer(this, operation, mode, sync);
+        f.invoke(inParams, context);
+        return f;
+    }
+
     public Identity ice_getIdentity()
     {
         return _reference.getIdentity().clone();
@@ -425,6 +463,7 @@ public class _ObjectPrxI implements ObjectPrx, java.io.Serializable
             _ObjectPrxI h = (_ObjectPrxI)p;
             _reference = h._reference;
             _requestHandler = h._requestHandler;
+            _rebalanceTime = h._rebalanceTime;
         }
     }
 
@@ -434,6 +473,102 @@ public class _ObjectPrxI implements ObjectPrx, java.io.Serializable
         return _reference;
     }
 
+    //
+    // The proxies derived with ice_twoway(), ice_oneway(), ice_datagram(),
+    // ice_invocationTimeout() and ice_context() are cached, so that calling
+    // these methods for each invocation doesn't create a new reference,
+    // proxy and request handler each time. Batch proxies aren't cached and
+    // don't cache the proxies they derive with ice_invocationTimeout() and
+    // ice_context(), as each batch proxy has its own batch request queue.
+    //
+    @Override
+    public ObjectPrx _ice_twoway()
+    {
+        return _derivedProxy(com.zeroc.IceInternal.Reference.ModeTwoway);
+    }
+
+    @Override
+    public ObjectPrx _ice_oneway()
+    {
+        return _derivedProxy(com.zeroc.IceInternal.Reference.ModeOneway);
+    }
+
+    @Override
+    public ObjectPrx _ice_datagram()
+    {
+        return _derivedProxy(com.zeroc.IceInternal.Reference.ModeDatagram);
+    }
+
+    @Override
+    public ObjectPrx _ice_invocationTimeout(int newTimeout)
+    {
+        if(_isBatch())
+        {
+            return ObjectPrx.super._ice_invocationTimeout(newTimeout);
+        }
+
+        ObjectPrx proxy = _invocationTimeoutProxy;
+        if(proxy != null && proxy._getReference().getInvocationTimeout() == newTimeout)
+        {
+            return proxy;
+        }
+        proxy = ObjectPrx.super._ice_invocationTimeout(newTimeout);
+        if(proxy != this)
+        {
+            _invocationTimeoutProxy = proxy;
+        }
+        return proxy;
+    }
+
+    @Override
+    public ObjectPrx _ice_context(Map<String, String> newContext)
+    {
+        if(_isBatch())
+        {
+            return ObjectPrx.super._ice_context(newContext);
+        }
+
+        ObjectPrx proxy = _contextProxy;
+        if(proxy != null && proxy._getReference().getContext().equals(newContext == null ? _emptyContext : newContext))
+        {
+            return proxy;
+        }
+        proxy = ObjectPrx.super._ice_context(newContext);
+        _contextProxy = proxy;
+        return proxy;
+    }
+
+    private boolean _isBatch()
+    {
+        int mode = _reference.getMode();
+        return mode == com.zeroc.IceInternal.Reference.ModeBatchOneway ||
+            mode == com.zeroc.IceInternal.Reference.ModeBatchDatagram;
+    }
+
+    private ObjectPrx _derivedProxy(int mode)
+    {
+        if(_reference.getMode() == mode)
+        {
+            return this;
+        }
+
+        ObjectPrx[] proxies = _modeProxies;
+        if(proxies != null && proxies[mode] != null)
+        {
+            return proxies[mode];
+        }
+
+        ObjectPrx proxy = _newInstance(_reference.changeMode(mode));
+
+        //
+        // Copy on write, the proxy is published with the volatile write of the array.
+        //
+        proxies = proxies == null ? new ObjectPrx[com.zeroc.IceInternal.Reference.ModeLast + 1] : proxies.clone();
+        proxies[mode] = proxy;
+        _modeProxies = proxies;
+        return proxy;
+    }
+
     @Override
     public ObjectPrx _newInstance(com.zeroc.IceInternal.Reference ref)
     {
@@ -481,23 +616,32 @@ public class _ObjectPrxI implements ObjectPrx, java.io.Serializable
     {
         synchronized(this)
         {
-            if(_streamCache != null && !_streamCache.isEmpty())
+            if(_streamCache != null)
             {
-                return _streamCache.remove(0);
+                return _streamCache.pollFirst();
             }
         }
         return null;
     }
 
     public void _cacheMessageBuffers(InputStream is, OutputStream os)
+    {
+        _cacheMessageBuffers(new StreamPair(is, os));
+    }
+
+    //
+    // Returns a pair obtained from _getCachedMessageBuffers() to the cache,
+    // the cache doesn't allocate once it reached its steady state size.
+    //
+    public void _cacheMessageBuffers(StreamPair p)
     {
         synchronized(this)
         {
             if(_streamCache == null)
             {
-                _streamCache = new LinkedList<>();
+                _streamCache = new ArrayDeque<>();
             }
-            _streamCache.add(new StreamPair(is, os));
+            _streamCache.addLast(p);
         }
     }
 
@@ -555,7 +699,15 @@ public class _ObjectPrxI implements ObjectPrx, java.io.Serializable
             {
                 if(_requestHandler != null)
                 {
-                    return _requestHandler;
+                    if(_rebalanceTime == 0 || com.zeroc.IceInternal.Time.currentMonotonicTimeMillis() < _rebalanceTime)
+                    {
+                        return _requestHandler;
+                    }
+
+                    //
+                    // Select the connection again, see Reference.getRebalanceInterval().
+                    //
+                    _requestHandler = null;
                 }
             }
         }
@@ -580,6 +732,9 @@ public class _ObjectPrxI implements ObjectPrx, java.io.Serializable
                 if(_requestHandler == null)
                 {
                     _requestHandler = handler;
+                    int interval = _reference.getRebalanceInterval();
+                    _rebalanceTime =
+                        interval > 0 ? com.zeroc.IceInternal.Time.currentMonotonicTimeMillis() + interval : 0;
                 }
                 return _requestHandler;
             }
@@ -674,7 +829,12 @@ public class _ObjectPrxI implements ObjectPrx, java.io.Serializable
 
     protected transient com.zeroc.IceInternal.Reference _reference;
     private transient com.zeroc.IceInternal.RequestHandler _requestHandler;
+    private transient long _rebalanceTime; // 0 if the request handler isn't periodically reset.
     private transient com.zeroc.IceInternal.BatchRequestQueue _batchRequestQueue;
-    private transient List<StreamPair> _streamCache;
+    private transient ArrayDeque<StreamPair> _streamCache;
+    private transient volatile ObjectPrx[] _modeProxies; // Derived proxies, indexed by mode.
+    private transient volatile ObjectPrx _invocationTimeoutProxy;
+    private transient volatile ObjectPrx _contextProxy;
+    private static final Map<String, String> _emptyContext = java.util.Collections.emptyMap();
     public static final long serialVersionUID = 0L;
 }
@@ -4,36 +4,36 @@
 
 package com.zeroc.IceInternal;
 
-public class BZip2
+public class BZip2 implements Compressor
 {
-    public static Buffer compress(Buffer buf, int headerSize, int compressionLevel)
+    @Override
+    public String name()
     {
-        assert(supported());
+        return "BZip2";
+    }
 
-        int uncompressedLen = buf.size() - headerSize;
-        int compressedLen = (int)(uncompressedLen * 1.01 + 600);
-        byte[] compressed = new byte[compressedLen];
+    @Override
+    public byte id()
+    {
+        return (byte)2;
+    }
 
-        byte[] data = null;
-        int offset = 0;
-        try
-        {
-            //
-            // If the ByteBuffer is backed by an array then we can avoid
-            // an extra copy by using the array directly.
-            //
-            data = buf.b.array();
-            offset = buf.b.arrayOffset();
-        }
-        catch(Exception ex)
-        {
-            //
-            // Otherwise, allocate an array to hold a copy of the uncompressed data.
-            //
-            data = new byte[buf.size()];
-            buf.position(0);
-            buf.b.get(data);
-        }
+    @Override
+    public boolean supported()
+    {
+        return checkSupported();
+    }
+
+    @Override
+    public int maxCompressedLength(int len)
+    {
+        return (int)(len * 1.01 + 600);
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOff, int len, byte[] dst, int dstOff, int level)
+    {
+        assert(supported());
 
         try
         {
@@ -42,90 +42,25 @@ public class BZip2
             // Its constructor requires an OutputStream argument, therefore we pass the
             // compressed buffer in an OutputStream wrapper.
             //
-            BufferedOutputStream bos = new BufferedOutputStream(compressed);
-            java.lang.Object[] args = new java.lang.Object[]{ bos, Integer.valueOf(compressionLevel) };
+            BufferedOutputStream bos = new BufferedOutputStream(dst, dstOff);
+            java.lang.Object[] args = new java.lang.Object[]{ bos, Integer.valueOf(level) };
             java.io.OutputStream os = (java.io.OutputStream)_bzOutputStreamCtor.newInstance(args);
-            os.write(data, offset + headerSize, uncompressedLen);
+            os.write(src, srcOff, len);
             os.close();
-            compressedLen = bos.pos();
+            return bos.pos() - dstOff;
         }
         catch(Exception ex)
         {
             throw new com.zeroc.Ice.CompressionException("bzip2 compression failure", ex);
         }
-
-        //
-        // Don't bother if the compressed data is larger than the
-        // uncompressed data.
-        //
-        if(compressedLen >= uncompressedLen)
-        {
-            return null;
-        }
-
-        Buffer r = new Buffer(false);
-        r.resize(headerSize + 4 + compressedLen, false);
-        r.position(0);
-
-        //
-        // Copy the header from the uncompressed stream to the compressed one.
-        //
-        r.b.put(data, offset, headerSize);
-
-        //
-        // Add the size of the uncompressed stream before the message body.
-        //
-        r.b.putInt(buf.size());
-
-        //
-        // Add the compressed message body.
-        //
-        r.b.put(compressed, 0, compressedLen);
-
-        return r;
     }
 
-    public static Buffer uncompress(Buffer buf, int headerSize, int messageSizeMax)
+    @Override
+    public void uncompress(byte[] src, int srcOff, int len, byte[] dst, int dstOff, int uncompressedLen)
     {
         assert(supported());
 
-        buf.position(headerSize);
-        int uncompressedSize = buf.b.getInt();
-        if(uncompressedSize <= headerSize)
-        {
-            throw new com.zeroc.Ice.IllegalMessageSizeException();
-        }
-        if(uncompressedSize > messageSizeMax)
-        {
-            Ex.throwMemoryLimitException(uncompressedSize, messageSizeMax);
-        }
-
-        int compressedLen = buf.size() - headerSize - 4;
-
-        byte[] compressed = null;
-        int offset = 0;
-        try
-        {
-            //
-            // If the ByteBuffer is backed by an array then we can avoid
-            // an extra copy by using the array directly.
-            //
-            compressed = buf.b.array();
-            offset = buf.b.arrayOffset();
-        }
-        catch(Exception ex)
-        {
-            //
-            // Otherwise, allocate an array to hold a copy of the compressed data.
-            //
-            compressed = new byte[buf.size()];
-            buf.position(0);
-            buf.b.get(compressed);
-        }
-
-        Buffer r = new Buffer(false);
-        r.resize(uncompressedSize, false);
-
+        int n = 0;
         try
         {
             //
@@ -133,17 +68,18 @@ public class BZip2
             // Its constructor requires an InputStream argument, therefore we pass the
             // compressed data in a ByteArrayInputStream.
             //
-            java.io.ByteArrayInputStream bais =
-                new java.io.ByteArrayInputStream(compressed, offset + headerSize + 4, compressedLen);
+            java.io.ByteArrayInputStream bais = new java.io.ByteArrayInputStream(src, srcOff, len);
 
             java.lang.Object[] args = new java.lang.Object[]{ bais };
             java.io.InputStream is = (java.io.InputStream)_bzInputStreamCtor.newInstance(args);
-            r.position(headerSize);
-            byte[] arr = new byte[8 * 1024];
-            int n;
-            while((n = is.read(arr)) != -1)
+            int r;
+            while(n < uncompressedLen && (r = is.read(dst, dstOff + n, uncompressedLen - n)) != -1)
             {
-                r.b.put(arr, 0, n);
+                n += r;
+            }
+            if(n == uncompressedLen && is.read() != -1)
+            {
+                ++n;
             }
             is.close();
         }
@@ -152,20 +88,17 @@ public class BZip2
             throw new com.zeroc.Ice.CompressionException("bzip2 uncompression failure", ex);
         }
 
-        //
-        // Copy the header from the compressed stream to the uncompressed one.
-        //
-        r.position(0);
-        r.b.put(compressed, offset, headerSize);
-
-        return r;
+        if(n != uncompressedLen)
+        {
+            throw new com.zeroc.Ice.CompressionException("bzip2 uncompression failure: invalid uncompressed size");
+        }
     }
 
     private static boolean _checked = false;
     private static java.lang.reflect.Constructor<?> _bzInputStreamCtor;
     private static java.lang.reflect.Constructor<?> _bzOutputStreamCtor;
 
-    public synchronized static boolean supported()
+    private synchronized static boolean checkSupported()
     {
         //
         // Use lazy initialization when determining whether support for bzip2 compression is available.
@@ -202,9 +135,10 @@ public class BZip2
 
     private static class BufferedOutputStream extends java.io.OutputStream
     {
-        BufferedOutputStream(byte[] data)
+        BufferedOutputStream(byte[] data, int pos)
         {
             _data = data;
+            _pos = pos;
         }
 
         @Override
@@ -46,8 +46,21 @@ public class BatchRequestQueue
 
     public
     BatchRequestQueue(Instance instance, boolean datagram)
+    {
+        this(instance, datagram, instance.batchAutoFlushDelay());
+    }
+
+    //
+    // With a flush delay (in milliseconds), the queued requests are flushed
+    // at the latest once the delay elapsed after the first request of the
+    // batch was queued, if the batch isn't flushed before.
+    //
+    public
+    BatchRequestQueue(Instance instance, boolean datagram, int flushDelay)
     {
         com.zeroc.Ice.InitializationData initData = instance.initializationData();
+        _instance = instance;
+        _flushDelay = flushDelay;
         _interceptor = initData.batchRequestInterceptor;
         _batchStreamInUse = false;
         _batchRequestNum = 0;
@@ -68,6 +81,12 @@ public class BatchRequestQueue
         }
     }
 
+    //
+    // The request is marshaled in the caller's stream, without holding the
+    // batch stream, so that threads sending batch requests with the same
+    // queue marshal them concurrently. The batch stream is only held by
+    // finishBatchRequest() to append the marshaled request.
+    //
     synchronized public void
     prepareBatchRequest(com.zeroc.Ice.OutputStream os)
     {
@@ -75,28 +94,47 @@ public class BatchRequestQueue
         {
             throw (com.zeroc.Ice.LocalException)_exception.fillInStackTrace();
         }
-
-        waitStreamInUse(false);
-        _batchStreamInUse = true;
-        _batchStream.swap(os);
     }
 
     public void
     finishBatchRequest(com.zeroc.Ice.OutputStream os, com.zeroc.Ice.ObjectPrx proxy, String operation)
     {
+        synchronized(this)
+        {
+            if(_exception != null)
+            {
+                throw (com.zeroc.Ice.LocalException)_exception.fillInStackTrace();
+            }
+
+            waitStreamInUse(false);
+            _batchStreamInUse = true;
+
+            //
+            // Append the request after the batch marker, it's removed below if
+            // it isn't enqueued.
+            //
+            java.nio.ByteBuffer request = os.getBuffer().b.duplicate();
+            request.position(0);
+            request.limit(os.size());
+            _batchStream.resize(_batchMarker + request.remaining());
+            _batchStream.getBuffer().position(_batchMarker);
+            _batchStream.getBuffer().b.put(request);
+        }
+
         //
         // No need for synchronization, no other threads are supposed
         // to modify the queue since we set _batchStreamInUse to true.
         //
-        assert(_batchStreamInUse);
-        _batchStream.swap(os);
-
         try
         {
             _batchStreamCanFlush = true; // Allow flush to proceed even if the stream is marked in use.
 
             if(_maxSize > 0 && _batchStream.size() >= _maxSize)
             {
+                synchronized(this)
+                {
+                    ++_sizeFlushCount;
+                }
                 proxy.ice_flushBatchRequestsAsync(); // Auto flush
             }
 
@@ -108,13 +146,7 @@ public class BatchRequestQueue
             }
             else
             {
-                Boolean compress = proxy._getReference().getCompressOverride();
-                if(compress != null)
-                {
-                    _batchCompress |= compress.booleanValue();
-                }
-                _batchMarker = _batchStream.size();
-                ++_batchRequestNum;
+                enqueueBatchRequest(proxy);
             }
         }
         finally
@@ -129,16 +161,13 @@ public class BatchRequestQueue
         }
     }
 
-    synchronized public void
+    public void
     abortBatchRequest(com.zeroc.Ice.OutputStream os)
     {
-        if(_batchStreamInUse)
-        {
-            _batchStream.swap(os);
-            _batchStream.resize(_batchMarker);
-            _batchStreamInUse = false;
-            notifyAll();
-        }
+        //
+        // Nothing to do, the request is only added to the batch stream by
+        // finishBatchRequest().
+        //
     }
 
     public class SwapResult
@@ -173,8 +202,9 @@ public class BatchRequestQueue
         _batchStream.swap(os);
 
         //
-        // Reset the batch.
+        // Reset the batch, a pending linger flush is no longer needed.
         //
+        cancelFlush();
         _batchRequestNum = 0;
         _batchCompress = false;
         _batchStream.writeBlob(Protocol.requestBatchHdr);
@@ -190,6 +220,23 @@ public class BatchRequestQueue
     destroy(com.zeroc.Ice.LocalException ex)
     {
         _exception = ex;
+        cancelFlush();
+    }
+
+    //
+    // The number of batches flushed because they reached Ice.BatchAutoFlushSize
+    // and because their flush delay elapsed.
+    //
+    synchronized public int
+    getSizeFlushCount()
+    {
+        return _sizeFlushCount;
+    }
+
+    synchronized public int
+    getDelayFlushCount()
+    {
+        return _delayFlushCount;
     }
 
     synchronized public boolean
@@ -238,8 +285,68 @@ public class BatchRequestQueue
         }
         _batchMarker = _batchStream.size();
         ++_batchRequestNum;
+
+        if(_flushDelay > 0 && _batchRequestNum == 1)
+        {
+            scheduleFlush(proxy);
+        }
     }
 
+    synchronized private void
+    scheduleFlush(final com.zeroc.Ice.ObjectPrx proxy)
+    {
+        if(_flushFuture != null || _exception != null)
+        {
+            return;
+        }
+
+        final int generation = _flushGeneration;
+        try
+        {
+            _flushFuture = _instance.timer().schedule(() -> delayFlush(proxy, generation), _flushDelay,
+                                                      java.util.concurrent.TimeUnit.MILLISECONDS);
+        }
+        catch(com.zeroc.Ice.CommunicatorDestroyedException ex)
+        {
+            // Ignore, the requests are flushed or discarded with the communicator.
+        }
+    }
+
+    private void
+    delayFlush(com.zeroc.Ice.ObjectPrx proxy, int generation)
+    {
+        synchronized(this)
+        {
+            if(generation != _flushGeneration || _batchRequestNum == 0)
+            {
+                return; // The batch was already flushed.
+            }
+            _flushFuture = null;
+            ++_delayFlushCount;
+        }
+
+        try
+        {
+            proxy.ice_flushBatchRequestsAsync();
+        }
+        catch(com.zeroc.Ice.LocalException ex)
+        {
+            // Ignore, the flush failure is reported to the future of the flush.
+        }
+    }
+
+    private void
+    cancelFlush()
+    {
+        if(_flushFuture != null)
+        {
+            _flushFuture.cancel(false);
+            _flushFuture = null;
+        }
+        ++_flushGeneration;
+    }
+
+    private final Instance _instance;
     private com.zeroc.Ice.BatchRequestInterceptor _interceptor;
     private com.zeroc.Ice.OutputStream _batchStream;
     private boolean _batchStreamInUse;
@@ -251,5 +358,11 @@ public class BatchRequestQueue
     private com.zeroc.Ice.LocalException _exception;
     private int _maxSize;
 
+    private final int _flushDelay;
+    private java.util.concurrent.ScheduledFuture<?> _flushFuture;
+    private int _flushGeneration;
+    private int _sizeFlushCount;
+    private int _delayFlushCount;
+
     final private static int _udpOverhead = 20 + 8;
 }
@@ -16,12 +16,23 @@ public class Buffer
     }
 
     public Buffer(boolean direct, java.nio.ByteOrder order)
+    {
+        this(direct, order, null);
+    }
+
+    public Buffer(boolean direct, BufferPool pool)
+    {
+        this(direct, java.nio.ByteOrder.LITTLE_ENDIAN, pool);
+    }
+
+    public Buffer(boolean direct, java.nio.ByteOrder order, BufferPool pool)
     {
         b = _emptyBuffer;
         _size = 0;
         _capacity = 0;
         _direct = direct;
         _order = order;
+        _pool = pool;
     }
 
     public Buffer(byte[] data)
@@ -62,9 +73,16 @@ public class Buffer
         _direct = buf._direct;
         _shrinkCounter = buf._shrinkCounter;
         _order = buf._order;
+        _pool = buf._pool;
 
         if(adopt)
         {
+            //
+            // Take ownership of the pooled buffer, the adopted buffer must
+            // not return it to the pool when cleared.
+            //
+            _pooled = buf._pooled;
+            buf._pooled = false;
             buf.clear();
         }
     }
@@ -98,6 +116,8 @@ public class Buffer
         final boolean direct = buf._direct;
         final int shrinkCounter = buf._shrinkCounter;
         final java.nio.ByteOrder order = buf._order;
+        final BufferPool pool = buf._pool;
+        final boolean pooled = buf._pooled;
 
         buf.b = b;
         buf._size = _size;
@@ -105,6 +125,8 @@ public class Buffer
         buf._direct = _direct;
         buf._shrinkCounter = _shrinkCounter;
         buf._order = _order;
+        buf._pool = _pool;
+        buf._pooled = _pooled;
 
         b = bb;
         _size = size;
@@ -112,6 +134,8 @@ public class Buffer
         _direct = direct;
         _shrinkCounter = shrinkCounter;
         _order = order;
+        _pool = pool;
+        _pooled = pooled;
     }
 
     public int size()
@@ -126,6 +150,11 @@ public class Buffer
 
     public void clear()
     {
+        if(_pooled)
+        {
+            _pool.release(b);
+            _pooled = false;
+        }
         b = _emptyBuffer;
         _size = 0;
         _capacity = 0;
@@ -218,7 +247,12 @@ public class Buffer
         {
             java.nio.ByteBuffer buf;
 
-            if(_direct)
+            if(_pool != null)
+            {
+                buf = _pool.allocate(_capacity, _direct);
+                _capacity = buf.capacity(); // The pool rounds up the capacity to its size class.
+            }
+            else if(_direct)
             {
                 buf = java.nio.ByteBuffer.allocateDirect(_capacity);
             }
@@ -237,10 +271,15 @@ public class Buffer
                 position(0);
                 limit(java.lang.Math.min(_capacity, b.capacity()));
                 buf.put(b);
+                if(_pooled)
+                {
+                    _pool.release(b);
+                }
                 b = buf;
                 limit(b.capacity());
                 position(pos);
             }
+            _pooled = _pool != null;
 
             b.order(_order); // Preserve the original order.
         }
@@ -260,4 +299,6 @@ public class Buffer
     private boolean _direct; // Use direct buffers?
     private int _shrinkCounter;
     private java.nio.ByteOrder _order;
+    private BufferPool _pool; // Pool used to allocate the buffer memory, null if not pooled.
+    private boolean _pooled; // Is b owned by the pool?
 }
@@ -0,0 +1,241 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// A communicator-wide pool of java.nio.ByteBuffer objects used by Buffer
+// to avoid allocating a new byte buffer each time a buffer is grown or
+// shrunk. Buffers are grouped in power-of-two size classes, heap and direct
+// buffers being kept apart. Each platform thread keeps one buffer per small
+// size class in a thread-local cache, other released buffers are kept in
+// shared per size class stacks. The total size of the buffers held by the
+// thread-local caches and the stacks is bounded by the pool size.
+//
+// The buffers of the cache of a terminated thread are reclaimed once the
+// thread is garbage collected.
+//
+public final class BufferPool
+{
+    public BufferPool(int maxBytes)
+    {
+        _maxBytes = maxBytes;
+        _heap = new Stack[NumSizeClasses];
+        _direct = new Stack[NumSizeClasses];
+        for(int i = 0; i < NumSizeClasses; ++i)
+        {
+            _heap[i] = new Stack();
+            _direct[i] = new Stack();
+        }
+    }
+
+    //
+    // Returns a cleared buffer with at least n bytes of capacity. Requests
+    // larger than the largest size class aren't pooled.
+    //
+    public java.nio.ByteBuffer allocate(int n, boolean direct)
+    {
+        final int sizeClass = sizeClass(n);
+        if(sizeClass < 0)
+        {
+            _misses.incrementAndGet();
+            return direct ? java.nio.ByteBuffer.allocateDirect(n) : java.nio.ByteBuffer.allocate(n);
+        }
+
+        java.nio.ByteBuffer buf = null;
+        if(sizeClass < NumThreadCacheSizeClasses && !VirtualThreads.isVirtual(Thread.currentThread()))
+        {
+            java.nio.ByteBuffer[] cache = direct ? _threadCache.get().direct : _threadCache.get().heap;
+            buf = cache[sizeClass];
+            cache[sizeClass] = null;
+        }
+
+        if(buf == null)
+        {
+            buf = (direct ? _direct : _heap)[sizeClass].pop();
+        }
+
+        if(buf != null)
+        {
+            _bytesHeld.addAndGet(-buf.capacity());
+            _hits.incrementAndGet();
+            buf.clear();
+            return buf;
+        }
+
+        _misses.incrementAndGet();
+        final int capacity = MinSize << sizeClass;
+        return direct ? java.nio.ByteBuffer.allocateDirect(capacity) : java.nio.ByteBuffer.allocate(capacity);
+    }
+
+    //
+    // Returns a buffer to the pool. The caller must no longer use the buffer
+    // or any view of it. Buffers which don't match a size class or which
+    // don't fit in the pool are left to the garbage collector.
+    //
+    public void release(java.nio.ByteBuffer buf)
+    {
+        final int capacity = buf.capacity();
+        if(capacity < MinSize || capacity > MaxSize || Integer.bitCount(capacity) != 1 || buf.isReadOnly())
+        {
+            return;
+        }
+
+        if(!reserve(capacity))
+        {
+            return;
+        }
+
+        final int sizeClass = sizeClass(capacity);
+        if(sizeClass < NumThreadCacheSizeClasses && !VirtualThreads.isVirtual(Thread.currentThread()))
+        {
+            java.nio.ByteBuffer[] cache = buf.isDirect() ? _threadCache.get().direct : _threadCache.get().heap;
+            if(cache[sizeClass] == null)
+            {
+                cache[sizeClass] = buf;
+                return;
+            }
+        }
+        (buf.isDirect() ? _direct : _heap)[sizeClass].push(buf);
+    }
+
+    //
+    // Number of allocations satisfied with a pooled buffer.
+    //
+    public long hits()
+    {
+        return _hits.get();
+    }
+
+    //
+    // Number of allocations which required a new buffer.
+    //
+    public long misses()
+    {
+        return _misses.get();
+    }
+
+    //
+    // Number of bytes held by the pool, including the buffers held by the
+    // thread-local caches.
+    //
+    public long bytesHeld()
+    {
+        return _bytesHeld.get();
+    }
+
+    //
+    // Adds the given number of bytes to the bytes held by the pool. Returns
+    // false if the pool is full, after reclaiming the buffers of the caches
+    // of the threads which were garbage collected.
+    //
+    private boolean reserve(int n)
+    {
+        if(_bytesHeld.addAndGet(n) <= _maxBytes)
+        {
+            return true;
+        }
+        _bytesHeld.addAndGet(-n);
+
+        boolean reclaimed = false;
+        java.lang.ref.Reference<? extends Thread> ref;
+        while((ref = _terminatedThreads.poll()) != null)
+        {
+            ThreadCache cache = (ThreadCache)ref;
+            _threadCaches.remove(cache);
+            _bytesHeld.addAndGet(-cache.clear(false) - cache.clear(true));
+            reclaimed = true;
+        }
+        if(!reclaimed)
+        {
+            return false;
+        }
+
+        if(_bytesHeld.addAndGet(n) <= _maxBytes)
+        {
+            return true;
+        }
+        _bytesHeld.addAndGet(-n);
+        return false;
+    }
+
+    private static int sizeClass(int n)
+    {
+        if(n <= MinSize)
+        {
+            return 0;
+        }
+        else if(n > MaxSize)
+        {
+            return -1;
+        }
+        return 32 - Integer.numberOfLeadingZeros(n - 1) - MinSizeShift;
+    }
+
+    private static final class Stack
+    {
+        synchronized void push(java.nio.ByteBuffer buf)
+        {
+            _buffers.push(buf);
+        }
+
+        synchronized java.nio.ByteBuffer pop()
+        {
+            return _buffers.pollFirst();
+        }
+
+        private final java.util.ArrayDeque<java.nio.ByteBuffer> _buffers = new java.util.ArrayDeque<>();
+    }
+
+    //
+    // The cache of a thread. The cache is registered with the pool until the
+    // thread is garbage collected, to reclaim its buffers.
+    //
+    private final class ThreadCache extends java.lang.ref.WeakReference<Thread>
+    {
+        ThreadCache()
+        {
+            super(Thread.currentThread(), _terminatedThreads);
+            _threadCaches.add(this);
+        }
+
+        //
+        // Drops the heap or direct buffers of the cache and returns their size.
+        //
+        long clear(boolean direct)
+        {
+            java.nio.ByteBuffer[] buffers = direct ? this.direct : heap;
+            long n = 0;
+            for(int i = 0; i < buffers.length; ++i)
+            {
+                if(buffers[i] != null)
+                {
+                    n += buffers[i].capacity();
+                    buffers[i] = null;
+                }
+            }
+            return n;
+        }
+
+        final java.nio.ByteBuffer[] heap = new java.nio.ByteBuffer[NumThreadCacheSizeClasses];
+        final java.nio.ByteBuffer[] direct = new java.nio.ByteBuffer[NumThreadCacheSizeClasses];
+    }
+
+    private static final int MinSizeShift = 8;
+    private static final int MinSize = 1 << MinSizeShift; // 256 bytes
+    private static final int MaxSize = 1024 * 1024; // 1MB
+    private static final int NumSizeClasses = sizeClass(MaxSize) + 1;
+    private static final int NumThreadCacheSizeClasses = sizeClass(16 * 1024) + 1; // Up to 16KB
+
+    private final int _maxBytes;
+    private final Stack[] _heap;
+    private final Stack[] _direct;
+    private final ThreadLocal<ThreadCache> _threadCache = ThreadLocal.withInitial(ThreadCache::new);
+    private final java.util.Set<ThreadCache> _threadCaches =
+        java.util.concurrent.ConcurrentHashMap.newKeySet(); // Registered until their thread is collected.
+    private final java.lang.ref.ReferenceQueue<Thread> _terminatedThreads = new java.lang.ref.ReferenceQueue<>();
+    private final java.util.concurrent.atomic.AtomicLong _hits = new java.util.concurrent.atomic.AtomicLong();
+    private final java.util.concurrent.atomic.AtomicLong _misses = new java.util.concurrent.atomic.AtomicLong();
+    private final java.util.concurrent.atomic.AtomicLong _bytesHeld = new java.util.concurrent.atomic.AtomicLong();
+}
@@ -0,0 +1,139 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// A communicator-wide cache of the classes used to unmarshal values and user
+// exceptions. It maps type IDs to the class resolved by the communicator's
+// class resolver and a method handle for its default constructor, and compact
+// type IDs to type IDs. Only the results of the class resolution are cached:
+// value factories are still looked up for each value, so adding a value
+// factory takes effect immediately. Type IDs and compact IDs that can't be
+// resolved aren't cached, a peer can send any number of them. The number of
+// cached entries is bounded, entries aren't added once the cache is full.
+//
+public final class ClassCache
+{
+    public static final class Entry
+    {
+        private Entry(Class<?> cls)
+        {
+            _class = cls;
+
+            java.lang.invoke.MethodHandle ctor = null;
+            if(cls != null)
+            {
+                try
+                {
+                    ctor = java.lang.invoke.MethodHandles.publicLookup().findConstructor(cls, DefaultConstructor).
+                        asType(ObjectConstructor);
+                }
+                catch(ReflectiveOperationException | RuntimeException ex)
+                {
+                    //
+                    // Not accessible, newInstance() uses reflection to report the error.
+                    //
+                }
+            }
+            _ctor = ctor;
+        }
+
+        public Class<?> getType()
+        {
+            return _class;
+        }
+
+        public Object newInstance()
+            throws ReflectiveOperationException
+        {
+            assert(_class != null);
+            if(_ctor == null)
+            {
+                return _class.getDeclaredConstructor().newInstance();
+            }
+
+            try
+            {
+                return (Object)_ctor.invokeExact();
+            }
+            catch(RuntimeException | Error ex)
+            {
+                throw ex;
+            }
+            catch(Throwable ex)
+            {
+                throw new java.lang.reflect.InvocationTargetException(ex);
+            }
+        }
+
+        private final Class<?> _class; // null if the type ID doesn't resolve to a class.
+        private final java.lang.invoke.MethodHandle _ctor;
+    }
+
+    ClassCache(Instance instance)
+    {
+        _instance = instance;
+    }
+
+    //
+    // Returns the entry for the given type ID, the class of the entry is null
+    // if the type ID can't be resolved.
+    //
+    public Entry get(String typeId)
+    {
+        Entry entry = _typeIdMap.get(typeId);
+        if(entry == null)
+        {
+            Class<?> cls = _instance.apply(typeId);
+            if(cls == null)
+            {
+                return Unresolved;
+            }
+
+            entry = new Entry(cls);
+            if(_typeIdMap.size() < MaxSize)
+            {
+                Entry e = _typeIdMap.putIfAbsent(typeId, entry);
+                if(e != null)
+                {
+                    entry = e;
+                }
+            }
+        }
+        return entry;
+    }
+
+    //
+    // Returns the type ID for the given compact ID or an empty string if it
+    // can't be resolved.
+    //
+    public String resolveCompactId(int compactId)
+    {
+        String typeId = _compactIdMap.get(compactId);
+        if(typeId == null)
+        {
+            typeId = _instance.resolveCompactId(compactId);
+            if(!typeId.isEmpty() && _compactIdMap.size() < MaxSize)
+            {
+                _compactIdMap.putIfAbsent(compactId, typeId);
+            }
+        }
+        return typeId;
+    }
+
+    private static final int MaxSize = 4096;
+    private static final Entry Unresolved = new Entry(null); // Not cached
+
+    private static final java.lang.invoke.MethodType DefaultConstructor =
+        java.lang.invoke.MethodType.methodType(void.class);
+    private static final java.lang.invoke.MethodType ObjectConstructor =
+        java.lang.invoke.MethodType.methodType(Object.class);
+
+    private final Instance _instance;
+    private final java.util.concurrent.ConcurrentHashMap<String, Entry> _typeIdMap =
+        new java.util.concurrent.ConcurrentHashMap<>();
+    private final java.util.concurrent.ConcurrentHashMap<Integer, String> _compactIdMap =
+        new java.util.concurrent.ConcurrentHashMap<>();
+}
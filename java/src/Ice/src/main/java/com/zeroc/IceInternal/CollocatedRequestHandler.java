@@ -42,6 +42,8 @@ public class CollocatedRequestHandler implements RequestHandler, ResponseHandler
 
         _logger = _reference.getInstance().initializationData().logger; // Cached for better performance.
         _traceLevels = _reference.getInstance().traceLevels(); // Cached for better performance.
+        _warnDispatch = _reference.getInstance().initializationData().properties.getPropertyAsIntWithDefault(
+            "Ice.Warn.Dispatch", 1); // Cached for better performance.
         _requestId = 0;
     }
 
@@ -240,6 +242,254 @@ public class CollocatedRequestHandler implements RequestHandler, ResponseHandler
         return AsyncStatus.Queued;
     }
 
+    //
+    // Dispatches a synchronous twoway invocation to the servant without
+    // marshaling its parameters and results (Ice.CollocationDirect). The
+    // parameters and results are passed by reference and aren't copied: the
+    // servant receives the arrays, sequences, dictionaries and structs of the
+    // caller and the caller receives the ones returned by the servant, so
+    // neither side may modify them once the invocation is made. The
+    // invocation is marshaled instead if it can't be dispatched directly: if
+    // the servant isn't registered with the servant manager (for example if
+    // it's located by a servant locator) or it's a dispatch interceptor, if
+    // dispatches are queued or observed, or if protocol tracing is enabled.
+    // Returns false if the invocation must be marshaled.
+    //
+    <T> boolean
+    invokeDirect(OutgoingAsync<T> outAsync)
+    {
+        Instance instance = _reference.getInstance();
+        if(!_response || _dispatcher || instance.queueRequests() || _traceLevels.protocol >= 1 ||
+           instance.initializationData().observer != null)
+        {
+            return false;
+        }
+
+        //
+        // Increase the direct count to prevent the object adapter from being
+        // deactivated before the dispatch completes. This throws if the object
+        // adapter has been deactivated.
+        //
+        _adapter.incDirectCount();
+
+        Reference ref = outAsync._proxy._getReference();
+        final com.zeroc.Ice.Current current = new com.zeroc.Ice.Current();
+        current.adapter = _adapter;
+        current.id = ref.getIdentity().clone();
+        current.facet = ref.getFacet();
+        current.operation = outAsync.getOperation();
+        current.mode = outAsync._mode;
+        current.encoding = outAsync.directEncoding();
+
+        com.zeroc.Ice.Object servant = _adapter.getServantManager().findServant(current.id, current.facet);
+        if(servant == null || servant instanceof com.zeroc.Ice.DispatchInterceptor ||
+           !outAsync.directServantType().isInstance(servant))
+        {
+            _adapter.decDirectCount();
+            return false;
+        }
+
+        java.util.Map<String, String> ctx = outAsync.directContext();
+        current.ctx = ctx == null || ctx.isEmpty() ? java.util.Collections.emptyMap() : new java.util.HashMap<>(ctx);
+
+        synchronized(this)
+        {
+            current.requestId = ++_requestId;
+        }
+
+        if(outAsync.sent())
+        {
+            outAsync.invokeSent();
+        }
+
+        java.util.concurrent.CompletionStage<T> r;
+        try
+        {
+            if(instance.useApplicationClassLoader())
+            {
+                Thread.currentThread().setContextClassLoader(servant.getClass().getClassLoader());
+            }
+
+            try
+            {
+                r = outAsync.dispatchDirect(servant, current);
+            }
+            finally
+            {
+                if(instance.useApplicationClassLoader())
+                {
+                    Thread.currentThread().setContextClassLoader(null);
+                }
+            }
+        }
+        catch(Throwable ex)
+        {
+            completedDirect(outAsync, current, null, ex, false);
+            return true;
+        }
+
+        if(r == null)
+        {
+            completedDirect(outAsync, current, null, new NullPointerException("null future returned by servant"),
+                            false);
+        }
+        else if(r instanceof java.util.concurrent.CompletableFuture && r.toCompletableFuture().isDone())
+        {
+            T result = null;
+            Throwable exception = null;
+            try
+            {
+                result = r.toCompletableFuture().get();
+            }
+            catch(java.util.concurrent.ExecutionException ex)
+            {
+                exception = ex.getCause();
+            }
+            catch(Throwable ex)
+            {
+                exception = ex;
+            }
+            completedDirect(outAsync, current, result, exception, false);
+        }
+        else
+        {
+            r.whenComplete((result, ex) -> completedDirect(outAsync, current, result, ex, true));
+        }
+        return true;
+    }
+
+    private <T> void
+    completedDirect(OutgoingAsync<T> outAsync, com.zeroc.Ice.Current current, T result, Throwable exception,
+                    boolean amd)
+    {
+        try
+        {
+            boolean invoke;
+            if(exception == null)
+            {
+                invoke = outAsync.completedDirect(result, null);
+            }
+            else if(exception instanceof com.zeroc.Ice.UserException)
+            {
+                invoke = outAsync.completedDirect(null, (com.zeroc.Ice.UserException)exception);
+            }
+            else
+            {
+                invoke = outAsync.completed(convertDirectException(current, exception));
+            }
+
+            if(invoke)
+            {
+                //
+                // If called from an AMD dispatch, invoke asynchronously
+                // the completion callback since this might be called from
+                // the user code.
+                //
+                if(amd)
+                {
+                    outAsync.invokeCompletedAsync();
+                }
+                else
+                {
+                    outAsync.invokeCompleted();
+                }
+            }
+        }
+        finally
+        {
+            _adapter.decDirectCount();
+        }
+
+        //
+        // Like for marshaled dispatches, rethrow errors raised by the servant
+        // except AssertionError, OutOfMemoryError and StackOverflowError.
+        //
+        if(!amd && exception instanceof java.lang.Error &&
+           !(exception instanceof java.lang.AssertionError ||
+             exception instanceof java.lang.OutOfMemoryError ||
+             exception instanceof java.lang.StackOverflowError))
+        {
+            throw (java.lang.Error)exception;
+        }
+    }
+
+    //
+    // Converts the exception raised by a direct dispatch to the exception
+    // received by the caller of a marshaled dispatch, see Incoming.
+    //
+    private com.zeroc.Ice.Exception
+    convertDirectException(com.zeroc.Ice.Current current, Throwable exception)
+    {
+        Instance instance = _reference.getInstance();
+        while(exception instanceof java.util.concurrent.CompletionException ||
+              exception instanceof java.util.concurrent.ExecutionException)
+        {
+            exception = exception.getCause();
+        }
+
+        if(exception instanceof com.zeroc.Ice.RequestFailedException)
+        {
+            com.zeroc.Ice.RequestFailedException ex = (com.zeroc.Ice.RequestFailedException)exception;
+            if(ex.id == null || ex.id.name == null || ex.id.name.isEmpty())
+            {
+                ex.id = current.id;
+            }
+
+            if(ex.facet == null || ex.facet.isEmpty())
+            {
+                ex.facet = current.facet;
+            }
+
+            if(ex.operation == null || ex.operation.length() == 0)
+            {
+                ex.operation = current.operation;
+            }
+
+            if(_warnDispatch > 1)
+            {
+                Incoming.warning(instance, current, ex);
+            }
+            return ex;
+        }
+        else if(exception instanceof com.zeroc.Ice.UnknownException)
+        {
+            if(_warnDispatch > 0)
+            {
+                Incoming.warning(instance, current, exception);
+            }
+            return (com.zeroc.Ice.UnknownException)exception;
+        }
+        else if(exception instanceof com.zeroc.Ice.SystemException)
+        {
+            return (com.zeroc.Ice.SystemException)exception;
+        }
+        else if(exception instanceof com.zeroc.Ice.Exception)
+        {
+            if(_warnDispatch > 0)
+            {
+                Incoming.warning(instance, current, exception);
+            }
+            java.io.StringWriter sw = new java.io.StringWriter();
+            sw.write(((com.zeroc.Ice.Exception)exception).ice_id() + "\n");
+            java.io.PrintWriter pw = new java.io.PrintWriter(sw);
+            exception.printStackTrace(pw);
+            pw.flush();
+            return new com.zeroc.Ice.UnknownLocalException(sw.toString());
+        }
+        else
+        {
+            if(_warnDispatch > 0)
+            {
+                Incoming.warning(instance, current, exception);
+            }
+            java.io.StringWriter sw = new java.io.StringWriter();
+            java.io.PrintWriter pw = new java.io.PrintWriter(sw);
+            exception.printStackTrace(pw);
+            pw.flush();
+            return new com.zeroc.Ice.UnknownException(sw.toString());
+        }
+    }
+
     private boolean
     sentAsync(final OutgoingAsyncBase outAsync)
     {
@@ -424,6 +674,7 @@ public class CollocatedRequestHandler implements RequestHandler, ResponseHandler
     private final com.zeroc.Ice.ObjectAdapterI _adapter;
     private final com.zeroc.Ice.Logger _logger;
     private final TraceLevels _traceLevels;
+    private final int _warnDispatch;
 
     private int _requestId;
 
@@ -0,0 +1,74 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// The Compression admin facet. It reports the statistics of the compression
+// codecs as a read-only property set, with the <codec>.<statistic> keys, for
+// example LZ4.CompressedBytes. The times are in microseconds.
+//
+class CompressionAdminI implements com.zeroc.Ice.PropertiesAdmin
+{
+    CompressionAdminI(Instance instance)
+    {
+        for(int i = 0; i < 256; ++i)
+        {
+            CompressionCodec codec = instance.compressionCodec((byte)i);
+            if(codec != null)
+            {
+                _codecs.add(codec);
+            }
+        }
+    }
+
+    @Override
+    public String getProperty(String name, com.zeroc.Ice.Current current)
+    {
+        String value = statistics().get(name);
+        return value != null ? value : "";
+    }
+
+    @Override
+    public java.util.TreeMap<String, String> getPropertiesForPrefix(String name, com.zeroc.Ice.Current current)
+    {
+        java.util.TreeMap<String, String> result = new java.util.TreeMap<>();
+        for(java.util.Map.Entry<String, String> e : statistics().entrySet())
+        {
+            if(e.getKey().startsWith(name))
+            {
+                result.put(e.getKey(), e.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void setProperties(java.util.Map<String, String> props, com.zeroc.Ice.Current current)
+    {
+        throw new com.zeroc.Ice.FeatureNotSupportedException("the compression statistics are read-only");
+    }
+
+    java.util.TreeMap<String, String> statistics()
+    {
+        java.util.TreeMap<String, String> result = new java.util.TreeMap<>();
+        for(CompressionCodec codec : _codecs)
+        {
+            String prefix = codec.name() + ".";
+            result.put(prefix + "CompressedCount", Long.toString(codec.compressedCount()));
+            result.put(prefix + "NotCompressedCount", Long.toString(codec.notCompressedCount()));
+            result.put(prefix + "CompressedUncompressedBytes", Long.toString(codec.compressedUncompressedBytes()));
+            result.put(prefix + "CompressedBytes", Long.toString(codec.compressedBytes()));
+            result.put(prefix + "CompressTime", Long.toString(codec.compressTime() / 1000));
+            result.put(prefix + "Ratio", String.format("%.3f", codec.compressionRatio()));
+            result.put(prefix + "UncompressedCount", Long.toString(codec.uncompressedCount()));
+            result.put(prefix + "UncompressedCompressedBytes", Long.toString(codec.uncompressedCompressedBytes()));
+            result.put(prefix + "UncompressedBytes", Long.toString(codec.uncompressedBytes()));
+            result.put(prefix + "UncompressTime", Long.toString(codec.uncompressTime() / 1000));
+        }
+        return result;
+    }
+
+    private final java.util.List<CompressionCodec> _codecs = new java.util.ArrayList<>();
+}
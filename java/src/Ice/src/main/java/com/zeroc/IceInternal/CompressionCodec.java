@@ -0,0 +1,314 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// A compressor configured for a communicator. The compression level and the
+// minimum size of the messages to compress are set with the
+// Ice.Compression.<name>.Level and Ice.Compression.<name>.MinSize properties.
+// The codec also keeps statistics on the messages it compresses and
+// uncompresses.
+//
+// A compressed message starts with the uncompressed message header followed
+// by the size of the uncompressed message and the compressed message body.
+//
+public final class CompressionCodec
+{
+    CompressionCodec(Compressor compressor, com.zeroc.Ice.Properties properties)
+    {
+        _compressor = compressor;
+
+        String prefix = "Ice.Compression." + compressor.name();
+        int level = properties.getPropertyAsIntWithDefault(prefix + ".Level",
+            properties.getPropertyAsIntWithDefault("Ice.Compression.Level", 1));
+        if(level < 1)
+        {
+            level = 1;
+        }
+        else if(level > 9)
+        {
+            level = 9;
+        }
+        _level = level;
+        _minSize = Math.max(properties.getPropertyAsIntWithDefault(prefix + ".MinSize", 100), Protocol.headerSize);
+    }
+
+    public String name()
+    {
+        return _compressor.name();
+    }
+
+    public byte id()
+    {
+        return _compressor.id();
+    }
+
+    public boolean supported()
+    {
+        //
+        // Don't check whether compression support is available until compression is
+        // actually used, the check might require loading classes.
+        //
+        int supported = _supported;
+        if(supported < 0)
+        {
+            supported = _compressor.supported() ? 1 : 0;
+            _supported = supported;
+        }
+        return supported > 0;
+    }
+
+    public int level()
+    {
+        return _level;
+    }
+
+    public int minSize()
+    {
+        return _minSize;
+    }
+
+    //
+    // Returns the compressed message or null if the message is smaller than
+    // the minimum size or if compression doesn't make it smaller.
+    //
+    public Buffer compress(Buffer buf, int headerSize)
+    {
+        assert(supported());
+
+        final int size = buf.size();
+        if(size < _minSize)
+        {
+            return null;
+        }
+
+        final long start = System.nanoTime();
+
+        byte[] data;
+        int offset;
+        if(buf.b.hasArray())
+        {
+            //
+            // If the ByteBuffer is backed by an array then we can avoid
+            // an extra copy by using the array directly.
+            //
+            data = buf.b.array();
+            offset = buf.b.arrayOffset();
+        }
+        else
+        {
+            //
+            // Otherwise, allocate an array to hold a copy of the uncompressed data.
+            //
+            data = new byte[size];
+            buf.position(0);
+            buf.b.get(data);
+            offset = 0;
+        }
+
+        final int uncompressedLen = size - headerSize;
+        Buffer r = new Buffer(false);
+        r.resize(headerSize + 4 + _compressor.maxCompressedLength(uncompressedLen), false);
+        final byte[] compressed = r.b.array();
+        final int compressedOffset = r.b.arrayOffset() + headerSize + 4;
+        final int compressedLen = _compressor.compress(data, offset + headerSize, uncompressedLen, compressed,
+                                                       compressedOffset, _level);
+
+        _compressTime.add(System.nanoTime() - start);
+
+        //
+        // Don't bother if the compressed data is larger than the
+        // uncompressed data.
+        //
+        if(compressedLen >= uncompressedLen)
+        {
+            _notCompressedCount.increment();
+            return null;
+        }
+
+        _compressedCount.increment();
+        _compressedUncompressedBytes.add(size);
+        _compressedBytes.add(headerSize + 4 + compressedLen);
+
+        r.resize(headerSize + 4 + compressedLen, false);
+        r.position(0);
+
+        //
+        // Copy the header from the uncompressed stream to the compressed one.
+        //
+        r.b.put(data, offset, headerSize);
+
+        //
+        // Add the size of the uncompressed stream before the message body.
+        //
+        r.b.putInt(size);
+
+        return r;
+    }
+
+    public Buffer uncompress(Buffer buf, int headerSize, int messageSizeMax)
+    {
+        assert(supported());
+
+        buf.position(headerSize);
+        int uncompressedSize = buf.b.getInt();
+        if(uncompressedSize <= headerSize)
+        {
+            throw new com.zeroc.Ice.IllegalMessageSizeException();
+        }
+        if(uncompressedSize > messageSizeMax)
+        {
+            Ex.throwMemoryLimitException(uncompressedSize, messageSizeMax);
+        }
+
+        final long start = System.nanoTime();
+
+        int compressedLen = buf.size() - headerSize - 4;
+
+        byte[] compressed;
+        int offset;
+        if(buf.b.hasArray())
+        {
+            //
+            // If the ByteBuffer is backed by an array then we can avoid
+            // an extra copy by using the array directly.
+            //
+            compressed = buf.b.array();
+            offset = buf.b.arrayOffset();
+        }
+        else
+        {
+            //
+            // Otherwise, allocate an array to hold a copy of the compressed data.
+            //
+            compressed = new byte[buf.size()];
+            buf.position(0);
+            buf.b.get(compressed);
+            offset = 0;
+        }
+
+        Buffer r = new Buffer(false);
+        r.resize(uncompressedSize, false);
+        _compressor.uncompress(compressed, offset + headerSize + 4, compressedLen, r.b.array(),
+                               r.b.arrayOffset() + headerSize, uncompressedSize - headerSize);
+
+        //
+        // Copy the header from the compressed stream to the uncompressed one.
+        //
+        r.position(0);
+        r.b.put(compressed, offset, headerSize);
+
+        _uncompressTime.add(System.nanoTime() - start);
+        _uncompressedCount.increment();
+        _uncompressedCompressedBytes.add(buf.size());
+        _uncompressedBytes.add(uncompressedSize);
+
+        return r;
+    }
+
+    //
+    // The number of messages compressed and the number of messages sent
+    // uncompressed because compression didn't make them smaller.
+    //
+    public long compressedCount()
+    {
+        return _compressedCount.sum();
+    }
+
+    public long notCompressedCount()
+    {
+        return _notCompressedCount.sum();
+    }
+
+    //
+    // The total size of the compressed messages before and after compression.
+    //
+    public long compressedUncompressedBytes()
+    {
+        return _compressedUncompressedBytes.sum();
+    }
+
+    public long compressedBytes()
+    {
+        return _compressedBytes.sum();
+    }
+
+    //
+    // The time spent compressing messages in nanoseconds, including the
+    // messages which weren't sent compressed.
+    //
+    public long compressTime()
+    {
+        return _compressTime.sum();
+    }
+
+    //
+    // The number of messages uncompressed, their total size before and after
+    // uncompression and the time spent uncompressing them in nanoseconds.
+    //
+    public long uncompressedCount()
+    {
+        return _uncompressedCount.sum();
+    }
+
+    public long uncompressedCompressedBytes()
+    {
+        return _uncompressedCompressedBytes.sum();
+    }
+
+    public long uncompressedBytes()
+    {
+        return _uncompressedBytes.sum();
+    }
+
+    public long uncompressTime()
+    {
+        return _uncompressTime.sum();
+    }
+
+    //
+    // The ratio of the compressed size to the uncompressed size of the
+    // compressed messages, or 1 if no messages were compressed.
+    //
+    public double compressionRatio()
+    {
+        long uncompressed = _compressedUncompressedBytes.sum();
+        return uncompressed > 0 ? (double)_compressedBytes.sum() / uncompressed : 1.0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return name() + ": compressed = " + compressedCount() + " (" + notCompressedCount() + " not compressed)" +
+            ", ratio = " + String.format("%.3f", compressionRatio()) +
+            ", compress time = " + compressTime() / 1000 + "us" +
+            ", uncompressed = " + uncompressedCount() +
+            ", uncompress time = " + uncompressTime() / 1000 + "us";
+    }
+
+    private final Compressor _compressor;
+    private final int _level;
+    private final int _minSize;
+    private volatile int _supported = -1;
+
+    private final java.util.concurrent.atomic.LongAdder _compressedCount =
+        new java.util.concurrent.atomic.LongAdder();
+    private final java.util.concurrent.atomic.LongAdder _notCompressedCount =
+        new java.util.concurrent.atomic.LongAdder();
+    private final java.util.concurrent.atomic.LongAdder _compressedUncompressedBytes =
+        new java.util.concurrent.atomic.LongAdder();
+    private final java.util.concurrent.atomic.LongAdder _compressedBytes =
+        new java.util.concurrent.atomic.LongAdder();
+    private final java.util.concurrent.atomic.LongAdder _compressTime =
+        new java.util.concurrent.atomic.LongAdder();
+    private final java.util.concurrent.atomic.LongAdder _uncompressedCount =
+        new java.util.concurrent.atomic.LongAdder();
+    private final java.util.concurrent.atomic.LongAdder _uncompressedCompressedBytes =
+        new java.util.concurrent.atomic.LongAdder();
+    private final java.util.concurrent.atomic.LongAdder _uncompressedBytes =
+        new java.util.concurrent.atomic.LongAdder();
+    private final java.util.concurrent.atomic.LongAdder _uncompressTime =
+        new java.util.concurrent.atomic.LongAdder();
+}
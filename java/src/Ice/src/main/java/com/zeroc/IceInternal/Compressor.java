@@ -0,0 +1,48 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// A compression codec. The codec of a compressed message is identified by the
+// compression status byte of the message header: bzip2, the codec supported
+// by all Ice implementations, uses the status 2 and other codecs use the
+// statuses above it. CompressionCodec takes care of the message framing,
+// compressors only compress and uncompress the message body.
+//
+public interface Compressor
+{
+    //
+    // The codec name, as used with the Ice.Compression.Codec property.
+    //
+    String name();
+
+    //
+    // The compression status byte of the messages compressed with this codec.
+    //
+    byte id();
+
+    //
+    // Returns false if the codec depends on classes which aren't available.
+    //
+    boolean supported();
+
+    //
+    // Returns the maximum size of the compressed data for len bytes of input.
+    //
+    int maxCompressedLength(int len);
+
+    //
+    // Compresses len bytes of src into dst, which holds at least
+    // maxCompressedLength(len) bytes, and returns the compressed length. The
+    // meaning of the level, between 1 and 9, depends on the codec.
+    //
+    int compress(byte[] src, int srcOff, int len, byte[] dst, int dstOff, int level);
+
+    //
+    // Uncompresses len bytes of src into dst, the uncompressed data must be
+    // exactly uncompressedLen bytes long.
+    //
+    void uncompress(byte[] src, int srcOff, int len, byte[] dst, int dstOff, int uncompressedLen);
+}
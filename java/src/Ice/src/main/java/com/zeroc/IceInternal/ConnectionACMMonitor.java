@@ -6,11 +6,10 @@ package com.zeroc.IceInternal;
 
 class ConnectionACMMonitor implements ACMMonitor
 {
-    ConnectionACMMonitor(FactoryACMMonitor parent, java.util.concurrent.ScheduledExecutorService timer,
-        ACMConfig config)
+    ConnectionACMMonitor(FactoryACMMonitor parent, TimingWheel timingWheel, ACMConfig config)
     {
         _parent = parent;
-        _timer = timer;
+        _timeout = timingWheel.createTimeout(() -> { monitorConnection(); });
         _config = config;
     }
 
@@ -41,10 +40,7 @@ class ConnectionACMMonitor implements ACMMonitor
         _connection = connection;
         if(_config.timeout > 0)
         {
-            _future = _timer.scheduleAtFixedRate(() -> { monitorConnection(); },
-                                                 _config.timeout / 2,
-                                                 _config.timeout / 2,
-                                                 java.util.concurrent.TimeUnit.MILLISECONDS);
+            _timeout.scheduleAtFixedRate(_config.timeout / 2, _config.timeout / 2);
         }
     }
 
@@ -56,8 +52,7 @@ class ConnectionACMMonitor implements ACMMonitor
         _connection = null;
         if(_config.timeout > 0)
         {
-            _future.cancel(false);
-            _future = null;
+            _timeout.cancel();
         }
     }
 
@@ -111,8 +106,7 @@ class ConnectionACMMonitor implements ACMMonitor
     }
 
     final private FactoryACMMonitor _parent;
-    final private java.util.concurrent.ScheduledExecutorService _timer;
-    private java.util.concurrent.Future<?> _future;
+    final private TimingWheel.Timeout _timeout;
     final private ACMConfig _config;
 
     private com.zeroc.Ice.ConnectionI _connection;
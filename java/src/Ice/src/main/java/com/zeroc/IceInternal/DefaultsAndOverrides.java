@@ -6,7 +6,8 @@ package com.zeroc.IceInternal;
 
 public final class DefaultsAndOverrides
 {
-    DefaultsAndOverrides(com.zeroc.Ice.Properties properties, com.zeroc.Ice.Logger logger)
+    DefaultsAndOverrides(com.zeroc.Ice.Properties properties, com.zeroc.Ice.Logger logger,
+                         CompressionCodec compressionCodec)
     {
         String value;
         int intValue;
@@ -115,9 +116,10 @@ public final class DefaultsAndOverrides
         {
             overrideCompress = true;
             boolean b = properties.getPropertyAsInt("Ice.Override.Compress") > 0;
-            if(b && !BZip2.supported())
+            if(b && !compressionCodec.supported())
             {
-                System.err.println("warning: bzip2 support not available, Ice.Override.Compress ignored");
+                System.err.println("warning: " + compressionCodec.name() +
+                                   " support not available, Ice.Override.Compress ignored");
                 b = false;
             }
             overrideCompressValue = b;
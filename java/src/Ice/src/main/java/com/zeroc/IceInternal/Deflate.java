@@ -0,0 +1,102 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// Raw deflate compression (RFC 1951), using the zlib implementation of the JDK.
+// The level is the zlib compression level.
+//
+public class Deflate implements Compressor
+{
+    @Override
+    public String name()
+    {
+        return "Deflate";
+    }
+
+    @Override
+    public byte id()
+    {
+        return (byte)3;
+    }
+
+    @Override
+    public boolean supported()
+    {
+        return true;
+    }
+
+    @Override
+    public int maxCompressedLength(int len)
+    {
+        return len + (len >>> 12) + (len >>> 14) + (len >>> 25) + 64;
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOff, int len, byte[] dst, int dstOff, int level)
+    {
+        java.util.zip.Deflater deflater = new java.util.zip.Deflater(level, true);
+        try
+        {
+            deflater.setInput(src, srcOff, len);
+            deflater.finish();
+            int n = 0;
+            final int max = maxCompressedLength(len);
+            while(!deflater.finished())
+            {
+                if(n == max)
+                {
+                    throw new com.zeroc.Ice.CompressionException("deflate compression failure: output buffer too small");
+                }
+                n += deflater.deflate(dst, dstOff + n, max - n);
+            }
+            return n;
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public void uncompress(byte[] src, int srcOff, int len, byte[] dst, int dstOff, int uncompressedLen)
+    {
+        java.util.zip.Inflater inflater = new java.util.zip.Inflater(true);
+        try
+        {
+            inflater.setInput(src, srcOff, len);
+            int n = 0;
+            while(n < uncompressedLen && !inflater.finished())
+            {
+                int r = inflater.inflate(dst, dstOff + n, uncompressedLen - n);
+                if(r == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    break;
+                }
+                n += r;
+            }
+            if(n == uncompressedLen && !inflater.finished())
+            {
+                //
+                // Process the end of the stream, the stream is invalid if there's more data.
+                //
+                n += inflater.inflate(new byte[1]);
+            }
+            if(n != uncompressedLen || !inflater.finished())
+            {
+                throw new com.zeroc.Ice.CompressionException(
+                    "deflate uncompression failure: invalid uncompressed size");
+            }
+        }
+        catch(java.util.zip.DataFormatException ex)
+        {
+            throw new com.zeroc.Ice.CompressionException("deflate uncompression failure", ex);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+}
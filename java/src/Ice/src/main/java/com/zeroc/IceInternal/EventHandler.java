@@ -36,4 +36,5 @@ public abstract class EventHandler
     public int _registered = 0;
     public int _ready = 0;
     public java.nio.channels.SelectionKey _key = null;
+    ThreadPool _shard = null; // The thread pool shard of the handler if the thread pool has multiple selectors.
 }
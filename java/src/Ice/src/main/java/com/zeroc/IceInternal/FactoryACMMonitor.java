@@ -74,11 +74,7 @@ class FactoryACMMonitor implements ACMMonitor
             // Cancel the scheduled timer task and schedule it again now to clear the
             // connection set from the timer thread.
             //
-            assert(_future != null);
-            _future.cancel(false);
-            _future = null;
-
-            _instance.timer().schedule(() -> { monitorConnections(); }, 0, java.util.concurrent.TimeUnit.MILLISECONDS);
+            _timeout.schedule(0);
         }
 
         _instance = null;
@@ -114,11 +110,11 @@ class FactoryACMMonitor implements ACMMonitor
             if(_connections.isEmpty())
             {
                 _connections.add(connection);
-                assert _future == null;
-                _future = _instance.timer().scheduleAtFixedRate(() -> { monitorConnections(); },
-                                                                _config.timeout / 2,
-                                                                _config.timeout / 2,
-                                                                java.util.concurrent.TimeUnit.MILLISECONDS);
+                if(_timeout == null)
+                {
+                    _timeout = _instance.timingWheel().createTimeout(() -> { monitorConnections(); });
+                }
+                _timeout.scheduleAtFixedRate(_config.timeout / 2, _config.timeout / 2);
             }
             else
             {
@@ -170,7 +166,7 @@ class FactoryACMMonitor implements ACMMonitor
         {
             config.heartbeat = heartbeat.get();
         }
-        return new ConnectionACMMonitor(this, _instance.timer(), config);
+        return new ConnectionACMMonitor(this, _instance.timingWheel(), config);
     }
 
     @Override
@@ -223,8 +219,7 @@ class FactoryACMMonitor implements ACMMonitor
 
             if(_connections.isEmpty())
             {
-                _future.cancel(false);
-                _future = null;
+                _timeout.cancel();
                 return;
             }
         }
@@ -263,5 +258,5 @@ class FactoryACMMonitor implements ACMMonitor
     private java.util.Set<com.zeroc.Ice.ConnectionI> _connections = new java.util.HashSet<>();
     private java.util.List<Change> _changes = new java.util.ArrayList<>();
     private java.util.List<com.zeroc.Ice.ConnectionI> _reapedConnections = new java.util.ArrayList<>();
-    private java.util.concurrent.Future<?> _future;
+    private TimingWheel.Timeout _timeout;
 }
@@ -92,6 +92,20 @@ public class FixedReference extends Reference
         return 0;
     }
 
+    @Override
+    public int
+    getHedgeDelay()
+    {
+        return 0;
+    }
+
+    @Override
+    public int
+    getRebalanceInterval()
+    {
+        return 0;
+    }
+
     @Override
     public String
     getConnectionId()
@@ -0,0 +1,64 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// Limits the hedged requests sent by a communicator to a percentage of the
+// requests which can be hedged (Ice.HedgeBudget), so that hedging cannot
+// amplify the load of slow servers.
+//
+// Each request which can be hedged adds the percentage to the budget and
+// each hedged request consumes 100 from it. The budget is capped to allow
+// a small burst of hedged requests after a period without slow requests.
+//
+public final class HedgeBudget
+{
+    HedgeBudget(int percent)
+    {
+        _percent = percent;
+    }
+
+    synchronized void deposit()
+    {
+        _tokens = Math.min(_tokens + _percent, MaxTokens);
+    }
+
+    synchronized boolean withdraw()
+    {
+        if(_tokens < 100)
+        {
+            return false;
+        }
+        _tokens -= 100;
+        ++_hedgeCount;
+        return true;
+    }
+
+    synchronized void won()
+    {
+        ++_wonCount;
+    }
+
+    //
+    // The number of hedged requests sent and the number of hedged requests
+    // whose reply was received before the reply of the original request.
+    //
+    synchronized public long getHedgeCount()
+    {
+        return _hedgeCount;
+    }
+
+    synchronized public long getWonCount()
+    {
+        return _wonCount;
+    }
+
+    private static final int MaxTokens = 10 * 100;
+
+    private final int _percent;
+    private int _tokens;
+    private long _hedgeCount;
+    private long _wonCount;
+}
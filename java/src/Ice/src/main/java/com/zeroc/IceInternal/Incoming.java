@@ -32,7 +32,6 @@ final public class Incoming implements com.zeroc.Ice.Request
         _compress = compress;
 
         _current = new Current();
-        _current.id = new com.zeroc.Ice.Identity();
         _current.adapter = adapter;
         _current.con = connection;
         _current.requestId = requestId;
@@ -55,7 +54,6 @@ final public class Incoming implements com.zeroc.Ice.Request
         // Don't recycle the Current object, because servants may keep a reference to it.
         //
         _current = new Current();
-        _current.id = new com.zeroc.Ice.Identity();
         _current.adapter = adapter;
         _current.con = connection;
         _current.requestId = requestId;
@@ -101,6 +99,11 @@ final public class Incoming implements com.zeroc.Ice.Request
         return _current;
     }
 
+    private String readString(StringCache cache)
+    {
+        return cache != null ? cache.read(_is) : _is.readString();
+    }
+
     public void invoke(ServantManager servantManager, InputStream stream)
     {
         _is = stream;
@@ -108,34 +111,41 @@ final public class Incoming implements com.zeroc.Ice.Request
         int start = _is.pos();
 
         //
-        // Read the current.
+        // Read the current. The strings are read through the adapter's string
+        // cache to avoid allocating new strings for each request.
         //
-        _current.id.ice_readMembers(_is);
+        final StringCache cache = servantManager != null ? servantManager.stringCache() : null;
+        _current.id.name = readString(cache);
+        _current.id.category = readString(cache);
 
         //
         // For compatibility with the old FacetPath.
         //
-        String[] facetPath = _is.readStringSeq();
-        if(facetPath.length > 0)
+        int sz = _is.readSize();
+        if(sz > 1)
         {
-            if(facetPath.length > 1)
-            {
-                throw new com.zeroc.Ice.MarshalException();
-            }
-            _current.facet = facetPath[0];
+            throw new com.zeroc.Ice.MarshalException();
         }
-        else
+        _current.facet = sz == 1 ? readString(cache) : "";
+
+        _current.operation = readString(cache);
+        _current.mode = com.zeroc.Ice.OperationMode.valueOf(_is.readByte());
+        if(_current.mode == null)
         {
-            _current.facet = "";
+            throw new com.zeroc.Ice.MarshalException("invalid operation mode");
         }
 
-        _current.operation = _is.readString();
-        _current.mode = com.zeroc.Ice.OperationMode.values()[_is.readByte()];
+        //
+        // Each request gets its own context map, servants and AMD continuations
+        // may still use it once this Incoming is reused for another request. The
+        // map must remain mutable, servants and dispatch interceptors may modify
+        // it. An empty HashMap doesn't allocate its table until it's modified.
+        //
         _current.ctx = new java.util.HashMap<>();
-        int sz = _is.readSize();
+        sz = _is.readSize();
         while(sz-- > 0)
         {
-            String first = _is.readString();
+            String first = readString(cache);
             String second = _is.readString();
             _current.ctx.put(first, second);
         }
@@ -454,6 +464,12 @@ final public class Incoming implements com.zeroc.Ice.Request
         return _is.readEncapsulation(_current.encoding);
     }
 
+    public java.nio.ByteBuffer readParamEncapsBuffer()
+    {
+        _current.encoding = new com.zeroc.Ice.EncodingVersion();
+        return _is.readEncapsulationBuffer(_current.encoding);
+    }
+
     public void setFormat(FormatType format)
     {
         if(format == null)
@@ -577,23 +593,63 @@ final public class Incoming implements com.zeroc.Ice.Request
         }
     }
 
+    public OutputStream writeParamEncaps(OutputStream os, java.nio.ByteBuffer v, boolean ok)
+    {
+        if(!ok && _observer != null)
+        {
+            _observer.userException();
+        }
+
+        if(_response)
+        {
+            if(os == null) // Create the output stream if none is provided
+            {
+                os = new OutputStream(_instance, Protocol.currentProtocolEncoding);
+            }
+            assert(os.pos() == 0);
+            os.writeBlob(Protocol.replyHdr);
+            os.writeInt(_current.requestId);
+            os.writeByte(ok ? ReplyStatus.replyOK : ReplyStatus.replyUserException);
+            if(v == null || !v.hasRemaining())
+            {
+                os.writeEmptyEncapsulation(_current.encoding);
+            }
+            else
+            {
+                os.writeEncapsulation(v);
+            }
+            return os;
+        }
+        else
+        {
+            return null;
+        }
+    }
+
     private void warning(Throwable ex)
     {
         assert(_instance != null);
+        warning(_instance, _current, ex);
+    }
 
+    //
+    // Also used by CollocatedRequestHandler for direct dispatches.
+    //
+    static void warning(Instance instance, Current current, Throwable ex)
+    {
         java.io.StringWriter sw = new java.io.StringWriter();
         java.io.PrintWriter pw = new java.io.PrintWriter(sw);
         com.zeroc.IceUtilInternal.OutputBase out = new com.zeroc.IceUtilInternal.OutputBase(pw);
         out.setUseTab(false);
         out.print("dispatch exception:");
-        out.print("\nidentity: " + Util.identityToString(_current.id, _instance.toStringMode()));
-        out.print("\nfacet: " + com.zeroc.IceUtilInternal.StringUtil.escapeString(_current.facet, "", _instance.toStringMode()));
-        out.print("\noperation: " + _current.operation);
-        if(_current.con != null)
+        out.print("\nidentity: " + Util.identityToString(current.id, instance.toStringMode()));
+        out.print("\nfacet: " + com.zeroc.IceUtilInternal.StringUtil.escapeString(current.facet, "", instance.toStringMode()));
+        out.print("\noperation: " + current.operation);
+        if(current.con != null)
         {
             try
             {
-                for(ConnectionInfo connInfo = _current.con.getInfo(); connInfo != null; connInfo = connInfo.underlying)
+                for(ConnectionInfo connInfo = current.con.getInfo(); connInfo != null; connInfo = connInfo.underlying)
                 {
                     if(connInfo instanceof IPConnectionInfo)
                     {
@@ -610,7 +666,7 @@ final public class Incoming implements com.zeroc.Ice.Request
         out.print("\n");
         ex.printStackTrace(pw);
         pw.flush();
-        _instance.initializationData().logger.warning(sw.toString());
+        instance.initializationData().logger.warning(sw.toString());
     }
 
     private void handleException(Throwable exc, boolean amd)
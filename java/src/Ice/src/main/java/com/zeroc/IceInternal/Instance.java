@@ -343,6 +343,18 @@ public final class Instance implements java.util.function.Function<String, Class
         return _timer;
     }
 
+    synchronized public TimingWheel
+    timingWheel()
+    {
+        if(_state == StateDestroyed)
+        {
+            throw new com.zeroc.Ice.CommunicatorDestroyedException();
+        }
+
+        assert(_timingWheel != null);
+        return _timingWheel;
+    }
+
     public synchronized EndpointFactoryManager
     endpointFactoryManager()
     {
@@ -381,6 +393,34 @@ public final class Instance implements java.util.function.Function<String, Class
         return _batchAutoFlushSize;
     }
 
+    public int
+    batchAutoFlushDelay()
+    {
+        // No mutex lock, immutable.
+        return _batchAutoFlushDelay;
+    }
+
+    public int
+    hedgeDelay()
+    {
+        // No mutex lock, immutable.
+        return _hedgeDelay;
+    }
+
+    public HedgeBudget
+    hedgeBudget()
+    {
+        // No mutex lock, immutable.
+        return _hedgeBudget;
+    }
+
+    public int
+    gatheringWriteSize()
+    {
+        // No mutex lock, immutable.
+        return _gatheringWriteSize;
+    }
+
     public com.zeroc.Ice.ToStringMode
     toStringMode()
     {
@@ -395,6 +435,80 @@ public final class Instance implements java.util.function.Function<String, Class
         return _cacheMessageBuffers;
     }
 
+    public BufferPool
+    bufferPool()
+    {
+        // No mutex lock, immutable.
+        return _bufferPool;
+    }
+
+    public ClassCache
+    classCache()
+    {
+        // No mutex lock, immutable.
+        return _classCache;
+    }
+
+    //
+    // The codec used to compress requests, set with Ice.Compression.Codec.
+    //
+    public CompressionCodec
+    compressionCodec()
+    {
+        // No mutex lock, immutable.
+        return _compressionCodec;
+    }
+
+    //
+    // The codec for the given compression status, or null if there's no codec
+    // for this status.
+    //
+    public CompressionCodec
+    compressionCodec(byte id)
+    {
+        // No mutex lock, immutable.
+        return _compressionCodecs[id & 0xFF];
+    }
+
+    //
+    // The highest compression status of the codecs supported by this communicator,
+    // or 0 if only bzip2 is supported. It's advertised with the validate connection
+    // message, the peer assumes that all the statuses from 2 to this status are
+    // understood.
+    //
+    public byte
+    compressionStatusMax()
+    {
+        // No mutex lock, immutable.
+        return _compressionStatusMax;
+    }
+
+    public int
+    loadBalancing()
+    {
+        // No mutex lock, immutable.
+        return _loadBalancing;
+    }
+
+    public int
+    connectionPoolSize()
+    {
+        // No mutex lock, immutable.
+        return _connectionPoolSize;
+    }
+
+    //
+    // With Ice.CollocationDirect, synchronous twoway invocations on collocated
+    // servants pass their parameters and results by reference, without copying
+    // them, see CollocatedRequestHandler.invokeDirect().
+    //
+    public boolean
+    collocationDirect()
+    {
+        // No mutex lock, immutable.
+        return _collocationDirect;
+    }
+
     public ACMConfig
     clientACM()
     {
@@ -985,7 +1099,41 @@ public final class Instance implements java.util.function.Function<String, Class
 
             _traceLevels = new TraceLevels(_initData.properties);
 
-            _defaultsAndOverrides = new DefaultsAndOverrides(_initData.properties, _initData.logger);
+            Compressor[] compressors = new Compressor[]{ new BZip2(), new Deflate(), new LZ4() };
+            String codecName = _initData.properties.getPropertyWithDefault("Ice.Compression.Codec", "BZip2");
+            CompressionCodec defaultCodec = null;
+            _compressionCodecs = new CompressionCodec[256];
+            for(Compressor compressor : compressors)
+            {
+                CompressionCodec codec = new CompressionCodec(compressor, _initData.properties);
+                _compressionCodecs[compressor.id() & 0xFF] = codec;
+                if(compressor.name().equals(codecName))
+                {
+                    defaultCodec = codec;
+                }
+            }
+            if(defaultCodec == null)
+            {
+                throw new com.zeroc.Ice.InitializationException(
+                    "The value for Ice.Compression.Codec must be BZip2, Deflate or LZ4");
+            }
+            _compressionCodec = defaultCodec;
+
+            //
+            // bzip2 isn't checked, the check loads classes and bzip2 is understood by
+            // all Ice versions.
+            //
+            byte compressionStatusMax = 0;
+            for(Compressor compressor : compressors)
+            {
+                if(compressor.id() > (byte)2 && compressor.id() > compressionStatusMax && compressor.supported())
+                {
+                    compressionStatusMax = compressor.id();
+                }
+            }
+            _compressionStatusMax = compressionStatusMax;
+
+            _defaultsAndOverrides = new DefaultsAndOverrides(_initData.properties, _initData.logger, _compressionCodec);
 
             _clientACM = new ACMConfig(_initData.properties,
                                        _initData.logger,
@@ -1041,6 +1189,51 @@ public final class Instance implements java.util.function.Function<String, Class
                 }
             }
 
+            {
+                int num = _initData.properties.getPropertyAsIntWithDefault("Ice.BatchAutoFlushDelay", 0);
+                _batchAutoFlushDelay = num < 1 ? 0 : num; // In milliseconds, 0 if the linger flush is disabled.
+            }
+
+            {
+                int num = _initData.properties.getPropertyAsIntWithDefault("Ice.HedgeDelay", 0);
+                _hedgeDelay = num < 1 ? 0 : num; // In milliseconds, 0 if hedging is disabled.
+
+                num = _initData.properties.getPropertyAsIntWithDefault("Ice.HedgeBudget", 10);
+                _hedgeBudget = new HedgeBudget(num < 0 ? 0 : (num > 100 ? 100 : num)); // Percentage of requests.
+            }
+
+            {
+                int num = _initData.properties.getPropertyAsIntWithDefault("Ice.GatheringWriteSize", 64); // 64KB
+                if(num < 1)
+                {
+                    _gatheringWriteSize = 0; // Gathering writes are disabled.
+                }
+                else if(num > 0x7fffffff / 1024)
+                {
+                    _gatheringWriteSize = 0x7fffffff;
+                }
+                else
+                {
+                    _gatheringWriteSize = num * 1024; // Property is in kilobytes, _gatheringWriteSize in bytes
+                }
+            }
+
+            {
+                int num = _initData.properties.getPropertyAsIntWithDefault("Ice.BufferPool.Size", 0);
+                if(num < 1)
+                {
+                    _bufferPool = null; // The buffer pool is disabled.
+                }
+                else if(num > 0x7fffffff / 1024)
+                {
+                    _bufferPool = new BufferPool(0x7fffffff);
+                }
+                else
+                {
+                    _bufferPool = new BufferPool(num * 1024); // Property is in kilobytes, pool size in bytes
+                }
+            }
+
             String toStringModeStr = _initData.properties.getPropertyWithDefault("Ice.ToStringMode", "Unicode");
             if(toStringModeStr.equals("Unicode"))
             {
@@ -1059,6 +1252,30 @@ public final class Instance implements java.util.function.Function<String, Class
                 throw new com.zeroc.Ice.InitializationException("The value for Ice.ToStringMode must be Unicode, ASCII or Compat");
             }
 
+            String loadBalancingStr = _initData.properties.getPropertyWithDefault("Ice.LoadBalancing", "None");
+            if(loadBalancingStr.equals("None"))
+            {
+                _loadBalancing = OutgoingConnectionFactory.LoadBalancingNone;
+            }
+            else if(loadBalancingStr.equals("LowestLatency"))
+            {
+                _loadBalancing = OutgoingConnectionFactory.LoadBalancingLowestLatency;
+            }
+            else if(loadBalancingStr.equals("LeastOutstanding"))
+            {
+                _loadBalancing = OutgoingConnectionFactory.LoadBalancingLeastOutstanding;
+            }
+            else
+            {
+                throw new com.zeroc.Ice.InitializationException(
+                    "The value for Ice.LoadBalancing must be None, LowestLatency or LeastOutstanding");
+            }
+
+            _connectionPoolSize =
+                java.lang.Math.max(1, _initData.properties.getPropertyAsIntWithDefault("Ice.ConnectionPool.Size", 1));
+
+            _collocationDirect = _initData.properties.getPropertyAsInt("Ice.CollocationDirect") > 0;
+
             _implicitContext =
                 com.zeroc.Ice.ImplicitContextI.create(_initData.properties.getProperty("Ice.ImplicitContext"));
 
@@ -1252,6 +1469,15 @@ public final class Instance implements java.util.function.Function<String, Class
                 _adminFacets.put(propertiesFacetName, propsAdmin);
             }
 
+            //
+            // Compression facet
+            //
+            String compressionFacetName = "Compression";
+            if(_adminFacetFilter.isEmpty() || _adminFacetFilter.contains(compressionFacetName))
+            {
+                _adminFacets.put(compressionFacetName, new CompressionAdminI(this));
+            }
+
             //
             // Metrics facet
             //
@@ -1286,6 +1512,7 @@ public final class Instance implements java.util.function.Function<String, Class
         try
         {
             _timer = new Timer(_initData.properties, Util.createThreadName(_initData.properties, "Ice.Timer"));
+            _timingWheel = new TimingWheel(_timer, 10); // 10ms ticks
         }
         catch(RuntimeException ex)
         {
@@ -1570,6 +1797,7 @@ public final class Instance implements java.util.function.Function<String, Class
                 _clientThreadPool = null;
                 _endpointHostResolver = null;
                 _timer = null;
+                _timingWheel = null;
 
                 _referenceFactory = null;
                 _requestHandlerFactory = null;
@@ -1875,8 +2103,20 @@ public final class Instance implements java.util.function.Function<String, Class
     private final DefaultsAndOverrides _defaultsAndOverrides; // Immutable, not reset by destroy().
     private final int _messageSizeMax; // Immutable, not reset by destroy().
     private final int _batchAutoFlushSize; // Immutable, not reset by destroy().
+    private final int _batchAutoFlushDelay; // Immutable, not reset by destroy().
+    private final int _hedgeDelay; // Immutable, not reset by destroy().
+    private final HedgeBudget _hedgeBudget; // Immutable, not reset by destroy().
+    private final int _gatheringWriteSize; // Immutable, not reset by destroy().
     private final com.zeroc.Ice.ToStringMode _toStringMode; // Immutable, not reset by destroy().
     private final int _cacheMessageBuffers; // Immutable, not reset by destroy().
+    private final BufferPool _bufferPool; // Immutable, not reset by destroy().
+    private final int _loadBalancing; // Immutable, not reset by destroy().
+    private final int _connectionPoolSize; // Immutable, not reset by destroy().
+    private final boolean _collocationDirect; // Immutable, not reset by destroy().
+    private final ClassCache _classCache = new ClassCache(this); // Immutable, not reset by destroy().
+    private final CompressionCodec _compressionCodec; // Immutable, not reset by destroy().
+    private final CompressionCodec[] _compressionCodecs; // Immutable, not reset by destroy().
+    private final byte _compressionStatusMax; // Immutable, not reset by destroy().
     private final ACMConfig _clientACM; // Immutable, not reset by destroy().
     private final ACMConfig _serverACM; // Immutable, not reset by destroy().
     private final com.zeroc.Ice.ImplicitContextI _implicitContext;
@@ -1895,6 +2135,7 @@ public final class Instance implements java.util.function.Function<String, Class
     private EndpointHostResolver _endpointHostResolver;
     private RetryQueue _retryQueue;
     private Timer _timer;
+    private TimingWheel _timingWheel;
     private EndpointFactoryManager _endpointFactoryManager;
     private com.zeroc.Ice.PluginManager _pluginManager;
 
@@ -0,0 +1,211 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// An open-addressing map from int keys to objects, used by InputStream to
+// look up the class instances and type IDs of an encapsulation by index and
+// by ConnectionI for its pending requests. Values must not be null. Entries
+// are kept in a dense array and can be iterated with keyAt() and valueAt(),
+// removing an entry moves the last entry in its place.
+//
+// clear() keeps the tables so that the map can be reused for the next
+// encapsulation without allocating, unless the tables grew large.
+//
+public final class IntObjectMap<V>
+{
+    public IntObjectMap()
+    {
+        allocate(InitialCapacity);
+    }
+
+    public int size()
+    {
+        return _size;
+    }
+
+    public boolean isEmpty()
+    {
+        return _size == 0;
+    }
+
+    //
+    // Returns the value associated with the key or null if there's none.
+    //
+    @SuppressWarnings("unchecked")
+    public V get(int key)
+    {
+        final int mask = _slots.length - 1;
+        for(int s = hash(key) & mask;; s = (s + 1) & mask)
+        {
+            final int e = _slots[s];
+            if(e == 0)
+            {
+                return null;
+            }
+            if(_keys[e - 1] == key)
+            {
+                return (V)_values[e - 1];
+            }
+        }
+    }
+
+    public void put(int key, V value)
+    {
+        assert(value != null);
+        if(_size == _keys.length)
+        {
+            resize(_keys.length * 2);
+        }
+
+        final int mask = _slots.length - 1;
+        int s = hash(key) & mask;
+        for(int e = _slots[s]; e != 0; e = _slots[s])
+        {
+            if(_keys[e - 1] == key)
+            {
+                _values[e - 1] = value;
+                return;
+            }
+            s = (s + 1) & mask;
+        }
+        _keys[_size] = key;
+        _values[_size] = value;
+        _slots[s] = ++_size;
+    }
+
+    public V remove(int key)
+    {
+        final int mask = _slots.length - 1;
+        int s = hash(key) & mask;
+        int e;
+        while((e = _slots[s]) != 0 && _keys[e - 1] != key)
+        {
+            s = (s + 1) & mask;
+        }
+        if(e == 0)
+        {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        V v = (V)_values[e - 1];
+        deleteSlot(s);
+
+        final int last = _size - 1;
+        if(e - 1 != last)
+        {
+            //
+            // Move the last entry in place of the removed entry.
+            //
+            s = hash(_keys[last]) & mask;
+            while(_slots[s] != last + 1)
+            {
+                s = (s + 1) & mask;
+            }
+            _slots[s] = e;
+            _keys[e - 1] = _keys[last];
+            _values[e - 1] = _values[last];
+        }
+        _values[last] = null;
+        _size = last;
+        return v;
+    }
+
+    //
+    // The key and value of the i-th entry.
+    //
+    public int keyAt(int i)
+    {
+        assert(i < _size);
+        return _keys[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V valueAt(int i)
+    {
+        assert(i < _size);
+        return (V)_values[i];
+    }
+
+    public void clear()
+    {
+        if(_size == 0)
+        {
+            return;
+        }
+
+        if(_keys.length > MaxRetainedCapacity)
+        {
+            allocate(InitialCapacity);
+        }
+        else
+        {
+            java.util.Arrays.fill(_values, 0, _size, null);
+            java.util.Arrays.fill(_slots, 0);
+        }
+        _size = 0;
+    }
+
+    //
+    // Empties the given slot and moves back the following entries of its
+    // probe sequence which can be moved, to not break the sequence.
+    //
+    private void deleteSlot(int hole)
+    {
+        final int mask = _slots.length - 1;
+        for(int i = (hole + 1) & mask; _slots[i] != 0; i = (i + 1) & mask)
+        {
+            final int home = hash(_keys[_slots[i] - 1]) & mask;
+            if(((i - home) & mask) >= ((i - hole) & mask))
+            {
+                _slots[hole] = _slots[i];
+                hole = i;
+            }
+        }
+        _slots[hole] = 0;
+    }
+
+    private static int hash(int key)
+    {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(int capacity)
+    {
+        _keys = new int[capacity];
+        _values = new Object[capacity];
+        _slots = new int[capacity * 2]; // Keep the load factor under 0.5
+    }
+
+    private void resize(int capacity)
+    {
+        int[] keys = _keys;
+        Object[] values = _values;
+        allocate(capacity);
+        System.arraycopy(keys, 0, _keys, 0, _size);
+        System.arraycopy(values, 0, _values, 0, _size);
+
+        final int mask = _slots.length - 1;
+        for(int i = 0; i < _size; ++i)
+        {
+            int s = hash(_keys[i]) & mask;
+            while(_slots[s] != 0)
+            {
+                s = (s + 1) & mask;
+            }
+            _slots[s] = i + 1;
+        }
+    }
+
+    private static final int InitialCapacity = 16;
+    private static final int MaxRetainedCapacity = 4096;
+
+    private int[] _keys;
+    private Object[] _values;
+    private int[] _slots; // Index + 1 of the entry in _keys/_values, 0 for an empty slot
+    private int _size;
+}
@@ -0,0 +1,283 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// A pure Java implementation of the LZ4 block format. The compressor is the
+// greedy single-pass LZ4 algorithm, trading compression ratio for speed. The
+// level selects the size of the match hash table: higher levels find more
+// matches at the cost of a larger table to clear for each message.
+//
+public class LZ4 implements Compressor
+{
+    @Override
+    public String name()
+    {
+        return "LZ4";
+    }
+
+    @Override
+    public byte id()
+    {
+        return (byte)4;
+    }
+
+    @Override
+    public boolean supported()
+    {
+        return true;
+    }
+
+    @Override
+    public int maxCompressedLength(int len)
+    {
+        return len + len / 255 + 16;
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOff, int len, byte[] dst, int dstOff, int level)
+    {
+        final int hashLog = Math.min(MinHashLog + level, MaxHashLog);
+        int[] table = _table.get();
+        java.util.Arrays.fill(table, 0, 1 << hashLog, srcOff);
+
+        final int end = srcOff + len;
+        final int matchLimit = end - LastLiterals;
+        final int mfLimit = end - MFLimit;
+        int ip = srcOff;
+        int anchor = srcOff;
+        int op = dstOff;
+
+        if(len >= MFLimit + 1)
+        {
+            ++ip;
+            while(true)
+            {
+                //
+                // Find a match, skipping faster over incompressible data.
+                //
+                int ref;
+                int searchCount = 1 << SkipStrength;
+                while(true)
+                {
+                    if(ip >= mfLimit)
+                    {
+                        return lastLiterals(src, anchor, end - anchor, dst, op) - dstOff;
+                    }
+                    final int seq = readInt(src, ip);
+                    final int h = hash(seq, hashLog);
+                    ref = table[h];
+                    table[h] = ip;
+                    if(ref < ip && ip - ref <= MaxDistance && readInt(src, ref) == seq)
+                    {
+                        break;
+                    }
+                    ip += searchCount++ >>> SkipStrength;
+                }
+
+                //
+                // Extend the match backward and forward.
+                //
+                while(ip > anchor && ref > srcOff && src[ip - 1] == src[ref - 1])
+                {
+                    --ip;
+                    --ref;
+                }
+                int matchLen = MinMatch;
+                while(ip + matchLen < matchLimit && src[ip + matchLen] == src[ref + matchLen])
+                {
+                    ++matchLen;
+                }
+
+                //
+                // Write the sequence: token, literals, offset and match length.
+                //
+                final int litLen = ip - anchor;
+                final int token = op++;
+                if(litLen >= RunMask)
+                {
+                    dst[token] = (byte)(RunMask << MLBits);
+                    op = writeLength(dst, op, litLen - RunMask);
+                }
+                else
+                {
+                    dst[token] = (byte)(litLen << MLBits);
+                }
+                System.arraycopy(src, anchor, dst, op, litLen);
+                op += litLen;
+
+                final int offset = ip - ref;
+                dst[op++] = (byte)offset;
+                dst[op++] = (byte)(offset >>> 8);
+
+                if(matchLen - MinMatch >= MLMask)
+                {
+                    dst[token] |= (byte)MLMask;
+                    op = writeLength(dst, op, matchLen - MinMatch - MLMask);
+                }
+                else
+                {
+                    dst[token] |= (byte)(matchLen - MinMatch);
+                }
+
+                ip += matchLen;
+                anchor = ip;
+                if(ip < mfLimit)
+                {
+                    table[hash(readInt(src, ip - 2), hashLog)] = ip - 2;
+                }
+            }
+        }
+        return lastLiterals(src, anchor, end - anchor, dst, op) - dstOff;
+    }
+
+    @Override
+    public void uncompress(byte[] src, int srcOff, int len, byte[] dst, int dstOff, int uncompressedLen)
+    {
+        final int end = srcOff + len;
+        final int oend = dstOff + uncompressedLen;
+        int ip = srcOff;
+        int op = dstOff;
+        try
+        {
+            while(true)
+            {
+                final int token = src[ip++] & 0xFF;
+
+                //
+                // Copy the literals.
+                //
+                int litLen = token >>> MLBits;
+                if(litLen == RunMask)
+                {
+                    int b;
+                    do
+                    {
+                        b = src[ip++] & 0xFF;
+                        litLen += b;
+                    }
+                    while(b == 255);
+                }
+                if(litLen > end - ip || litLen > oend - op)
+                {
+                    throw corrupted();
+                }
+                System.arraycopy(src, ip, dst, op, litLen);
+                ip += litLen;
+                op += litLen;
+                if(ip == end)
+                {
+                    break; // The last sequence only contains literals.
+                }
+
+                //
+                // Copy the match.
+                //
+                final int offset = (src[ip] & 0xFF) | ((src[ip + 1] & 0xFF) << 8);
+                ip += 2;
+                int ref = op - offset;
+                if(offset == 0 || ref < dstOff)
+                {
+                    throw corrupted();
+                }
+                int matchLen = token & MLMask;
+                if(matchLen == MLMask)
+                {
+                    int b;
+                    do
+                    {
+                        b = src[ip++] & 0xFF;
+                        matchLen += b;
+                    }
+                    while(b == 255);
+                }
+                matchLen += MinMatch;
+                if(matchLen > oend - op)
+                {
+                    throw corrupted();
+                }
+                if(offset >= matchLen)
+                {
+                    System.arraycopy(dst, ref, dst, op, matchLen);
+                    op += matchLen;
+                }
+                else
+                {
+                    //
+                    // Overlapping match, the copy repeats the last offset bytes.
+                    //
+                    for(int i = 0; i < matchLen; ++i)
+                    {
+                        dst[op++] = dst[ref++];
+                    }
+                }
+            }
+        }
+        catch(ArrayIndexOutOfBoundsException ex)
+        {
+            throw corrupted();
+        }
+
+        if(op != oend)
+        {
+            throw corrupted();
+        }
+    }
+
+    private static int lastLiterals(byte[] src, int anchor, int litLen, byte[] dst, int op)
+    {
+        final int token = op++;
+        if(litLen >= RunMask)
+        {
+            dst[token] = (byte)(RunMask << MLBits);
+            op = writeLength(dst, op, litLen - RunMask);
+        }
+        else
+        {
+            dst[token] = (byte)(litLen << MLBits);
+        }
+        System.arraycopy(src, anchor, dst, op, litLen);
+        return op + litLen;
+    }
+
+    private static int writeLength(byte[] dst, int op, int len)
+    {
+        while(len >= 255)
+        {
+            dst[op++] = (byte)255;
+            len -= 255;
+        }
+        dst[op++] = (byte)len;
+        return op;
+    }
+
+    private static int readInt(byte[] b, int i)
+    {
+        return (b[i] & 0xFF) | ((b[i + 1] & 0xFF) << 8) | ((b[i + 2] & 0xFF) << 16) | (b[i + 3] << 24);
+    }
+
+    private static int hash(int seq, int hashLog)
+    {
+        return (seq * -1640531535) >>> (32 - hashLog);
+    }
+
+    private static com.zeroc.Ice.CompressionException corrupted()
+    {
+        return new com.zeroc.Ice.CompressionException("lz4 uncompression failure: corrupted data");
+    }
+
+    private static final int MinMatch = 4;
+    private static final int LastLiterals = 5;
+    private static final int MFLimit = 12;
+    private static final int MaxDistance = 65535;
+    private static final int MLBits = 4;
+    private static final int MLMask = (1 << MLBits) - 1;
+    private static final int RunMask = (1 << (8 - MLBits)) - 1;
+    private static final int SkipStrength = 6;
+    private static final int MinHashLog = 10;
+    private static final int MaxHashLog = 16;
+
+    private static final ThreadLocal<int[]> _table = ThreadLocal.withInitial(() -> new int[1 << MaxHashLog]);
+}
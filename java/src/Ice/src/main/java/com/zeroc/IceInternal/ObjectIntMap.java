@@ -0,0 +1,167 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// An open-addressing map from objects to int values, used by OutputStream to
+// number the class instances and type IDs of an encapsulation. Keys are
+// compared by identity or with equals() and values must not be 0. Entries are
+// kept in insertion order and can be iterated with keyAt() and valueAt().
+//
+// clear() keeps the tables so that the map can be reused for the next
+// encapsulation without allocating, unless the tables grew large.
+//
+public final class ObjectIntMap
+{
+    public ObjectIntMap(boolean identity)
+    {
+        _identity = identity;
+        allocate(InitialCapacity);
+    }
+
+    public int size()
+    {
+        return _size;
+    }
+
+    public boolean isEmpty()
+    {
+        return _size == 0;
+    }
+
+    //
+    // Returns the value associated with the key or 0 if there's none.
+    //
+    public int get(Object key)
+    {
+        final int mask = _slots.length - 1;
+        for(int s = hash(key) & mask;; s = (s + 1) & mask)
+        {
+            final int e = _slots[s];
+            if(e == 0)
+            {
+                return 0;
+            }
+            if(equal(_keys[e - 1], key))
+            {
+                return _values[e - 1];
+            }
+        }
+    }
+
+    public void put(Object key, int value)
+    {
+        assert(key != null && value != 0);
+        if(_size == _keys.length)
+        {
+            resize(_keys.length * 2);
+        }
+
+        final int mask = _slots.length - 1;
+        int s = hash(key) & mask;
+        for(int e = _slots[s]; e != 0; e = _slots[s])
+        {
+            if(equal(_keys[e - 1], key))
+            {
+                _values[e - 1] = value;
+                return;
+            }
+            s = (s + 1) & mask;
+        }
+        _keys[_size] = key;
+        _values[_size] = value;
+        _slots[s] = ++_size;
+    }
+
+    public void putAll(ObjectIntMap m)
+    {
+        for(int i = 0; i < m._size; ++i)
+        {
+            put(m._keys[i], m._values[i]);
+        }
+    }
+
+    //
+    // The key and value of the i-th entry, in insertion order.
+    //
+    public Object keyAt(int i)
+    {
+        assert(i < _size);
+        return _keys[i];
+    }
+
+    public int valueAt(int i)
+    {
+        assert(i < _size);
+        return _values[i];
+    }
+
+    public void clear()
+    {
+        if(_size == 0)
+        {
+            return;
+        }
+
+        if(_keys.length > MaxRetainedCapacity)
+        {
+            allocate(InitialCapacity);
+        }
+        else
+        {
+            java.util.Arrays.fill(_keys, 0, _size, null);
+            java.util.Arrays.fill(_slots, 0);
+        }
+        _size = 0;
+    }
+
+    private int hash(Object key)
+    {
+        int h = _identity ? System.identityHashCode(key) : key.hashCode();
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private boolean equal(Object k1, Object k2)
+    {
+        return k1 == k2 || (!_identity && k1.equals(k2));
+    }
+
+    private void allocate(int capacity)
+    {
+        _keys = new Object[capacity];
+        _values = new int[capacity];
+        _slots = new int[capacity * 2]; // Keep the load factor under 0.5
+    }
+
+    private void resize(int capacity)
+    {
+        Object[] keys = _keys;
+        int[] values = _values;
+        allocate(capacity);
+        System.arraycopy(keys, 0, _keys, 0, _size);
+        System.arraycopy(values, 0, _values, 0, _size);
+
+        final int mask = _slots.length - 1;
+        for(int i = 0; i < _size; ++i)
+        {
+            int s = hash(_keys[i]) & mask;
+            while(_slots[s] != 0)
+            {
+                s = (s + 1) & mask;
+            }
+            _slots[s] = i + 1;
+        }
+    }
+
+    private static final int InitialCapacity = 16;
+    private static final int MaxRetainedCapacity = 4096;
+
+    private final boolean _identity;
+    private Object[] _keys;
+    private int[] _values;
+    private int[] _slots; // Index + 1 of the entry in _keys/_values, 0 for an empty slot
+    private int _size;
+}
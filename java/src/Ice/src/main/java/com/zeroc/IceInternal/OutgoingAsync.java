@@ -21,6 +21,17 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
         V unmarshal(com.zeroc.Ice.InputStream istr);
     }
 
+    //
+    // Calls the operation on a collocated servant with the unmarshaled
+    // parameters, see CollocatedRequestHandler.invokeDirect().
+    //
+    @FunctionalInterface
+    static public interface DirectDispatcher<V>
+    {
+        java.util.concurrent.CompletionStage<V> dispatch(com.zeroc.Ice.Object servant, com.zeroc.Ice.Current current)
+            throws UserException;
+    }
+
     public OutgoingAsync(com.zeroc.Ice.ObjectPrx prx, String operation, OperationMode mode, boolean synchronous,
                          Class<?>[] userExceptions)
     {
@@ -35,6 +46,7 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
             _ObjectPrxI.StreamPair p = _proxy._getCachedMessageBuffers();
             if(p != null)
             {
+                _streamPair = p;
                 _is = p.is;
                 _os = p.os;
             }
@@ -47,6 +59,19 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
 
     public void invoke(boolean twowayOnly, java.util.Map<String, String> ctx, FormatType format,
                        OutputStream.Marshaler marshal, Unmarshaler<T> unmarshal)
+    {
+        invoke(twowayOnly, ctx, format, marshal, unmarshal, null, null);
+    }
+
+    //
+    // With Ice.CollocationDirect enabled, the marshaling of the parameters of
+    // synchronous twoway invocations is delayed until the request is sent:
+    // if the request handler is collocated, the dispatcher calls the servant
+    // with the parameters and the results are returned without marshaling.
+    //
+    public void invoke(boolean twowayOnly, java.util.Map<String, String> ctx, FormatType format,
+                       OutputStream.Marshaler marshal, Unmarshaler<T> unmarshal, Class<?> servantType,
+                       DirectDispatcher<T> direct)
     {
         _unmarshal = unmarshal;
 
@@ -64,14 +89,18 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
         {
             prepare(ctx);
 
-            if(marshal == null)
+            if(direct != null && _synchronous && _proxyMode == Reference.ModeTwoway && _instance.collocationDirect() &&
+               _proxy._getReference().getInvocationTimeout() <= 0)
             {
-                writeEmptyParams();
+                _ctx = ctx;
+                _format = format;
+                _marshal = marshal;
+                _servantType = servantType;
+                _direct = direct;
             }
             else
             {
-                marshal.marshal(startWriteParams(format));
-                endWriteParams();
+                writeParams(format, marshal);
             }
 
             if(isBatch())
@@ -85,12 +114,48 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
             }
             else
             {
+                int hedgeDelay = 0;
+                if(!_hedge && _mode != OperationMode.Normal && _proxyMode == Reference.ModeTwoway)
+                {
+                    hedgeDelay = _proxy._getReference().getHedgeDelay();
+                    if(hedgeDelay > 0)
+                    {
+                        //
+                        // The hedged request sends a copy of this request, made now: the
+                        // parameters might be modified once the invocation returns and the
+                        // implicit context might be a per-thread context.
+                        //
+                        if(_direct != null)
+                        {
+                            marshalParams();
+                        }
+                        if(ctx == null)
+                        {
+                            _hedgeCtx = java.util.Collections.emptyMap();
+                        }
+                        else
+                        {
+                            _hedgeCtx = ctx == com.zeroc.Ice.ObjectPrx.noExplicitContext ? combinedContext() : ctx;
+                        }
+                        _hedgeMessage = new byte[_os.size()];
+                        java.nio.ByteBuffer b = _os.getBuffer().b.duplicate();
+                        b.position(0);
+                        b.get(_hedgeMessage);
+                        _instance.hedgeBudget().deposit();
+                    }
+                }
+
                 //
                 // NOTE: invokeImpl doesn't throw so this can be called from the
                 // try block with the catch block calling abort() in case of an
                 // exception.
                 //
                 invokeImpl(true); // userThread = true
+
+                if(hedgeDelay > 0)
+                {
+                    scheduleHedge(hedgeDelay);
+                }
             }
         }
         catch(com.zeroc.Ice.Exception ex)
@@ -164,7 +229,12 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
     public int invokeRemote(com.zeroc.Ice.ConnectionI connection, boolean compress, boolean response)
         throws RetryException
     {
+        if(_direct != null)
+        {
+            marshalParams();
+        }
         _cachedConnection = connection;
+        startLatencySample(connection);
         return connection.sendAsyncRequest(this, compress, response, 0);
     }
 
@@ -177,6 +247,14 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
             // Disable caching by marking the streams as cached!
             _state |= StateCachedBuffers;
         }
+        if(_direct != null)
+        {
+            if(handler.invokeDirect(this))
+            {
+                return AsyncStatus.Queued;
+            }
+            marshalParams();
+        }
         return handler.invokeAsyncRequest(this, 0, _synchronous);
     }
 
@@ -208,6 +286,17 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
                 //
                 complete(null);
             }
+            else if(_directCompleted)
+            {
+                if(_directException == null)
+                {
+                    complete(_directResult);
+                }
+                else
+                {
+                    completeUserException(_directException);
+                }
+            }
             else if((_state & StateOK) > 0)
             {
                 T r = null;
@@ -244,18 +333,7 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
                 }
                 catch(UserException ex)
                 {
-                    if(_userExceptions != null)
-                    {
-                        for(int i = 0; i < _userExceptions.length; ++i)
-                        {
-                            if(_userExceptions[i].isInstance(ex))
-                            {
-                                completeExceptionally(ex);
-                                return;
-                            }
-                        }
-                    }
-                    completeExceptionally(new com.zeroc.Ice.UnknownUserException(ex.ice_id(), ex));
+                    completeUserException(ex);
                 }
                 catch(Throwable ex)
                 {
@@ -269,6 +347,57 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
         }
     }
 
+    @Override
+    protected boolean finished(com.zeroc.Ice.Exception ex)
+    {
+        cancelHedge();
+        if(_hedgeLost && ex instanceof com.zeroc.Ice.InvocationCanceledException)
+        {
+            //
+            // The request canceled because the other request of a hedged invocation
+            // received the reply first isn't a failure, detach the observers without
+            // reporting the cancellation.
+            //
+            synchronized(this)
+            {
+                if(_childObserver != null)
+                {
+                    _childObserver.detach();
+                    _childObserver = null;
+                }
+                if(_observer != null)
+                {
+                    _observer.detach();
+                    _observer = null;
+                }
+            }
+        }
+        return super.finished(ex);
+    }
+
+    @Override
+    protected boolean finished(boolean ok, boolean invoke)
+    {
+        cancelHedge();
+        return super.finished(ok, invoke);
+    }
+
+    private void completeUserException(UserException ex)
+    {
+        if(_userExceptions != null)
+        {
+            for(int i = 0; i < _userExceptions.length; ++i)
+            {
+                if(_userExceptions[i].isInstance(ex))
+                {
+                    completeExceptionally(ex);
+                    return;
+                }
+            }
+        }
+        completeExceptionally(new com.zeroc.Ice.UnknownUserException(ex.ice_id(), ex));
+    }
+
     @Override
     public final boolean completed(com.zeroc.Ice.InputStream is)
     {
@@ -288,6 +417,240 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
         return super.completed(_is);
     }
 
+    //
+    // The accessors below are used by the collocated request handler to
+    // dispatch the invocation directly to the servant.
+    //
+    Class<?> directServantType()
+    {
+        return _servantType;
+    }
+
+    com.zeroc.Ice.EncodingVersion directEncoding()
+    {
+        return _encoding;
+    }
+
+    java.util.Map<String, String> directContext()
+    {
+        if(_ctx != com.zeroc.Ice.ObjectPrx.noExplicitContext)
+        {
+            return _ctx;
+        }
+        return combinedContext();
+    }
+
+    //
+    // The context of the proxy combined with the implicit context.
+    //
+    private java.util.Map<String, String> combinedContext()
+    {
+        Reference ref = _proxy._getReference();
+        com.zeroc.Ice.ImplicitContextI implicitContext = ref.getInstance().getImplicitContext();
+        return implicitContext == null ? ref.getContext() : implicitContext.combine(ref.getContext());
+    }
+
+    java.util.concurrent.CompletionStage<T> dispatchDirect(com.zeroc.Ice.Object servant, com.zeroc.Ice.Current current)
+        throws UserException
+    {
+        return _direct.dispatch(servant, current);
+    }
+
+    //
+    // Called by the collocated request handler when the servant returns the
+    // results or raises a user exception.
+    //
+    boolean completedDirect(T result, UserException ex)
+    {
+        if(ex != null && _observer != null)
+        {
+            _observer.userException();
+        }
+        _directResult = result;
+        _directException = ex;
+        _directCompleted = true;
+        return finished(ex == null, true);
+    }
+
+    //
+    // Hedging: if the reply of an idempotent twoway invocation isn't received
+    // after the hedge delay of the proxy, the invocation is sent again over
+    // another connection, to another endpoint of the proxy if it has several
+    // endpoints. The first reply completes the invocation and the other
+    // request is canceled. The hedged requests are limited by the budget of
+    // the communicator.
+    //
+    private void scheduleHedge(int delay)
+    {
+        synchronized(this)
+        {
+            if((_state & StateDone) > 0)
+            {
+                return;
+            }
+        }
+
+        try
+        {
+            java.util.concurrent.Future<?> future =
+                _instance.timer().schedule(this::hedge, delay, java.util.concurrent.TimeUnit.MILLISECONDS);
+            synchronized(this)
+            {
+                _hedgeFuture = future;
+            }
+        }
+        catch(com.zeroc.Ice.CommunicatorDestroyedException ex)
+        {
+            // Ignore, the invocation fails with the communicator.
+        }
+    }
+
+    private void hedge()
+    {
+        com.zeroc.Ice.Connection connection;
+        synchronized(this)
+        {
+            _hedgeFuture = null;
+            if((_state & StateDone) > 0 || _cachedConnection == null)
+            {
+                return; // Completed or not sent over a connection.
+            }
+            connection = _cachedConnection;
+        }
+
+        if(!_instance.hedgeBudget().withdraw())
+        {
+            return;
+        }
+
+        OutgoingAsync<T> hedge = new OutgoingAsync<>(hedgeProxy(connection), _operation, _mode, false,
+                                                     _userExceptions);
+        hedge._hedge = true;
+        hedge._unmarshal = _unmarshal;
+        hedge.whenComplete((result, ex) ->
+            {
+                //
+                // Local exceptions other than unknown user exceptions are not replies.
+                //
+                if(ex == null || ex instanceof UserException || ex instanceof UnknownUserException)
+                {
+                    hedgeCompleted(result, ex);
+                }
+            });
+
+        synchronized(this)
+        {
+            if((_state & StateDone) > 0)
+            {
+                return;
+            }
+            _hedgeRequest = hedge;
+        }
+
+        hedge.invokeHedge(_hedgeCtx, _hedgeMessage);
+    }
+
+    //
+    // Sends the hedged request, a copy of the request of the hedged invocation.
+    // The header of the request doesn't depend on the connection ID and the
+    // endpoints of the proxy, the only differences of the hedged proxy.
+    //
+    private void invokeHedge(java.util.Map<String, String> ctx, byte[] message)
+    {
+        try
+        {
+            _observer = ObserverHelper.get(_proxy, _operation, ctx);
+            _os.writeBlob(message);
+            invokeImpl(true); // userThread = true
+        }
+        catch(com.zeroc.Ice.Exception ex)
+        {
+            abort(ex);
+        }
+    }
+
+    private com.zeroc.Ice.ObjectPrx hedgeProxy(com.zeroc.Ice.Connection connection)
+    {
+        com.zeroc.Ice.ObjectPrx prx = _proxy.ice_connectionId(_proxy.ice_getConnectionId() + "-hedge");
+
+        com.zeroc.Ice.Endpoint[] endpoints = _proxy.ice_getEndpoints();
+        if(endpoints.length > 1)
+        {
+            EndpointI endpoint = (EndpointI)connection.getEndpoint();
+            java.util.List<com.zeroc.Ice.Endpoint> others = new java.util.ArrayList<>();
+            for(com.zeroc.Ice.Endpoint e : endpoints)
+            {
+                if(!((EndpointI)e).equivalent(endpoint))
+                {
+                    others.add(e);
+                }
+            }
+            if(!others.isEmpty())
+            {
+                prx = prx.ice_endpoints(others.toArray(new com.zeroc.Ice.Endpoint[others.size()]));
+            }
+        }
+        return prx;
+    }
+
+    //
+    // Called when the hedged request receives a reply. If this invocation
+    // isn't completed yet, it's completed with the reply of the hedged
+    // request and its own request is canceled.
+    //
+    private void hedgeCompleted(T result, Throwable ex)
+    {
+        if(ex == null ? complete(result) : completeExceptionally(ex))
+        {
+            _instance.hedgeBudget().won();
+            _hedgeLost = true;
+            cancel(new com.zeroc.Ice.InvocationCanceledException());
+        }
+    }
+
+    private void cancelHedge()
+    {
+        java.util.concurrent.Future<?> future;
+        OutgoingAsync<T> hedge;
+        synchronized(this)
+        {
+            future = _hedgeFuture;
+            hedge = _hedgeRequest;
+            _hedgeFuture = null;
+            _hedgeRequest = null;
+        }
+
+        if(future != null)
+        {
+            future.cancel(false);
+        }
+        if(hedge != null)
+        {
+            hedge._hedgeLost = true;
+            hedge.cancel();
+        }
+    }
+
+    private void marshalParams()
+    {
+        writeParams(_format, _marshal);
+        _marshal = null;
+        _direct = null;
+    }
+
+    private void writeParams(FormatType format, OutputStream.Marshaler marshal)
+    {
+        if(marshal == null)
+        {
+            writeEmptyParams();
+        }
+        else
+        {
+            marshal.marshal(startWriteParams(format));
+            endWriteParams();
+        }
+    }
+
     private com.zeroc.Ice.OutputStream startWriteParams(FormatType format)
     {
         _os.startEncapsulation(_encoding, format);
@@ -338,7 +701,7 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
     @Override
     protected void cacheMessageBuffers()
     {
-        if(_instance.cacheMessageBuffers() > 0)
+        if(_instance.cacheMessageBuffers() > 0 || _instance.bufferPool() != null)
         {
             synchronized(this)
             {
@@ -349,13 +712,34 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
                 _state |= StateCachedBuffers;
             }
 
-            if(_is != null)
+            if(_instance.cacheMessageBuffers() > 0)
             {
-                _is.reset();
-            }
-            _os.reset();
+                if(_is != null)
+                {
+                    _is.reset();
+                }
+                _os.reset();
 
-            _proxy._cacheMessageBuffers(_is, _os);
+                if(_streamPair != null)
+                {
+                    _streamPair.is = _is;
+                    _streamPair.os = _os;
+                    _proxy._cacheMessageBuffers(_streamPair);
+                }
+                else
+                {
+                    _proxy._cacheMessageBuffers(_is, _os);
+                }
+            }
+            else
+            {
+                //
+                // Return the request buffer to the buffer pool. The reply
+                // buffer is left to the garbage collector as the caller
+                // might still hold views of it.
+                //
+                _os.getBuffer().clear();
+            }
 
             _is = null;
             _os = null;
@@ -364,7 +748,34 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
 
     final private com.zeroc.Ice.EncodingVersion _encoding;
     private com.zeroc.Ice.InputStream _is;
+    private _ObjectPrxI.StreamPair _streamPair; // The pair of the cached buffers, reused to cache them again.
 
     private Class<?>[] _userExceptions; // Valid user exceptions.
     private Unmarshaler<T> _unmarshal;
+
+    //
+    // Set if the marshaling of the parameters is delayed for a direct
+    // collocated dispatch.
+    //
+    private java.util.Map<String, String> _ctx;
+    private FormatType _format;
+    private OutputStream.Marshaler _marshal;
+    private Class<?> _servantType;
+    private DirectDispatcher<T> _direct;
+
+    private boolean _directCompleted;
+    private T _directResult;
+    private UserException _directException;
+
+    //
+    // Set if the invocation can be hedged: the context of the invocation for
+    // the observer of the hedged request and the copy of the request.
+    //
+    private java.util.Map<String, String> _hedgeCtx;
+    private byte[] _hedgeMessage;
+
+    private boolean _hedge; // True if this invocation is a hedged request.
+    private java.util.concurrent.Future<?> _hedgeFuture;
+    private OutgoingAsync<T> _hedgeRequest;
+    private volatile boolean _hedgeLost; // Set if canceled because the other request received the reply first.
 }
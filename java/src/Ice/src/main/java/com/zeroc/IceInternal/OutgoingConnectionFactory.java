@@ -11,6 +11,18 @@ import com.zeroc.Ice.LocalException;
 
 public final class OutgoingConnectionFactory
 {
+    //
+    // The Ice.LoadBalancing values.
+    //
+    static final int LoadBalancingNone = 0;
+    static final int LoadBalancingLowestLatency = 1;
+    static final int LoadBalancingLeastOutstanding = 2;
+
+    //
+    // The delay before retrying a failed background connection establishment.
+    //
+    private static final long CreateInBackgroundRetryDelay = 5000; // ms
+
     //
     // Helper class to multi hash map.
     //
@@ -189,10 +201,15 @@ public final class OutgoingConnectionFactory
         try
         {
             Holder<Boolean> compress = new Holder<>();
-            ConnectionI connection = findConnectionByEndpoint(endpoints, compress);
+            Holder<EndpointI> createEndpoint = new Holder<>();
+            ConnectionI connection = findConnectionByEndpoint(endpoints, selType, compress, createEndpoint);
             if(connection != null)
             {
                 callback.setConnection(connection, compress.value);
+                if(createEndpoint.value != null)
+                {
+                    createInBackground(createEndpoint.value, selType);
+                }
                 return;
             }
         }
@@ -202,7 +219,80 @@ public final class OutgoingConnectionFactory
             return;
         }
 
-        final ConnectCallback cb = new ConnectCallback(this, endpoints, hasMore, callback, selType);
+        getConnectors(new ConnectCallback(this, endpoints, hasMore, callback, selType, false));
+    }
+
+    private void
+    createInBackground(final EndpointI endpoint, com.zeroc.Ice.EndpointSelectionType selType)
+    {
+        //
+        // Establish a new connection to the endpoint in the background to grow
+        // its connection pool or to make it available to load balancing. The
+        // invocation which triggered the connection establishment already uses
+        // an existing connection.
+        //
+        CreateConnectionCallback callback = new CreateConnectionCallback()
+        {
+            @Override
+            public void
+            setConnection(ConnectionI connection, boolean compress)
+            {
+                createInBackgroundCompleted(endpoint, true);
+            }
+
+            @Override
+            public void
+            setException(LocalException ex)
+            {
+                createInBackgroundCompleted(endpoint, false);
+            }
+        };
+        getConnectors(new ConnectCallback(this, java.util.Collections.singletonList(endpoint), false, callback,
+                                          selType, true));
+    }
+
+    //
+    // Returns true if the caller should establish a connection to the given
+    // endpoint in the background: no other background connection establishment
+    // is in progress for this endpoint and the last one didn't recently fail.
+    //
+    // Must be called while synchronized.
+    //
+    private boolean
+    startCreateInBackground(EndpointI endpoint)
+    {
+        Long retryTime = _createInBackground.get(endpoint);
+        if(retryTime != null && retryTime > Time.currentMonotonicTimeMillis())
+        {
+            return false;
+        }
+        _createInBackground.put(endpoint, Long.MAX_VALUE);
+        return true;
+    }
+
+    synchronized private void
+    createInBackgroundCompleted(EndpointI endpoint, boolean success)
+    {
+        //
+        // Remove the entries of the endpoints whose retry delay elapsed, so that
+        // the map only holds the endpoints with a background connection
+        // establishment in progress or which recently failed.
+        //
+        final long now = Time.currentMonotonicTimeMillis();
+        _createInBackground.values().removeIf(retryTime -> retryTime <= now);
+        if(success)
+        {
+            _createInBackground.remove(endpoint);
+        }
+        else
+        {
+            _createInBackground.put(endpoint, now + CreateInBackgroundRetryDelay);
+        }
+    }
+
+    private void
+    getConnectors(final ConnectCallback cb)
+    {
         //
         // Calling cb.getConnectors() can eventually result in a call to connect() on a socket, which is not
         // allowed while in Android's main thread (with a dispatcher installed).
@@ -346,6 +436,8 @@ public final class OutgoingConnectionFactory
         _communicator = communicator;
         _instance = instance;
         _monitor = new FactoryACMMonitor(instance, instance.clientACM());
+        _poolSize = instance.connectionPoolSize();
+        _loadBalancing = instance.loadBalancing();
         _destroyed = false;
     }
 
@@ -396,7 +488,8 @@ public final class OutgoingConnectionFactory
     }
 
     synchronized private ConnectionI
-    findConnectionByEndpoint(java.util.List<EndpointI> endpoints, Holder<Boolean> compress)
+    findConnectionByEndpoint(java.util.List<EndpointI> endpoints, com.zeroc.Ice.EndpointSelectionType selType,
+                             Holder<Boolean> compress, Holder<EndpointI> createEndpoint)
     {
         if(_destroyed)
         {
@@ -406,39 +499,155 @@ public final class OutgoingConnectionFactory
         DefaultsAndOverrides defaultsAndOverrides = _instance.defaultsAndOverrides();
         assert(!endpoints.isEmpty());
 
-        for(EndpointI endpoint : endpoints)
+        EndpointI endpoint = null;
+        ConnectionI connection = null;
+        if(_loadBalancing != LoadBalancingNone && selType == com.zeroc.Ice.EndpointSelectionType.Random &&
+           endpoints.size() > 1)
         {
-            java.util.List<ConnectionI> connectionList = _connectionsByEndpoint.get(endpoint);
-            if(connectionList == null)
+            //
+            // Power of two choices: the endpoints are in random order, select the
+            // connection with the lowest cost among the connections to the first
+            // two endpoints. If only one of them has a connection, a connection
+            // to the other one is established in the background so that both can
+            // be compared by the next invocations.
+            //
+            EndpointI endpoint1 = endpoints.get(0);
+            EndpointI endpoint2 = endpoints.get(1);
+            ConnectionI connection1 = selectConnection(_connectionsByEndpoint.get(endpoint1));
+            ConnectionI connection2 = selectConnection(_connectionsByEndpoint.get(endpoint2));
+            if(connection1 == null && connection2 == null)
             {
-                continue;
+                return null;
+            }
+            else if(connection2 == null || (connection1 != null && cost(connection1) <= cost(connection2)))
+            {
+                endpoint = endpoint1;
+                connection = connection1;
+            }
+            else
+            {
+                endpoint = endpoint2;
+                connection = connection2;
             }
 
-            for(ConnectionI connection : connectionList)
+            if(connection1 == null && startCreateInBackground(endpoint1))
+            {
+                createEndpoint.value = endpoint1;
+            }
+            else if(connection2 == null && startCreateInBackground(endpoint2))
+            {
+                createEndpoint.value = endpoint2;
+            }
+        }
+        else
+        {
+            for(EndpointI e : endpoints)
             {
-                if(connection.isActiveOrHolding()) // Don't return destroyed or un-validated connections
+                connection = selectConnection(_connectionsByEndpoint.get(e));
+                if(connection != null)
                 {
-                    if(defaultsAndOverrides.overrideCompress)
-                    {
-                        compress.value = defaultsAndOverrides.overrideCompressValue;
-                    }
-                    else
+                    endpoint = e;
+                    break;
+                }
+            }
+
+            if(connection == null)
+            {
+                return null;
+            }
+        }
+
+        if(defaultsAndOverrides.overrideCompress)
+        {
+            compress.value = defaultsAndOverrides.overrideCompressValue;
+        }
+        else
+        {
+            compress.value = endpoint.compress();
+        }
+
+        //
+        // Grow the connection pool if the least loaded connection is busy.
+        //
+        if(createEndpoint.value == null && _poolSize > 1 && _connectionsByEndpoint.get(endpoint).size() < _poolSize &&
+           connection.load() > 0 && startCreateInBackground(endpoint))
+        {
+            createEndpoint.value = endpoint;
+        }
+        return connection;
+    }
+
+    //
+    // Returns the cost of the given connection for load balancing.
+    //
+    // Must be called while synchronized.
+    //
+    private long
+    cost(ConnectionI connection)
+    {
+        if(_loadBalancing == LoadBalancingLowestLatency)
+        {
+            //
+            // The latency is weighted by the number of outstanding requests to
+            // quickly move away from a connection whose requests accumulate.
+            //
+            return connection.latency() * (connection.load() + 1);
+        }
+        else
+        {
+            assert(_loadBalancing == LoadBalancingLeastOutstanding);
+            return connection.load();
+        }
+    }
+
+    //
+    // Returns the least loaded active connection from the given list or null if
+    // the list is null or if there's no active connection. Connections with the same load are selected
+    // in order of creation so that the least recently created connections of a
+    // connection pool are preferred and the others become idle and are closed by
+    // the ACM once the load decreases.
+    //
+    // Must be called while synchronized.
+    //
+    private ConnectionI
+    selectConnection(java.util.List<ConnectionI> connectionList)
+    {
+        if(connectionList == null)
+        {
+            return null;
+        }
+
+        ConnectionI selected = null;
+        int selectedLoad = 0;
+        for(ConnectionI connection : connectionList)
+        {
+            if(connection.isActiveOrHolding()) // Don't return destroyed or un-validated connections
+            {
+                if(_poolSize == 1)
+                {
+                    return connection;
+                }
+
+                int load = connection.load();
+                if(selected == null || load < selectedLoad)
+                {
+                    selected = connection;
+                    selectedLoad = load;
+                    if(load == 0)
                     {
-                        compress.value = endpoint.compress();
+                        break;
                     }
-                    return connection;
                 }
             }
         }
-
-        return null;
+        return selected;
     }
 
     //
     // Must be called while synchronized.
     //
     private ConnectionI
-    findConnection(java.util.List<ConnectorInfo> connectors, Holder<Boolean> compress)
+    findConnection(java.util.List<ConnectorInfo> connectors, Holder<Boolean> compress, boolean grow)
     {
         DefaultsAndOverrides defaultsAndOverrides = _instance.defaultsAndOverrides();
         for(ConnectorInfo ci : connectors)
@@ -449,25 +658,23 @@ public final class OutgoingConnectionFactory
             }
 
             java.util.List<ConnectionI> connectionList = _connections.get(ci.connector);
-            if(connectionList == null)
+            if(connectionList == null || (grow && connectionList.size() < _poolSize))
             {
                 continue;
             }
 
-            for(ConnectionI connection : connectionList)
+            ConnectionI connection = selectConnection(connectionList);
+            if(connection != null)
             {
-                if(connection.isActiveOrHolding()) // Don't return destroyed or un-validated connections
+                if(defaultsAndOverrides.overrideCompress)
                 {
-                    if(defaultsAndOverrides.overrideCompress)
-                    {
-                        compress.value = defaultsAndOverrides.overrideCompressValue;
-                    }
-                    else
-                    {
-                        compress.value = ci.endpoint.compress();
-                    }
-                    return connection;
+                    compress.value = defaultsAndOverrides.overrideCompressValue;
+                }
+                else
+                {
+                    compress.value = ci.endpoint.compress();
                 }
+                return connection;
             }
         }
 
@@ -543,7 +750,7 @@ public final class OutgoingConnectionFactory
                 //
                 // Search for a matching connection. If we find one, we're done.
                 //
-                ConnectionI connection = findConnection(connectors, compress);
+                ConnectionI connection = findConnection(connectors, compress, cb._grow);
                 if(connection != null)
                 {
                     return connection;
@@ -875,13 +1082,14 @@ public final class OutgoingConnectionFactory
     private static class ConnectCallback implements ConnectionI.StartCallback, EndpointI_connectors
     {
         ConnectCallback(OutgoingConnectionFactory f, java.util.List<EndpointI> endpoints, boolean more,
-                        CreateConnectionCallback cb, com.zeroc.Ice.EndpointSelectionType selType)
+                        CreateConnectionCallback cb, com.zeroc.Ice.EndpointSelectionType selType, boolean grow)
         {
             _factory = f;
             _endpoints = endpoints;
             _hasMore = more;
             _callback = cb;
             _selType = selType;
+            _grow = grow;
             _endpointsIter = _endpoints.iterator();
         }
 
@@ -1163,6 +1371,7 @@ public final class OutgoingConnectionFactory
         private final CreateConnectionCallback _callback;
         private final java.util.List<EndpointI> _endpoints;
         private final com.zeroc.Ice.EndpointSelectionType _selType;
+        private final boolean _grow; // True if establishing a new connection in the background.
         private java.util.Iterator<EndpointI> _endpointsIter;
         private EndpointI _currentEndpoint;
         private java.util.List<ConnectorInfo> _connectors = new java.util.ArrayList<>();
@@ -1174,10 +1383,19 @@ public final class OutgoingConnectionFactory
     private com.zeroc.Ice.Communicator _communicator;
     private final Instance _instance;
     private final FactoryACMMonitor _monitor;
+    private final int _poolSize;
+    private final int _loadBalancing;
     private boolean _destroyed;
 
     private MultiHashMap<Connector, ConnectionI> _connections = new MultiHashMap<>();
     private MultiHashMap<EndpointI, ConnectionI> _connectionsByEndpoint = new MultiHashMap<>();
     private java.util.Map<Connector, java.util.HashSet<ConnectCallback> > _pending = new java.util.HashMap<>();
     private int _pendingConnectCount = 0;
+
+    //
+    // The endpoints with a connection establishment in progress in the background
+    // (Long.MAX_VALUE) or with a failed one, the value is then the time at which
+    // it can be retried.
+    //
+    private java.util.Map<EndpointI, Long> _createInBackground = new java.util.HashMap<>();
 }
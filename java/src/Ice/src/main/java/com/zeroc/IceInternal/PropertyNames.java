@@ -40,6 +40,8 @@ public final class PropertyNames
         new Property("Ice\\.Admin\\.Locator\\.Locator", false, null),
         new Property("Ice\\.Admin\\.Locator\\.Router", false, null),
         new Property("Ice\\.Admin\\.Locator\\.CollocationOptimized", false, null),
+        new Property("Ice\\.Admin\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("Ice\\.Admin\\.Locator\\.HedgeDelay", false, null),
         new Property("Ice\\.Admin\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("Ice\\.Admin\\.Locator", false, null),
         new Property("Ice\\.Admin\\.PublishedEndpoints", false, null),
@@ -52,6 +54,8 @@ public final class PropertyNames
         new Property("Ice\\.Admin\\.Router\\.Locator", false, null),
         new Property("Ice\\.Admin\\.Router\\.Router", false, null),
         new Property("Ice\\.Admin\\.Router\\.CollocationOptimized", false, null),
+        new Property("Ice\\.Admin\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("Ice\\.Admin\\.Router\\.HedgeDelay", false, null),
         new Property("Ice\\.Admin\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("Ice\\.Admin\\.Router", false, null),
         new Property("Ice\\.Admin\\.ProxyOptions", false, null),
@@ -62,7 +66,10 @@ public final class PropertyNames
         new Property("Ice\\.Admin\\.ThreadPool\\.Serialize", false, null),
         new Property("Ice\\.Admin\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("Ice\\.Admin\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("Ice\\.Admin\\.ThreadPool\\.Selectors", false, null),
+        new Property("Ice\\.Admin\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("Ice\\.Admin\\.MessageSizeMax", false, null),
+        new Property("Ice\\.Admin\\.ParallelBatchDispatch", false, null),
         new Property("Ice\\.Admin\\.DelayCreation", false, null),
         new Property("Ice\\.Admin\\.Enabled", false, null),
         new Property("Ice\\.Admin\\.Facets", false, null),
@@ -73,13 +80,24 @@ public final class PropertyNames
         new Property("Ice\\.Admin\\.ServerId", false, null),
         new Property("Ice\\.BackgroundLocatorCacheUpdates", false, null),
         new Property("Ice\\.BatchAutoFlush", true, null),
+        new Property("Ice\\.BatchAutoFlushDelay", false, null),
         new Property("Ice\\.BatchAutoFlushSize", false, null),
+        new Property("Ice\\.BufferPool\\.Size", false, null),
         new Property("Ice\\.ChangeUser", false, null),
         new Property("Ice\\.ClassGraphDepthMax", false, null),
         new Property("Ice\\.ClientAccessPolicyProtocol", false, null),
+        new Property("Ice\\.CollocationDirect", false, null),
+        new Property("Ice\\.Compression\\.BZip2\\.Level", false, null),
+        new Property("Ice\\.Compression\\.BZip2\\.MinSize", false, null),
+        new Property("Ice\\.Compression\\.Codec", false, null),
+        new Property("Ice\\.Compression\\.Deflate\\.Level", false, null),
+        new Property("Ice\\.Compression\\.Deflate\\.MinSize", false, null),
         new Property("Ice\\.Compression\\.Level", false, null),
+        new Property("Ice\\.Compression\\.LZ4\\.Level", false, null),
+        new Property("Ice\\.Compression\\.LZ4\\.MinSize", false, null),
         new Property("Ice\\.CollectObjects", false, null),
         new Property("Ice\\.Config", false, null),
+        new Property("Ice\\.ConnectionPool\\.Size", false, null),
         new Property("Ice\\.ConsoleListener", false, null),
         new Property("Ice\\.Default\\.CollocationOptimized", false, null),
         new Property("Ice\\.Default\\.EncodingVersion", false, null),
@@ -93,6 +111,8 @@ public final class PropertyNames
         new Property("Ice\\.Default\\.Locator\\.Locator", false, null),
         new Property("Ice\\.Default\\.Locator\\.Router", false, null),
         new Property("Ice\\.Default\\.Locator\\.CollocationOptimized", false, null),
+        new Property("Ice\\.Default\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("Ice\\.Default\\.Locator\\.HedgeDelay", false, null),
         new Property("Ice\\.Default\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("Ice\\.Default\\.Locator", false, null),
         new Property("Ice\\.Default\\.LocatorCacheTimeout", false, null),
@@ -108,6 +128,8 @@ public final class PropertyNames
         new Property("Ice\\.Default\\.Router\\.Locator", false, null),
         new Property("Ice\\.Default\\.Router\\.Router", false, null),
         new Property("Ice\\.Default\\.Router\\.CollocationOptimized", false, null),
+        new Property("Ice\\.Default\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("Ice\\.Default\\.Router\\.HedgeDelay", false, null),
         new Property("Ice\\.Default\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("Ice\\.Default\\.Router", false, null),
         new Property("Ice\\.Default\\.SlicedFormat", false, null),
@@ -115,12 +137,16 @@ public final class PropertyNames
         new Property("Ice\\.Default\\.Timeout", false, null),
         new Property("Ice\\.EventLog\\.Source", false, null),
         new Property("Ice\\.FactoryAssemblies", false, null),
+        new Property("Ice\\.GatheringWriteSize", false, null),
+        new Property("Ice\\.HedgeBudget", false, null),
+        new Property("Ice\\.HedgeDelay", false, null),
         new Property("Ice\\.HTTPProxyHost", false, null),
         new Property("Ice\\.HTTPProxyPort", false, null),
         new Property("Ice\\.ImplicitContext", false, null),
         new Property("Ice\\.InitPlugins", false, null),
         new Property("Ice\\.IPv4", false, null),
         new Property("Ice\\.IPv6", false, null),
+        new Property("Ice\\.LoadBalancing", false, null),
         new Property("Ice\\.LogFile", false, null),
         new Property("Ice\\.LogFile\\.SizeMax", false, null),
         new Property("Ice\\.LogStdErr\\.Convert", false, null),
@@ -155,6 +181,8 @@ public final class PropertyNames
         new Property("Ice\\.ThreadPool\\.Client\\.Serialize", false, null),
         new Property("Ice\\.ThreadPool\\.Client\\.ThreadIdleTime", false, null),
         new Property("Ice\\.ThreadPool\\.Client\\.ThreadPriority", false, null),
+        new Property("Ice\\.ThreadPool\\.Client\\.Selectors", false, null),
+        new Property("Ice\\.ThreadPool\\.Client\\.VirtualThreads", false, null),
         new Property("Ice\\.ThreadPool\\.Server\\.Size", false, null),
         new Property("Ice\\.ThreadPool\\.Server\\.SizeMax", false, null),
         new Property("Ice\\.ThreadPool\\.Server\\.SizeWarn", false, null),
@@ -162,6 +190,8 @@ public final class PropertyNames
         new Property("Ice\\.ThreadPool\\.Server\\.Serialize", false, null),
         new Property("Ice\\.ThreadPool\\.Server\\.ThreadIdleTime", false, null),
         new Property("Ice\\.ThreadPool\\.Server\\.ThreadPriority", false, null),
+        new Property("Ice\\.ThreadPool\\.Server\\.Selectors", false, null),
+        new Property("Ice\\.ThreadPool\\.Server\\.VirtualThreads", false, null),
         new Property("Ice\\.ThreadPriority", false, null),
         new Property("Ice\\.ToStringMode", false, null),
         new Property("Ice\\.Trace\\.Admin\\.Properties", false, null),
@@ -220,6 +250,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Multicast\\.Locator\\.Locator", false, null),
         new Property("IceDiscovery\\.Multicast\\.Locator\\.Router", false, null),
         new Property("IceDiscovery\\.Multicast\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceDiscovery\\.Multicast\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceDiscovery\\.Multicast\\.Locator\\.HedgeDelay", false, null),
         new Property("IceDiscovery\\.Multicast\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceDiscovery\\.Multicast\\.Locator", false, null),
         new Property("IceDiscovery\\.Multicast\\.PublishedEndpoints", false, null),
@@ -232,6 +264,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Multicast\\.Router\\.Locator", false, null),
         new Property("IceDiscovery\\.Multicast\\.Router\\.Router", false, null),
         new Property("IceDiscovery\\.Multicast\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceDiscovery\\.Multicast\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceDiscovery\\.Multicast\\.Router\\.HedgeDelay", false, null),
         new Property("IceDiscovery\\.Multicast\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceDiscovery\\.Multicast\\.Router", false, null),
         new Property("IceDiscovery\\.Multicast\\.ProxyOptions", false, null),
@@ -242,7 +276,10 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Multicast\\.ThreadPool\\.Serialize", false, null),
         new Property("IceDiscovery\\.Multicast\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceDiscovery\\.Multicast\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceDiscovery\\.Multicast\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceDiscovery\\.Multicast\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceDiscovery\\.Multicast\\.MessageSizeMax", false, null),
+        new Property("IceDiscovery\\.Multicast\\.ParallelBatchDispatch", false, null),
         new Property("IceDiscovery\\.Reply\\.ACM\\.Timeout", false, null),
         new Property("IceDiscovery\\.Reply\\.ACM\\.Heartbeat", false, null),
         new Property("IceDiscovery\\.Reply\\.ACM\\.Close", false, null),
@@ -257,6 +294,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Reply\\.Locator\\.Locator", false, null),
         new Property("IceDiscovery\\.Reply\\.Locator\\.Router", false, null),
         new Property("IceDiscovery\\.Reply\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceDiscovery\\.Reply\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceDiscovery\\.Reply\\.Locator\\.HedgeDelay", false, null),
         new Property("IceDiscovery\\.Reply\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceDiscovery\\.Reply\\.Locator", false, null),
         new Property("IceDiscovery\\.Reply\\.PublishedEndpoints", false, null),
@@ -269,6 +308,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Reply\\.Router\\.Locator", false, null),
         new Property("IceDiscovery\\.Reply\\.Router\\.Router", false, null),
         new Property("IceDiscovery\\.Reply\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceDiscovery\\.Reply\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceDiscovery\\.Reply\\.Router\\.HedgeDelay", false, null),
         new Property("IceDiscovery\\.Reply\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceDiscovery\\.Reply\\.Router", false, null),
         new Property("IceDiscovery\\.Reply\\.ProxyOptions", false, null),
@@ -279,7 +320,10 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Reply\\.ThreadPool\\.Serialize", false, null),
         new Property("IceDiscovery\\.Reply\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceDiscovery\\.Reply\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceDiscovery\\.Reply\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceDiscovery\\.Reply\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceDiscovery\\.Reply\\.MessageSizeMax", false, null),
+        new Property("IceDiscovery\\.Reply\\.ParallelBatchDispatch", false, null),
         new Property("IceDiscovery\\.Locator\\.ACM\\.Timeout", false, null),
         new Property("IceDiscovery\\.Locator\\.ACM\\.Heartbeat", false, null),
         new Property("IceDiscovery\\.Locator\\.ACM\\.Close", false, null),
@@ -294,6 +338,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Locator\\.Locator\\.Locator", false, null),
         new Property("IceDiscovery\\.Locator\\.Locator\\.Router", false, null),
         new Property("IceDiscovery\\.Locator\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceDiscovery\\.Locator\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceDiscovery\\.Locator\\.Locator\\.HedgeDelay", false, null),
         new Property("IceDiscovery\\.Locator\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceDiscovery\\.Locator\\.Locator", false, null),
         new Property("IceDiscovery\\.Locator\\.PublishedEndpoints", false, null),
@@ -306,6 +352,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Locator\\.Router\\.Locator", false, null),
         new Property("IceDiscovery\\.Locator\\.Router\\.Router", false, null),
         new Property("IceDiscovery\\.Locator\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceDiscovery\\.Locator\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceDiscovery\\.Locator\\.Router\\.HedgeDelay", false, null),
         new Property("IceDiscovery\\.Locator\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceDiscovery\\.Locator\\.Router", false, null),
         new Property("IceDiscovery\\.Locator\\.ProxyOptions", false, null),
@@ -316,7 +364,10 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Locator\\.ThreadPool\\.Serialize", false, null),
         new Property("IceDiscovery\\.Locator\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceDiscovery\\.Locator\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceDiscovery\\.Locator\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceDiscovery\\.Locator\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceDiscovery\\.Locator\\.MessageSizeMax", false, null),
+        new Property("IceDiscovery\\.Locator\\.ParallelBatchDispatch", false, null),
         new Property("IceDiscovery\\.Lookup", false, null),
         new Property("IceDiscovery\\.Timeout", false, null),
         new Property("IceDiscovery\\.RetryCount", false, null),
@@ -344,6 +395,8 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.Locator", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.Router", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.HedgeDelay", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Locator", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.PublishedEndpoints", false, null),
@@ -356,6 +409,8 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Reply\\.Router\\.Locator", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Router\\.Router", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.Router\\.HedgeDelay", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Router", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.ProxyOptions", false, null),
@@ -366,7 +421,10 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Reply\\.ThreadPool\\.Serialize", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.MessageSizeMax", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.ParallelBatchDispatch", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.ACM\\.Timeout", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.ACM\\.Heartbeat", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.ACM\\.Close", false, null),
@@ -381,6 +439,8 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.Locator", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.Router", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.HedgeDelay", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Locator", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.PublishedEndpoints", false, null),
@@ -393,6 +453,8 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Locator\\.Router\\.Locator", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Router\\.Router", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.Router\\.HedgeDelay", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Router", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.ProxyOptions", false, null),
@@ -403,7 +465,10 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Locator\\.ThreadPool\\.Serialize", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.MessageSizeMax", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.ParallelBatchDispatch", false, null),
         new Property("IceLocatorDiscovery\\.Lookup", false, null),
         new Property("IceLocatorDiscovery\\.Timeout", false, null),
         new Property("IceLocatorDiscovery\\.RetryCount", false, null),
@@ -448,6 +513,8 @@ public final class PropertyNames
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.Locator", false, null),
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.Router", false, null),
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.CollocationOptimized", false, null),
+        new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.BatchAutoFlushDelay", false, null),
+        new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.HedgeDelay", false, null),
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.Context\\.[^\\s]+", false, null),
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy", false, null),
         null
@@ -469,6 +536,8 @@ public final class PropertyNames
         new Property("IceBridge\\.Source\\.Locator\\.Locator", false, null),
         new Property("IceBridge\\.Source\\.Locator\\.Router", false, null),
         new Property("IceBridge\\.Source\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceBridge\\.Source\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceBridge\\.Source\\.Locator\\.HedgeDelay", false, null),
         new Property("IceBridge\\.Source\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceBridge\\.Source\\.Locator", false, null),
         new Property("IceBridge\\.Source\\.PublishedEndpoints", false, null),
@@ -481,6 +550,8 @@ public final class PropertyNames
         new Property("IceBridge\\.Source\\.Router\\.Locator", false, null),
         new Property("IceBridge\\.Source\\.Router\\.Router", false, null),
         new Property("IceBridge\\.Source\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceBridge\\.Source\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceBridge\\.Source\\.Router\\.HedgeDelay", false, null),
         new Property("IceBridge\\.Source\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceBridge\\.Source\\.Router", false, null),
         new Property("IceBridge\\.Source\\.ProxyOptions", false, null),
@@ -491,7 +562,10 @@ public final class PropertyNames
         new Property("IceBridge\\.Source\\.ThreadPool\\.Serialize", false, null),
         new Property("IceBridge\\.Source\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceBridge\\.Source\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceBridge\\.Source\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceBridge\\.Source\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceBridge\\.Source\\.MessageSizeMax", false, null),
+        new Property("IceBridge\\.Source\\.ParallelBatchDispatch", false, null),
         new Property("IceBridge\\.Target\\.Endpoints", false, null),
         new Property("IceBridge\\.InstanceName", false, null),
         null
@@ -521,6 +595,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Server\\.Locator\\.Locator", false, null),
         new Property("IceGridAdmin\\.Server\\.Locator\\.Router", false, null),
         new Property("IceGridAdmin\\.Server\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGridAdmin\\.Server\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGridAdmin\\.Server\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGridAdmin\\.Server\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGridAdmin\\.Server\\.Locator", false, null),
         new Property("IceGridAdmin\\.Server\\.PublishedEndpoints", false, null),
@@ -533,6 +609,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Server\\.Router\\.Locator", false, null),
         new Property("IceGridAdmin\\.Server\\.Router\\.Router", false, null),
         new Property("IceGridAdmin\\.Server\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGridAdmin\\.Server\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGridAdmin\\.Server\\.Router\\.HedgeDelay", false, null),
         new Property("IceGridAdmin\\.Server\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGridAdmin\\.Server\\.Router", false, null),
         new Property("IceGridAdmin\\.Server\\.ProxyOptions", false, null),
@@ -543,7 +621,10 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Server\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGridAdmin\\.Server\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGridAdmin\\.Server\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGridAdmin\\.Server\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGridAdmin\\.Server\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGridAdmin\\.Server\\.MessageSizeMax", false, null),
+        new Property("IceGridAdmin\\.Server\\.ParallelBatchDispatch", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Address", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Interface", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Lookup", false, null),
@@ -561,6 +642,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.Locator", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.Router", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.PublishedEndpoints", false, null),
@@ -573,6 +656,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.Locator", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.Router", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.HedgeDelay", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.ProxyOptions", false, null),
@@ -583,7 +668,10 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.MessageSizeMax", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.ParallelBatchDispatch", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ACM\\.Timeout", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ACM\\.Heartbeat", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ACM\\.Close", false, null),
@@ -598,6 +686,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.Locator", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.Router", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.PublishedEndpoints", false, null),
@@ -610,6 +700,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.Locator", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.Router", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.HedgeDelay", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ProxyOptions", false, null),
@@ -620,7 +712,10 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.MessageSizeMax", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.ParallelBatchDispatch", false, null),
         new Property("IceGridAdmin\\.Trace\\.Observers", false, null),
         new Property("IceGridAdmin\\.Trace\\.SaveToRegistry", false, null),
         null
@@ -642,6 +737,8 @@ public final class PropertyNames
         new Property("IceGrid\\.AdminRouter\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.AdminRouter\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.AdminRouter\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.AdminRouter\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.AdminRouter\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGrid\\.AdminRouter\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.AdminRouter\\.Locator", false, null),
         new Property("IceGrid\\.AdminRouter\\.PublishedEndpoints", false, null),
@@ -654,6 +751,8 @@ public final class PropertyNames
         new Property("IceGrid\\.AdminRouter\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.AdminRouter\\.Router\\.Router", false, null),
         new Property("IceGrid\\.AdminRouter\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.AdminRouter\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.AdminRouter\\.Router\\.HedgeDelay", false, null),
         new Property("IceGrid\\.AdminRouter\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.AdminRouter\\.Router", false, null),
         new Property("IceGrid\\.AdminRouter\\.ProxyOptions", false, null),
@@ -664,7 +763,10 @@ public final class PropertyNames
         new Property("IceGrid\\.AdminRouter\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.AdminRouter\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.AdminRouter\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.AdminRouter\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.AdminRouter\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.AdminRouter\\.MessageSizeMax", false, null),
+        new Property("IceGrid\\.AdminRouter\\.ParallelBatchDispatch", false, null),
         new Property("IceGrid\\.InstanceName", false, null),
         new Property("IceGrid\\.Node\\.ACM\\.Timeout", false, null),
         new Property("IceGrid\\.Node\\.ACM\\.Heartbeat", false, null),
@@ -680,6 +782,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Node\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Node\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Node\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Node\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Node\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Node\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Node\\.Locator", false, null),
         new Property("IceGrid\\.Node\\.PublishedEndpoints", false, null),
@@ -692,6 +796,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Node\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Node\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Node\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Node\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Node\\.Router\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Node\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Node\\.Router", false, null),
         new Property("IceGrid\\.Node\\.ProxyOptions", false, null),
@@ -702,7 +808,10 @@ public final class PropertyNames
         new Property("IceGrid\\.Node\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Node\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Node\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Node\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Node\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Node\\.MessageSizeMax", false, null),
+        new Property("IceGrid\\.Node\\.ParallelBatchDispatch", false, null),
         new Property("IceGrid\\.Node\\.AllowRunningServersAsRoot", false, null),
         new Property("IceGrid\\.Node\\.AllowEndpointsOverride", false, null),
         new Property("IceGrid\\.Node\\.CollocateRegistry", false, null),
@@ -729,6 +838,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Node\\.UserAccountMapper\\.Locator", false, null),
         new Property("IceGrid\\.Node\\.UserAccountMapper\\.Router", false, null),
         new Property("IceGrid\\.Node\\.UserAccountMapper\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Node\\.UserAccountMapper\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Node\\.UserAccountMapper\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Node\\.UserAccountMapper\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Node\\.UserAccountMapper", false, null),
         new Property("IceGrid\\.Node\\.WaitTime", false, null),
@@ -741,6 +852,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionFilters", false, null),
@@ -758,6 +871,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.PublishedEndpoints", false, null),
@@ -770,6 +885,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ProxyOptions", false, null),
@@ -780,7 +897,10 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.MessageSizeMax", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ParallelBatchDispatch", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.EndpointSelection", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.ConnectionCached", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.PreferSecure", false, null),
@@ -789,6 +909,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.ACM\\.Timeout", false, null),
@@ -805,6 +927,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Client\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.PublishedEndpoints", false, null),
@@ -817,6 +941,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Client\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.Router\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.ProxyOptions", false, null),
@@ -827,7 +953,10 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Client\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.MessageSizeMax", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.ParallelBatchDispatch", false, null),
         new Property("IceGrid\\.Registry\\.CryptPasswords", false, null),
         new Property("IceGrid\\.Registry\\.DefaultTemplates", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.ACM\\.Timeout", false, null),
@@ -844,6 +973,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.PublishedEndpoints", false, null),
@@ -856,6 +987,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.ProxyOptions", false, null),
@@ -866,7 +999,10 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Discovery\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.MessageSizeMax", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.ParallelBatchDispatch", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Enabled", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Address", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Port", false, null),
@@ -886,6 +1022,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.PublishedEndpoints", false, null),
@@ -898,6 +1036,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Internal\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.Router\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.ProxyOptions", false, null),
@@ -908,7 +1048,10 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Internal\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.MessageSizeMax", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.ParallelBatchDispatch", false, null),
         new Property("IceGrid\\.Registry\\.LMDB\\.MapSize", false, null),
         new Property("IceGrid\\.Registry\\.LMDB\\.Path", false, null),
         new Property("IceGrid\\.Registry\\.NodeSessionTimeout", false, null),
@@ -920,6 +1063,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.PermissionsVerifier", false, null),
         new Property("IceGrid\\.Registry\\.ReplicaName", false, null),
@@ -940,6 +1085,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Server\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.PublishedEndpoints", false, null),
@@ -952,6 +1099,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Server\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.Router\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.ProxyOptions", false, null),
@@ -962,7 +1111,10 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Server\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.MessageSizeMax", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.ParallelBatchDispatch", false, null),
         new Property("IceGrid\\.Registry\\.SessionFilters", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.ACM\\.Timeout", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.ACM\\.Heartbeat", false, null),
@@ -978,6 +1130,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.PublishedEndpoints", false, null),
@@ -990,6 +1144,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.ProxyOptions", false, null),
@@ -1000,7 +1156,10 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.SessionManager\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.MessageSizeMax", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.ParallelBatchDispatch", false, null),
         new Property("IceGrid\\.Registry\\.SessionTimeout", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.EndpointSelection", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.ConnectionCached", false, null),
@@ -1010,6 +1169,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.CollocationOptimized", false, null),
+        new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.BatchAutoFlushDelay", false, null),
+        new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.HedgeDelay", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.Context\\.[^\\s]+", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier", false, null),
         new Property("IceGrid\\.Registry\\.Trace\\.Admin", false, null),
@@ -1046,6 +1207,8 @@ public final class PropertyNames
         new Property("IcePatch2\\.Locator\\.Locator", false, null),
         new Property("IcePatch2\\.Locator\\.Router", false, null),
         new Property("IcePatch2\\.Locator\\.CollocationOptimized", false, null),
+        new Property("IcePatch2\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("IcePatch2\\.Locator\\.HedgeDelay", false, null),
         new Property("IcePatch2\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("IcePatch2\\.Locator", false, null),
         new Property("IcePatch2\\.PublishedEndpoints", false, null),
@@ -1058,6 +1221,8 @@ public final class PropertyNames
         new Property("IcePatch2\\.Router\\.Locator", false, null),
         new Property("IcePatch2\\.Router\\.Router", false, null),
         new Property("IcePatch2\\.Router\\.CollocationOptimized", false, null),
+        new Property("IcePatch2\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("IcePatch2\\.Router\\.HedgeDelay", false, null),
         new Property("IcePatch2\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("IcePatch2\\.Router", false, null),
         new Property("IcePatch2\\.ProxyOptions", false, null),
@@ -1068,7 +1233,10 @@ public final class PropertyNames
         new Property("IcePatch2\\.ThreadPool\\.Serialize", false, null),
         new Property("IcePatch2\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IcePatch2\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IcePatch2\\.ThreadPool\\.Selectors", false, null),
+        new Property("IcePatch2\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IcePatch2\\.MessageSizeMax", false, null),
+        new Property("IcePatch2\\.ParallelBatchDispatch", false, null),
         new Property("IcePatch2\\.Directory", false, null),
         new Property("IcePatch2\\.InstanceName", false, null),
         null
@@ -1167,6 +1335,8 @@ public final class PropertyNames
         new Property("Glacier2\\.Client\\.Locator\\.Locator", false, null),
         new Property("Glacier2\\.Client\\.Locator\\.Router", false, null),
         new Property("Glacier2\\.Client\\.Locator\\.CollocationOptimized", false, null),
+        new Property("Glacier2\\.Client\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("Glacier2\\.Client\\.Locator\\.HedgeDelay", false, null),
         new Property("Glacier2\\.Client\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("Glacier2\\.Client\\.Locator", false, null),
         new Property("Glacier2\\.Client\\.PublishedEndpoints", false, null),
@@ -1179,6 +1349,8 @@ public final class PropertyNames
         new Property("Glacier2\\.Client\\.Router\\.Locator", false, null),
         new Property("Glacier2\\.Client\\.Router\\.Router", false, null),
         new Property("Glacier2\\.Client\\.Router\\.CollocationOptimized", false, null),
+        new Property("Glacier2\\.Client\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("Glacier2\\.Client\\.Router\\.HedgeDelay", false, null),
         new Property("Glacier2\\.Client\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("Glacier2\\.Client\\.Router", false, null),
         new Property("Glacier2\\.Client\\.ProxyOptions", false, null),
@@ -1189,7 +1361,10 @@ public final class PropertyNames
         new Property("Glacier2\\.Client\\.ThreadPool\\.Serialize", false, null),
         new Property("Glacier2\\.Client\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("Glacier2\\.Client\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("Glacier2\\.Client\\.ThreadPool\\.Selectors", false, null),
+        new Property("Glacier2\\.Client\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("Glacier2\\.Client\\.MessageSizeMax", false, null),
+        new Property("Glacier2\\.Client\\.ParallelBatchDispatch", false, null),
         new Property("Glacier2\\.Client\\.AlwaysBatch", false, null),
         new Property("Glacier2\\.Client\\.Buffered", false, null),
         new Property("Glacier2\\.Client\\.ForwardContext", false, null),
@@ -1214,6 +1389,8 @@ public final class PropertyNames
         new Property("Glacier2\\.PermissionsVerifier\\.Locator", false, null),
         new Property("Glacier2\\.PermissionsVerifier\\.Router", false, null),
         new Property("Glacier2\\.PermissionsVerifier\\.CollocationOptimized", false, null),
+        new Property("Glacier2\\.PermissionsVerifier\\.BatchAutoFlushDelay", false, null),
+        new Property("Glacier2\\.PermissionsVerifier\\.HedgeDelay", false, null),
         new Property("Glacier2\\.PermissionsVerifier\\.Context\\.[^\\s]+", false, null),
         new Property("Glacier2\\.PermissionsVerifier", false, null),
         new Property("Glacier2\\.ReturnClientProxy", false, null),
@@ -1225,6 +1402,8 @@ public final class PropertyNames
         new Property("Glacier2\\.SSLPermissionsVerifier\\.Locator", false, null),
         new Property("Glacier2\\.SSLPermissionsVerifier\\.Router", false, null),
         new Property("Glacier2\\.SSLPermissionsVerifier\\.CollocationOptimized", false, null),
+        new Property("Glacier2\\.SSLPermissionsVerifier\\.BatchAutoFlushDelay", false, null),
+        new Property("Glacier2\\.SSLPermissionsVerifier\\.HedgeDelay", false, null),
         new Property("Glacier2\\.SSLPermissionsVerifier\\.Context\\.[^\\s]+", false, null),
         new Property("Glacier2\\.SSLPermissionsVerifier", false, null),
         new Property("Glacier2\\.RoutingTable\\.MaxSize", false, null),
@@ -1242,6 +1421,8 @@ public final class PropertyNames
         new Property("Glacier2\\.Server\\.Locator\\.Locator", false, null),
         new Property("Glacier2\\.Server\\.Locator\\.Router", false, null),
         new Property("Glacier2\\.Server\\.Locator\\.CollocationOptimized", false, null),
+        new Property("Glacier2\\.Server\\.Locator\\.BatchAutoFlushDelay", false, null),
+        new Property("Glacier2\\.Server\\.Locator\\.HedgeDelay", false, null),
         new Property("Glacier2\\.Server\\.Locator\\.Context\\.[^\\s]+", false, null),
         new Property("Glacier2\\.Server\\.Locator", false, null),
         new Property("Glacier2\\.Server\\.PublishedEndpoints", false, null),
@@ -1254,6 +1435,8 @@ public final class PropertyNames
         new Property("Glacier2\\.Server\\.Router\\.Locator", false, null),
         new Property("Glacier2\\.Server\\.Router\\.Router", false, null),
         new Property("Glacier2\\.Server\\.Router\\.CollocationOptimized", false, null),
+        new Property("Glacier2\\.Server\\.Router\\.BatchAutoFlushDelay", false, null),
+        new Property("Glacier2\\.Server\\.Router\\.HedgeDelay", false, null),
         new Property("Glacier2\\.Server\\.Router\\.Context\\.[^\\s]+", false, null),
         new Property("Glacier2\\.Server\\.Router", false, null),
         new Property("Glacier2\\.Server\\.ProxyOptions", false, null),
@@ -1264,7 +1447,10 @@ public final class PropertyNames
         new Property("Glacier2\\.Server\\.ThreadPool\\.Serialize", false, null),
         new Property("Glacier2\\.Server\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("Glacier2\\.Server\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("Glacier2\\.Server\\.ThreadPool\\.Selectors", false, null),
+        new Property("Glacier2\\.Server\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("Glacier2\\.Server\\.MessageSizeMax", false, null),
+        new Property("Glacier2\\.Server\\.ParallelBatchDispatch", false, null),
         new Property("Glacier2\\.Server\\.AlwaysBatch", false, null),
         new Property("Glacier2\\.Server\\.Buffered", false, null),
         new Property("Glacier2\\.Server\\.ForwardContext", false, null),
@@ -1279,6 +1465,8 @@ public final class PropertyNames
         new Property("Glacier2\\.SessionManager\\.Locator", false, null),
         new Property("Glacier2\\.SessionManager\\.Router", false, null),
         new Property("Glacier2\\.SessionManager\\.CollocationOptimized", false, null),
+        new Property("Glacier2\\.SessionManager\\.BatchAutoFlushDelay", false, null),
+        new Property("Glacier2\\.SessionManager\\.HedgeDelay", false, null),
         new Property("Glacier2\\.SessionManager\\.Context\\.[^\\s]+", false, null),
         new Property("Glacier2\\.SessionManager", false, null),
         new Property("Glacier2\\.SSLSessionManager\\.EndpointSelection", false, null),
@@ -1289,6 +1477,8 @@ public final class PropertyNames
         new Property("Glacier2\\.SSLSessionManager\\.Locator", false, null),
         new Property("Glacier2\\.SSLSessionManager\\.Router", false, null),
         new Property("Glacier2\\.SSLSessionManager\\.CollocationOptimized", false, null),
+        new Property("Glacier2\\.SSLSessionManager\\.BatchAutoFlushDelay", false, null),
+        new Property("Glacier2\\.SSLSessionManager\\.HedgeDelay", false, null),
         new Property("Glacier2\\.SSLSessionManager\\.Context\\.[^\\s]+", false, null),
         new Property("Glacier2\\.SSLSessionManager", false, null),
         new Property("Glacier2\\.SessionTimeout", false, null),
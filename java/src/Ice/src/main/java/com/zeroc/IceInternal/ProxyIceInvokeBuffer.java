@@ -0,0 +1,32 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// The out-parameters of the result are a read-only view of the response
+// buffer, which isn't reused once the invocation completes.
+//
+public class ProxyIceInvokeBuffer extends ProxyIceInvokeBase<com.zeroc.Ice.Object.Ice_invokeBufferResult>
+{
+    public ProxyIceInvokeBuffer(com.zeroc.Ice.ObjectPrx prx, String operation, com.zeroc.Ice.OperationMode mode,
+                                boolean synchronous)
+    {
+        super(prx, operation, mode, synchronous);
+    }
+
+    @Override
+    protected com.zeroc.Ice.Object.Ice_invokeBufferResult emptyResult()
+    {
+        return new com.zeroc.Ice.Object.Ice_invokeBufferResult(true, EmptyBuffer);
+    }
+
+    @Override
+    protected com.zeroc.Ice.Object.Ice_invokeBufferResult readResult(boolean ok, com.zeroc.Ice.InputStream is)
+    {
+        return new com.zeroc.Ice.Object.Ice_invokeBufferResult(ok, is.readEncapsulationBuffer(null));
+    }
+
+    private static final java.nio.ByteBuffer EmptyBuffer = java.nio.ByteBuffer.allocate(0).asReadOnlyBuffer();
+}
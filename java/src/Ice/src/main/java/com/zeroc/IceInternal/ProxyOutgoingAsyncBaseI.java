@@ -10,7 +10,12 @@ package com.zeroc.IceInternal;
 // correct notified of failures and make sure the retry task is
 // correctly canceled when the invocation completes.
 //
-public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> implements ProxyOutgoingAsyncBase
+// The invocation is itself the timing wheel entry of its invocation or
+// connection timeout so that invocations with a timeout don't allocate a
+// timeout. The entry is rescheduled when the invocation is retried.
+//
+public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T>
+    implements ProxyOutgoingAsyncBase, TimingWheel.Entry
 {
     public boolean isBatch()
     {
@@ -34,6 +39,12 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
 
         assert(_proxy.ice_isTwoway()); // Can only be called for twoways.
 
+        if(_latencyConnection != null)
+        {
+            _latencyConnection.latencySample(System.nanoTime() - _invokeTime);
+            _latencyConnection = null;
+        }
+
         if(_childObserver != null)
         {
             _childObserver.reply(is.size() - Protocol.headerSize - 4);
@@ -185,10 +196,10 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
         }
 
         _cachedConnection = null;
-        if(_proxy._getReference().getInvocationTimeout() == -2 && _timerFuture != null)
+        _latencyConnection = null;
+        if(_proxy._getReference().getInvocationTimeout() == -2 && _timerScheduled)
         {
-            _timerFuture.cancel(false);
-            _timerFuture = null;
+            cancelTimer();
         }
 
         //
@@ -240,6 +251,20 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
         invokeImpl(false);
     }
 
+    //
+    // Called by invokeRemote() before sending the request to sample the latency
+    // of the connection on reply if it's used for load balancing.
+    //
+    protected void startLatencySample(com.zeroc.Ice.ConnectionI connection)
+    {
+        if(_instance.loadBalancing() == OutgoingConnectionFactory.LoadBalancingLowestLatency &&
+           _proxy.ice_isTwoway())
+        {
+            _latencyConnection = connection;
+            _invokeTime = System.nanoTime();
+        }
+    }
+
     public void cancelable(final CancellationHandler handler)
     {
         if(_proxy._getReference().getInvocationTimeout() == -2 && _cachedConnection != null)
@@ -247,9 +272,7 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
             final int timeout = _cachedConnection.timeout();
             if(timeout > 0)
             {
-                _timerFuture = _instance.timer().schedule(
-                    () -> { cancel(new com.zeroc.Ice.ConnectionTimeoutException()); },
-                    timeout, java.util.concurrent.TimeUnit.MILLISECONDS);
+                scheduleTimer(timeout, true);
             }
         }
         super.cancelable(handler);
@@ -303,9 +326,7 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
                 int invocationTimeout = _proxy._getReference().getInvocationTimeout();
                 if(invocationTimeout > 0)
                 {
-                    _timerFuture = _instance.timer().schedule(
-                        () -> { cancel(new com.zeroc.Ice.InvocationTimeoutException()); },
-                        invocationTimeout, java.util.concurrent.TimeUnit.MILLISECONDS);
+                    scheduleTimer(invocationTimeout, false);
                 }
             }
             else // If not called from the user thread, it's called from the retry queue
@@ -392,10 +413,9 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
         _sent = true;
         if(done)
         {
-            if(_timerFuture != null)
+            if(_timerScheduled)
             {
-                _timerFuture.cancel(false);
-                _timerFuture = null;
+                cancelTimer();
             }
         }
         return super.sent(done);
@@ -404,10 +424,9 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
     @Override
     protected boolean finished(com.zeroc.Ice.Exception ex)
     {
-        if(_timerFuture != null)
+        if(_timerScheduled)
         {
-            _timerFuture.cancel(false);
-            _timerFuture = null;
+            cancelTimer();
         }
         return super.finished(ex);
     }
@@ -415,14 +434,86 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
     @Override
     protected boolean finished(boolean ok, boolean invoke)
     {
-        if(_timerFuture != null)
+        if(_timerScheduled)
         {
-            _timerFuture.cancel(false);
-            _timerFuture = null;
+            cancelTimer();
         }
         return super.finished(ok, invoke);
     }
 
+    @Override
+    public void timeoutExpired()
+    {
+        if(_timerConnectionTimeout)
+        {
+            cancel(new com.zeroc.Ice.ConnectionTimeoutException());
+        }
+        else
+        {
+            cancel(new com.zeroc.Ice.InvocationTimeoutException());
+        }
+    }
+
+    @Override
+    public long wheelDeadline()
+    {
+        return _wheelDeadline;
+    }
+
+    @Override
+    public void wheelDeadline(long deadline)
+    {
+        _wheelDeadline = deadline;
+    }
+
+    @Override
+    public long wheelPeriod()
+    {
+        return 0;
+    }
+
+    @Override
+    public void wheelPeriod(long period)
+    {
+        assert(period == 0);
+    }
+
+    @Override
+    public int wheelSlot()
+    {
+        return _wheelSlot;
+    }
+
+    @Override
+    public void wheelSlot(int slot)
+    {
+        _wheelSlot = slot;
+    }
+
+    @Override
+    public TimingWheel.Entry wheelPrev()
+    {
+        return _wheelPrev;
+    }
+
+    @Override
+    public void wheelPrev(TimingWheel.Entry prev)
+    {
+        _wheelPrev = prev;
+    }
+
+    @Override
+    public TimingWheel.Entry wheelNext()
+    {
+        return _wheelNext;
+    }
+
+    @Override
+    public void wheelNext(TimingWheel.Entry next)
+    {
+        _wheelNext = next;
+    }
+
     protected int handleException(com.zeroc.Ice.Exception exc)
     {
         Holder<Integer> interval = new Holder<>();
@@ -430,6 +521,27 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
         return interval.value;
     }
 
+    private void scheduleTimer(int timeout, boolean connectionTimeout)
+    {
+        //
+        // The timing wheel is resolved once, canceling the timer doesn't lock
+        // the instance and doesn't fail once the communicator is destroyed.
+        //
+        if(_timingWheel == null)
+        {
+            _timingWheel = _instance.timingWheel();
+        }
+        _timerConnectionTimeout = connectionTimeout;
+        _timerScheduled = true;
+        _timingWheel.schedule(this, timeout);
+    }
+
+    private void cancelTimer()
+    {
+        _timerScheduled = false;
+        _timingWheel.cancel(this);
+    }
+
     protected void prepare(java.util.Map<String, String> ctx)
     {
         Protocol.checkSupportedProtocol(Protocol.getCompatibleProtocol(_proxy._getReference().getProtocol()));
@@ -507,7 +619,15 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
     protected com.zeroc.Ice.OperationMode _mode;
     protected int _proxyMode;
 
-    private java.util.concurrent.Future<?> _timerFuture;
+    private boolean _timerScheduled;
+    private TimingWheel _timingWheel;
+    private boolean _timerConnectionTimeout;
+    private long _wheelDeadline;
+    private int _wheelSlot = TimingWheel.Unscheduled;
+    private TimingWheel.Entry _wheelPrev;
+    private TimingWheel.Entry _wheelNext;
+    private com.zeroc.Ice.ConnectionI _latencyConnection;
+    private long _invokeTime;
     private int _cnt;
     private boolean _sent;
 
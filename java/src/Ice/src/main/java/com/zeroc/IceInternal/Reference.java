@@ -95,6 +95,8 @@ public abstract class Reference implements Cloneable
     public abstract com.zeroc.Ice.EndpointSelectionType getEndpointSelection();
     public abstract int getLocatorCacheTimeout();
     public abstract String getConnectionId();
+    public abstract int getHedgeDelay();
+    public abstract int getRebalanceInterval();
     public abstract java.util.OptionalInt getTimeout();
     public abstract com.zeroc.IceInternal.ThreadPool getThreadPool();
     public abstract com.zeroc.Ice.ConnectionI getConnection();
@@ -461,6 +463,11 @@ public abstract class Reference implements Cloneable
             return false;
         }
 
+        if(_invocationTimeout != r._invocationTimeout)
+        {
+            return false;
+        }
+
         if(!_identity.equals(r._identity))
         {
             return false;
@@ -495,11 +502,6 @@ public abstract class Reference implements Cloneable
             return false;
         }
 
-        if(_invocationTimeout != r._invocationTimeout)
-        {
-            return false;
-        }
-
         return true;
     }
 
@@ -676,6 +676,8 @@ public final class ReferenceFactory
         "Locator",
         "Router",
         "CollocationOptimized",
+        "BatchAutoFlushDelay",
+        "HedgeDelay",
         "Context\\..*"
     };
 
@@ -759,6 +761,8 @@ public final class ReferenceFactory
         com.zeroc.Ice.EndpointSelectionType endpointSelection = defaultsAndOverrides.defaultEndpointSelection;
         int locatorCacheTimeout = defaultsAndOverrides.defaultLocatorCacheTimeout;
         int invocationTimeout = defaultsAndOverrides.defaultInvocationTimeout;
+        int batchAutoFlushDelay = -1;
+        int hedgeDelay = -1;
         java.util.Map<String, String> context = null;
 
         //
@@ -874,6 +878,42 @@ public final class ReferenceFactory
                 }
             }
 
+            property = propertyPrefix + ".BatchAutoFlushDelay";
+            value = properties.getProperty(property);
+            if(!value.isEmpty())
+            {
+                batchAutoFlushDelay = properties.getPropertyAsIntWithDefault(property, -1);
+                if(batchAutoFlushDelay < 0)
+                {
+                    batchAutoFlushDelay = -1;
+
+                    StringBuffer msg = new StringBuffer("invalid value for ");
+                    msg.append(property);
+                    msg.append(" '");
+                    msg.append(properties.getProperty(property));
+                    msg.append("': defaulting to Ice.BatchAutoFlushDelay");
+                    _instance.initializationData().logger.warning(msg.toString());
+                }
+            }
+
+            property = propertyPrefix + ".HedgeDelay";
+            value = properties.getProperty(property);
+            if(!value.isEmpty())
+            {
+                hedgeDelay = properties.getPropertyAsIntWithDefault(property, -1);
+                if(hedgeDelay < 0)
+                {
+                    hedgeDelay = -1;
+
+                    StringBuffer msg = new StringBuffer("invalid value for ");
+                    msg.append(property);
+                    msg.append(" '");
+                    msg.append(properties.getProperty(property));
+                    msg.append("': defaulting to Ice.HedgeDelay");
+                    _instance.initializationData().logger.warning(msg.toString());
+                }
+            }
+
             property = propertyPrefix + ".Context.";
             java.util.Map<String, String> contexts = properties.getPropertiesForPrefix(property);
             if(!contexts.isEmpty())
@@ -907,6 +947,8 @@ public final class ReferenceFactory
                                      endpointSelection,
                                      locatorCacheTimeout,
                                      invocationTimeout,
+                                     batchAutoFlushDelay,
+                                     hedgeDelay,
                                      context);
     }
 
@@ -19,7 +19,7 @@ public class RetryQueue
         }
         RetryTask task = new RetryTask(_instance, this, outAsync);
         outAsync.cancelable(task); // This will throw if the request is canceled
-        task.setFuture(_instance.timer().schedule(task, interval, java.util.concurrent.TimeUnit.MILLISECONDS));
+        task.schedule(interval);
         _requests.add(task);
     }
 
@@ -11,6 +11,7 @@ class RetryTask implements Runnable, CancellationHandler
         _instance = instance;
         _queue = queue;
         _outAsync = outAsync;
+        _timeout = instance.timingWheel().createTimeout(this);
     }
 
     @Override
@@ -66,12 +67,11 @@ class RetryTask implements Runnable, CancellationHandler
         return false;
     }
 
-    synchronized public void setFuture(java.util.concurrent.Future<?> future)
+    synchronized public void schedule(int interval)
     {
-        _future = future;
-        if(_cancelled)
+        if(!_cancelled)
         {
-            _future.cancel(false);
+            _timeout.schedule(interval);
         }
     }
 
@@ -83,10 +83,7 @@ class RetryTask implements Runnable, CancellationHandler
         }
         else
         {
-            if(_future != null)
-            {
-                _future.cancel(false);
-            }
+            _timeout.cancel();
             _cancelled = true;
             return true;
         }
@@ -95,6 +92,6 @@ class RetryTask implements Runnable, CancellationHandler
     private final Instance _instance;
     private final RetryQueue _queue;
     private final ProxyOutgoingAsyncBase _outAsync;
-    private java.util.concurrent.Future<?> _future;
+    private final TimingWheel.Timeout _timeout;
     private boolean _cancelled = false;
 }
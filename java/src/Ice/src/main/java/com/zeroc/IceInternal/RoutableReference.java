@@ -76,6 +76,32 @@ public class RoutableReference extends Reference
         return _connectionId;
     }
 
+    @Override
+    public int
+    getHedgeDelay()
+    {
+        return _hedgeDelay >= 0 ? _hedgeDelay : getInstance().hedgeDelay();
+    }
+
+    //
+    // Returns the interval in milliseconds after which a proxy caching its
+    // connection selects its connection again, or 0 if it keeps it. With load
+    // balancing or connection pools, cached proxies periodically select the
+    // connection again so that they adapt to the load of the connections.
+    //
+    @Override
+    public int
+    getRebalanceInterval()
+    {
+        if(getInstance().connectionPoolSize() > 1 ||
+           (getInstance().loadBalancing() != OutgoingConnectionFactory.LoadBalancingNone &&
+            getEndpointSelection() == com.zeroc.Ice.EndpointSelectionType.Random))
+        {
+            return RebalanceInterval;
+        }
+        return 0;
+    }
+
     @Override
     public java.util.OptionalInt
     getTimeout()
@@ -425,6 +451,14 @@ public class RoutableReference extends Reference
             s.append(_locatorCacheTimeout);
             properties.put(prefix + ".LocatorCacheTimeout", s.toString());
         }
+        if(_batchAutoFlushDelay >= 0)
+        {
+            properties.put(prefix + ".BatchAutoFlushDelay", Integer.toString(_batchAutoFlushDelay));
+        }
+        if(_hedgeDelay >= 0)
+        {
+            properties.put(prefix + ".HedgeDelay", Integer.toString(_hedgeDelay));
+        }
 
         if(_routerInfo != null)
         {
@@ -474,19 +508,12 @@ public class RoutableReference extends Reference
             return false;
         }
 
-        if(!super.equals(obj))
-        {
-            return false;
-        }
+        //
+        // Compare the settings first, they are cheaper to compare than the
+        // identity, context and endpoints compared below and references of
+        // proxies derived from the same proxy often only differ by a setting.
+        //
         RoutableReference rhs = (RoutableReference)obj; // Guaranteed to succeed.
-        if(_locatorInfo == null ? rhs._locatorInfo != null : !_locatorInfo.equals(rhs._locatorInfo))
-        {
-            return false;
-        }
-        if(_routerInfo == null ? rhs._routerInfo != null : !_routerInfo.equals(rhs._routerInfo))
-        {
-            return false;
-        }
         if(_collocationOptimized != rhs._collocationOptimized)
         {
             return false;
@@ -507,9 +534,13 @@ public class RoutableReference extends Reference
         {
             return false;
         }
-        if(!_connectionId.equals(rhs._connectionId))
+        if(_batchAutoFlushDelay != rhs._batchAutoFlushDelay)
         {
-           return false;
+            return false;
+        }
+        if(_hedgeDelay != rhs._hedgeDelay)
+        {
+            return false;
         }
         if(_overrideTimeout != rhs._overrideTimeout)
         {
@@ -519,6 +550,22 @@ public class RoutableReference extends Reference
         {
             return false;
         }
+        if(!super.equals(obj))
+        {
+            return false;
+        }
+        if(_locatorInfo == null ? rhs._locatorInfo != null : !_locatorInfo.equals(rhs._locatorInfo))
+        {
+            return false;
+        }
+        if(_routerInfo == null ? rhs._routerInfo != null : !_routerInfo.equals(rhs._routerInfo))
+        {
+            return false;
+        }
+        if(!_connectionId.equals(rhs._connectionId))
+        {
+           return false;
+        }
         if(!java.util.Arrays.equals(_endpoints, rhs._endpoints))
         {
             return false;
@@ -541,7 +588,8 @@ public class RoutableReference extends Reference
     public BatchRequestQueue
     getBatchRequestQueue()
     {
-        return new BatchRequestQueue(getInstance(), getMode() == Reference.ModeBatchDatagram);
+        int delay = _batchAutoFlushDelay >= 0 ? _batchAutoFlushDelay : getInstance().batchAutoFlushDelay();
+        return new BatchRequestQueue(getInstance(), getMode() == Reference.ModeBatchDatagram, delay);
     }
 
     public void
@@ -685,6 +733,8 @@ public class RoutableReference extends Reference
                       com.zeroc.Ice.EndpointSelectionType endpointSelection,
                       int locatorCacheTimeout,
                       int invocationTimeout,
+                      int batchAutoFlushDelay,
+                      int hedgeDelay,
                       java.util.Map<String, String> context)
     {
         super(instance, communicator, identity, facet, mode, secure, protocol, encoding, invocationTimeout, context);
@@ -697,6 +747,8 @@ public class RoutableReference extends Reference
         _preferSecure = prefereSecure;
         _endpointSelection = endpointSelection;
         _locatorCacheTimeout = locatorCacheTimeout;
+        _batchAutoFlushDelay = batchAutoFlushDelay;
+        _hedgeDelay = hedgeDelay;
         _overrideTimeout = false;
         _timeout = -1;
 
@@ -857,11 +909,14 @@ public class RoutableReference extends Reference
         // Finally, create the connection.
         //
         final OutgoingConnectionFactory factory = getInstance().outgoingConnectionFactory();
-        if(getCacheConnection() || endpoints.length == 1)
+        if(getCacheConnection() || endpoints.length == 1 ||
+           (getEndpointSelection() == com.zeroc.Ice.EndpointSelectionType.Random &&
+            getInstance().loadBalancing() != OutgoingConnectionFactory.LoadBalancingNone))
         {
             //
             // Get an existing connection or create one if there's no
-            // existing connection to one of the given endpoints.
+            // existing connection to one of the given endpoints. With
+            // load balancing, the factory selects the connection.
             //
             factory.create(endpoints, false, getEndpointSelection(),
                            new OutgoingConnectionFactory.CreateConnectionCallback()
@@ -992,6 +1047,7 @@ public class RoutableReference extends Reference
     private static EndpointComparator _preferNonSecureEndpointComparator = new EndpointComparator(false);
     private static EndpointComparator _preferSecureEndpointComparator = new EndpointComparator(true);
     private static EndpointI[] _emptyEndpoints = new EndpointI[0];
+    private static final int RebalanceInterval = 1000; // In milliseconds
 
     private EndpointI[] _endpoints;
     private String _adapterId;
@@ -1002,6 +1058,8 @@ public class RoutableReference extends Reference
     private boolean _preferSecure;
     private com.zeroc.Ice.EndpointSelectionType _endpointSelection;
     private int _locatorCacheTimeout;
+    private int _batchAutoFlushDelay; // In milliseconds, -1 to use Ice.BatchAutoFlushDelay.
+    private int _hedgeDelay; // In milliseconds, -1 to use Ice.HedgeDelay.
 
     private boolean _overrideTimeout;
     private int _timeout; // Only used if _overrideTimeout == true
@@ -134,6 +134,16 @@ public final class Selector
 
     void startSelect()
     {
+        //
+        // The thread pool is done with the handlers returned by the previous
+        // finishSelect(), release them but keep the pairs for reuse.
+        //
+        for(int i = 0; i < _pairsInUse; ++i)
+        {
+            _pairs.get(i).handler = null;
+        }
+        _pairsInUse = 0;
+
         if(!_changes.isEmpty())
         {
             updateSelector();
@@ -191,7 +201,7 @@ public final class Selector
                 final int op = fromJavaOps(key.readyOps() & key.interestOps());
                 if(!_readyHandlers.contains(handler)) // Handler will be added by the loop below
                 {
-                    handlers.add(new EventHandlerOpPair(handler, op));
+                    handlers.add(newPair(handler, op));
                 }
             }
             catch(java.nio.channels.CancelledKeyException ex)
@@ -209,7 +219,7 @@ public final class Selector
             }
             if(op > 0)
             {
-                handlers.add(new EventHandlerOpPair(handler, op));
+                handlers.add(newPair(handler, op));
             }
         }
 
@@ -400,6 +410,18 @@ public final class Selector
         return op;
     }
 
+    private EventHandlerOpPair newPair(EventHandler handler, int op)
+    {
+        if(_pairsInUse == _pairs.size())
+        {
+            _pairs.add(new EventHandlerOpPair(handler, op));
+        }
+        EventHandlerOpPair p = _pairs.get(_pairsInUse++);
+        p.handler = handler;
+        p.op = op;
+        return p;
+    }
+
     final private Instance _instance;
 
     private java.nio.channels.Selector _selector;
@@ -410,4 +432,6 @@ public final class Selector
     private boolean _selectNow;
     private boolean _interrupted;
     private int _spuriousWakeUp;
+    private java.util.ArrayList<EventHandlerOpPair> _pairs = new java.util.ArrayList<>();
+    private int _pairsInUse;
 }
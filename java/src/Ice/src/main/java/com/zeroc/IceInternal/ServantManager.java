@@ -4,6 +4,14 @@
 
 package com.zeroc.IceInternal;
 
+//
+// The servant maps are read without synchronization by the lookups performed
+// for each dispatch. The servants are kept in a concurrent map and the facet
+// maps it contains are never modified once added to it: adding or removing a
+// facet replaces the facet map with an updated copy. The default servant and
+// servant locator maps are rarely modified and are replaced by an updated copy
+// on each modification. The modifications are synchronized.
+//
 public final class ServantManager
 {
     public synchronized void
@@ -20,7 +28,6 @@ public final class ServantManager
         if(m == null)
         {
             m = new java.util.HashMap<String, com.zeroc.Ice.Object>();
-            _servantMapMap.put(ident, m);
         }
         else
         {
@@ -36,9 +43,11 @@ public final class ServantManager
                 }
                 throw ex;
             }
+            m = new java.util.HashMap<String, com.zeroc.Ice.Object>(m);
         }
 
         m.put(facet, servant);
+        _servantMapMap.put(ident, m);
     }
 
     public synchronized void
@@ -55,7 +64,10 @@ public final class ServantManager
             throw ex;
         }
 
-        _defaultServantMap.put(category, servant);
+        java.util.Map<String, com.zeroc.Ice.Object> m =
+            new java.util.HashMap<String, com.zeroc.Ice.Object>(_defaultServantMap);
+        m.put(category, servant);
+        _defaultServantMap = m;
     }
 
     public synchronized com.zeroc.Ice.Object
@@ -70,7 +82,7 @@ public final class ServantManager
 
         java.util.Map<String, com.zeroc.Ice.Object> m = _servantMapMap.get(ident);
         com.zeroc.Ice.Object obj = null;
-        if(m == null || (obj = m.remove(facet)) == null)
+        if(m == null || (obj = m.get(facet)) == null)
         {
             com.zeroc.Ice.NotRegisteredException ex = new com.zeroc.Ice.NotRegisteredException();
             ex.id = com.zeroc.Ice.Util.identityToString(ident, _instance.toStringMode());
@@ -83,10 +95,16 @@ public final class ServantManager
             throw ex;
         }
 
-        if(m.isEmpty())
+        if(m.size() == 1)
         {
             _servantMapMap.remove(ident);
         }
+        else
+        {
+            m = new java.util.HashMap<String, com.zeroc.Ice.Object>(m);
+            m.remove(facet);
+            _servantMapMap.put(ident, m);
+        }
         return obj;
     }
 
@@ -104,7 +122,10 @@ public final class ServantManager
             throw ex;
         }
 
-        _defaultServantMap.remove(category);
+        java.util.Map<String, com.zeroc.Ice.Object> m =
+            new java.util.HashMap<String, com.zeroc.Ice.Object>(_defaultServantMap);
+        m.remove(category);
+        _defaultServantMap = m;
         return obj;
     }
 
@@ -124,10 +145,13 @@ public final class ServantManager
 
         _servantMapMap.remove(ident);
 
-        return m;
+        //
+        // Return a copy, the facet map might still be used by concurrent lookups.
+        //
+        return new java.util.HashMap<String, com.zeroc.Ice.Object>(m);
     }
 
-    public synchronized com.zeroc.Ice.Object
+    public com.zeroc.Ice.Object
     findServant(com.zeroc.Ice.Identity ident, String facet)
     {
         //
@@ -147,10 +171,11 @@ public final class ServantManager
         com.zeroc.Ice.Object obj = null;
         if(m == null)
         {
-            obj = _defaultServantMap.get(ident.category);
+            java.util.Map<String, com.zeroc.Ice.Object> defaultServantMap = _defaultServantMap;
+            obj = defaultServantMap.get(ident.category);
             if(obj == null)
             {
-                obj = _defaultServantMap.get("");
+                obj = defaultServantMap.get("");
             }
         }
         else
@@ -161,7 +186,7 @@ public final class ServantManager
         return obj;
     }
 
-    public synchronized com.zeroc.Ice.Object
+    public com.zeroc.Ice.Object
     findDefaultServant(String category)
     {
         assert(_instance != null); // Must not be called after destruction.
@@ -169,7 +194,7 @@ public final class ServantManager
         return _defaultServantMap.get(category);
     }
 
-    public synchronized java.util.Map<String, com.zeroc.Ice.Object>
+    public java.util.Map<String, com.zeroc.Ice.Object>
     findAllFacets(com.zeroc.Ice.Identity ident)
     {
         assert(_instance != null); // Must not be called after destruction.
@@ -183,7 +208,7 @@ public final class ServantManager
         return new java.util.HashMap<String, com.zeroc.Ice.Object>();
     }
 
-    public synchronized boolean
+    public boolean
     hasServant(com.zeroc.Ice.Identity ident)
     {
         //
@@ -221,7 +246,10 @@ public final class ServantManager
             throw ex;
         }
 
-        _locatorMap.put(category, locator);
+        java.util.Map<String, com.zeroc.Ice.ServantLocator> m =
+            new java.util.HashMap<String, com.zeroc.Ice.ServantLocator>(_locatorMap);
+        m.put(category, locator);
+        _locatorMap = m;
     }
 
     public synchronized com.zeroc.Ice.ServantLocator
@@ -230,7 +258,7 @@ public final class ServantManager
         com.zeroc.Ice.ServantLocator l = null;
         assert(_instance != null); // Must not be called after destruction.
 
-        l = _locatorMap.remove(category);
+        l = _locatorMap.get(category);
         if(l == null)
         {
             com.zeroc.Ice.NotRegisteredException ex = new com.zeroc.Ice.NotRegisteredException();
@@ -239,10 +267,15 @@ public final class ServantManager
             ex.kindOfObject = "servant locator";
             throw ex;
         }
+
+        java.util.Map<String, com.zeroc.Ice.ServantLocator> m =
+            new java.util.HashMap<String, com.zeroc.Ice.ServantLocator>(_locatorMap);
+        m.remove(category);
+        _locatorMap = m;
         return l;
     }
 
-    public synchronized com.zeroc.Ice.ServantLocator
+    public com.zeroc.Ice.ServantLocator
     findServantLocator(String category)
     {
         //
@@ -256,6 +289,13 @@ public final class ServantManager
         return _locatorMap.get(category);
     }
 
+    public StringCache
+    stringCache()
+    {
+        // No mutex lock, immutable.
+        return _stringCache;
+    }
+
     //
     // Only for use by com.zeroc.Ice.ObjectAdatperI.
     //
@@ -289,10 +329,10 @@ public final class ServantManager
 
             _servantMapMap.clear();
 
-            _defaultServantMap.clear();
+            _defaultServantMap = java.util.Collections.emptyMap();
 
             locatorMap.putAll(_locatorMap);
-            _locatorMap.clear();
+            _locatorMap = java.util.Collections.emptyMap();
 
             _instance = null;
         }
@@ -315,10 +355,11 @@ public final class ServantManager
 
     private Instance _instance;
     final private String _adapterName;
-    private java.util.Map<com.zeroc.Ice.Identity, java.util.Map<String, com.zeroc.Ice.Object> > _servantMapMap =
-        new java.util.HashMap<com.zeroc.Ice.Identity, java.util.Map<String, com.zeroc.Ice.Object> >();
-    private java.util.Map<String, com.zeroc.Ice.Object> _defaultServantMap =
+    private final java.util.Map<com.zeroc.Ice.Identity, java.util.Map<String, com.zeroc.Ice.Object> > _servantMapMap =
+        new java.util.concurrent.ConcurrentHashMap<>();
+    private volatile java.util.Map<String, com.zeroc.Ice.Object> _defaultServantMap =
         new java.util.HashMap<String, com.zeroc.Ice.Object>();
-    private java.util.Map<String, com.zeroc.Ice.ServantLocator> _locatorMap =
+    private volatile java.util.Map<String, com.zeroc.Ice.ServantLocator> _locatorMap =
         new java.util.HashMap<String, com.zeroc.Ice.ServantLocator>();
+    private final StringCache _stringCache = new StringCache(256);
 }
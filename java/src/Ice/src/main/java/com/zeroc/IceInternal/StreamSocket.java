@@ -172,6 +172,68 @@ public class StreamSocket
         return buf.b.hasRemaining() ? SocketOperation.Write : SocketOperation.None;
     }
 
+    public int write(Buffer[] bufs, int count)
+    {
+        if(_state != StateConnected || _maxSendPacketSize > 0)
+        {
+            //
+            // Gathering writes are only used once the socket is connected and if the
+            // size of the packets we send isn't limited.
+            //
+            return write(bufs[0]);
+        }
+
+        assert(_fd != null);
+
+        if(_writeBuffers == null || _writeBuffers.length < count)
+        {
+            _writeBuffers = new java.nio.ByteBuffer[count];
+        }
+        for(int i = 0; i < count; ++i)
+        {
+            _writeBuffers[i] = bufs[i].b;
+        }
+
+        try
+        {
+            int first = 0;
+            while(first < count)
+            {
+                if(!_writeBuffers[first].hasRemaining())
+                {
+                    ++first;
+                    continue;
+                }
+
+                try
+                {
+                    long ret = _fd.write(_writeBuffers, first, count - first);
+                    if(ret == -1)
+                    {
+                        throw new com.zeroc.Ice.ConnectionLostException();
+                    }
+                    else if(ret == 0)
+                    {
+                        return SocketOperation.Write;
+                    }
+                }
+                catch(java.io.InterruptedIOException ex)
+                {
+                    continue;
+                }
+                catch(java.io.IOException ex)
+                {
+                    throw new com.zeroc.Ice.SocketException(ex);
+                }
+            }
+            return SocketOperation.None;
+        }
+        finally
+        {
+            java.util.Arrays.fill(_writeBuffers, 0, count, null);
+        }
+    }
+
     public int read(java.nio.ByteBuffer buf)
     {
         assert(_fd != null);
@@ -315,6 +377,7 @@ public class StreamSocket
 
     private java.nio.channels.SocketChannel _fd;
     private int _maxSendPacketSize;
+    private java.nio.ByteBuffer[] _writeBuffers;
     private int _state;
     private String _desc;
 
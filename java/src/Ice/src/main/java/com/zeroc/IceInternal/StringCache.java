@@ -0,0 +1,103 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// A fixed size cache of the strings read from request headers (identities,
+// facets, operation names and context keys). Strings are looked up with the
+// encoded bytes still in the stream buffer, so reading a cached string
+// doesn't allocate. The cache is direct-mapped: a string replaces the entry
+// with the same slot. Entries are immutable and published without
+// synchronization, a reader that doesn't see the latest entry of a slot just
+// decodes the string again.
+//
+public final class StringCache
+{
+    public StringCache(int size)
+    {
+        assert(size > 0 && (size & (size - 1)) == 0); // Must be a power of 2
+        _entries = new Entry[size];
+    }
+
+    public String read(com.zeroc.Ice.InputStream is)
+    {
+        final int start = is.pos();
+        final int len = is.readSize();
+        if(len == 0)
+        {
+            return "";
+        }
+        else if(len > MaxLength)
+        {
+            is.pos(start);
+            return is.readString();
+        }
+
+        final java.nio.ByteBuffer b = is.getBuffer().b;
+        final int pos = b.position();
+        if(b.limit() - pos < len)
+        {
+            throw new com.zeroc.Ice.UnmarshalOutOfBoundsException();
+        }
+
+        int hash = 0;
+        for(int i = 0; i < len; ++i)
+        {
+            hash = 31 * hash + b.get(pos + i);
+        }
+
+        final int slot = (hash ^ (hash >>> 16)) & (_entries.length - 1);
+        Entry e = _entries[slot];
+        if(e != null && e.hash == hash && e.matches(b, pos, len))
+        {
+            is.pos(pos + len);
+            return e.value;
+        }
+
+        is.pos(start);
+        String value = is.readString();
+        byte[] bytes = new byte[len];
+        for(int i = 0; i < len; ++i)
+        {
+            bytes[i] = b.get(pos + i);
+        }
+        _entries[slot] = new Entry(bytes, hash, value);
+        return value;
+    }
+
+    private static final class Entry
+    {
+        Entry(byte[] bytes, int hash, String value)
+        {
+            this.bytes = bytes;
+            this.hash = hash;
+            this.value = value;
+        }
+
+        boolean matches(java.nio.ByteBuffer b, int pos, int len)
+        {
+            if(bytes.length != len)
+            {
+                return false;
+            }
+            for(int i = 0; i < len; ++i)
+            {
+                if(bytes[i] != b.get(pos + i))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        final byte[] bytes;
+        final int hash;
+        final String value;
+    }
+
+    private static final int MaxLength = 64; // Longer strings aren't cached.
+
+    private final Entry[] _entries;
+}
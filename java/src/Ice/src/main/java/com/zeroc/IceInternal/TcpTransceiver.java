@@ -52,6 +52,12 @@ final class TcpTransceiver implements Transceiver
         return _stream.write(buf);
     }
 
+    @Override
+    public int write(Buffer[] bufs, int count)
+    {
+        return _stream.write(bufs, count);
+    }
+
     @Override
     public int read(Buffer buf)
     {
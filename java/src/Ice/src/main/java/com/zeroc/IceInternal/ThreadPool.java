@@ -86,6 +86,12 @@ public final class ThreadPool implements java.util.concurrent.Executor
 
     public
     ThreadPool(Instance instance, String prefix, int timeout)
+    {
+        this(instance, prefix, timeout, null, 0);
+    }
+
+    private
+    ThreadPool(Instance instance, String prefix, int timeout, ThreadPool parent, int shard)
     {
         com.zeroc.Ice.Properties properties = instance.initializationData().properties;
 
@@ -93,14 +99,36 @@ public final class ThreadPool implements java.util.concurrent.Executor
         _dispatcher = instance.initializationData().dispatcher;
         _destroyed = false;
         _prefix = prefix;
-        _selector = new Selector(instance);
+        _parent = parent;
         _threadIndex = 0;
         _inUse = 0;
         _inUseIO = 0;
         _promote = true;
         _serialize = properties.getPropertyAsInt(_prefix + ".Serialize") > 0;
         _serverIdleTime = timeout;
-        _threadPrefix = Util.createThreadName(properties, _prefix);
+        _lastIO = Time.currentMonotonicTimeMillis();
+
+        //
+        // With Selectors > 1, this thread pool doesn't run any threads itself. It creates
+        // one sub-pool per selector (shard), each with its own selector, work queue and
+        // threads, and event handlers are assigned to a shard when they are initialized.
+        //
+        int selectors = 1;
+        if(_parent == null)
+        {
+            selectors = properties.getPropertyAsIntWithDefault(_prefix + ".Selectors", 1);
+            if(selectors < 1)
+            {
+                String s = _prefix + ".Selectors < 1; Selectors adjusted to 1";
+                _instance.initializationData().logger.warning(s);
+                selectors = 1;
+            }
+            _threadPrefix = Util.createThreadName(properties, _prefix);
+        }
+        else
+        {
+            _threadPrefix = _parent._threadPrefix + "-" + shard;
+        }
 
         int nProcessors = Runtime.getRuntime().availableProcessors();
 
@@ -154,7 +182,7 @@ public final class ThreadPool implements java.util.concurrent.Executor
         _size = size;
         _sizeMax = sizeMax;
         _sizeWarn = sizeWarn;
-        _sizeIO = Math.min(sizeMax, nProcessors);
+        _sizeIO = Math.min(sizeMax, Math.max(1, nProcessors / (_parent != null ? _parent._shards.length : 1)));
         _threadIdleTime = threadIdleTime;
 
         int stackSize = properties.getPropertyAsInt( _prefix + ".StackSize");
@@ -176,16 +204,82 @@ public final class ThreadPool implements java.util.concurrent.Executor
         _hasPriority = hasPriority;
         _priority = priority;
 
-        _workQueue = new ThreadPoolWorkQueue(_instance, this, _selector);
-        _nextHandler = _handlers.iterator();
+        boolean virtualThreads = properties.getPropertyAsInt(_prefix + ".VirtualThreads") > 0;
+        if(virtualThreads && !VirtualThreads.supported())
+        {
+            if(_parent == null)
+            {
+                String s = _prefix + ".VirtualThreads requires Java 21 or later; VirtualThreads ignored";
+                _instance.initializationData().logger.warning(s);
+            }
+            virtualThreads = false;
+        }
+        _virtualThreads = virtualThreads;
 
-        if(_instance.traceLevels().threadPool >= 1)
+        if(selectors > 1)
+        {
+            _selector = null;
+            _workQueue = null;
+            _shards = new ThreadPool[selectors];
+            _virtualThreadExecutor = null;
+        }
+        else
+        {
+            _selector = new Selector(instance);
+            _workQueue = new ThreadPoolWorkQueue(_instance, this, _selector);
+            _shards = null;
+
+            //
+            // With VirtualThreads, the threads of this thread pool only perform IO and the
+            // dispatches are run on virtual threads (see dispatchFromThisThread below).
+            //
+            _virtualThreadExecutor = virtualThreads ? VirtualThreads.newExecutor(_threadPrefix + "-virtual") : null;
+        }
+        _nextHandler = 0;
+
+        if(_instance.traceLevels().threadPool >= 1 && _parent == null)
         {
             String s = "creating " + _prefix + ": Size = " + _size + ", SizeMax = " + _sizeMax + ", SizeWarn = " +
                        _sizeWarn;
+            if(_shards != null)
+            {
+                s += ", Selectors = " + _shards.length;
+            }
+            if(virtualThreads)
+            {
+                s += ", VirtualThreads = 1";
+            }
             _instance.initializationData().logger.trace(_instance.traceLevels().threadPoolCat, s);
         }
 
+        if(_shards != null)
+        {
+            try
+            {
+                //
+                // Only the first shard monitors the server idle time, see shardsIdle().
+                //
+                for(int i = 0; i < _shards.length; i++)
+                {
+                    _shards[i] = new ThreadPool(instance, prefix, i == 0 ? timeout : 0, this, i);
+                }
+            }
+            catch(RuntimeException ex)
+            {
+                destroy();
+                try
+                {
+                    joinWithAllThreads();
+                }
+                catch (InterruptedException e)
+                {
+                    throw new com.zeroc.Ice.OperationInterruptedException();
+                }
+                throw ex;
+            }
+            return;
+        }
+
         try
         {
             for(int i = 0; i < _size; i++)
@@ -248,20 +342,63 @@ public final class ThreadPool implements java.util.concurrent.Executor
         }
 
         _destroyed = true;
+        if(_shards != null)
+        {
+            for(ThreadPool shard : _shards)
+            {
+                if(shard != null)
+                {
+                    shard.destroy();
+                }
+            }
+            return;
+        }
         _workQueue.destroy();
     }
 
     public synchronized void
     updateObservers()
     {
+        if(_shards != null)
+        {
+            for(ThreadPool shard : _shards)
+            {
+                shard.updateObservers();
+            }
+            return;
+        }
+
         for(EventHandlerThread thread : _threads)
         {
             thread.updateObserver();
         }
     }
 
-    public synchronized void
+    public void
     initialize(final EventHandler handler)
+    {
+        if(_shards != null)
+        {
+            //
+            // Assign the handler to a shard, all the subsequent calls for this handler are
+            // forwarded to the shard.
+            //
+            ThreadPool shard;
+            synchronized(this)
+            {
+                assert(!_destroyed);
+                shard = _shards[_nextShard];
+                _nextShard = (_nextShard + 1) % _shards.length;
+            }
+            handler._shard = shard;
+            shard.initialize(handler);
+            return;
+        }
+        initializeImpl(handler);
+    }
+
+    private synchronized void
+    initializeImpl(final EventHandler handler)
     {
         assert(!_destroyed);
         _selector.initialize(handler);
@@ -289,8 +426,19 @@ public final class ThreadPool implements java.util.concurrent.Executor
         update(handler, SocketOperation.None, op);
     }
 
-    public synchronized void
+    public void
     update(EventHandler handler, int remove, int add)
+    {
+        if(_shards != null)
+        {
+            handler._shard.update(handler, remove, add);
+            return;
+        }
+        updateImpl(handler, remove, add);
+    }
+
+    private synchronized void
+    updateImpl(EventHandler handler, int remove, int add)
     {
         assert(!_destroyed);
 
@@ -313,8 +461,18 @@ public final class ThreadPool implements java.util.concurrent.Executor
         update(handler, op, SocketOperation.None);
     }
 
-    public synchronized boolean
+    public boolean
     finish(EventHandler handler, boolean closeNow)
+    {
+        if(_shards != null)
+        {
+            return handler._shard.finish(handler, closeNow);
+        }
+        return finishImpl(handler, closeNow);
+    }
+
+    private synchronized boolean
+    finishImpl(EventHandler handler, boolean closeNow)
     {
         assert(!_destroyed);
         closeNow = _selector.finish(handler, closeNow);
@@ -349,8 +507,104 @@ public final class ThreadPool implements java.util.concurrent.Executor
         }
     }
 
-    synchronized public void
+    public boolean
+    virtualThreads()
+    {
+        // No mutex lock, immutable.
+        return _virtualThreads;
+    }
+
+    public boolean
+    serialize()
+    {
+        // No mutex lock, immutable.
+        return _serialize;
+    }
+
+    void
+    dispatchFromThisThread(DispatchWorkItem workItem, ThreadPoolCurrent current)
+    {
+        if(_virtualThreadExecutor == null || _dispatcher != null)
+        {
+            dispatchFromThisThread(workItem);
+            return;
+        }
+
+        //
+        // Run the dispatch on a virtual thread. If requests are serialized, the handler
+        // disabled by ioCompleted() is re-enabled once the dispatch completes instead of
+        // when this thread returns from the handler.
+        //
+        final EventHandler handler = _serialize && current._ioCompleted ? current._handler : null;
+        final int operation = current.operation;
+        synchronized(this)
+        {
+            ++_virtualDispatchCount;
+        }
+        current._dispatched = handler != null;
+        _virtualThreadExecutor.execute(() ->
+            {
+                try
+                {
+                    workItem.run();
+                }
+                catch(java.lang.Exception ex)
+                {
+                    String s = "exception in `" + _prefix + "':\n" + Ex.toString(ex);
+                    _instance.initializationData().logger.error(s);
+                }
+                finally
+                {
+                    virtualDispatchCompleted(handler, operation);
+                }
+            });
+    }
+
+    private synchronized void
+    virtualDispatchCompleted(EventHandler handler, int operation)
+    {
+        --_virtualDispatchCount;
+        if(handler != null)
+        {
+            _selector.enable(handler, operation);
+        }
+    }
+
+    public void
     dispatch(DispatchWorkItem workItem)
+    {
+        if(_shards != null)
+        {
+            //
+            // Dispatch the work item on the shard of its connection to preserve the ordering
+            // of the dispatches for a given connection. Work items without a connection are
+            // spread over the shards.
+            //
+            ThreadPool shard = null;
+            if(workItem.getConnection() instanceof EventHandler)
+            {
+                shard = ((EventHandler)workItem.getConnection())._shard;
+            }
+            if(shard == null)
+            {
+                synchronized(this)
+                {
+                    if(_destroyed)
+                    {
+                        throw new com.zeroc.Ice.CommunicatorDestroyedException();
+                    }
+                    shard = _shards[_nextShard];
+                    _nextShard = (_nextShard + 1) % _shards.length;
+                }
+            }
+            shard.dispatch(workItem);
+            return;
+        }
+        dispatchImpl(workItem);
+    }
+
+    synchronized private void
+    dispatchImpl(DispatchWorkItem workItem)
     {
         if(_destroyed)
         {
@@ -363,6 +617,18 @@ public final class ThreadPool implements java.util.concurrent.Executor
     joinWithAllThreads()
         throws InterruptedException
     {
+        if(_shards != null)
+        {
+            for(ThreadPool shard : _shards)
+            {
+                if(shard != null)
+                {
+                    shard.joinWithAllThreads();
+                }
+            }
+            return;
+        }
+
         //
         // _threads is immutable after destroy() has been called,
         // therefore no synchronization is needed. (Synchronization
@@ -374,6 +640,17 @@ public final class ThreadPool implements java.util.concurrent.Executor
             thread.join();
         }
 
+        //
+        // Wait for the dispatches running on virtual threads
+        //
+        if(_virtualThreadExecutor != null)
+        {
+            _virtualThreadExecutor.shutdown();
+            while(!_virtualThreadExecutor.awaitTermination(100000, java.util.concurrent.TimeUnit.SECONDS))
+            {
+            }
+        }
+
         //
         // Destroy the selector
         //
@@ -433,9 +710,10 @@ public final class ThreadPool implements java.util.concurrent.Executor
                 }
                 catch(Selector.TimeoutException ex)
                 {
+                    boolean idle = _parent == null || _parent.shardsIdle(this);
                     synchronized(this)
                     {
-                        if(!_destroyed && _inUse == 0)
+                        if(idle && !_destroyed && _inUse == 0 && _virtualDispatchCount == 0)
                         {
                             _workQueue.queue(new ShutdownWorkItem()); // Select timed-out.
                         }
@@ -452,7 +730,11 @@ public final class ThreadPool implements java.util.concurrent.Executor
                     {
                         _selector.finishSelect(_handlers);
                         select = false;
-                        _nextHandler = _handlers.iterator();
+                        _nextHandler = 0;
+                        if(_parent != null && !_handlers.isEmpty())
+                        {
+                            _lastIO = Time.currentMonotonicTimeMillis();
+                        }
                     }
                     else if(!current._leader && followerWait(current))
                     {
@@ -475,7 +757,7 @@ public final class ThreadPool implements java.util.concurrent.Executor
                         // If the handler called ioCompleted(), we re-enable the handler in
                         // case it was disabled and we decrease the number of thread in use.
                         //
-                        if(_serialize)
+                        if(_serialize && !current._dispatched)
                         {
                             _selector.enable(current._handler, current.operation);
                         }
@@ -493,13 +775,14 @@ public final class ThreadPool implements java.util.concurrent.Executor
                 // Get the next ready handler.
                 //
                 current._handler = null;
-                while(_nextHandler.hasNext())
+                while(_nextHandler < _handlers.size())
                 {
-                    EventHandlerOpPair n = _nextHandler.next();
+                    EventHandlerOpPair n = _handlers.get(_nextHandler++);
                     int op = n.op & ~n.handler._disabled & n.handler._registered;
                     if(op != 0)
                     {
                         current._ioCompleted = false;
+                        current._dispatched = false;
                         current._handler = n.handler;
                         current.operation = op;
                         thread.setState(com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateInUseForIO);
@@ -522,6 +805,7 @@ public final class ThreadPool implements java.util.concurrent.Executor
                     else
                     {
                         _handlers.clear();
+                        _nextHandler = 0;
                         _selector.startSelect();
                         select = true;
                         thread.setState(com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateIdle);
@@ -534,7 +818,7 @@ public final class ThreadPool implements java.util.concurrent.Executor
                     // to perform IO and more handlers ready, we promote a follower.
                     //
                     ++_inUseIO;
-                    if(_nextHandler.hasNext() && _inUseIO < _sizeIO)
+                    if(_nextHandler < _handlers.size() && _inUseIO < _sizeIO)
                     {
                         promoteFollower(current);
                     }
@@ -569,7 +853,7 @@ public final class ThreadPool implements java.util.concurrent.Executor
                 //
                 promoteFollower(current);
             }
-            else if(_promote && (_nextHandler.hasNext() || _inUseIO == 0))
+            else if(_promote && (_nextHandler < _handlers.size() || _inUseIO == 0))
             {
                 notify();
             }
@@ -616,6 +900,41 @@ public final class ThreadPool implements java.util.concurrent.Executor
                 }
             }
         }
+        else if(_serialize && _virtualThreadExecutor != null && !_destroyed)
+        {
+            //
+            // With a single thread, the dispatches are only serialized by this thread unless
+            // they are running on virtual threads.
+            //
+            _selector.disable(current._handler, current.operation);
+        }
+    }
+
+    //
+    // Called by the first shard when its selector timed out, the thread pool is considered
+    // idle only if the other shards didn't perform any IO for the server idle time either.
+    //
+    private boolean
+    shardsIdle(ThreadPool current)
+    {
+        long now = Time.currentMonotonicTimeMillis();
+        for(ThreadPool shard : _shards)
+        {
+            if(shard == current)
+            {
+                continue;
+            }
+
+            synchronized(shard)
+            {
+                if(shard._inUse > 0 || shard._inUseIO > 0 || shard._virtualDispatchCount > 0 ||
+                   now - shard._lastIO < current._serverIdleTime * 1000)
+                {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     private synchronized void
@@ -623,7 +942,7 @@ public final class ThreadPool implements java.util.concurrent.Executor
     {
         assert(!_promote && current._leader);
         _promote = true;
-        if(_inUseIO < _sizeIO && (_nextHandler.hasNext() || _inUseIO == 0))
+        if(_inUseIO < _sizeIO && (_nextHandler < _handlers.size() || _inUseIO == 0))
         {
             notify();
         }
@@ -648,7 +967,7 @@ public final class ThreadPool implements java.util.concurrent.Executor
         //
         // Wait to be promoted and for all the IO threads to be done.
         //
-        while(!_promote || _inUseIO == _sizeIO || (!_nextHandler.hasNext() && _inUseIO > 0))
+        while(!_promote || _inUseIO == _sizeIO || (_nextHandler == _handlers.size() && _inUseIO > 0))
         {
             if(_threadIdleTime > 0)
             {
@@ -667,7 +986,8 @@ public final class ThreadPool implements java.util.concurrent.Executor
                 }
                 if(interrupted || Time.currentMonotonicTimeMillis() - before >= _threadIdleTime * 1000)
                 {
-                    if(!_destroyed && (!_promote || _inUseIO == _sizeIO || (!_nextHandler.hasNext() && _inUseIO > 0)))
+                    if(!_destroyed &&
+                       (!_promote || _inUseIO == _sizeIO || (_nextHandler == _handlers.size() && _inUseIO > 0)))
                     {
                         if(_instance.traceLevels().threadPool >= 1)
                         {
@@ -707,6 +1027,12 @@ public final class ThreadPool implements java.util.concurrent.Executor
     private final String _prefix;
     private final String _threadPrefix;
     private final Selector _selector;
+    private final ThreadPool _parent; // The parent thread pool if this thread pool is a shard.
+    private final ThreadPool[] _shards; // The shards if the thread pool is configured with multiple selectors.
+    private int _nextShard; // For assigning event handlers to shards.
+    private final boolean _virtualThreads;
+    private final java.util.concurrent.ExecutorService _virtualThreadExecutor; // Null if VirtualThreads is disabled.
+    private int _virtualDispatchCount; // Number of dispatches running on virtual threads.
 
     final class EventHandlerThread implements Runnable
     {
@@ -837,7 +1163,8 @@ public final class ThreadPool implements java.util.concurrent.Executor
     private int _inUseIO; // Number of threads that are currently performing IO.
 
     private java.util.List<EventHandlerOpPair> _handlers = new java.util.ArrayList<>();
-    private java.util.Iterator<EventHandlerOpPair> _nextHandler;
+    private int _nextHandler; // Index of the next ready handler in _handlers.
 
     private boolean _promote;
+    private long _lastIO; // Time of the last select returning ready handlers, only used by shards.
 }
@@ -19,6 +19,7 @@ public final class ThreadPoolCurrent
 
     public int operation;
     public com.zeroc.Ice.InputStream stream; // A per-thread stream to be used by event handlers for optimization.
+    public Object handlerData; // Per-thread data cached by event handlers for optimization.
 
     public boolean
     ioReady()
@@ -35,12 +36,13 @@ public final class ThreadPoolCurrent
     public void
     dispatchFromThisThread(DispatchWorkItem workItem)
     {
-        _threadPool.dispatchFromThisThread(workItem);
+        _threadPool.dispatchFromThisThread(workItem, this);
     }
 
     final ThreadPool _threadPool;
     final ThreadPool.EventHandlerThread _thread;
     EventHandler _handler;
     boolean _ioCompleted;
+    boolean _dispatched; // True if the handler is re-enabled by a dispatch running on a virtual thread.
     boolean _leader;
 }
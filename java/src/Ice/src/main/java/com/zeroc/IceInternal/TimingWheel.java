@@ -0,0 +1,457 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// A hierarchical timing wheel used to run timeouts on the communicator
+// timer thread. Scheduling, rescheduling and canceling a timeout are O(1)
+// and don't allocate: timeouts are linked in per-slot lists of 4 wheels of
+// 64 slots each. The first wheel has a resolution of one tick and each
+// following wheel covers 64 times the range of the previous one; timeouts
+// are moved down to the lower wheels as time advances. The timer thread is
+// only woken up when a slot of the first wheel holds timeouts or when
+// timeouts must be moved down from the higher wheels, and it runs all the
+// expired timeouts in a batch.
+//
+public final class TimingWheel
+{
+    //
+    // An entry of the wheel. The wheel links its entries through the entries
+    // themselves, objects which can't be a Timeout because they already
+    // extend another class, such as invocations, implement this interface to
+    // be scheduled on the wheel without allocating a Timeout. The wheel state
+    // accessors are only called by the wheel, with the wheel locked.
+    //
+    public interface Entry
+    {
+        void timeoutExpired();
+
+        long wheelDeadline(); // In ticks
+        void wheelDeadline(long deadline);
+        long wheelPeriod(); // In ticks, 0 if not periodic
+        void wheelPeriod(long period);
+        int wheelSlot();
+        void wheelSlot(int slot);
+        Entry wheelPrev();
+        void wheelPrev(Entry prev);
+        Entry wheelNext();
+        void wheelNext(Entry next);
+    }
+
+    public final class Timeout implements Entry
+    {
+        private Timeout(Runnable task)
+        {
+            _task = task;
+        }
+
+        //
+        // Schedules the timeout to run in delay milliseconds. If the timeout
+        // is already scheduled, it's rescheduled.
+        //
+        public void schedule(long delay)
+        {
+            TimingWheel.this.schedule(this, delay);
+        }
+
+        //
+        // Schedules the timeout to run in delay milliseconds and then every
+        // period milliseconds until it's canceled.
+        //
+        public void scheduleAtFixedRate(long delay, long period)
+        {
+            assert(period > 0);
+            add(this, delay, period);
+        }
+
+        //
+        // Cancels the timeout. Returns false if the timeout wasn't scheduled
+        // or if it's already running.
+        //
+        public boolean cancel()
+        {
+            return TimingWheel.this.cancel(this);
+        }
+
+        @Override
+        public void timeoutExpired()
+        {
+            _task.run();
+        }
+
+        @Override
+        public long wheelDeadline()
+        {
+            return _deadline;
+        }
+
+        @Override
+        public void wheelDeadline(long deadline)
+        {
+            _deadline = deadline;
+        }
+
+        @Override
+        public long wheelPeriod()
+        {
+            return _period;
+        }
+
+        @Override
+        public void wheelPeriod(long period)
+        {
+            _period = period;
+        }
+
+        @Override
+        public int wheelSlot()
+        {
+            return _slot;
+        }
+
+        @Override
+        public void wheelSlot(int slot)
+        {
+            _slot = slot;
+        }
+
+        @Override
+        public Entry wheelPrev()
+        {
+            return _prev;
+        }
+
+        @Override
+        public void wheelPrev(Entry prev)
+        {
+            _prev = prev;
+        }
+
+        @Override
+        public Entry wheelNext()
+        {
+            return _next;
+        }
+
+        @Override
+        public void wheelNext(Entry next)
+        {
+            _next = next;
+        }
+
+        private final Runnable _task;
+        private long _deadline;
+        private long _period;
+        private int _slot = Unscheduled;
+        private Entry _prev;
+        private Entry _next;
+    }
+
+    TimingWheel(java.util.concurrent.ScheduledExecutorService timer, int tick)
+    {
+        _timer = timer;
+        _tickNanos = java.util.concurrent.TimeUnit.MILLISECONDS.toNanos(tick);
+        _start = System.nanoTime();
+    }
+
+    public Timeout createTimeout(Runnable task)
+    {
+        return new Timeout(task);
+    }
+
+    //
+    // Schedules the entry to expire in delay milliseconds. If the entry is
+    // already scheduled, it's rescheduled.
+    //
+    public void schedule(Entry entry, long delay)
+    {
+        add(entry, delay, 0);
+    }
+
+    //
+    // Cancels the entry. Returns false if the entry wasn't scheduled or if
+    // it already expired.
+    //
+    public synchronized boolean cancel(Entry timeout)
+    {
+        if(timeout.wheelSlot() == Unscheduled)
+        {
+            return false;
+        }
+        unlink(timeout);
+        timeout.wheelSlot(Unscheduled);
+        --_count;
+        return true;
+    }
+
+    private synchronized void add(Entry timeout, long delay, long period)
+    {
+        if(timeout.wheelSlot() != Unscheduled)
+        {
+            unlink(timeout);
+        }
+        else
+        {
+            ++_count;
+        }
+
+        if(_count == 1)
+        {
+            //
+            // The wheel was empty, there's no need to process the elapsed
+            // ticks one by one.
+            //
+            _currentTick = java.lang.Math.max(_currentTick, nowTick());
+        }
+
+        timeout.wheelPeriod(period > 0 ? toTicks(java.util.concurrent.TimeUnit.MILLISECONDS.toNanos(period)) : 0);
+        if(delay <= 0)
+        {
+            timeout.wheelDeadline(_currentTick);
+            link(timeout, Expired);
+            wakeUp(_currentTick);
+        }
+        else
+        {
+            timeout.wheelDeadline(toTicks(System.nanoTime() - _start +
+                                          java.util.concurrent.TimeUnit.MILLISECONDS.toNanos(delay)));
+            insert(timeout);
+        }
+    }
+
+    private void run()
+    {
+        synchronized(this)
+        {
+            _wakeUpFuture = null;
+            _wakeUpTick = Long.MIN_VALUE; // No need to wake up while processing the elapsed ticks.
+            advance(nowTick());
+            _wakeUpTick = Long.MAX_VALUE;
+        }
+
+        while(true)
+        {
+            Entry timeout;
+            synchronized(this)
+            {
+                timeout = _slots[Expired];
+                if(timeout == null)
+                {
+                    if(_count > 0)
+                    {
+                        wakeUp(nextTick());
+                    }
+                    return;
+                }
+
+                unlink(timeout);
+                if(timeout.wheelPeriod() > 0)
+                {
+                    timeout.wheelDeadline(java.lang.Math.max(timeout.wheelDeadline() + timeout.wheelPeriod(),
+                                                             _currentTick + 1));
+                    insert(timeout);
+                }
+                else
+                {
+                    timeout.wheelSlot(Unscheduled);
+                    --_count;
+                }
+            }
+
+            try
+            {
+                timeout.timeoutExpired();
+            }
+            catch(Throwable ex)
+            {
+                //
+                // Ignore, like the timer executor ignores exceptions raised by
+                // its tasks, to not prevent the other timeouts from running.
+                //
+            }
+        }
+    }
+
+    //
+    // Process the ticks up to the given tick, moving the expired timeouts to
+    // the expired list.
+    //
+    private void advance(long tick)
+    {
+        while(_currentTick < tick)
+        {
+            final long t = ++_currentTick;
+
+            //
+            // Move the timeouts of the higher wheels down when the lower wheel
+            // wraps around.
+            //
+            for(int level = 1; level < Levels && ((t >> ((level - 1) * SlotBits)) & SlotMask) == 0; ++level)
+            {
+                final int slot = level * Slots + (int)((t >> (level * SlotBits)) & SlotMask);
+                Entry timeout = _slots[slot];
+                _slots[slot] = null;
+                while(timeout != null)
+                {
+                    Entry next = timeout.wheelNext();
+                    insert(timeout);
+                    timeout = next;
+                }
+            }
+
+            final int slot = (int)(t & SlotMask);
+            Entry timeout = _slots[slot];
+            _slots[slot] = null;
+            while(timeout != null)
+            {
+                Entry next = timeout.wheelNext();
+                link(timeout, Expired);
+                timeout = next;
+            }
+        }
+    }
+
+    private void insert(Entry timeout)
+    {
+        long delta = timeout.wheelDeadline() - _currentTick;
+        if(delta <= 0)
+        {
+            link(timeout, Expired);
+            wakeUp(_currentTick);
+            return;
+        }
+
+        //
+        // Timeouts beyond the range of the wheels are put in the farthest
+        // slot of the highest wheel, they are re-inserted when this slot is
+        // moved down.
+        //
+        long deadline = delta < MaxTicks ? timeout.wheelDeadline() : _currentTick + MaxTicks - 1;
+        int level = 0;
+        while(level < Levels - 1 && delta >= (1L << ((level + 1) * SlotBits)))
+        {
+            ++level;
+        }
+        link(timeout, level * Slots + (int)((deadline >> (level * SlotBits)) & SlotMask));
+        if(level == 0)
+        {
+            wakeUp(deadline);
+        }
+        else
+        {
+            wakeUp((_currentTick | SlotMask) + 1); // The next wrap around of the first wheel.
+        }
+    }
+
+    //
+    // Returns the next tick at which the timer thread must be woken up: the
+    // next non-empty slot of the first wheel or its next wrap around.
+    //
+    private long nextTick()
+    {
+        if(_slots[Expired] != null)
+        {
+            return _currentTick;
+        }
+
+        final long end = (_currentTick | SlotMask) + 1;
+        for(long t = _currentTick + 1; t < end; ++t)
+        {
+            if(_slots[(int)(t & SlotMask)] != null)
+            {
+                return t;
+            }
+        }
+        return end;
+    }
+
+    private void wakeUp(long tick)
+    {
+        if(tick >= _wakeUpTick)
+        {
+            return; // The timer thread is already woken up earlier.
+        }
+
+        if(_wakeUpFuture != null)
+        {
+            _wakeUpFuture.cancel(false);
+        }
+        _wakeUpTick = tick;
+        try
+        {
+            _wakeUpFuture = _timer.schedule(_wakeUpTask,
+                                            java.lang.Math.max(0, _start + tick * _tickNanos - System.nanoTime()),
+                                            java.util.concurrent.TimeUnit.NANOSECONDS);
+        }
+        catch(java.util.concurrent.RejectedExecutionException ex)
+        {
+            //
+            // The timer is destroyed, the timeouts will never run.
+            //
+            _wakeUpFuture = null;
+        }
+    }
+
+    private void link(Entry timeout, int slot)
+    {
+        Entry next = _slots[slot];
+        timeout.wheelSlot(slot);
+        timeout.wheelPrev(null);
+        timeout.wheelNext(next);
+        if(next != null)
+        {
+            next.wheelPrev(timeout);
+        }
+        _slots[slot] = timeout;
+    }
+
+    private void unlink(Entry timeout)
+    {
+        Entry prev = timeout.wheelPrev();
+        Entry next = timeout.wheelNext();
+        if(prev != null)
+        {
+            prev.wheelNext(next);
+        }
+        else
+        {
+            _slots[timeout.wheelSlot()] = next;
+        }
+        if(next != null)
+        {
+            next.wheelPrev(prev);
+        }
+        timeout.wheelPrev(null);
+        timeout.wheelNext(null);
+    }
+
+    private long nowTick()
+    {
+        return (System.nanoTime() - _start) / _tickNanos;
+    }
+
+    private long toTicks(long nanos)
+    {
+        return (nanos + _tickNanos - 1) / _tickNanos;
+    }
+
+    private static final int SlotBits = 6;
+    private static final int Slots = 1 << SlotBits;
+    private static final int SlotMask = Slots - 1;
+    private static final int Levels = 4;
+    private static final long MaxTicks = 1L << (Levels * SlotBits);
+    private static final int Expired = Levels * Slots;
+    static final int Unscheduled = -1;
+
+    private final java.util.concurrent.ScheduledExecutorService _timer;
+    private final long _tickNanos;
+    private final long _start;
+    private final Runnable _wakeUpTask = () -> { run(); };
+    private final Entry[] _slots = new Entry[Levels * Slots + 1]; // The last slot holds the expired timeouts
+    private long _currentTick;
+    private int _count;
+    private long _wakeUpTick = Long.MAX_VALUE;
+    private java.util.concurrent.Future<?> _wakeUpFuture;
+}
@@ -437,7 +437,19 @@ public final class TraceUtil
 
                 default:
                 {
-                    out.write("(unknown)");
+                    CompressionCodec codec = stream.instance().compressionCodec(compress);
+                    if(type == Protocol.validateConnectionMsg)
+                    {
+                        out.write("(not compressed; compression statuses understood up to " + (compress & 0xFF) + ")");
+                    }
+                    else if(codec != null)
+                    {
+                        out.write("(compressed with " + codec.name() + "; compress response, if any)");
+                    }
+                    else
+                    {
+                        out.write("(unknown)");
+                    }
                     break;
                 }
             }
@@ -15,6 +15,17 @@ public interface Transceiver
 
     EndpointI bind();
     int write(Buffer buf);
+
+    //
+    // Write the given buffers with a single gathering write. The buffers are written in order
+    // and a buffer is only written once the previous buffers are fully written. Transceivers
+    // which don't support gathering writes only write the first buffer.
+    //
+    default int write(Buffer[] bufs, int count)
+    {
+        return write(bufs[0]);
+    }
+
     int read(Buffer buf);
 
     String protocol();
@@ -0,0 +1,255 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// UTF-8 string codec used by InputStream and OutputStream. Strings are
+// decoded from and encoded into the stream buffer in a single pass, without
+// going through the JDK charset decoders and encoders. ASCII strings, the
+// common case, are detected eight bytes at a time and copied as is.
+//
+public final class Utf8
+{
+    //
+    // Returns true if the len bytes at the given position of the buffer are
+    // all ASCII characters.
+    //
+    public static boolean isAscii(java.nio.ByteBuffer b, int pos, int len)
+    {
+        final int end = pos + len;
+        int i = pos;
+        for(; i + 8 <= end; i += 8)
+        {
+            if((b.getLong(i) & 0x8080808080808080L) != 0)
+            {
+                return false;
+            }
+        }
+        for(; i < end; ++i)
+        {
+            if(b.get(i) < 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static String decodeAscii(byte[] b, int off, int len)
+    {
+        return new String(b, off, len, java.nio.charset.StandardCharsets.ISO_8859_1);
+    }
+
+    //
+    // Decodes len bytes of UTF-8 into the given char array, which must hold
+    // at least len characters. Malformed input raises MarshalException.
+    //
+    public static String decode(byte[] b, int off, int len, char[] chars)
+    {
+        final int end = off + len;
+        int n = 0;
+        int i = off;
+        while(i < end)
+        {
+            final int c = b[i++];
+            if(c >= 0)
+            {
+                chars[n++] = (char)c;
+            }
+            else if((c & 0xE0) == 0xC0)
+            {
+                if(i + 1 > end)
+                {
+                    throw malformed();
+                }
+                final int cp = ((c & 0x1F) << 6) | continuation(b[i++]);
+                if(cp < 0x80)
+                {
+                    throw malformed(); // Overlong encoding
+                }
+                chars[n++] = (char)cp;
+            }
+            else if((c & 0xF0) == 0xE0)
+            {
+                if(i + 2 > end)
+                {
+                    throw malformed();
+                }
+                final int cp = ((c & 0x0F) << 12) | (continuation(b[i]) << 6) | continuation(b[i + 1]);
+                i += 2;
+                if(cp < 0x800 || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE))
+                {
+                    throw malformed(); // Overlong encoding or surrogate
+                }
+                chars[n++] = (char)cp;
+            }
+            else if((c & 0xF8) == 0xF0)
+            {
+                if(i + 3 > end)
+                {
+                    throw malformed();
+                }
+                final int cp = ((c & 0x07) << 18) | (continuation(b[i]) << 12) | (continuation(b[i + 1]) << 6) |
+                    continuation(b[i + 2]);
+                i += 3;
+                if(cp < Character.MIN_SUPPLEMENTARY_CODE_POINT || cp > Character.MAX_CODE_POINT)
+                {
+                    throw malformed(); // Overlong encoding or out of range
+                }
+                chars[n++] = Character.highSurrogate(cp);
+                chars[n++] = Character.lowSurrogate(cp);
+            }
+            else
+            {
+                throw malformed();
+            }
+        }
+        return new String(chars, 0, n);
+    }
+
+    //
+    // Returns the number of bytes of the UTF-8 encoding of the string.
+    // Unpaired surrogates raise MarshalException.
+    //
+    public static int encodedLength(String v)
+    {
+        final int len = v.length();
+        int n = len;
+        for(int i = 0; i < len; ++i)
+        {
+            final char c = v.charAt(i);
+            if(c >= 0x80)
+            {
+                if(c < 0x800)
+                {
+                    n += 1;
+                }
+                else if(Character.isHighSurrogate(c))
+                {
+                    if(i + 1 == len || !Character.isLowSurrogate(v.charAt(i + 1)))
+                    {
+                        throw unpairedSurrogate();
+                    }
+                    ++i;
+                    n += 2; // 4 bytes for 2 chars
+                }
+                else if(Character.isLowSurrogate(c))
+                {
+                    throw unpairedSurrogate();
+                }
+                else
+                {
+                    n += 2;
+                }
+            }
+        }
+        return n;
+    }
+
+    //
+    // Encodes the string at the current position of the buffer, which must
+    // have enough space for the encoded bytes (see encodedLength()), and
+    // advances the buffer position.
+    //
+    public static void encode(String v, java.nio.ByteBuffer b)
+    {
+        final int len = v.length();
+        int pos = b.position();
+        if(b.hasArray())
+        {
+            final byte[] a = b.array();
+            int p = b.arrayOffset() + pos;
+            final int start = p;
+            int i = 0;
+            for(; i < len; ++i) // ASCII prefix
+            {
+                final char c = v.charAt(i);
+                if(c >= 0x80)
+                {
+                    break;
+                }
+                a[p++] = (byte)c;
+            }
+            for(; i < len; ++i)
+            {
+                final char c = v.charAt(i);
+                if(c < 0x80)
+                {
+                    a[p++] = (byte)c;
+                }
+                else if(c < 0x800)
+                {
+                    a[p++] = (byte)(0xC0 | (c >> 6));
+                    a[p++] = (byte)(0x80 | (c & 0x3F));
+                }
+                else if(Character.isHighSurrogate(c))
+                {
+                    final int cp = Character.toCodePoint(c, v.charAt(++i));
+                    a[p++] = (byte)(0xF0 | (cp >> 18));
+                    a[p++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+                    a[p++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+                    a[p++] = (byte)(0x80 | (cp & 0x3F));
+                }
+                else
+                {
+                    a[p++] = (byte)(0xE0 | (c >> 12));
+                    a[p++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+                    a[p++] = (byte)(0x80 | (c & 0x3F));
+                }
+            }
+            pos += p - start;
+        }
+        else
+        {
+            for(int i = 0; i < len; ++i)
+            {
+                final char c = v.charAt(i);
+                if(c < 0x80)
+                {
+                    b.put(pos++, (byte)c);
+                }
+                else if(c < 0x800)
+                {
+                    b.put(pos++, (byte)(0xC0 | (c >> 6)));
+                    b.put(pos++, (byte)(0x80 | (c & 0x3F)));
+                }
+                else if(Character.isHighSurrogate(c))
+                {
+                    final int cp = Character.toCodePoint(c, v.charAt(++i));
+                    b.put(pos++, (byte)(0xF0 | (cp >> 18)));
+                    b.put(pos++, (byte)(0x80 | ((cp >> 12) & 0x3F)));
+                    b.put(pos++, (byte)(0x80 | ((cp >> 6) & 0x3F)));
+                    b.put(pos++, (byte)(0x80 | (cp & 0x3F)));
+                }
+                else
+                {
+                    b.put(pos++, (byte)(0xE0 | (c >> 12)));
+                    b.put(pos++, (byte)(0x80 | ((c >> 6) & 0x3F)));
+                    b.put(pos++, (byte)(0x80 | (c & 0x3F)));
+                }
+            }
+        }
+        ((java.nio.Buffer)b).position(pos);
+    }
+
+    private static int continuation(byte b)
+    {
+        if((b & 0xC0) != 0x80)
+        {
+            throw malformed();
+        }
+        return b & 0x3F;
+    }
+
+    private static com.zeroc.Ice.MarshalException malformed()
+    {
+        return new com.zeroc.Ice.MarshalException("malformed UTF-8 string");
+    }
+
+    private static com.zeroc.Ice.MarshalException unpairedSurrogate()
+    {
+        return new com.zeroc.Ice.MarshalException("string contains an unpaired surrogate");
+    }
+}
@@ -21,10 +21,13 @@ final class ValueFactoryManagerI implements com.zeroc.Ice.ValueFactoryManager
         _factoryMap.put(id, factory);
     }
 
-    public synchronized ValueFactory find(String id)
+    public ValueFactory find(String id)
     {
+        //
+        // No mutex lock, called for each unmarshaled value.
+        //
         return _factoryMap.get(id);
     }
 
-    private java.util.Map<String, ValueFactory> _factoryMap = new java.util.HashMap<>();
+    private java.util.Map<String, ValueFactory> _factoryMap = new java.util.concurrent.ConcurrentHashMap<>();
 }
@@ -0,0 +1,31 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// Virtual threads require Java 21 or later. With Java 21 or later, this class is
+// replaced by the version from the META-INF/versions/21 directory of the Ice JAR
+// file (see src/main/java21).
+//
+final class VirtualThreads
+{
+    static boolean supported()
+    {
+        return false;
+    }
+
+    static boolean isVirtual(Thread thread)
+    {
+        return false;
+    }
+
+    //
+    // Always returns null, callers must check supported() first.
+    //
+    static java.util.concurrent.ExecutorService newExecutor(String name)
+    {
+        return null;
+    }
+}
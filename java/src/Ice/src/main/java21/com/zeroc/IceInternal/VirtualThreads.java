@@ -0,0 +1,31 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package com.zeroc.IceInternal;
+
+//
+// Java 21 version of VirtualThreads, included in the META-INF/versions/21
+// directory of the Ice JAR file.
+//
+final class VirtualThreads
+{
+    static boolean supported()
+    {
+        return true;
+    }
+
+    static boolean isVirtual(Thread thread)
+    {
+        return thread.isVirtual();
+    }
+
+    //
+    // Returns an executor which runs each task on a new virtual thread.
+    //
+    static java.util.concurrent.ExecutorService newExecutor(String name)
+    {
+        java.util.concurrent.ThreadFactory factory = Thread.ofVirtual().name(name + "-", 0).factory();
+        return java.util.concurrent.Executors.newThreadPerTaskExecutor(factory);
+    }
+}
@@ -178,7 +178,48 @@ final class TransceiverI implements com.zeroc.IceInternal.Transceiver
             return _delegate.write(buf);
         }
 
-        int status = writeNonBlocking(buf.b);
+        _writeBuffers[0] = buf.b;
+        int status;
+        try
+        {
+            status = writeNonBlocking(_writeBuffers, 1);
+        }
+        finally
+        {
+            _writeBuffers[0] = null;
+        }
+        assert(status == SocketOperation.None || status == SocketOperation.Write);
+        return status;
+    }
+
+    @Override
+    public int write(com.zeroc.IceInternal.Buffer[] bufs, int count)
+    {
+        if(!_isConnected)
+        {
+            return _delegate.write(bufs[0]);
+        }
+
+        //
+        // Encrypt the buffers together, small messages are sent with a single TLS record.
+        //
+        if(_writeBuffers.length < count)
+        {
+            _writeBuffers = new ByteBuffer[count];
+        }
+        for(int i = 0; i < count; ++i)
+        {
+            _writeBuffers[i] = bufs[i].b;
+        }
+        int status;
+        try
+        {
+            status = writeNonBlocking(_writeBuffers, count);
+        }
+        finally
+        {
+            java.util.Arrays.fill(_writeBuffers, 0, count, null);
+        }
         assert(status == SocketOperation.None || status == SocketOperation.Write);
         return status;
     }
@@ -451,23 +492,34 @@ final class TransceiverI implements com.zeroc.IceInternal.Transceiver
         return SocketOperation.None;
     }
 
-    private int writeNonBlocking(ByteBuffer buf)
+    private int writeNonBlocking(ByteBuffer[] bufs, int count)
     {
         //
-        // This method has two purposes: encrypt the application's message buffer into our
+        // This method has two purposes: encrypt the application's message buffers into our
         // _netOutput buffer, and write the contents of _netOutput to the socket without
         // blocking.
         //
         try
         {
-            while(buf.hasRemaining() || _netOutput.b.position() > 0)
+            int first = 0;
+            while(true)
             {
-                if(buf.hasRemaining())
+                while(first < count && !bufs[first].hasRemaining())
+                {
+                    ++first;
+                }
+
+                if(first == count && _netOutput.b.position() == 0)
+                {
+                    break;
+                }
+
+                if(first < count)
                 {
                     //
-                    // Encrypt the buffer.
+                    // Encrypt the buffers.
                     //
-                    SSLEngineResult result = _engine.wrap(buf, _netOutput.b);
+                    SSLEngineResult result = _engine.wrap(bufs, first, count - first, _netOutput.b);
                     switch(result.getStatus())
                     {
                     case BUFFER_OVERFLOW:
@@ -590,6 +642,7 @@ final class TransceiverI implements com.zeroc.IceInternal.Transceiver
     private ByteBuffer _appInput; // Holds clear-text data to be read by the application.
     private com.zeroc.IceInternal.Buffer _netInput; // Holds encrypted data read from the socket.
     private com.zeroc.IceInternal.Buffer _netOutput; // Holds encrypted data to be written to the socket.
+    private ByteBuffer[] _writeBuffers = new ByteBuffer[1]; // Holds the application buffers being encrypted.
     private static ByteBuffer _emptyBuffer = ByteBuffer.allocate(0); // Used during handshaking.
 
     private String _cipher;
@@ -0,0 +1,59 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Compares oneway invocations on a stored proxy with invocations on a proxy
+// derived for each call with ice_oneway() and ice_invocationTimeout().
+//
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class DerivedProxyBenchmark
+{
+    @Setup
+    public void setup()
+    {
+        com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+        initData.properties = com.zeroc.Ice.Util.createProperties();
+        initData.properties.setProperty("BenchmarkAdapter.Endpoints", "tcp -h 127.0.0.1");
+        _communicator = com.zeroc.Ice.Util.initialize(initData);
+
+        com.zeroc.Ice.ObjectAdapter adapter = _communicator.createObjectAdapter("BenchmarkAdapter");
+        com.zeroc.Ice.ObjectPrx obj = adapter.add(new com.zeroc.Ice.Object() {},
+                                                  com.zeroc.Ice.Util.stringToIdentity("ping"));
+        adapter.activate();
+
+        _proxy = obj.ice_collocationOptimized(false);
+        _storedProxy = _proxy.ice_oneway().ice_invocationTimeout(5000);
+        _proxy.ice_ping();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public void storedProxy()
+    {
+        _storedProxy.ice_ping();
+    }
+
+    @Benchmark
+    public void derivedProxy()
+    {
+        _proxy.ice_oneway().ice_invocationTimeout(5000).ice_ping();
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private com.zeroc.Ice.ObjectPrx _proxy;
+    private com.zeroc.Ice.ObjectPrx _storedProxy;
+}
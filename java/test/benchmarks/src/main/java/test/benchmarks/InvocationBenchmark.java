@@ -0,0 +1,57 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Measures synchronous twoway invocations over a loopback TCP connection.
+// Run with the gc profiler to measure the bytes allocated per invocation
+// (gc.alloc.rate.norm), see build.gradle.
+//
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class InvocationBenchmark
+{
+    @Setup
+    public void setup()
+    {
+        com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+        initData.properties = com.zeroc.Ice.Util.createProperties();
+        initData.properties.setProperty("Ice.ACM.Client.Heartbeat", "0");
+        initData.properties.setProperty("Ice.ACM.Server.Heartbeat", "0");
+        initData.properties.setProperty("BenchmarkAdapter.Endpoints", "tcp -h 127.0.0.1");
+        _communicator = com.zeroc.Ice.Util.initialize(initData);
+
+        com.zeroc.Ice.ObjectAdapter adapter = _communicator.createObjectAdapter("BenchmarkAdapter");
+        com.zeroc.Ice.ObjectPrx obj = adapter.add(new com.zeroc.Ice.Object() {},
+                                                  com.zeroc.Ice.Util.stringToIdentity("ping"));
+        adapter.activate();
+
+        //
+        // Disable collocation optimization to go through the TCP connection.
+        //
+        _proxy = obj.ice_collocationOptimized(false);
+        _proxy.ice_ping();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public void ping()
+    {
+        _proxy.ice_ping();
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private com.zeroc.Ice.ObjectPrx _proxy;
+}
@@ -0,0 +1,112 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Measures the throughput of invocations whose servant makes a nested blocking
+// invocation on a slow backend, with the leader/follower server thread pool
+// and with VirtualThreads. Both thread pools use 4 threads: with the leader/
+// follower pool the nested invocations block the pool threads, with
+// VirtualThreads they only block the virtual threads running the dispatches.
+//
+// VirtualThreads requires Java 21 or later, with older Java versions it's
+// ignored and both modes measure the leader/follower pool.
+//
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class NestedInvocationBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Communicators
+    {
+        @Param({"platform", "virtual"})
+        public String threads;
+
+        @Setup
+        public void setup()
+        {
+            //
+            // The backend takes 1ms to dispatch each request, its thread pool
+            // is large enough to not limit the throughput.
+            //
+            com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+            initData.properties = com.zeroc.Ice.Util.createProperties();
+            initData.properties.setProperty("Ice.ThreadPool.Server.Size", "64");
+            initData.properties.setProperty("BackendAdapter.Endpoints", "tcp -h 127.0.0.1");
+            _backendCommunicator = com.zeroc.Ice.Util.initialize(initData);
+            com.zeroc.Ice.ObjectAdapter adapter = _backendCommunicator.createObjectAdapter("BackendAdapter");
+            com.zeroc.Ice.ObjectPrx backend = adapter.add(
+                new com.zeroc.Ice.Object()
+                {
+                    @Override
+                    public void ice_ping(com.zeroc.Ice.Current current)
+                    {
+                        try
+                        {
+                            Thread.sleep(1);
+                        }
+                        catch(InterruptedException ex)
+                        {
+                        }
+                    }
+                },
+                com.zeroc.Ice.Util.stringToIdentity("backend"));
+            adapter.activate();
+
+            initData = new com.zeroc.Ice.InitializationData();
+            initData.properties = com.zeroc.Ice.Util.createProperties();
+            initData.properties.setProperty("Ice.ThreadPool.Server.Size", "4");
+            initData.properties.setProperty("Ice.ThreadPool.Server.SizeMax", "4");
+            initData.properties.setProperty("Ice.ThreadPool.Server.SizeWarn", "0");
+            initData.properties.setProperty("Ice.ThreadPool.Server.VirtualThreads",
+                                            threads.equals("virtual") ? "1" : "0");
+            initData.properties.setProperty("Ice.ThreadPool.Client.Size", "4");
+            initData.properties.setProperty("Ice.ThreadPool.Client.SizeMax", "4");
+            initData.properties.setProperty("FrontendAdapter.Endpoints", "tcp -h 127.0.0.1");
+            _frontendCommunicator = com.zeroc.Ice.Util.initialize(initData);
+            final com.zeroc.Ice.ObjectPrx nested = _frontendCommunicator.stringToProxy(backend.toString());
+            adapter = _frontendCommunicator.createObjectAdapter("FrontendAdapter");
+            com.zeroc.Ice.ObjectPrx frontend = adapter.add(
+                new com.zeroc.Ice.Object()
+                {
+                    @Override
+                    public void ice_ping(com.zeroc.Ice.Current current)
+                    {
+                        nested.ice_ping();
+                    }
+                },
+                com.zeroc.Ice.Util.stringToIdentity("frontend"));
+            adapter.activate();
+
+            _communicator = com.zeroc.Ice.Util.initialize();
+            proxy = _communicator.stringToProxy(frontend.toString());
+            proxy.ice_ping();
+        }
+
+        @TearDown
+        public void tearDown()
+        {
+            _communicator.destroy();
+            _frontendCommunicator.destroy();
+            _backendCommunicator.destroy();
+        }
+
+        com.zeroc.Ice.ObjectPrx proxy;
+        private com.zeroc.Ice.Communicator _backendCommunicator;
+        private com.zeroc.Ice.Communicator _frontendCommunicator;
+        private com.zeroc.Ice.Communicator _communicator;
+    }
+
+    @Benchmark
+    public void nestedPing(Communicators communicators)
+    {
+        communicators.proxy.ice_ping();
+    }
+}
@@ -0,0 +1,102 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import test.Ice.operations.MyDerivedClassI;
+import test.Ice.operations.Test.*;
+
+//
+// Measures the dispatch and the marshaling code generated for the
+// Ice/operations Slice definitions, see build.gradle.
+//
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class OperationsBenchmark
+{
+    @Setup
+    public void setup()
+    {
+        _communicator = com.zeroc.Ice.Util.initialize();
+        com.zeroc.Ice.ObjectAdapter adapter = _communicator.createObjectAdapter("");
+        com.zeroc.Ice.ObjectPrx obj = adapter.add(new MyDerivedClassI(), com.zeroc.Ice.Util.stringToIdentity("test"));
+        _proxy = MyClassPrx.uncheckedCast(obj);
+        adapter.activate();
+
+        _structMap = new java.util.HashMap<>();
+        for(int i = 0; i < 100; ++i)
+        {
+            _structMap.put(new MyStruct(i, -i), MyEnum.values()[i % 3]);
+        }
+
+        _stringMaps = new java.util.ArrayList<>();
+        for(int i = 0; i < 10; ++i)
+        {
+            java.util.Map<String, String> m = new java.util.HashMap<>();
+            for(int j = 0; j < 50; ++j)
+            {
+                m.put("key" + j, "value" + i + "." + j);
+            }
+            _stringMaps.add(m);
+        }
+
+        com.zeroc.Ice.OutputStream ostr = new com.zeroc.Ice.OutputStream(_communicator);
+        MyStructMyEnumDHelper.write(ostr, _structMap);
+        _encodedStructMap = ostr.finished();
+
+        ostr = new com.zeroc.Ice.OutputStream(_communicator);
+        StringStringDSHelper.write(ostr, _stringMaps);
+        _encodedStringMaps = ostr.finished();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public void opVoid()
+    {
+        _proxy.opVoid();
+    }
+
+    @Benchmark
+    public MyClass.OpByteResult opByte()
+    {
+        return _proxy.opByte((byte)0xff, (byte)0x0f);
+    }
+
+    @Benchmark
+    public byte[] writeStructMap()
+    {
+        com.zeroc.Ice.OutputStream ostr = new com.zeroc.Ice.OutputStream(_communicator);
+        MyStructMyEnumDHelper.write(ostr, _structMap);
+        return ostr.finished();
+    }
+
+    @Benchmark
+    public java.util.Map<MyStruct, MyEnum> readStructMap()
+    {
+        return MyStructMyEnumDHelper.read(new com.zeroc.Ice.InputStream(_communicator, _encodedStructMap));
+    }
+
+    @Benchmark
+    public java.util.List<java.util.Map<String, String>> readStringMaps()
+    {
+        return StringStringDSHelper.read(new com.zeroc.Ice.InputStream(_communicator, _encodedStringMaps));
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private MyClassPrx _proxy;
+    private java.util.Map<MyStruct, MyEnum> _structMap;
+    private java.util.ArrayList<java.util.Map<String, String>> _stringMaps;
+    private byte[] _encodedStructMap;
+    private byte[] _encodedStringMaps;
+}
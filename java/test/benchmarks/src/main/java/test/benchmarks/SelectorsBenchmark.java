@@ -0,0 +1,76 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Measures how the throughput of twoway invocations from many connections
+// scales with the number of selectors (thread pool shards) of the client and
+// server thread pools. Each benchmark thread uses its own connection.
+//
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class SelectorsBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Communicators
+    {
+        @Param({"1", "2", "4"})
+        public int selectors;
+
+        @Setup
+        public void setup()
+        {
+            com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+            initData.properties = com.zeroc.Ice.Util.createProperties();
+            initData.properties.setProperty("Ice.ThreadPool.Server.Selectors", Integer.toString(selectors));
+            initData.properties.setProperty("Ice.ThreadPool.Client.Selectors", Integer.toString(selectors));
+            initData.properties.setProperty("BenchmarkAdapter.Endpoints", "tcp -h 127.0.0.1");
+            _serverCommunicator = com.zeroc.Ice.Util.initialize(initData);
+
+            com.zeroc.Ice.ObjectAdapter adapter = _serverCommunicator.createObjectAdapter("BenchmarkAdapter");
+            com.zeroc.Ice.ObjectPrx obj = adapter.add(new com.zeroc.Ice.Object() {},
+                                                      com.zeroc.Ice.Util.stringToIdentity("ping"));
+            adapter.activate();
+
+            _communicator = com.zeroc.Ice.Util.initialize(initData);
+            proxy = _communicator.stringToProxy(obj.toString());
+        }
+
+        @TearDown
+        public void tearDown()
+        {
+            _communicator.destroy();
+            _serverCommunicator.destroy();
+        }
+
+        com.zeroc.Ice.ObjectPrx proxy;
+        private com.zeroc.Ice.Communicator _serverCommunicator;
+        private com.zeroc.Ice.Communicator _communicator;
+    }
+
+    @State(Scope.Thread)
+    public static class Connection
+    {
+        @Setup
+        public void setup(Communicators communicators)
+        {
+            proxy = communicators.proxy.ice_connectionId(java.util.UUID.randomUUID().toString());
+            proxy.ice_ping();
+        }
+
+        com.zeroc.Ice.ObjectPrx proxy;
+    }
+
+    @Benchmark
+    public void ping(Connection connection)
+    {
+        connection.proxy.ice_ping();
+    }
+}
@@ -0,0 +1,139 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Measures the servant lookups performed by each dispatch, from many threads
+// concurrently: the lookup of the servant of a registered identity, and the
+// lookup of a servant locator when no servant is registered for the identity.
+// The lookup benchmarks run while another thread adds and removes servants
+// with the writer group.
+//
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServantLookupBenchmark
+{
+    @State(Scope.Benchmark)
+    public static class Adapter
+    {
+        @Param({"1000"})
+        public int servants;
+
+        @Setup
+        public void setup()
+        {
+            _communicator = com.zeroc.Ice.Util.initialize();
+            com.zeroc.Ice.ObjectAdapter adapter = _communicator.createObjectAdapter("");
+            com.zeroc.Ice.Object servant = new com.zeroc.Ice.Object() {};
+            identities = new com.zeroc.Ice.Identity[servants];
+            for(int i = 0; i < servants; ++i)
+            {
+                identities[i] = new com.zeroc.Ice.Identity("servant-" + i, "");
+                adapter.add(servant, identities[i]);
+            }
+            adapter.addServantLocator(new com.zeroc.Ice.ServantLocator()
+                {
+                    @Override
+                    public com.zeroc.Ice.ServantLocator.LocateResult locate(com.zeroc.Ice.Current current)
+                    {
+                        return new com.zeroc.Ice.ServantLocator.LocateResult();
+                    }
+
+                    @Override
+                    public void finished(com.zeroc.Ice.Current current, com.zeroc.Ice.Object servant,
+                                         java.lang.Object cookie)
+                    {
+                    }
+
+                    @Override
+                    public void deactivate(String category)
+                    {
+                    }
+                }, "located");
+            located = new com.zeroc.Ice.Identity("servant", "located");
+
+            //
+            // The dispatches use the servant manager directly, without the
+            // object adapter lock.
+            //
+            servantManager = ((com.zeroc.Ice.ObjectAdapterI)adapter).getServantManager();
+            this.adapter = adapter;
+            this.servant = servant;
+        }
+
+        @TearDown
+        public void tearDown()
+        {
+            _communicator.destroy();
+        }
+
+        com.zeroc.Ice.ObjectAdapter adapter;
+        com.zeroc.Ice.Object servant;
+        com.zeroc.IceInternal.ServantManager servantManager;
+        com.zeroc.Ice.Identity[] identities;
+        com.zeroc.Ice.Identity located;
+        private com.zeroc.Ice.Communicator _communicator;
+    }
+
+    @State(Scope.Thread)
+    public static class Lookup
+    {
+        com.zeroc.Ice.Identity next(Adapter adapter)
+        {
+            _index = (_index + 1) % adapter.identities.length;
+            return adapter.identities[_index];
+        }
+
+        private int _index = java.util.concurrent.ThreadLocalRandom.current().nextInt(1000);
+    }
+
+    @Benchmark
+    @Group("findServant")
+    @GroupThreads(8)
+    public com.zeroc.Ice.Object findServant(Adapter adapter, Lookup lookup)
+    {
+        return adapter.servantManager.findServant(lookup.next(adapter), "");
+    }
+
+    @Benchmark
+    @Group("findServant")
+    @GroupThreads(1)
+    public void findServantWriter(Adapter adapter)
+    {
+        addRemove(adapter);
+    }
+
+    @Benchmark
+    @Group("findServantLocator")
+    @GroupThreads(8)
+    public com.zeroc.Ice.ServantLocator findServantLocator(Adapter adapter)
+    {
+        com.zeroc.IceInternal.ServantManager servantManager = adapter.servantManager;
+        if(servantManager.hasServant(adapter.located))
+        {
+            return null;
+        }
+        return servantManager.findServantLocator(adapter.located.category);
+    }
+
+    @Benchmark
+    @Group("findServantLocator")
+    @GroupThreads(1)
+    public void findServantLocatorWriter(Adapter adapter)
+    {
+        addRemove(adapter);
+    }
+
+    private static void addRemove(Adapter adapter)
+    {
+        com.zeroc.Ice.Identity identity = new com.zeroc.Ice.Identity("added", "");
+        adapter.adapter.add(adapter.servant, identity);
+        adapter.adapter.remove(identity);
+    }
+}
@@ -0,0 +1,102 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Measures the marshaling and unmarshaling of strings with OutputStream.writeString
+// and InputStream.readString. As a reference, jdkEncode and jdkDecode measure the
+// JDK UTF-8 codec on its own, without the stream buffer and the size prefix; the
+// streams used it for non-ASCII strings before they got their own codec.
+//
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class StringCodecBenchmark
+{
+    @Param({"ascii", "asciiLong", "latin", "cjk"})
+    public String text;
+
+    @Setup
+    public void setup()
+    {
+        switch(text)
+        {
+        case "ascii":
+            _value = "ice_isA";
+            break;
+        case "asciiLong":
+            _value = repeat("The quick brown fox jumps over the lazy dog. ", 10);
+            break;
+        case "latin":
+            _value = repeat("Le c\u0153ur d\u00e9\u00e7u mais l'\u00e2me plut\u00f4t na\u00efve. ", 10);
+            break;
+        case "cjk":
+            _value = repeat("\u5206\u5e03\u5f0f\u5bf9\u8c61\u4e2d\u95f4\u4ef6\u3002", 20);
+            break;
+        default:
+            throw new IllegalArgumentException(text);
+        }
+
+        _communicator = com.zeroc.Ice.Util.initialize();
+        _os = new com.zeroc.Ice.OutputStream(_communicator);
+        _os.writeString(_value);
+        _is = new com.zeroc.Ice.InputStream(_communicator, _os.finished());
+        _bytes = _value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public int writeString()
+    {
+        _os.reset();
+        _os.writeString(_value);
+        return _os.size();
+    }
+
+    @Benchmark
+    public String readString()
+    {
+        _is.pos(0);
+        return _is.readString();
+    }
+
+    @Benchmark
+    public byte[] jdkEncode()
+    {
+        return _value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String jdkDecode()
+    {
+        return new String(_bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String repeat(String s, int count)
+    {
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < count; ++i)
+        {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private com.zeroc.Ice.OutputStream _os;
+    private com.zeroc.Ice.InputStream _is;
+    private String _value;
+    private byte[] _bytes;
+}
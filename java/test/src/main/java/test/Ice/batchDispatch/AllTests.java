@@ -0,0 +1,161 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.Ice.batchDispatch;
+
+import java.io.PrintWriter;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    //
+    // Records the order of the dispatches and the maximum number of concurrent
+    // dispatches.
+    //
+    static class TestI implements com.zeroc.Ice.Blobject
+    {
+        @Override
+        public com.zeroc.Ice.Object.Ice_invokeResult ice_invoke(byte[] inParams, com.zeroc.Ice.Current current)
+        {
+            synchronized(this)
+            {
+                _operations.add(current.operation);
+                _maxConcurrent = Math.max(_maxConcurrent, ++_concurrent);
+            }
+
+            try
+            {
+                Thread.sleep(20);
+            }
+            catch(InterruptedException ex)
+            {
+            }
+
+            synchronized(this)
+            {
+                --_concurrent;
+                ++_count;
+                notifyAll();
+            }
+            return new com.zeroc.Ice.Object.Ice_invokeResult(true, new byte[0]);
+        }
+
+        synchronized void waitForDispatches(int count)
+        {
+            while(_count < count)
+            {
+                try
+                {
+                    wait();
+                }
+                catch(InterruptedException ex)
+                {
+                }
+            }
+        }
+
+        synchronized java.util.List<String> operations()
+        {
+            return new java.util.ArrayList<>(_operations);
+        }
+
+        synchronized int maxConcurrent()
+        {
+            return _maxConcurrent;
+        }
+
+        private final java.util.List<String> _operations = new java.util.ArrayList<>();
+        private int _concurrent;
+        private int _maxConcurrent;
+        private int _count;
+    }
+
+    private static TestI createAdapter(test.TestHelper helper, com.zeroc.Ice.Communicator communicator, String name,
+                                       int num)
+    {
+        communicator.getProperties().setProperty(name + ".Endpoints", helper.getTestEndpoint(num));
+        communicator.getProperties().setProperty(name + ".ThreadPool.Size", "4");
+        com.zeroc.Ice.ObjectAdapter adapter = communicator.createObjectAdapter(name);
+        TestI servant = new TestI();
+        adapter.add(servant, com.zeroc.Ice.Util.stringToIdentity("test"));
+        adapter.activate();
+        return servant;
+    }
+
+    private static java.util.List<String> sendBatch(test.TestHelper helper, com.zeroc.Ice.Communicator communicator,
+                                                    int num, int count)
+    {
+        com.zeroc.Ice.ObjectPrx prx = communicator.stringToProxy("test:" + helper.getTestEndpoint(num));
+        prx = prx.ice_batchOneway();
+        java.util.List<String> operations = new java.util.ArrayList<>();
+        for(int i = 0; i < count; ++i)
+        {
+            operations.add("op" + i);
+            prx.ice_invoke("op" + i, com.zeroc.Ice.OperationMode.Normal, new byte[0]);
+        }
+        prx.ice_flushBatchRequests();
+        return operations;
+    }
+
+    public static void allTests(test.TestHelper helper, String[] args)
+    {
+        PrintWriter out = helper.getWriter();
+
+        com.zeroc.Ice.Properties properties = helper.createTestProperties(args);
+        properties.setProperty("Ice.Warn.Connections", "0");
+
+        try(com.zeroc.Ice.Communicator serverCommunicator = helper.initialize(properties._clone());
+            com.zeroc.Ice.Communicator communicator = helper.initialize(properties._clone()))
+        {
+            final int count = 16;
+
+            out.print("testing sequential batch dispatch... ");
+            out.flush();
+            {
+                TestI servant = createAdapter(helper, serverCommunicator, "SequentialAdapter", 0);
+                java.util.List<String> operations = sendBatch(helper, communicator, 0, count);
+                servant.waitForDispatches(count);
+                test(servant.operations().equals(operations));
+                test(servant.maxConcurrent() == 1);
+            }
+            out.println("ok");
+
+            out.print("testing parallel batch dispatch... ");
+            out.flush();
+            {
+                serverCommunicator.getProperties().setProperty("ParallelAdapter.ParallelBatchDispatch", "1");
+                TestI servant = createAdapter(helper, serverCommunicator, "ParallelAdapter", 1);
+                java.util.List<String> operations = sendBatch(helper, communicator, 1, count);
+                servant.waitForDispatches(count);
+                java.util.List<String> dispatched = servant.operations();
+                test(dispatched.size() == count && dispatched.containsAll(operations));
+                test(servant.maxConcurrent() > 1);
+            }
+            out.println("ok");
+
+            out.print("testing parallel batch dispatch with serialization... ");
+            out.flush();
+            {
+                serverCommunicator.getProperties().setProperty("SerializedAdapter.ParallelBatchDispatch", "1");
+                serverCommunicator.getProperties().setProperty("SerializedAdapter.ThreadPool.Serialize", "1");
+                TestI servant = createAdapter(helper, serverCommunicator, "SerializedAdapter", 2);
+                for(int i = 0; i < 3; ++i)
+                {
+                    java.util.List<String> operations = sendBatch(helper, communicator, 2, count);
+                    servant.waitForDispatches((i + 1) * count);
+                    test(servant.operations().subList(i * count, (i + 1) * count).equals(operations));
+                }
+                test(servant.maxConcurrent() == 1);
+            }
+            out.println("ok");
+        }
+    }
+}
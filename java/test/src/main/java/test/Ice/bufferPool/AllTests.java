@@ -0,0 +1,242 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.Ice.bufferPool;
+
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+
+import com.zeroc.IceInternal.Buffer;
+import com.zeroc.IceInternal.BufferPool;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    public static void allTests(test.TestHelper helper)
+    {
+        PrintWriter out = helper.getWriter();
+
+        out.print("testing allocate and release... ");
+        out.flush();
+        {
+            BufferPool pool = new BufferPool(1024 * 1024);
+            ByteBuffer b = pool.allocate(100, false);
+            test(b.capacity() == 256 && !b.isDirect());
+            test(pool.hits() == 0 && pool.misses() == 1);
+            b.putInt(10);
+            pool.release(b);
+            test(pool.bytesHeld() == 256);
+
+            ByteBuffer b2 = pool.allocate(200, false);
+            test(b2 == b);
+            test(b2.position() == 0 && b2.limit() == b2.capacity()); // The buffer is cleared.
+            test(pool.hits() == 1 && pool.bytesHeld() == 0);
+
+            //
+            // Heap and direct buffers are kept apart.
+            //
+            pool.release(b2);
+            ByteBuffer d = pool.allocate(256, true);
+            test(d != b2 && d.isDirect());
+            pool.release(d);
+            test(pool.allocate(256, true) == d);
+            test(pool.allocate(256, false) == b2);
+
+            //
+            // Released buffers beyond the thread cache go to the shared stacks.
+            //
+            ByteBuffer[] buffers = new ByteBuffer[4];
+            for(int i = 0; i < buffers.length; ++i)
+            {
+                buffers[i] = pool.allocate(1024, false);
+            }
+            for(ByteBuffer buf : buffers)
+            {
+                pool.release(buf);
+            }
+            test(pool.bytesHeld() == 4 * 1024);
+            java.util.Set<ByteBuffer> allocated = java.util.Collections.newSetFromMap(new java.util.IdentityHashMap<>());
+            for(int i = 0; i < buffers.length; ++i)
+            {
+                allocated.add(pool.allocate(1000, false));
+            }
+            for(ByteBuffer buf : buffers)
+            {
+                test(allocated.contains(buf));
+            }
+            test(pool.bytesHeld() == 0);
+        }
+        out.println("ok");
+
+        out.print("testing size classes... ");
+        out.flush();
+        {
+            BufferPool pool = new BufferPool(16 * 1024 * 1024);
+            test(pool.allocate(1, false).capacity() == 256);
+            test(pool.allocate(256, false).capacity() == 256);
+            test(pool.allocate(257, false).capacity() == 512);
+            test(pool.allocate(64 * 1024 + 1, false).capacity() == 128 * 1024);
+            test(pool.allocate(1024 * 1024, false).capacity() == 1024 * 1024);
+
+            //
+            // Larger buffers aren't pooled.
+            //
+            ByteBuffer large = pool.allocate(1024 * 1024 + 1, false);
+            test(large.capacity() == 1024 * 1024 + 1);
+            pool.release(large);
+            test(pool.bytesHeld() == 0);
+            pool.release(ByteBuffer.allocate(2 * 1024 * 1024));
+            test(pool.bytesHeld() == 0);
+
+            //
+            // Neither are buffers which don't match a size class or read-only buffers.
+            //
+            pool.release(ByteBuffer.allocate(1000));
+            pool.release(ByteBuffer.allocate(128));
+            pool.release(ByteBuffer.allocate(1024).asReadOnlyBuffer());
+            test(pool.bytesHeld() == 0);
+        }
+        out.println("ok");
+
+        out.print("testing pool size limit... ");
+        out.flush();
+        {
+            BufferPool pool = new BufferPool(4 * 1024);
+            for(int i = 0; i < 8; ++i)
+            {
+                pool.release(ByteBuffer.allocate(1024));
+                test(pool.bytesHeld() <= 4 * 1024);
+            }
+            test(pool.bytesHeld() == 4 * 1024);
+            for(int i = 0; i < 8; ++i)
+            {
+                pool.allocate(1024, false);
+            }
+            test(pool.bytesHeld() == 0);
+            test(pool.hits() == 4 && pool.misses() == 4);
+
+            //
+            // The buffers held by the thread caches count toward the pool size.
+            //
+            Thread[] threads = new Thread[8];
+            for(int i = 0; i < threads.length; ++i)
+            {
+                threads[i] = new Thread(() -> pool.release(ByteBuffer.allocate(1024)));
+                threads[i].start();
+            }
+            for(Thread thread : threads)
+            {
+                join(thread);
+            }
+            test(pool.bytesHeld() == 4 * 1024);
+            threads = null;
+
+            //
+            // The buffers of the caches of terminated threads are reclaimed
+            // once the threads are garbage collected.
+            //
+            int retry = 0;
+            while(pool.bytesHeld() == 4 * 1024)
+            {
+                test(++retry < 100);
+                System.gc();
+                try
+                {
+                    Thread.sleep(10);
+                }
+                catch(InterruptedException ex)
+                {
+                }
+                pool.release(ByteBuffer.allocate(1024));
+            }
+            test(pool.bytesHeld() < 4 * 1024);
+        }
+        out.println("ok");
+
+        out.print("testing buffer ownership... ");
+        out.flush();
+        {
+            BufferPool pool = new BufferPool(1024 * 1024);
+
+            //
+            // A buffer returns its pooled memory to the pool when cleared.
+            //
+            Buffer buf = new Buffer(false, pool);
+            buf.resize(1000, false);
+            ByteBuffer b = buf.b;
+            test(b.capacity() == 1024 && pool.bytesHeld() == 0);
+            buf.clear();
+            test(pool.bytesHeld() == 1024);
+
+            //
+            // An adopting buffer takes ownership of the pooled memory.
+            //
+            buf.resize(1000, false);
+            test(buf.b == b && pool.bytesHeld() == 0);
+            Buffer adopter = new Buffer(buf, true);
+            test(adopter.b == b && buf.empty());
+            buf.clear();
+            test(pool.bytesHeld() == 0);
+            adopter.clear();
+            test(pool.bytesHeld() == 1024);
+
+            //
+            // A non-adopting copy doesn't.
+            //
+            buf.resize(1000, false);
+            Buffer copy = new Buffer(buf, false);
+            copy.clear();
+            test(pool.bytesHeld() == 0);
+            buf.clear();
+            test(pool.bytesHeld() == 1024);
+
+            //
+            // Swapping buffers swaps the ownership.
+            //
+            buf.resize(1000, false);
+            Buffer other = new Buffer(false);
+            other.resize(1000, false);
+            buf.swap(other);
+            test(other.b == b);
+            buf.clear();
+            test(pool.bytesHeld() == 0);
+            other.clear();
+            test(pool.bytesHeld() == 1024);
+
+            //
+            // Growing a buffer returns the smaller buffer to the pool.
+            //
+            buf = new Buffer(false, pool);
+            buf.resize(1000, false);
+            test(buf.b == b);
+            buf.resize(2000, false);
+            test(buf.b.capacity() == 2048 && pool.bytesHeld() == 1024);
+            buf.clear();
+            test(pool.bytesHeld() == 1024 + 2048);
+        }
+        out.println("ok");
+    }
+
+    private static void join(Thread thread)
+    {
+        while(true)
+        {
+            try
+            {
+                thread.join();
+                return;
+            }
+            catch(InterruptedException ex)
+            {
+            }
+        }
+    }
+}
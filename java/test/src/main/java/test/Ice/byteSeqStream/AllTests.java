@@ -0,0 +1,252 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.Ice.byteSeqStream;
+
+import java.io.PrintWriter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import com.zeroc.Ice.ByteSeqReceiver;
+import com.zeroc.Ice.ByteSeqSender;
+import com.zeroc.Ice.Object.Ice_invokeBufferResult;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    //
+    // Forwards the chunks to a receiver and delays the responses, to record the
+    // number of chunks sent ahead of the responses.
+    //
+    static class DelayI implements com.zeroc.Ice.BlobjectBufferAsync
+    {
+        DelayI(ByteSeqReceiver receiver, java.util.concurrent.ScheduledExecutorService executor)
+        {
+            _receiver = receiver;
+            _executor = executor;
+        }
+
+        @Override
+        public CompletionStage<Ice_invokeBufferResult> ice_invokeAsync(java.nio.ByteBuffer inEncaps,
+                                                                       com.zeroc.Ice.Current current)
+        {
+            synchronized(this)
+            {
+                ++_pending;
+                _maxPending = java.lang.Math.max(_maxPending, _pending);
+            }
+
+            CompletableFuture<Ice_invokeBufferResult> result = new CompletableFuture<>();
+            _receiver.ice_invokeAsync(inEncaps, current).whenComplete((r, ex) ->
+                {
+                    _executor.schedule(() ->
+                        {
+                            synchronized(this)
+                            {
+                                --_pending;
+                            }
+                            if(ex != null)
+                            {
+                                result.completeExceptionally(ex);
+                            }
+                            else
+                            {
+                                result.complete(r);
+                            }
+                        }, 2, java.util.concurrent.TimeUnit.MILLISECONDS);
+                });
+            return result;
+        }
+
+        synchronized int maxPending()
+        {
+            return _maxPending;
+        }
+
+        private final ByteSeqReceiver _receiver;
+        private final java.util.concurrent.ScheduledExecutorService _executor;
+        private int _pending;
+        private int _maxPending;
+    }
+
+    //
+    // A source which returns fewer bytes than requested.
+    //
+    static class ShortReadInputStream extends java.io.ByteArrayInputStream
+    {
+        ShortReadInputStream(byte[] data, int maxRead)
+        {
+            super(data);
+            _maxRead = maxRead;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len)
+        {
+            return super.read(b, off, java.lang.Math.min(len, _maxRead));
+        }
+
+        private final int _maxRead;
+    }
+
+    private static byte[] createData(int size)
+    {
+        byte[] data = new byte[size];
+        new java.util.Random(size).nextBytes(data);
+        return data;
+    }
+
+    public static void allTests(test.TestHelper helper, String[] args)
+    {
+        PrintWriter out = helper.getWriter();
+
+        com.zeroc.Ice.Properties properties = helper.createTestProperties(args);
+        properties.setProperty("Ice.ThreadPool.Server.Size", "4");
+        properties.setProperty("Ice.ThreadPool.Server.SizeMax", "4");
+        properties.setProperty("Ice.Warn.Dispatch", "0");
+        com.zeroc.Ice.Communicator communicator = helper.initialize(properties);
+        communicator.getProperties().setProperty("TestAdapter.Endpoints", helper.getTestEndpoint(0));
+        com.zeroc.Ice.ObjectAdapter adapter = communicator.createObjectAdapter("TestAdapter");
+        adapter.activate();
+        java.util.concurrent.ScheduledExecutorService executor =
+            java.util.concurrent.Executors.newSingleThreadScheduledExecutor();
+
+        final int chunkSize = 16 * 1024;
+        final int window = 64 * 1024;
+
+        out.print("testing byte sequence transfer... ");
+        out.flush();
+        {
+            for(int size : new int[] { 0, 1, chunkSize, 1024 * 1024 + 17 })
+            {
+                byte[] data = createData(size);
+                java.io.ByteArrayOutputStream sink = new java.io.ByteArrayOutputStream();
+                ByteSeqReceiver receiver = new ByteSeqReceiver(sink, window);
+                com.zeroc.Ice.ObjectPrx prx = adapter.addWithUUID(receiver);
+                ByteSeqSender.send(prx, new java.io.ByteArrayInputStream(data), size, chunkSize, window);
+                test(receiver.completed().join() == size);
+                test(java.util.Arrays.equals(sink.toByteArray(), data));
+                adapter.remove(prx.ice_getIdentity());
+            }
+        }
+        out.println("ok");
+
+        out.print("testing byte sequence transfer with short reads... ");
+        out.flush();
+        {
+            byte[] data = createData(300 * 1024);
+            java.io.ByteArrayOutputStream sink = new java.io.ByteArrayOutputStream();
+            ByteSeqReceiver receiver = new ByteSeqReceiver(sink, window);
+            com.zeroc.Ice.ObjectPrx prx = adapter.addWithUUID(receiver);
+            ByteSeqSender.send(prx, new ShortReadInputStream(data, 1000), data.length, chunkSize, window);
+            test(receiver.completed().join() == data.length);
+            test(java.util.Arrays.equals(sink.toByteArray(), data));
+            adapter.remove(prx.ice_getIdentity());
+        }
+        out.println("ok");
+
+        out.print("testing byte sequence transfer window... ");
+        out.flush();
+        {
+            byte[] data = createData(1024 * 1024);
+            java.io.ByteArrayOutputStream sink = new java.io.ByteArrayOutputStream();
+            ByteSeqReceiver receiver = new ByteSeqReceiver(sink, window);
+            DelayI delay = new DelayI(receiver, executor);
+            com.zeroc.Ice.ObjectPrx prx = adapter.addWithUUID(delay);
+            ByteSeqSender.send(prx, new java.io.ByteArrayInputStream(data), data.length, chunkSize, window);
+            test(receiver.completed().join() == data.length);
+            test(java.util.Arrays.equals(sink.toByteArray(), data));
+            test(delay.maxPending() > 1 && delay.maxPending() <= window / chunkSize);
+            adapter.remove(prx.ice_getIdentity());
+        }
+        out.println("ok");
+
+        out.print("testing byte sequence transfer failures... ");
+        out.flush();
+        {
+            //
+            // The source has fewer bytes than the given size.
+            //
+            java.io.ByteArrayOutputStream sink = new java.io.ByteArrayOutputStream();
+            ByteSeqReceiver receiver = new ByteSeqReceiver(sink, window);
+            com.zeroc.Ice.ObjectPrx prx = adapter.addWithUUID(receiver);
+            try
+            {
+                ByteSeqSender.send(prx, new java.io.ByteArrayInputStream(createData(100)), 200, 64, 256);
+                test(false);
+            }
+            catch(com.zeroc.Ice.MarshalException ex)
+            {
+            }
+            test(!receiver.completed().isDone());
+            adapter.remove(prx.ice_getIdentity());
+
+            //
+            // The receiver rejects chunks beyond its window.
+            //
+            receiver = new ByteSeqReceiver(sink, 100);
+            prx = adapter.addWithUUID(receiver);
+            com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(communicator);
+            os.startEncapsulation();
+            os.writeLong(64);
+            os.writeBool(false);
+            os.writeByteSeq(createData(64));
+            os.endEncapsulation();
+            try
+            {
+                prx.ice_invoke("writeChunk", com.zeroc.Ice.OperationMode.Normal, os.finished());
+                test(false);
+            }
+            catch(com.zeroc.Ice.UnknownLocalException ex)
+            {
+            }
+
+            try
+            {
+                prx.ice_ping();
+                test(false);
+            }
+            catch(com.zeroc.Ice.OperationNotExistException ex)
+            {
+            }
+            adapter.remove(prx.ice_getIdentity());
+
+            //
+            // The sink fails.
+            //
+            receiver = new ByteSeqReceiver(new java.io.OutputStream()
+                {
+                    @Override
+                    public void write(int b)
+                        throws java.io.IOException
+                    {
+                        throw new java.io.IOException("sink error");
+                    }
+                }, window);
+            prx = adapter.addWithUUID(receiver);
+            try
+            {
+                byte[] data = createData(100 * 1024);
+                ByteSeqSender.send(prx, new java.io.ByteArrayInputStream(data), data.length, chunkSize, window);
+                test(false);
+            }
+            catch(com.zeroc.Ice.UnknownException ex)
+            {
+            }
+            test(receiver.completed().isCompletedExceptionally());
+            adapter.remove(prx.ice_getIdentity());
+        }
+        out.println("ok");
+
+        executor.shutdown();
+        communicator.destroy();
+    }
+}
@@ -0,0 +1,267 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.Ice.collocationDirect;
+
+import java.io.PrintWriter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import com.zeroc.Ice.OperationMode;
+import com.zeroc.IceInternal.OutgoingAsync;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    //
+    // The echo operation is called directly with Ice.CollocationDirect, or
+    // through ice_invoke with the marshaled parameters otherwise.
+    //
+    static class TestI implements com.zeroc.Ice.Blobject
+    {
+        byte[] echo(byte[] data, com.zeroc.Ice.Current current)
+        {
+            if(current.operation.equals("fail"))
+            {
+                throw new IllegalStateException("fail");
+            }
+            synchronized(this)
+            {
+                _received = data;
+                _ctx = current.ctx;
+                ++_directCount;
+            }
+            return data;
+        }
+
+        @Override
+        public com.zeroc.Ice.Object.Ice_invokeResult ice_invoke(byte[] inParams, com.zeroc.Ice.Current current)
+        {
+            if(current.operation.equals("fail"))
+            {
+                throw new IllegalStateException("fail");
+            }
+            com.zeroc.Ice.InputStream in = new com.zeroc.Ice.InputStream(current.adapter.getCommunicator(), inParams);
+            in.startEncapsulation();
+            byte[] data = in.readByteSeq();
+            in.endEncapsulation();
+            synchronized(this)
+            {
+                _received = data;
+                _ctx = current.ctx;
+                ++_marshaledCount;
+            }
+            return new com.zeroc.Ice.Object.Ice_invokeResult(true, inParams);
+        }
+
+        synchronized byte[] received()
+        {
+            return _received;
+        }
+
+        synchronized java.util.Map<String, String> ctx()
+        {
+            return _ctx;
+        }
+
+        synchronized int directCount()
+        {
+            return _directCount;
+        }
+
+        synchronized int marshaledCount()
+        {
+            return _marshaledCount;
+        }
+
+        private byte[] _received;
+        private java.util.Map<String, String> _ctx;
+        private int _directCount;
+        private int _marshaledCount;
+    }
+
+    //
+    // Invokes the operation the way the code generated by slice2java does.
+    //
+    private static byte[] echo(com.zeroc.Ice.ObjectPrx prx, String operation, byte[] data,
+                               java.util.Map<String, String> ctx)
+    {
+        OutgoingAsync<byte[]> f = new OutgoingAsync<>(prx, operation, OperationMode.Normal, true, null);
+        f.invoke(true, ctx, null, ostr -> ostr.writeByteSeq(data), istr -> istr.readByteSeq(), TestI.class,
+                 (obj, current) -> CompletableFuture.completedFuture(((TestI)obj).echo(data, current)));
+        return f.waitForResponse();
+    }
+
+    private static void testEcho(com.zeroc.Ice.ObjectPrx prx, TestI servant, boolean direct)
+    {
+        byte[] data = new byte[] { 1, 2, 3 };
+        java.util.Map<String, String> ctx = new java.util.HashMap<>();
+        ctx.put("key", "value");
+        int directCount = servant.directCount();
+        int marshaledCount = servant.marshaledCount();
+        byte[] result = echo(prx, "echo", data, ctx);
+        test(java.util.Arrays.equals(result, data));
+        test(java.util.Arrays.equals(servant.received(), data));
+        test(servant.ctx().equals(ctx));
+        if(direct)
+        {
+            //
+            // The parameters and results are passed by reference.
+            //
+            test(result == data && servant.received() == data);
+            test(servant.directCount() == directCount + 1 && servant.marshaledCount() == marshaledCount);
+        }
+        else
+        {
+            test(result != data && servant.received() != data);
+            test(servant.directCount() == directCount && servant.marshaledCount() == marshaledCount + 1);
+        }
+
+        try
+        {
+            echo(prx, "fail", data, null);
+            test(false);
+        }
+        catch(com.zeroc.Ice.UnknownException ex)
+        {
+            test(ex.unknown.contains("IllegalStateException"));
+        }
+    }
+
+    public static void allTests(test.TestHelper helper, String[] args)
+    {
+        PrintWriter out = helper.getWriter();
+        com.zeroc.Ice.Properties properties = helper.createTestProperties(args);
+        properties.setProperty("Ice.CollocationDirect", "1");
+        properties.setProperty("Ice.Warn.Dispatch", "0");
+        com.zeroc.Ice.Communicator communicator = helper.initialize(properties);
+        communicator.getProperties().setProperty("TestAdapter.Endpoints", helper.getTestEndpoint(0));
+        com.zeroc.Ice.ObjectAdapter adapter = communicator.createObjectAdapter("TestAdapter");
+        TestI servant = new TestI();
+        com.zeroc.Ice.ObjectPrx prx = adapter.add(servant, com.zeroc.Ice.Util.stringToIdentity("test"));
+        adapter.activate();
+
+        out.print("testing direct dispatch... ");
+        out.flush();
+        {
+            testEcho(prx, servant, true);
+            testEcho(prx.ice_context(java.util.Collections.singletonMap("key", "value")), servant, true);
+
+            //
+            // Oneway and asynchronous invocations are marshaled.
+            //
+            byte[] data = new byte[] { 1, 2, 3 };
+            OutgoingAsync<byte[]> f = new OutgoingAsync<>(prx, "echo", OperationMode.Normal, false, null);
+            f.invoke(true, null, null, ostr -> ostr.writeByteSeq(data), istr -> istr.readByteSeq(), TestI.class,
+                     (obj, current) -> CompletableFuture.completedFuture(((TestI)obj).echo(data, current)));
+            test(java.util.Arrays.equals(f.waitForResponse(), data) && servant.received() != data);
+
+            //
+            // Invocations on a missing servant are marshaled and fail as usual.
+            //
+            try
+            {
+                echo(adapter.createProxy(com.zeroc.Ice.Util.stringToIdentity("missing")), "echo", data, null);
+                test(false);
+            }
+            catch(com.zeroc.Ice.ObjectNotExistException ex)
+            {
+                test(ex.id.name.equals("missing") && ex.operation.equals("echo"));
+            }
+        }
+        out.println("ok");
+
+        out.print("testing direct dispatch fallback... ");
+        out.flush();
+        {
+            //
+            // Dispatch interceptors see the marshaled request.
+            //
+            final java.util.concurrent.atomic.AtomicInteger interceptorCount =
+                new java.util.concurrent.atomic.AtomicInteger();
+            com.zeroc.Ice.ObjectPrx interceptorPrx = adapter.add(new com.zeroc.Ice.DispatchInterceptor()
+                {
+                    @Override
+                    public CompletionStage<com.zeroc.Ice.OutputStream> dispatch(com.zeroc.Ice.Request request)
+                        throws com.zeroc.Ice.UserException
+                    {
+                        interceptorCount.incrementAndGet();
+                        return servant.ice_dispatch(request);
+                    }
+                }, com.zeroc.Ice.Util.stringToIdentity("interceptor"));
+            testEcho(interceptorPrx, servant, false);
+            test(interceptorCount.get() == 2);
+
+            //
+            // Servants located by a servant locator are called with the marshaled request.
+            //
+            final java.util.concurrent.atomic.AtomicInteger locateCount =
+                new java.util.concurrent.atomic.AtomicInteger();
+            final java.util.concurrent.atomic.AtomicInteger finishedCount =
+                new java.util.concurrent.atomic.AtomicInteger();
+            adapter.addServantLocator(new com.zeroc.Ice.ServantLocator()
+                {
+                    @Override
+                    public com.zeroc.Ice.ServantLocator.LocateResult locate(com.zeroc.Ice.Current current)
+                    {
+                        locateCount.incrementAndGet();
+                        return new com.zeroc.Ice.ServantLocator.LocateResult(servant, null);
+                    }
+
+                    @Override
+                    public void finished(com.zeroc.Ice.Current current, com.zeroc.Ice.Object servant,
+                                         java.lang.Object cookie)
+                    {
+                        finishedCount.incrementAndGet();
+                    }
+
+                    @Override
+                    public void deactivate(String category)
+                    {
+                    }
+                }, "located");
+            testEcho(adapter.createProxy(com.zeroc.Ice.Util.stringToIdentity("located/test")), servant, false);
+            test(locateCount.get() == 2 && finishedCount.get() == 2);
+
+            //
+            // A servant which isn't of the type expected by the operation.
+            //
+            TestI other = new TestI();
+            com.zeroc.Ice.ObjectPrx otherPrx = adapter.add(new com.zeroc.Ice.Blobject()
+                {
+                    @Override
+                    public com.zeroc.Ice.Object.Ice_invokeResult ice_invoke(byte[] inParams,
+                                                                            com.zeroc.Ice.Current current)
+                    {
+                        return other.ice_invoke(inParams, current);
+                    }
+                }, com.zeroc.Ice.Util.stringToIdentity("other"));
+            testEcho(otherPrx, other, false);
+        }
+        out.println("ok");
+
+        out.print("testing direct dispatch disabled... ");
+        out.flush();
+        {
+            com.zeroc.Ice.Properties props = properties._clone();
+            props.setProperty("Ice.CollocationDirect", "0");
+            com.zeroc.Ice.Communicator com2 = helper.initialize(props);
+            com2.getProperties().setProperty("TestAdapter.Endpoints", helper.getTestEndpoint(1));
+            com.zeroc.Ice.ObjectAdapter adapter2 = com2.createObjectAdapter("TestAdapter");
+            TestI servant2 = new TestI();
+            testEcho(adapter2.add(servant2, com.zeroc.Ice.Util.stringToIdentity("test")), servant2, false);
+            com2.destroy();
+        }
+        out.println("ok");
+
+        communicator.destroy();
+    }
+}
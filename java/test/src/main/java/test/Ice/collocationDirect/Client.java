@@ -0,0 +1,13 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.Ice.collocationDirect;
+
+public class Client extends test.TestHelper
+{
+    public void run(String[] args)
+    {
+        AllTests.allTests(this, args);
+    }
+}
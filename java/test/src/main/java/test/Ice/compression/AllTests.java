@@ -0,0 +1,435 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.Ice.compression;
+
+import java.io.PrintWriter;
+
+import com.zeroc.IceInternal.Buffer;
+import com.zeroc.IceInternal.CompressionCodec;
+import com.zeroc.IceInternal.Protocol;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    private static Buffer createMessage(byte[] body)
+    {
+        Buffer buf = new Buffer(false);
+        buf.resize(Protocol.headerSize + body.length, false);
+        buf.position(0);
+        for(int i = 0; i < Protocol.headerSize; ++i)
+        {
+            buf.b.put((byte)i);
+        }
+        buf.b.put(body);
+        return buf;
+    }
+
+    private static byte[] getBytes(Buffer buf)
+    {
+        byte[] data = new byte[buf.size()];
+        buf.position(0);
+        buf.b.get(data);
+        return data;
+    }
+
+    private static byte[] createData(int size, int alphabet, long seed)
+    {
+        java.util.Random random = new java.util.Random(seed);
+        byte[] data = new byte[size];
+        for(int i = 0; i < size; ++i)
+        {
+            data[i] = (byte)random.nextInt(alphabet);
+        }
+        return data;
+    }
+
+    //
+    // Random words, compressible by both codecs.
+    //
+    private static byte[] createText(int size, long seed)
+    {
+        String[] words = new String[] { "ice", "proxy", "adapter", "servant", "endpoint", "locator", "router" };
+        java.util.Random random = new java.util.Random(seed);
+        StringBuilder sb = new StringBuilder();
+        while(sb.length() < size)
+        {
+            sb.append(words[random.nextInt(words.length)]).append(' ');
+        }
+        return sb.substring(0, size).getBytes();
+    }
+
+    private static void testRoundTrip(CompressionCodec codec, byte[] body)
+    {
+        Buffer message = createMessage(body);
+        Buffer compressed = codec.compress(message, Protocol.headerSize);
+        test(compressed != null);
+        test(compressed.size() < message.size());
+        Buffer uncompressed = codec.uncompress(compressed, Protocol.headerSize, Integer.MAX_VALUE);
+        test(java.util.Arrays.equals(getBytes(uncompressed), getBytes(message)));
+    }
+
+    private static void testCorrupted(CompressionCodec codec, byte[] compressed)
+    {
+        try
+        {
+            Buffer uncompressed = codec.uncompress(new Buffer(compressed), Protocol.headerSize, Integer.MAX_VALUE);
+            test(uncompressed.size() > Protocol.headerSize);
+        }
+        catch(com.zeroc.Ice.CompressionException ex)
+        {
+        }
+    }
+
+    private static void testCorruptedThrows(CompressionCodec codec, byte[] compressed)
+    {
+        try
+        {
+            codec.uncompress(new Buffer(compressed), Protocol.headerSize, Integer.MAX_VALUE);
+            test(false);
+        }
+        catch(com.zeroc.Ice.CompressionException ex)
+        {
+        }
+    }
+
+    private static void setSize(byte[] compressed, int size)
+    {
+        java.nio.ByteBuffer.wrap(compressed).order(java.nio.ByteOrder.LITTLE_ENDIAN).putInt(Protocol.headerSize, size);
+    }
+
+    public static void allTests(test.TestHelper helper, String[] args)
+    {
+        PrintWriter out = helper.getWriter();
+        com.zeroc.Ice.Properties properties = helper.createTestProperties(args);
+        properties.setProperty("Ice.Compression.LZ4.MinSize", "0");
+        properties.setProperty("Ice.Compression.Deflate.MinSize", "0");
+        com.zeroc.Ice.Communicator communicator = helper.initialize(properties);
+        com.zeroc.IceInternal.Instance instance = com.zeroc.IceInternal.Util.getInstance(communicator);
+        CompressionCodec[] codecs = new CompressionCodec[] {
+            instance.compressionCodec((byte)3), instance.compressionCodec((byte)4) };
+        test(codecs[0].name().equals("Deflate") && codecs[0].supported());
+        test(codecs[1].name().equals("LZ4") && codecs[1].supported());
+
+        out.print("testing codec round trips... ");
+        out.flush();
+        for(CompressionCodec codec : codecs)
+        {
+            testRoundTrip(codec, new byte[100]);
+            testRoundTrip(codec, new byte[1024 * 1024]);
+            testRoundTrip(codec, "abcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabc".getBytes());
+            for(int size : new int[] { 1000, 70000, 1024 * 1024 })
+            {
+                testRoundTrip(codec, createData(size, 4, size));
+                testRoundTrip(codec, createText(size, size));
+            }
+
+            //
+            // Incompressible data isn't compressed.
+            //
+            test(codec.compress(createMessage(createData(10000, 256, 1)), Protocol.headerSize) == null);
+        }
+        out.println("ok");
+
+        out.print("testing codec corrupted input... ");
+        out.flush();
+        for(CompressionCodec codec : codecs)
+        {
+            byte[] body = createData(10000, 8, 2);
+            byte[] compressed = getBytes(codec.compress(createMessage(body), Protocol.headerSize));
+
+            //
+            // Invalid uncompressed sizes.
+            //
+            byte[] corrupted = compressed.clone();
+            setSize(corrupted, Protocol.headerSize + body.length + 1);
+            testCorruptedThrows(codec, corrupted);
+            setSize(corrupted, Protocol.headerSize + body.length - 1);
+            testCorruptedThrows(codec, corrupted);
+            setSize(corrupted, Protocol.headerSize);
+            try
+            {
+                codec.uncompress(new Buffer(corrupted), Protocol.headerSize, Integer.MAX_VALUE);
+                test(false);
+            }
+            catch(com.zeroc.Ice.IllegalMessageSizeException ex)
+            {
+            }
+            setSize(corrupted, 1024 * 1024);
+            try
+            {
+                codec.uncompress(new Buffer(corrupted), Protocol.headerSize, 1024);
+                test(false);
+            }
+            catch(com.zeroc.Ice.MemoryLimitException ex)
+            {
+            }
+
+            //
+            // Truncated and empty data.
+            //
+            testCorruptedThrows(codec, java.util.Arrays.copyOf(compressed, compressed.length - 1));
+            testCorruptedThrows(codec, java.util.Arrays.copyOf(compressed, compressed.length / 2));
+            testCorruptedThrows(codec, java.util.Arrays.copyOf(compressed, Protocol.headerSize + 4));
+
+            //
+            // Random corruptions either raise CompressionException or produce a message
+            // of the announced size, never another exception.
+            //
+            java.util.Random random = new java.util.Random(3);
+            for(int i = 0; i < 2000; ++i)
+            {
+                corrupted = compressed.clone();
+                int n = 1 + random.nextInt(4);
+                for(int j = 0; j < n; ++j)
+                {
+                    int pos = Protocol.headerSize + 4 + random.nextInt(compressed.length - Protocol.headerSize - 4);
+                    corrupted[pos] = (byte)random.nextInt(256);
+                }
+                testCorrupted(codec, corrupted);
+            }
+            for(int i = 0; i < 200; ++i)
+            {
+                corrupted = java.util.Arrays.copyOf(compressed, compressed.length);
+                byte[] garbage = createData(compressed.length - Protocol.headerSize - 4, 256, i);
+                System.arraycopy(garbage, 0, corrupted, Protocol.headerSize + 4, garbage.length);
+                testCorrupted(codec, corrupted);
+            }
+        }
+
+        //
+        // LZ4 specific corruptions: a match with a zero offset or an offset before
+        // the start of the data.
+        //
+        {
+            byte[] lz4 = new byte[Protocol.headerSize + 4 + 5]; // The last token has no literals.
+            setSize(lz4, Protocol.headerSize + 8);
+            lz4[Protocol.headerSize + 4] = (byte)0x10; // 1 literal, match of 4 bytes.
+            lz4[Protocol.headerSize + 5] = (byte)'a';
+            lz4[Protocol.headerSize + 6] = 0;
+            lz4[Protocol.headerSize + 7] = 0;
+            testCorruptedThrows(codecs[1], lz4);
+            lz4[Protocol.headerSize + 6] = 2;
+            testCorruptedThrows(codecs[1], lz4);
+            lz4[Protocol.headerSize + 6] = 1; // Valid overlapping match, "aaaaa" but 3 bytes missing.
+            testCorruptedThrows(codecs[1], lz4);
+            setSize(lz4, Protocol.headerSize + 5);
+            Buffer uncompressed = codecs[1].uncompress(new Buffer(lz4), Protocol.headerSize, Integer.MAX_VALUE);
+            byte[] data = getBytes(uncompressed);
+            test(new String(data, Protocol.headerSize, 5).equals("aaaaa"));
+        }
+        out.println("ok");
+
+        out.print("testing codec negotiation... ");
+        out.flush();
+        {
+            com.zeroc.Ice.Properties serverProperties = properties._clone();
+            serverProperties.setProperty("TestAdapter.Endpoints", helper.getTestEndpoint(0));
+            com.zeroc.Ice.Communicator server = helper.initialize(serverProperties);
+            com.zeroc.Ice.ObjectAdapter adapter = server.createObjectAdapter("TestAdapter");
+            com.zeroc.Ice.ObjectPrx obj = adapter.add(new com.zeroc.Ice.Blobject()
+                {
+                    @Override
+                    public com.zeroc.Ice.Object.Ice_invokeResult ice_invoke(byte[] inParams,
+                                                                            com.zeroc.Ice.Current current)
+                    {
+                        return new com.zeroc.Ice.Object.Ice_invokeResult(true, inParams);
+                    }
+                }, com.zeroc.Ice.Util.stringToIdentity("test"));
+            adapter.activate();
+            CompressionCodec serverLZ4 = com.zeroc.IceInternal.Util.getInstance(server).compressionCodec((byte)4);
+            CompressionCodec serverDeflate =
+                com.zeroc.IceInternal.Util.getInstance(server).compressionCodec((byte)3);
+
+            //
+            // The server advertises the codecs it understands, the client uses LZ4
+            // right away and the server compresses the response with LZ4.
+            //
+            com.zeroc.Ice.Properties clientProperties = properties._clone();
+            clientProperties.setProperty("Ice.Compression.Codec", "LZ4");
+            com.zeroc.Ice.Communicator client = helper.initialize(clientProperties);
+            CompressionCodec clientLZ4 = com.zeroc.IceInternal.Util.getInstance(client).compressionCodec((byte)4);
+            com.zeroc.Ice.ObjectPrx prx = client.stringToProxy(obj.toString()).ice_compress(true);
+            com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(client);
+            os.startEncapsulation();
+            os.writeByteSeq(new byte[10000]);
+            os.endEncapsulation();
+            byte[] inEncaps = os.finished();
+            com.zeroc.Ice.Object.Ice_invokeResult r = prx.ice_invoke("op", com.zeroc.Ice.OperationMode.Normal,
+                                                                     inEncaps);
+            test(r.returnValue && java.util.Arrays.equals(r.outParams, inEncaps));
+            test(serverLZ4.uncompressedCount() == 1 && serverLZ4.compressedCount() == 1);
+            test(clientLZ4.compressedCount() == 1 && clientLZ4.uncompressedCount() == 1);
+            test(serverDeflate.uncompressedCount() == 0);
+            client.destroy();
+
+            //
+            // A peer which doesn't advertise its codecs, like Ice versions which only
+            // support bzip2, doesn't receive LZ4 compressed requests.
+            //
+            try(java.net.ServerSocket socket = new java.net.ServerSocket(0, 1,
+                                                                         java.net.InetAddress.getByName("127.0.0.1")))
+            {
+                client = helper.initialize(clientProperties);
+                clientLZ4 = com.zeroc.IceInternal.Util.getInstance(client).compressionCodec((byte)4);
+                prx = client.stringToProxy("test:tcp -h 127.0.0.1 -p " + socket.getLocalPort()).ice_compress(true);
+                com.zeroc.Ice.ObjectPrx oneway = prx.ice_oneway();
+                byte[] header = new byte[Protocol.headerSize];
+                new Thread(() ->
+                    {
+                        try(java.net.Socket s = socket.accept())
+                        {
+                            byte[] validate = new byte[] { 'I', 'c', 'e', 'P', 1, 0, 1, 0,
+                                                           Protocol.validateConnectionMsg, 0, 14, 0, 0, 0 };
+                            s.getOutputStream().write(validate);
+                            new java.io.DataInputStream(s.getInputStream()).readFully(header);
+                        }
+                        catch(java.io.IOException ex)
+                        {
+                            ex.printStackTrace();
+                        }
+                        synchronized(header)
+                        {
+                            header[0] = 1;
+                            header.notifyAll();
+                        }
+                    }).start();
+                oneway.ice_invoke("op", com.zeroc.Ice.OperationMode.Normal, inEncaps);
+                synchronized(header)
+                {
+                    while(header[0] != 1)
+                    {
+                        header.wait();
+                    }
+                }
+                test(header[8] == Protocol.requestMsg);
+                test(header[9] != (byte)4);
+                test(clientLZ4.compressedCount() == 0);
+                client.destroy();
+            }
+            catch(java.io.IOException | InterruptedException ex)
+            {
+                throw new RuntimeException(ex);
+            }
+            server.destroy();
+        }
+        out.println("ok");
+
+        out.print("testing compressed replies followed by a graceful close... ");
+        out.flush();
+        {
+            //
+            // The server closes the connection gracefully after each reply, the close
+            // connection message must not be handled before the compressed reply, the
+            // request would otherwise be retried and dispatched twice.
+            //
+            com.zeroc.Ice.Properties serverProperties = properties._clone();
+            serverProperties.setProperty("TestAdapter.Endpoints", helper.getTestEndpoint(0));
+            serverProperties.setProperty("Ice.Compression.Codec", "Deflate");
+            com.zeroc.Ice.Communicator server = helper.initialize(serverProperties);
+            com.zeroc.Ice.ObjectAdapter adapter = server.createObjectAdapter("TestAdapter");
+            final byte[] reply = createText(200 * 1024, 4);
+            final java.util.concurrent.atomic.AtomicInteger dispatchCount =
+                new java.util.concurrent.atomic.AtomicInteger();
+            com.zeroc.Ice.ObjectPrx obj = adapter.add(new com.zeroc.Ice.BlobjectAsync()
+                {
+                    @Override
+                    public java.util.concurrent.CompletionStage<com.zeroc.Ice.Object.Ice_invokeResult> ice_invokeAsync(
+                        byte[] inParams, com.zeroc.Ice.Current current)
+                    {
+                        dispatchCount.incrementAndGet();
+                        com.zeroc.Ice.OutputStream os =
+                            new com.zeroc.Ice.OutputStream(current.adapter.getCommunicator());
+                        os.startEncapsulation();
+                        os.writeByteSeq(reply);
+                        os.endEncapsulation();
+                        java.util.concurrent.CompletableFuture<com.zeroc.Ice.Object.Ice_invokeResult> result =
+                            java.util.concurrent.CompletableFuture.completedFuture(
+                                new com.zeroc.Ice.Object.Ice_invokeResult(true, os.finished()));
+                        current.con.close(com.zeroc.Ice.ConnectionClose.Gracefully);
+                        return result;
+                    }
+                }, com.zeroc.Ice.Util.stringToIdentity("test"));
+            adapter.activate();
+
+            com.zeroc.Ice.Properties clientProperties = properties._clone();
+            clientProperties.setProperty("Ice.Compression.Codec", "Deflate");
+            clientProperties.setProperty("Ice.ThreadPool.Client.Size", "4");
+            clientProperties.setProperty("Ice.RetryIntervals", "0 0 0 0");
+            com.zeroc.Ice.Communicator client = helper.initialize(clientProperties);
+            com.zeroc.Ice.ObjectPrx prx = client.stringToProxy(obj.toString()).ice_compress(true);
+
+            //
+            // The request is compressed, the server compresses the reply with the codec of
+            // the request.
+            //
+            com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(client);
+            os.startEncapsulation();
+            os.writeByteSeq(new byte[1000]);
+            os.endEncapsulation();
+            byte[] inEncaps = os.finished();
+            CompressionCodec clientDeflate =
+                com.zeroc.IceInternal.Util.getInstance(client).compressionCodec((byte)3);
+            for(int i = 0; i < 100; ++i)
+            {
+                com.zeroc.Ice.Object.Ice_invokeResult r =
+                    prx.ice_invoke("op", com.zeroc.Ice.OperationMode.Normal, inEncaps);
+                test(r.returnValue);
+                com.zeroc.Ice.InputStream is = new com.zeroc.Ice.InputStream(client, r.outParams);
+                is.startEncapsulation();
+                test(java.util.Arrays.equals(is.readByteSeq(), reply));
+                is.endEncapsulation();
+                test(dispatchCount.get() == i + 1);
+            }
+            test(clientDeflate.uncompressedCount() == 100);
+            client.destroy();
+            server.destroy();
+        }
+        out.println("ok");
+
+        out.print("testing compression admin facet... ");
+        out.flush();
+        {
+            com.zeroc.Ice.Properties adminProperties = properties._clone();
+            adminProperties.setProperty("Ice.Admin.Endpoints", "tcp -h 127.0.0.1");
+            adminProperties.setProperty("Ice.Admin.InstanceName", "compression");
+            adminProperties.setProperty("Ice.Warn.Dispatch", "0");
+            com.zeroc.Ice.Communicator adminCommunicator = helper.initialize(adminProperties);
+            CompressionCodec lz4 = com.zeroc.IceInternal.Util.getInstance(adminCommunicator).compressionCodec((byte)4);
+            lz4.uncompress(lz4.compress(createMessage(new byte[1000]), Protocol.headerSize), Protocol.headerSize,
+                           Integer.MAX_VALUE);
+            com.zeroc.Ice.PropertiesAdminPrx admin =
+                com.zeroc.Ice.PropertiesAdminPrx.checkedCast(adminCommunicator.getAdmin(), "Compression");
+            test(admin != null);
+            java.util.Map<String, String> stats = admin.getPropertiesForPrefix("LZ4.");
+            test(stats.get("LZ4.CompressedCount").equals("1"));
+            test(stats.get("LZ4.UncompressedCount").equals("1"));
+            test(stats.get("LZ4.CompressedUncompressedBytes").equals(Integer.toString(Protocol.headerSize + 1000)));
+            test(Long.parseLong(stats.get("LZ4.CompressedBytes")) < Protocol.headerSize + 1000);
+            test(Double.parseDouble(stats.get("LZ4.Ratio")) < 1.0);
+            test(!stats.containsKey("Deflate.CompressedCount"));
+            test(admin.getProperty("Deflate.CompressedCount").equals("0"));
+            test(admin.getProperty("Unknown").isEmpty());
+            try
+            {
+                admin.setProperties(new java.util.HashMap<>());
+                test(false);
+            }
+            catch(com.zeroc.Ice.UnknownLocalException ex)
+            {
+            }
+            adminCommunicator.destroy();
+        }
+        out.println("ok");
+
+        communicator.destroy();
+    }
+}
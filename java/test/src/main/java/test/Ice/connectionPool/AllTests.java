@@ -0,0 +1,260 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.Ice.connectionPool;
+
+import java.io.PrintWriter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import com.zeroc.Ice.Object.Ice_invokeResult;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    //
+    // Records the connection of each request. The "hold" requests are only
+    // completed when release() is called.
+    //
+    static class TestI implements com.zeroc.Ice.BlobjectAsync
+    {
+        @Override
+        public synchronized CompletionStage<Ice_invokeResult> ice_invokeAsync(byte[] inParams,
+                                                                               com.zeroc.Ice.Current current)
+        {
+            Integer count = _requests.get(current.con);
+            _requests.put(current.con, count == null ? 1 : count + 1);
+            ++_count;
+            notifyAll();
+
+            CompletableFuture<Ice_invokeResult> result = new CompletableFuture<>();
+            if(current.operation.equals("hold"))
+            {
+                _held.add(result);
+            }
+            else
+            {
+                result.complete(new Ice_invokeResult(true, new byte[0]));
+            }
+            return result;
+        }
+
+        synchronized void waitForRequests(int count)
+        {
+            while(_count < count)
+            {
+                try
+                {
+                    wait();
+                }
+                catch(InterruptedException ex)
+                {
+                }
+            }
+        }
+
+        synchronized java.util.Collection<Integer> requestsByConnection()
+        {
+            return new java.util.ArrayList<>(_requests.values());
+        }
+
+        synchronized void release()
+        {
+            for(CompletableFuture<Ice_invokeResult> f : _held)
+            {
+                f.complete(new Ice_invokeResult(true, new byte[0]));
+            }
+            _held.clear();
+        }
+
+        synchronized void reset()
+        {
+            _requests.clear();
+            _count = 0;
+        }
+
+        private final java.util.Map<com.zeroc.Ice.Connection, Integer> _requests = new java.util.HashMap<>();
+        private final java.util.List<CompletableFuture<Ice_invokeResult>> _held = new java.util.ArrayList<>();
+        private int _count;
+    }
+
+    public static void allTests(test.TestHelper helper, String[] args)
+    {
+        PrintWriter out = helper.getWriter();
+
+        com.zeroc.Ice.Properties properties = helper.createTestProperties(args);
+        properties.setProperty("Ice.Warn.Connections", "0");
+
+        try(com.zeroc.Ice.Communicator serverCommunicator = helper.initialize(properties._clone()))
+        {
+            serverCommunicator.getProperties().setProperty("TestAdapter.Endpoints", helper.getTestEndpoint(0));
+            com.zeroc.Ice.ObjectAdapter adapter = serverCommunicator.createObjectAdapter("TestAdapter");
+            TestI servant = new TestI();
+            adapter.add(servant, com.zeroc.Ice.Util.stringToIdentity("test"));
+            adapter.activate();
+
+            out.print("testing connection pool size limit... ");
+            out.flush();
+            {
+                //
+                // Without a connection pool, all the requests use the same connection.
+                //
+                com.zeroc.Ice.Properties clientProperties = properties._clone();
+                try(com.zeroc.Ice.Communicator communicator = helper.initialize(clientProperties))
+                {
+                    com.zeroc.Ice.ObjectPrx prx = communicator.stringToProxy("test:" + helper.getTestEndpoint(0));
+                    prx = prx.ice_connectionCached(false);
+                    java.util.List<CompletableFuture<Ice_invokeResult>> results = new java.util.ArrayList<>();
+                    for(int i = 0; i < 10; ++i)
+                    {
+                        results.add(prx.ice_invokeAsync("hold", com.zeroc.Ice.OperationMode.Normal, new byte[0]));
+                        servant.waitForRequests(i + 1);
+                    }
+                    test(servant.requestsByConnection().size() == 1);
+                    servant.release();
+                    for(CompletableFuture<Ice_invokeResult> r : results)
+                    {
+                        test(r.join().returnValue);
+                    }
+                }
+                servant.reset();
+
+                //
+                // With a connection pool, new connections are established while the
+                // connections are busy until the pool is full.
+                //
+                clientProperties = properties._clone();
+                clientProperties.setProperty("Ice.ConnectionPool.Size", "3");
+                try(com.zeroc.Ice.Communicator communicator = helper.initialize(clientProperties))
+                {
+                    com.zeroc.Ice.ObjectPrx prx = communicator.stringToProxy("test:" + helper.getTestEndpoint(0));
+                    prx = prx.ice_connectionCached(false);
+
+                    //
+                    // Sequential requests on idle connections don't grow the pool.
+                    //
+                    for(int i = 0; i < 10; ++i)
+                    {
+                        prx.ice_invoke("op", com.zeroc.Ice.OperationMode.Normal, new byte[0]);
+                    }
+                    test(servant.requestsByConnection().size() == 1);
+                    servant.reset();
+
+                    java.util.List<CompletableFuture<Ice_invokeResult>> results = new java.util.ArrayList<>();
+                    int retry = 0;
+                    while(servant.requestsByConnection().size() < 3)
+                    {
+                        test(++retry < 200);
+                        results.add(prx.ice_invokeAsync("hold", com.zeroc.Ice.OperationMode.Normal, new byte[0]));
+                        servant.waitForRequests(results.size());
+                        try
+                        {
+                            Thread.sleep(10);
+                        }
+                        catch(InterruptedException ex)
+                        {
+                        }
+                    }
+                    for(int i = 0; i < 20; ++i)
+                    {
+                        results.add(prx.ice_invokeAsync("hold", com.zeroc.Ice.OperationMode.Normal, new byte[0]));
+                    }
+                    servant.waitForRequests(results.size());
+                    try
+                    {
+                        Thread.sleep(100);
+                    }
+                    catch(InterruptedException ex)
+                    {
+                    }
+                    test(servant.requestsByConnection().size() == 3);
+                    servant.release();
+                    for(CompletableFuture<Ice_invokeResult> r : results)
+                    {
+                        test(r.join().returnValue);
+                    }
+                    servant.reset();
+                    out.println("ok");
+
+                    out.print("testing least loaded connection selection... ");
+                    out.flush();
+
+                    //
+                    // The requests are spread evenly over the connections of the
+                    // pool: each request goes to the connection with the fewest
+                    // outstanding requests.
+                    //
+                    results.clear();
+                    for(int i = 0; i < 9; ++i)
+                    {
+                        results.add(prx.ice_invokeAsync("hold", com.zeroc.Ice.OperationMode.Normal, new byte[0]));
+                        servant.waitForRequests(i + 1);
+                    }
+                    java.util.Collection<Integer> requests = servant.requestsByConnection();
+                    test(requests.size() == 3);
+                    for(int count : requests)
+                    {
+                        test(count == 3);
+                    }
+                    servant.release();
+                    for(CompletableFuture<Ice_invokeResult> r : results)
+                    {
+                        test(r.join().returnValue);
+                    }
+                    servant.reset();
+
+                    //
+                    // Once the connections are idle again, the oldest connection is
+                    // preferred so that the others can be closed by the ACM.
+                    //
+                    for(int i = 0; i < 10; ++i)
+                    {
+                        prx.ice_invoke("op", com.zeroc.Ice.OperationMode.Normal, new byte[0]);
+                    }
+                    test(servant.requestsByConnection().size() == 1);
+                    out.println("ok");
+
+                    out.print("testing cached connection selection... ");
+                    out.flush();
+
+                    //
+                    // Proxies caching their connection periodically select their
+                    // connection again, so they also use the other connections of
+                    // the pool when their connection is busy.
+                    //
+                    servant.reset();
+                    prx = prx.ice_connectionCached(true);
+                    results.clear();
+                    retry = 0;
+                    while(servant.requestsByConnection().size() < 3)
+                    {
+                        test(++retry < 100);
+                        results.add(prx.ice_invokeAsync("hold", com.zeroc.Ice.OperationMode.Normal, new byte[0]));
+                        servant.waitForRequests(results.size());
+                        try
+                        {
+                            Thread.sleep(100);
+                        }
+                        catch(InterruptedException ex)
+                        {
+                        }
+                    }
+                    servant.release();
+                    for(CompletableFuture<Ice_invokeResult> r : results)
+                    {
+                        test(r.join().returnValue);
+                    }
+                }
+            }
+            out.println("ok");
+        }
+    }
+}
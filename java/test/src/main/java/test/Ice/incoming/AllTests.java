@@ -0,0 +1,292 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.Ice.incoming;
+
+import java.io.PrintWriter;
+
+import com.zeroc.Ice.InputStream;
+import com.zeroc.Ice.OutputStream;
+import com.zeroc.IceInternal.Incoming;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    static class TestI implements com.zeroc.Ice.Object
+    {
+        @Override
+        public void ice_ping(com.zeroc.Ice.Current current)
+        {
+            if(_check)
+            {
+                //
+                // The context can be modified by the servant.
+                //
+                _ctx = new java.util.HashMap<>(current.ctx);
+                current.ctx.put("servant", "modified");
+            }
+            ++_count;
+        }
+
+        void check(boolean check)
+        {
+            _check = check;
+        }
+
+        java.util.Map<String, String> ctx()
+        {
+            return _ctx;
+        }
+
+        int count()
+        {
+            return _count;
+        }
+
+        private boolean _check;
+        private java.util.Map<String, String> _ctx;
+        private int _count;
+    }
+
+    static class ResponseHandlerI implements com.zeroc.IceInternal.ResponseHandler
+    {
+        @Override
+        public void sendResponse(int requestId, OutputStream os, byte status, boolean amd)
+        {
+            test(false);
+        }
+
+        @Override
+        public void sendNoResponse()
+        {
+        }
+
+        @Override
+        public boolean systemException(int requestId, com.zeroc.Ice.SystemException ex, boolean amd)
+        {
+            test(false);
+            return false;
+        }
+
+        @Override
+        public void invokeException(int requestId, com.zeroc.Ice.LocalException ex, int invokeNum, boolean amd)
+        {
+            test(false);
+        }
+    }
+
+    //
+    // Dispatches oneway requests with a reused Incoming, like connections do.
+    //
+    static class Dispatcher
+    {
+        Dispatcher(com.zeroc.Ice.ObjectAdapter adapter)
+        {
+            _adapter = adapter;
+            _instance = com.zeroc.IceInternal.Util.getInstance(adapter.getCommunicator());
+            _servantManager = ((com.zeroc.Ice.ObjectAdapterI)adapter).getServantManager();
+            _incoming = new Incoming(_instance, _handler, null, adapter, false, (byte)0, 0);
+        }
+
+        InputStream request(com.zeroc.Ice.Identity id, String facet, String operation,
+                            java.util.Map<String, String> ctx)
+        {
+            OutputStream os = new OutputStream(_adapter.getCommunicator());
+            id.ice_writeMembers(os);
+            os.writeStringSeq(facet.isEmpty() ? new String[0] : new String[] { facet });
+            os.writeString(operation);
+            os.writeByte((byte)com.zeroc.Ice.OperationMode.Idempotent.value());
+            com.zeroc.Ice.ContextHelper.write(os, ctx);
+            os.writeEmptyEncapsulation(com.zeroc.Ice.Util.currentEncoding());
+            return new InputStream(_adapter.getCommunicator(), os.finished());
+        }
+
+        void dispatch(InputStream is)
+        {
+            is.pos(0);
+            _incoming.reset(_instance, _handler, null, _adapter, false, (byte)0, 0);
+            _incoming.invoke(_servantManager, is);
+            test(_incoming.reclaim());
+        }
+
+        private final com.zeroc.Ice.ObjectAdapter _adapter;
+        private final com.zeroc.IceInternal.Instance _instance;
+        private final com.zeroc.IceInternal.ServantManager _servantManager;
+        private final ResponseHandlerI _handler = new ResponseHandlerI();
+        private final Incoming _incoming;
+    }
+
+    //
+    // Keeps the Current of the "keep" requests, a "read" request returns the
+    // contexts of the Current objects kept so far.
+    //
+    static class KeepI implements com.zeroc.Ice.BlobjectAsync
+    {
+        @Override
+        public synchronized java.util.concurrent.CompletionStage<com.zeroc.Ice.Object.Ice_invokeResult>
+        ice_invokeAsync(byte[] inEncaps, com.zeroc.Ice.Current current)
+        {
+            OutputStream os = new OutputStream(current.adapter.getCommunicator());
+            os.startEncapsulation();
+            if(current.operation.equals("keep"))
+            {
+                _kept.add(current);
+            }
+            else
+            {
+                os.writeSize(_kept.size());
+                for(com.zeroc.Ice.Current c : _kept)
+                {
+                    com.zeroc.Ice.ContextHelper.write(os, c.ctx);
+                }
+            }
+            os.endEncapsulation();
+            return java.util.concurrent.CompletableFuture.completedFuture(
+                new com.zeroc.Ice.Object.Ice_invokeResult(true, os.finished()));
+        }
+
+        private final java.util.List<com.zeroc.Ice.Current> _kept = new java.util.ArrayList<>();
+    }
+
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threadMXBean, Dispatcher dispatcher,
+                                       InputStream request, int count)
+    {
+        long start = threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for(int i = 0; i < count; ++i)
+        {
+            dispatcher.dispatch(request);
+        }
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+    }
+
+    public static void allTests(test.TestHelper helper, String[] args)
+    {
+        PrintWriter out = helper.getWriter();
+
+        com.zeroc.Ice.Properties properties = helper.createTestProperties(args);
+        try(com.zeroc.Ice.Communicator communicator = helper.initialize(properties))
+        {
+            com.zeroc.Ice.ObjectAdapter adapter = communicator.createObjectAdapter("");
+            TestI servant = new TestI();
+            com.zeroc.Ice.Identity shortId = new com.zeroc.Ice.Identity("a", "");
+            com.zeroc.Ice.Identity longId = new com.zeroc.Ice.Identity("a-longer-identity-name", "a-category");
+            adapter.add(servant, shortId);
+            adapter.addFacet(servant, longId, "a-facet");
+            Dispatcher dispatcher = new Dispatcher(adapter);
+
+            out.print("testing request context... ");
+            out.flush();
+            {
+                servant.check(true);
+                java.util.Map<String, String> ctx = new java.util.HashMap<>();
+                InputStream emptyCtx = dispatcher.request(shortId, "", "ice_ping", ctx);
+                ctx.put("key1", "value1");
+                ctx.put("key2", "value2");
+                InputStream withCtx = dispatcher.request(shortId, "", "ice_ping", ctx);
+
+                dispatcher.dispatch(emptyCtx);
+                test(servant.ctx().isEmpty());
+                dispatcher.dispatch(withCtx);
+                test(servant.ctx().equals(ctx));
+
+                //
+                // The context of a request doesn't leak into the next request
+                // dispatched with the same Incoming.
+                //
+                dispatcher.dispatch(emptyCtx);
+                test(servant.ctx().isEmpty());
+                servant.check(false);
+            }
+            out.println("ok");
+
+            out.print("testing request context with AMD dispatch... ");
+            out.flush();
+            {
+                communicator.getProperties().setProperty("TestAdapter.Endpoints", helper.getTestEndpoint(0));
+                com.zeroc.Ice.ObjectAdapter amdAdapter = communicator.createObjectAdapter("TestAdapter");
+                com.zeroc.Ice.ObjectPrx prx =
+                    amdAdapter.add(new KeepI(), com.zeroc.Ice.Util.stringToIdentity("keep")).ice_collocationOptimized(
+                        false);
+                amdAdapter.activate();
+
+                //
+                // The AMD dispatches complete before the next requests are dispatched
+                // over the same connection, with the same Incoming. The context of each
+                // Current kept by the servant remains the context of its request.
+                //
+                java.util.List<java.util.Map<String, String>> contexts = new java.util.ArrayList<>();
+                for(int i = 0; i < 3; ++i)
+                {
+                    java.util.Map<String, String> ctx = new java.util.HashMap<>();
+                    ctx.put("request", Integer.toString(i));
+                    contexts.add(ctx);
+                }
+                contexts.add(new java.util.HashMap<>());
+                prx.ice_invoke("keep", com.zeroc.Ice.OperationMode.Normal, new byte[0], contexts.get(0));
+                com.zeroc.Ice.ObjectPrx batch = prx.ice_batchOneway();
+                batch.ice_invoke("keep", com.zeroc.Ice.OperationMode.Normal, new byte[0], contexts.get(1));
+                batch.ice_invoke("keep", com.zeroc.Ice.OperationMode.Normal, new byte[0], contexts.get(2));
+                batch.ice_invoke("keep", com.zeroc.Ice.OperationMode.Normal, new byte[0]);
+                batch.ice_flushBatchRequests();
+
+                java.util.Map<String, String> ctx = new java.util.HashMap<>();
+                ctx.put("request", "read");
+                com.zeroc.Ice.Object.Ice_invokeResult r =
+                    prx.ice_invoke("read", com.zeroc.Ice.OperationMode.Normal, new byte[0], ctx);
+                test(r.returnValue);
+                InputStream is = new InputStream(communicator, r.outParams);
+                is.startEncapsulation();
+                test(is.readSize() == contexts.size());
+                for(java.util.Map<String, String> c : contexts)
+                {
+                    test(com.zeroc.Ice.ContextHelper.read(is).equals(c));
+                }
+                is.endEncapsulation();
+                amdAdapter.destroy();
+            }
+            out.println("ok");
+
+            out.print("testing request header decoding allocations... ");
+            out.flush();
+            java.lang.management.ThreadMXBean mxBean = java.lang.management.ManagementFactory.getThreadMXBean();
+            if(mxBean instanceof com.sun.management.ThreadMXBean &&
+               ((com.sun.management.ThreadMXBean)mxBean).isThreadAllocatedMemorySupported())
+            {
+                com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean)mxBean;
+                threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+                java.util.Map<String, String> ctx = new java.util.HashMap<>();
+                InputStream shortRequest = dispatcher.request(shortId, "", "ice_ping", ctx);
+                InputStream longRequest = dispatcher.request(longId, "a-facet", "ice_ping", ctx);
+
+                //
+                // Once the identities, facets and operation names are cached,
+                // decoding the request header doesn't allocate: dispatching a
+                // request with longer header strings doesn't allocate more.
+                // Each dispatch still allocates its Current and its context.
+                //
+                final int count = 10000;
+                int retry = 0;
+                while(true)
+                {
+                    long shortBytes = allocatedBytes(threadMXBean, dispatcher, shortRequest, count);
+                    long longBytes = allocatedBytes(threadMXBean, dispatcher, longRequest, count);
+                    if(longBytes - shortBytes < count && longBytes / count < 256)
+                    {
+                        break;
+                    }
+                    test(++retry < 10); // Retry to let the JIT compiler kick in.
+                }
+            }
+            out.println("ok");
+        }
+    }
+}
@@ -167,6 +167,60 @@ public class AllTests
 
         out.println("ok");
 
+        out.print("testing ice_invokeBuffer... ");
+        out.flush();
+
+        {
+            test(oneway.ice_invokeBuffer("opOneway", OperationMode.Normal, null).returnValue);
+            test(batchOneway.ice_invokeBuffer("opOneway", OperationMode.Normal, null).returnValue);
+            batchOneway.ice_flushBatchRequests();
+
+            OutputStream outS = new OutputStream(communicator);
+            outS.startEncapsulation();
+            outS.writeString(testString);
+            outS.endEncapsulation();
+            java.nio.ByteBuffer inEncaps = java.nio.ByteBuffer.wrap(outS.finished());
+
+            com.zeroc.Ice.Object.Ice_invokeBufferResult r =
+                cl.ice_invokeBuffer("opString", OperationMode.Normal, inEncaps);
+            test(r.returnValue);
+            test(r.outParams.isReadOnly());
+            test(inEncaps.position() == 0);
+            InputStream inS = new InputStream(communicator, r.outParams);
+            inS.startEncapsulation();
+            test(inS.readString().equals(testString));
+            test(inS.readString().equals(testString));
+            inS.endEncapsulation();
+
+            r = cl.ice_invokeBufferAsync("opString", OperationMode.Normal, inEncaps).join();
+            test(r.returnValue);
+            inS = new InputStream(communicator, r.outParams);
+            inS.startEncapsulation();
+            test(inS.readString().equals(testString));
+            test(inS.readString().equals(testString));
+            inS.endEncapsulation();
+
+            r = cl.ice_invokeBuffer("opException", OperationMode.Normal, null);
+            test(!r.returnValue);
+            inS = new InputStream(communicator, r.outParams);
+            inS.startEncapsulation();
+            try
+            {
+                inS.throwException();
+                test(false);
+            }
+            catch(MyException ex)
+            {
+            }
+            catch(java.lang.Exception ex)
+            {
+                test(false);
+            }
+            inS.endEncapsulation();
+        }
+
+        out.println("ok");
+
         return cl;
     }
 }
@@ -6,10 +6,14 @@ package test.Ice.invoke;
 
 public class ServantLocatorI implements com.zeroc.Ice.ServantLocator
 {
-    public ServantLocatorI(boolean async)
+    public ServantLocatorI(boolean async, boolean buffer)
     {
         _blobject = new com.zeroc.Ice.ServantLocator.LocateResult();
-        if(async)
+        if(buffer)
+        {
+            _blobject.returnValue = new BlobjectBufferI();
+        }
+        else if(async)
         {
             _blobject.returnValue = new BlobjectAsyncI();
         }
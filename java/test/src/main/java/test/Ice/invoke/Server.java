@@ -15,9 +15,10 @@ public class Server extends test.TestHelper
         try(com.zeroc.Ice.Communicator communicator = initialize(properties))
         {
             boolean async = Stream.of(args).anyMatch(v -> v.equals("--async"));
+            boolean buffer = Stream.of(args).anyMatch(v -> v.equals("--buffer"));
             communicator.getProperties().setProperty("TestAdapter.Endpoints", getTestEndpoint(0));
             com.zeroc.Ice.ObjectAdapter adapter = communicator.createObjectAdapter("TestAdapter");
-            adapter.addServantLocator(new ServantLocatorI(async), "");
+            adapter.addServantLocator(new ServantLocatorI(async, buffer), "");
             adapter.activate();
             serverReady();
             communicator.waitForShutdown();
@@ -4,4 +4,5 @@
 
 TestSuite(__file__,
           [ClientServerTestCase(),
-           ClientServerTestCase(name = "client/server async", servers=[Server(args = ["--async"])])])
+           ClientServerTestCase(name = "client/server async", servers=[Server(args = ["--async"])]),
+           ClientServerTestCase(name = "client/server buffer", servers=[Server(args = ["--buffer"])])])
@@ -103,6 +103,51 @@ class BatchOneways
             }
         }
 
+        //
+        // Threads sending batch requests with the same proxy concurrently.
+        //
+        {
+            final MyClassPrx batchMT = p.ice_batchOneway();
+            final byte[] bs2 = new byte[100];
+            Thread[] threads = new Thread[4];
+            for(int i = 0; i < threads.length; ++i)
+            {
+                threads[i] = new Thread(() ->
+                    {
+                        for(int j = 0; j < 25; ++j)
+                        {
+                            batchMT.opByteSOneway(bs2);
+                        }
+                    });
+                threads[i].start();
+            }
+            for(Thread t : threads)
+            {
+                try
+                {
+                    t.join();
+                }
+                catch(InterruptedException ex)
+                {
+                }
+            }
+            batchMT.ice_flushBatchRequests();
+
+            count = 0;
+            while(count < 100)
+            {
+                count += p.opByteSOnewayCallCount();
+                try
+                {
+                    Thread.sleep(10);
+                }
+                catch(InterruptedException ex)
+                {
+                }
+            }
+            test(count == 100);
+        }
+
         final boolean bluetooth = properties.getProperty("Ice.Default.Protocol").indexOf("bt") == 0;
         if(batch.ice_getConnection() != null && !bluetooth)
         {
@@ -174,6 +219,78 @@ class BatchOneways
             }
         }
 
+        if(batch.ice_getConnection() != null && !bluetooth)
+        {
+            com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+            initData.properties = properties._clone();
+            initData.properties.setProperty("Ice.BatchAutoFlushDelay", "50");
+            try(com.zeroc.Ice.Communicator ic = helper.initialize(initData))
+            {
+                final byte[] bs2 = new byte[100];
+                MyClassPrx batch4 = MyClassPrx.uncheckedCast(ic.stringToProxy(p.toString())).ice_batchOneway();
+
+                //
+                // The requests are flushed once the delay elapsed, without reaching
+                // Ice.BatchAutoFlushSize.
+                //
+                p.opByteSOnewayCallCount(); // Reset the call count
+                batch4.opByteSOneway(bs2);
+                batch4.opByteSOneway(bs2);
+                batch4.opByteSOneway(bs2);
+
+                count = 0;
+                while(count < 3)
+                {
+                    count += p.opByteSOnewayCallCount();
+                    try
+                    {
+                        Thread.sleep(10);
+                    }
+                    catch(InterruptedException ex)
+                    {
+                    }
+                }
+                test(count == 3);
+                com.zeroc.IceInternal.BatchRequestQueue queue =
+                    ((com.zeroc.Ice._ObjectPrxI)batch4)._getBatchRequestQueue();
+                test(queue.getDelayFlushCount() == 1 && queue.getSizeFlushCount() == 0);
+
+                //
+                // The proxy property overrides Ice.BatchAutoFlushDelay, 0 disables the delayed flush.
+                //
+                ic.getProperties().setProperty("Batch.Proxy", p.toString());
+                ic.getProperties().setProperty("Batch.Proxy.BatchAutoFlushDelay", "0");
+                MyClassPrx batch5 = MyClassPrx.uncheckedCast(ic.propertyToProxy("Batch.Proxy")).ice_batchOneway();
+                test(batch5.ice_getCommunicator().proxyToProperty(batch5, "Batch").get("Batch.BatchAutoFlushDelay").
+                     equals("0"));
+                batch5.opByteSOneway(bs2);
+                try
+                {
+                    Thread.sleep(200);
+                }
+                catch(InterruptedException ex)
+                {
+                }
+                test(p.opByteSOnewayCallCount() == 0);
+                batch5.ice_flushBatchRequests();
+
+                count = 0;
+                while(count < 1)
+                {
+                    count += p.opByteSOnewayCallCount();
+                    try
+                    {
+                        Thread.sleep(10);
+                    }
+                    catch(InterruptedException ex)
+                    {
+                    }
+                }
+                queue = ((com.zeroc.Ice._ObjectPrxI)batch5)._getBatchRequestQueue();
+                test(queue.getDelayFlushCount() == 0);
+            }
+        }
+
         boolean supportsCompress = true;
         try
         {
@@ -0,0 +1,28 @@
+#
+# Copyright (c) ZeroC, Inc. All rights reserved.
+#
+
+TestSuite(__file__, [
+    ClientServerTestCase(),
+    ClientAMDServerTestCase(),
+    CollocatedTestCase(),
+    CollocatedTestCase(name = "collocated with direct dispatch", props = { "Ice.CollocationDirect" : 1 }),
+    ClientServerTestCase(name = "client/server with multiple selectors",
+                         props = { "Ice.ThreadPool.Client.Selectors" : 2,
+                                   "Ice.ThreadPool.Server.Selectors" : 4,
+                                   "Ice.ThreadPool.Server.SizeMax" : 4 }),
+    ClientServerTestCase(name = "client/server with buffer pool",
+                         props = { "Ice.BufferPool.Size" : 1024 }),
+    ClientServerTestCase(name = "client/server with connection pool",
+                         props = { "Ice.ConnectionPool.Size" : 4 }),
+    ClientServerTestCase(name = "client/server with parallel batch dispatch",
+                         props = { "TestAdapter.ParallelBatchDispatch" : 1,
+                                   "Ice.ThreadPool.Server.SizeMax" : 4 }),
+    ClientServerTestCase(name = "client/server with deflate compression",
+                         props = { "Ice.Override.Compress" : 1,
+                                   "Ice.Compression.Codec" : "Deflate" }),
+    ClientServerTestCase(name = "client/server with lz4 compression",
+                         props = { "Ice.Override.Compress" : 1,
+                                   "Ice.Compression.Codec" : "LZ4",
+                                   "Ice.Compression.LZ4.MinSize" : 32 })
+])
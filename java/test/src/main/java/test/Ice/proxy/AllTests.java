@@ -690,6 +690,34 @@ public class AllTests
         {
         }
 
+        //
+        // Derived proxies are cached, except batch proxies.
+        //
+        test(base.ice_oneway() == base.ice_oneway());
+        test(base.ice_oneway().ice_twoway() == base.ice_oneway().ice_twoway());
+        test(base.ice_datagram() == base.ice_datagram());
+        test(base.ice_batchOneway() != base.ice_batchOneway());
+        test(base.ice_invocationTimeout(10) == base.ice_invocationTimeout(10));
+        test(base.ice_invocationTimeout(20).ice_getInvocationTimeout() == 20);
+        {
+            java.util.Map<String, String> ctx = new java.util.HashMap<>();
+            ctx.put("one", "hello");
+            ObjectPrx ctxPrx = base.ice_context(ctx);
+            test(base.ice_context(ctx) == ctxPrx);
+            ctx.put("two", "world");
+            test(base.ice_context(ctx).ice_getContext().equals(ctx));
+            test(ctxPrx.ice_getContext().size() == 1);
+
+            //
+            // Each batch proxy has its own batch request queue.
+            //
+            ObjectPrx batch = base.ice_batchOneway();
+            test(batch.ice_context(ctx) != batch.ice_context(ctx));
+            test(batch.ice_context(ctx).ice_isBatchOneway());
+            test(batch.ice_invocationTimeout(10) != batch.ice_invocationTimeout(10));
+            test(batch.ice_invocationTimeout(10).ice_getInvocationTimeout() == 10);
+        }
+
         out.println("ok");
 
         out.print("testing proxy comparison... ");
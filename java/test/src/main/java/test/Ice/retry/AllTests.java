@@ -289,6 +289,105 @@ public class AllTests
             out.println("ok");
         }
 
+        if(retry1.ice_getConnection() != null)
+        {
+            out.print("testing hedged invocations... ");
+            out.flush();
+
+            com.zeroc.IceInternal.HedgeBudget budget =
+                com.zeroc.IceInternal.Util.getInstance(communicator).hedgeBudget();
+            long hedgeCount = budget.getHedgeCount();
+            instrumentation.testFailureCount(-1);
+
+            //
+            // The proxy has two endpoints, the server endpoint first and the
+            // endpoint of a local object adapter. The invocations are sent to
+            // the server and the hedged requests to the local object adapter.
+            //
+            com.zeroc.Ice.ObjectAdapter adapter =
+                communicator.createObjectAdapterWithEndpoints("HedgeAdapter", helper.getTestEndpoint(1));
+            final java.util.List<java.util.Map<String, String>> contexts =
+                java.util.Collections.synchronizedList(new java.util.ArrayList<>());
+            final RetryI servant = new RetryI();
+            adapter.add(new com.zeroc.Ice.DispatchInterceptor()
+                {
+                    @Override
+                    public java.util.concurrent.CompletionStage<com.zeroc.Ice.OutputStream> dispatch(
+                        com.zeroc.Ice.Request request)
+                        throws com.zeroc.Ice.UserException
+                    {
+                        contexts.add(request.getCurrent().ctx);
+                        return servant.ice_dispatch(request);
+                    }
+                }, com.zeroc.Ice.Util.stringToIdentity("retry"));
+            adapter.activate();
+
+            java.util.List<com.zeroc.Ice.Endpoint> endpoints = new java.util.ArrayList<>();
+            endpoints.addAll(java.util.Arrays.asList(retry1.ice_getEndpoints()));
+            endpoints.addAll(java.util.Arrays.asList(adapter.getEndpoints()));
+
+            communicator.getProperties().setProperty("Hedged", retry1.toString());
+            communicator.getProperties().setProperty("Hedged.HedgeDelay", "100");
+            RetryPrx hedged = RetryPrx.uncheckedCast(
+                communicator.propertyToProxy("Hedged").ice_endpoints(
+                    endpoints.toArray(new com.zeroc.Ice.Endpoint[endpoints.size()])).ice_endpointSelection(
+                        com.zeroc.Ice.EndpointSelectionType.Ordered).ice_collocationOptimized(false));
+            test(hedged.ice_getConnection() == retry1.ice_getConnection());
+
+            //
+            // The server dispatches one request at a time, the invocation waits
+            // for the sleep to complete and the hedged request completes first.
+            //
+            java.util.concurrent.CompletableFuture<Void> busy = retry1.sleepAsync(2000);
+            hedged.sleep(0);
+            test(!busy.isDone());
+            test(budget.getHedgeCount() == hedgeCount + 1);
+            busy.join();
+
+            //
+            // The invocation request canceled once the hedged request completes
+            // isn't a failure.
+            //
+            instrumentation.testFailureCount(0);
+
+            //
+            // Non-idempotent operations are not hedged.
+            //
+            busy = retry1.sleepAsync(500);
+            hedged.op(false);
+            busy.join();
+            test(budget.getHedgeCount() == hedgeCount + 1);
+
+            //
+            // The hedged request is sent with the context of the invocation, a
+            // per-thread implicit context included.
+            //
+            com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+            initData.properties = communicator.getProperties()._clone();
+            initData.properties.setProperty("Ice.ImplicitContext", "PerThread");
+            initData.properties.setProperty("Hedged", hedged.toString());
+            initData.properties.setProperty("Hedged.EndpointSelection", "Ordered");
+            initData.properties.setProperty("Hedged.CollocationOptimized", "0");
+            try(com.zeroc.Ice.Communicator communicator3 = com.zeroc.Ice.Util.initialize(initData))
+            {
+                RetryPrx hedged2 = RetryPrx.uncheckedCast(communicator3.propertyToProxy("Hedged"));
+                hedged2.ice_getConnection();
+                communicator3.getImplicitContext().put("hedge", "1");
+                contexts.clear();
+                busy = retry1.sleepAsync(2000);
+                hedged2.sleep(0);
+                test(!busy.isDone());
+                busy.join();
+                test(contexts.size() == 1 && "1".equals(contexts.get(0).get("hedge")));
+            }
+
+            adapter.destroy();
+            instrumentation.testInvocationCount(-1);
+            instrumentation.testFailureCount(-1);
+            instrumentation.testRetryCount(-1);
+            out.println("ok");
+        }
+
         return retry1;
     }
 }
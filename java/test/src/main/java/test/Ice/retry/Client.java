@@ -17,6 +17,7 @@ public class Client extends test.TestHelper
         initData.properties = createTestProperties(args);
         initData.properties.setProperty("Ice.Package.Test", "test.Ice.retry");
         initData.properties.setProperty("Ice.RetryIntervals", "0 1 400 1");
+        initData.properties.setProperty("Ice.HedgeBudget", "100");
         //
         // We don't want connection warnings because of the timeout
         //
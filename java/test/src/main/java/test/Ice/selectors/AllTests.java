@@ -0,0 +1,130 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.Ice.selectors;
+
+import java.io.PrintWriter;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    //
+    // Records the thread pool shard of the threads calling called(), for each
+    // connection. The threads of a shard are named <pool>-<shard>-<index>.
+    //
+    static class Shards
+    {
+        Shards(String pool)
+        {
+            _pattern = java.util.regex.Pattern.compile(".*" + java.util.regex.Pattern.quote(pool) + "-(\\d+)-\\d+$");
+        }
+
+        synchronized void called(com.zeroc.Ice.Connection connection)
+        {
+            java.util.regex.Matcher m = _pattern.matcher(Thread.currentThread().getName());
+            test(m.matches());
+            int shard = Integer.parseInt(m.group(1));
+            Integer previous = _shards.put(connection, shard);
+            test(previous == null || previous == shard); // A connection always uses the same shard.
+            ++_count;
+            notifyAll();
+        }
+
+        synchronized void waitForCalls(int count)
+        {
+            while(_count < count)
+            {
+                try
+                {
+                    wait();
+                }
+                catch(InterruptedException ex)
+                {
+                }
+            }
+        }
+
+        synchronized int connectionCount()
+        {
+            return _shards.size();
+        }
+
+        synchronized java.util.Set<Integer> shards()
+        {
+            return new java.util.HashSet<>(_shards.values());
+        }
+
+        private final java.util.regex.Pattern _pattern;
+        private final java.util.Map<com.zeroc.Ice.Connection, Integer> _shards = new java.util.HashMap<>();
+        private int _count;
+    }
+
+    public static void allTests(test.TestHelper helper, String[] args)
+    {
+        PrintWriter out = helper.getWriter();
+
+        com.zeroc.Ice.Properties properties = helper.createTestProperties(args);
+        properties.setProperty("Ice.ThreadPool.Server.Selectors", "2");
+        properties.setProperty("Ice.ThreadPool.Client.Selectors", "2");
+        properties.setProperty("Ice.ThreadPool.Client.Size", "2");
+        properties.setProperty("Ice.Warn.Connections", "0");
+
+        try(com.zeroc.Ice.Communicator serverCommunicator = helper.initialize(properties._clone());
+            com.zeroc.Ice.Communicator communicator = helper.initialize(properties._clone()))
+        {
+            out.print("testing connections are spread across selector shards... ");
+            out.flush();
+
+            final Shards serverShards = new Shards("Ice.ThreadPool.Server");
+            serverCommunicator.getProperties().setProperty("TestAdapter.Endpoints", helper.getTestEndpoint(0));
+            com.zeroc.Ice.ObjectAdapter adapter = serverCommunicator.createObjectAdapter("TestAdapter");
+            adapter.add(new com.zeroc.Ice.Object()
+                {
+                    @Override
+                    public void ice_ping(com.zeroc.Ice.Current current)
+                    {
+                        serverShards.called(current.con);
+                    }
+                }, com.zeroc.Ice.Util.stringToIdentity("test"));
+            adapter.activate();
+
+            final int connectionCount = 8;
+            final int callCount = 5;
+            Shards clientShards = new Shards("Ice.ThreadPool.Client");
+            com.zeroc.Ice.ObjectPrx base = communicator.stringToProxy("test:" + helper.getTestEndpoint(0));
+            for(int i = 0; i < connectionCount; ++i)
+            {
+                com.zeroc.Ice.ObjectPrx prx = base.ice_connectionId("connection-" + i);
+                com.zeroc.Ice.Connection connection = prx.ice_getConnection();
+                for(int j = 0; j < callCount; ++j)
+                {
+                    //
+                    // The completion callback is called by the client thread
+                    // pool shard of the connection.
+                    //
+                    prx.ice_pingAsync().whenComplete((result, ex) ->
+                        {
+                            test(ex == null);
+                            clientShards.called(connection);
+                        });
+                }
+            }
+            serverShards.waitForCalls(connectionCount * callCount);
+            clientShards.waitForCalls(connectionCount * callCount);
+
+            test(serverShards.connectionCount() == connectionCount);
+            test(serverShards.shards().equals(new java.util.HashSet<>(java.util.Arrays.asList(0, 1))));
+            test(clientShards.connectionCount() == connectionCount);
+            test(clientShards.shards().equals(new java.util.HashSet<>(java.util.Arrays.asList(0, 1))));
+            out.println("ok");
+        }
+    }
+}
@@ -0,0 +1,209 @@
+//
+// Copyright (c) ZeroC, Inc. All rights reserved.
+//
+
+package test.Ice.stream;
+
+import java.io.PrintWriter;
+
+import com.zeroc.Ice.InputStream;
+import com.zeroc.Ice.OutputStream;
+
+//
+// Tests for OutputStream.writeByteSeq(java.io.InputStream, int) and
+// InputStream.readByteSeq(java.io.OutputStream).
+//
+public class ByteSeqStreamTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    //
+    // A source which returns fewer bytes than requested.
+    //
+    static class ShortReadInputStream extends java.io.ByteArrayInputStream
+    {
+        ShortReadInputStream(byte[] data, int maxRead)
+        {
+            super(data);
+            _maxRead = maxRead;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len)
+        {
+            return super.read(b, off, java.lang.Math.min(len, _maxRead));
+        }
+
+        private final int _maxRead;
+    }
+
+    private static byte[] createData(int size)
+    {
+        byte[] data = new byte[size];
+        for(int i = 0; i < size; ++i)
+        {
+            data[i] = (byte)(i * 7);
+        }
+        return data;
+    }
+
+    private static void roundTrip(com.zeroc.Ice.Communicator communicator, byte[] data, java.io.InputStream source,
+                                  boolean directOut, boolean directIn)
+    {
+        OutputStream out = new OutputStream(communicator, directOut);
+        out.writeInt(17);
+        out.writeByteSeq(source, data.length);
+        out.writeInt(42); // The data following the sequence is preserved.
+        byte[] bytes = out.finished();
+
+        InputStream in;
+        if(directIn)
+        {
+            java.nio.ByteBuffer buf = java.nio.ByteBuffer.allocateDirect(bytes.length);
+            buf.put(bytes);
+            buf.flip();
+            in = new InputStream(communicator, buf);
+        }
+        else
+        {
+            in = new InputStream(communicator, bytes);
+        }
+        test(in.readInt() == 17);
+        java.io.ByteArrayOutputStream sink = new java.io.ByteArrayOutputStream();
+        test(in.readByteSeq(sink) == data.length);
+        test(java.util.Arrays.equals(sink.toByteArray(), data));
+        test(in.readInt() == 42);
+
+        //
+        // The sequence can also be read as a regular byte sequence.
+        //
+        in = new InputStream(communicator, bytes);
+        test(in.readInt() == 17);
+        test(java.util.Arrays.equals(in.readByteSeq(), data));
+    }
+
+    public static void allTests(com.zeroc.Ice.Communicator communicator, PrintWriter printWriter)
+    {
+        printWriter.print("testing byte sequence streams... ");
+        printWriter.flush();
+
+        for(int size : new int[] { 0, 1, 1000, 200 * 1024 })
+        {
+            byte[] data = createData(size);
+            for(boolean directOut : new boolean[] { false, true })
+            {
+                for(boolean directIn : new boolean[] { false, true })
+                {
+                    roundTrip(communicator, data, new java.io.ByteArrayInputStream(data), directOut, directIn);
+                    roundTrip(communicator, data, new ShortReadInputStream(data, 7), directOut, directIn);
+                }
+            }
+        }
+
+        {
+            //
+            // Only the given number of bytes is read from the source.
+            //
+            byte[] data = createData(100);
+            java.io.ByteArrayInputStream source = new java.io.ByteArrayInputStream(data);
+            OutputStream out = new OutputStream(communicator);
+            out.writeByteSeq(source, 60);
+            test(source.available() == 40);
+            InputStream in = new InputStream(communicator, out.finished());
+            test(java.util.Arrays.equals(in.readByteSeq(), java.util.Arrays.copyOf(data, 60)));
+        }
+
+        {
+            //
+            // A source with fewer bytes than the given size.
+            //
+            OutputStream out = new OutputStream(communicator);
+            try
+            {
+                out.writeByteSeq(new ShortReadInputStream(createData(10), 3), 20);
+                test(false);
+            }
+            catch(com.zeroc.Ice.MarshalException ex)
+            {
+            }
+
+            try
+            {
+                out.writeByteSeq(new java.io.ByteArrayInputStream(new byte[0]), -1);
+                test(false);
+            }
+            catch(com.zeroc.Ice.MarshalException ex)
+            {
+            }
+        }
+
+        {
+            //
+            // A source or sink raising IOException.
+            //
+            OutputStream out = new OutputStream(communicator);
+            try
+            {
+                out.writeByteSeq(new java.io.InputStream()
+                    {
+                        @Override
+                        public int read()
+                            throws java.io.IOException
+                        {
+                            throw new java.io.IOException("source error");
+                        }
+                    }, 10);
+                test(false);
+            }
+            catch(com.zeroc.Ice.MarshalException ex)
+            {
+            }
+
+            out = new OutputStream(communicator);
+            out.writeByteSeq(createData(10));
+            InputStream in = new InputStream(communicator, out.finished());
+            try
+            {
+                in.readByteSeq(new java.io.OutputStream()
+                    {
+                        @Override
+                        public void write(int b)
+                            throws java.io.IOException
+                        {
+                            throw new java.io.IOException("sink error");
+                        }
+                    });
+                test(false);
+            }
+            catch(com.zeroc.Ice.MarshalException ex)
+            {
+            }
+        }
+
+        {
+            //
+            // A sequence larger than the remaining bytes of the stream.
+            //
+            OutputStream out = new OutputStream(communicator);
+            out.writeSize(100);
+            out.writeBlob(createData(50));
+            InputStream in = new InputStream(communicator, out.finished());
+            try
+            {
+                in.readByteSeq(new java.io.ByteArrayOutputStream());
+                test(false);
+            }
+            catch(com.zeroc.Ice.UnmarshalOutOfBoundsException ex)
+            {
+            }
+        }
+
+        printWriter.println("ok");
+    }
+}
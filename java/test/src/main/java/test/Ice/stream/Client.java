@@ -407,6 +407,31 @@ public class Client extends test.TestHelper
                 in = new InputStream(communicator, data);
                 int[][] arr2S = IntSSHelper.read(in);
                 test(java.util.Arrays.deepEquals(arr2S, arrS));
+
+                //
+                // Read into a caller-supplied array, which is only reused if it has the
+                // size of the sequence, and with a sequence allocator.
+                //
+                out = new OutputStream(communicator);
+                out.writeIntSeq(arr);
+                out.writeIntSeq(arr);
+                out.writeIntSeq(arr);
+                data = out.finished();
+                in = new InputStream(communicator, data);
+                int[] arr3 = new int[arr.length];
+                test(in.readIntSeq(arr3) == arr3 && java.util.Arrays.equals(arr3, arr));
+                test(in.readIntSeq(new int[1]).length == arr.length);
+                final int[] pooled = new int[arr.length];
+                in.setSequenceAllocator(new com.zeroc.Ice.SequenceAllocator()
+                    {
+                        @Override
+                        public int[] allocateIntSeq(int sz)
+                        {
+                            test(sz == pooled.length);
+                            return pooled;
+                        }
+                    });
+                test(in.readIntSeq() == pooled && java.util.Arrays.equals(pooled, arr));
             }
 
             {
@@ -800,6 +825,8 @@ public class Client extends test.TestHelper
             }
 
             printWriter.println("ok");
+
+            ByteSeqStreamTests.allTests(communicator, printWriter);
         }
     }
 }